@@ -0,0 +1,87 @@
+package org.knowm.xchart.standalone;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.function.Supplier;
+import org.knowm.xchart.ChartTemplate;
+import org.knowm.xchart.XYChart;
+import org.knowm.xchart.XYChartBuilder;
+import org.knowm.xchart.style.Styler.ChartTheme;
+import org.knowm.xchart.style.Styler.LegendPosition;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+
+/**
+ * Measures how many 5 series line charts per second can be created and painted, once building and
+ * styling every chart from scratch and once copying it from a {@link ChartTemplate}, like a server
+ * creating one chart per request.
+ */
+public class ChartTemplateBenchmark {
+
+  private static final int SERIES_COUNT = 5;
+  private static final int POINT_COUNT = 100;
+  private static final long WARM_UP_MILLIS = 3000;
+  private static final long MEASURE_MILLIS = 5000;
+
+  public static void main(String[] args) {
+
+    double[][] yData = new double[SERIES_COUNT][POINT_COUNT];
+    for (int i = 0; i < SERIES_COUNT; i++) {
+      for (int j = 0; j < POINT_COUNT; j++) {
+        yData[i][j] = Math.sin(i + j / 10.0) * (i + 1);
+      }
+    }
+    ChartTemplate<XYChart> template = new ChartTemplate<>(buildChart());
+    BufferedImage image = new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB);
+
+    for (boolean paint : new boolean[] {false, true}) {
+      String suffix = paint ? ", painted" : ", not painted";
+      run("built" + suffix, ChartTemplateBenchmark::buildChart, yData, image, paint);
+      run("template" + suffix, template::newChart, yData, image, paint);
+    }
+  }
+
+  private static XYChart buildChart() {
+
+    XYChart chart =
+        new XYChartBuilder()
+            .width(600)
+            .height(400)
+            .theme(ChartTheme.GGPlot2)
+            .title("Requests")
+            .xAxisTitle("Time")
+            .yAxisTitle("Value")
+            .build();
+    chart.getStyler().setLegendPosition(LegendPosition.InsideNE);
+    chart.getStyler().setMarkerSize(4);
+    chart.getStyler().setDecimalPattern("#0.00");
+    return chart;
+  }
+
+  private static void run(
+      String name, Supplier<XYChart> charts, double[][] yData, BufferedImage image, boolean paint) {
+
+    createCharts(charts, yData, image, paint, WARM_UP_MILLIS);
+    long count = createCharts(charts, yData, image, paint, MEASURE_MILLIS);
+    System.out.printf("%-25s %10.1f charts/s%n", name, count * 1000.0 / MEASURE_MILLIS);
+  }
+
+  private static long createCharts(
+      Supplier<XYChart> charts, double[][] yData, BufferedImage image, boolean paint, long millis) {
+
+    long count = 0;
+    long end = System.currentTimeMillis() + millis;
+    while (System.currentTimeMillis() < end) {
+      XYChart chart = charts.get();
+      for (int i = 0; i < yData.length; i++) {
+        chart.addSeries("series " + i, yData[i]).setMarker(SeriesMarkers.NONE);
+      }
+      if (paint) {
+        Graphics2D g = image.createGraphics();
+        chart.paint(g, chart.getWidth(), chart.getHeight());
+        g.dispose();
+      }
+      count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,337 @@
+package org.knowm.xchart;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.imageio.ImageIO;
+import org.knowm.xchart.BitmapEncoder.BitmapFormat;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.jfr.ChartEncodeEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
+
+/**
+ * Exports many charts in parallel. Every chart is painted and encoded as a task on an executor, at
+ * most a given number at once, so the images and buffers in use stay bounded however many charts
+ * are submitted. Each running task uses a {@link BitmapEncoderSession} from a pool, so its images
+ * and writers are reused by the following tasks.
+ *
+ * <pre>
+ * try (BitmapBatchEncoder encoder = new BitmapBatchEncoder()) {
+ *   encoder.saveBitmaps(charts, chart -&gt; chart.getTitle(), BitmapFormat.PNG).join();
+ * }
+ * </pre>
+ *
+ * <p>The executor can be a ForkJoinPool, or an executor of virtual threads when writing to slow
+ * storage. It is not shut down by this encoder. Charts must not be changed while they are exported.
+ */
+public final class BitmapBatchEncoder implements Closeable {
+
+  private final Executor executor;
+  private final int maxConcurrency;
+  private final Supplier<BitmapEncoderSession> sessionFactory;
+
+  private final Queue<Job<?>> pendingJobs = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger runningJobs = new AtomicInteger();
+  private final Queue<BitmapEncoderSession> sessions = new ConcurrentLinkedQueue<>();
+
+  /** Constructor, exporting on the common ForkJoinPool with one chart per processor at once */
+  public BitmapBatchEncoder() {
+
+    this(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param executor
+   * @param maxConcurrency - the most charts exported at once
+   */
+  public BitmapBatchEncoder(Executor executor, int maxConcurrency) {
+
+    this(executor, maxConcurrency, BitmapEncoderSession::new);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param executor
+   * @param maxConcurrency - the most charts exported at once
+   * @param sessionFactory - creates the sessions encoding the charts, to set their DPI, JPG quality
+   *     or PNG encoder
+   */
+  public BitmapBatchEncoder(
+      Executor executor, int maxConcurrency, Supplier<BitmapEncoderSession> sessionFactory) {
+
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Max concurrency must be greater than zero!!!");
+    }
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
+    this.sessionFactory = sessionFactory;
+  }
+
+  /**
+   * Save a Chart as an image file
+   *
+   * @param chart
+   * @param fileName
+   * @param bitmapFormat
+   * @return a future completed when the file is written
+   */
+  public CompletableFuture<Void> saveBitmap(
+      Chart<?, ?> chart, String fileName, BitmapFormat bitmapFormat) {
+
+    return submit(
+        () -> {
+          String file = BitmapEncoder.addFileExtension(fileName, bitmapFormat);
+          try (OutputStream out = new FileOutputStream(file)) {
+            encode(chart, out, bitmapFormat);
+          }
+          return null;
+        });
+  }
+
+  /**
+   * Write a Chart into a given stream. Does not close the target stream automatically at the end of
+   * the operation
+   *
+   * @param chart
+   * @param targetStream
+   * @param bitmapFormat
+   * @return a future completed when the chart is written
+   */
+  public CompletableFuture<Void> saveBitmap(
+      Chart<?, ?> chart, OutputStream targetStream, BitmapFormat bitmapFormat) {
+
+    return submit(
+        () -> {
+          encode(chart, targetStream, bitmapFormat);
+          return null;
+        });
+  }
+
+  /**
+   * Save Charts as image files
+   *
+   * @param charts
+   * @param fileNames - the file name of each chart
+   * @param bitmapFormat
+   * @return a future completed when all files are written, or completed with an IOException listing
+   *     the charts which failed once all others are written
+   */
+  public <T extends Chart<?, ?>> CompletableFuture<Void> saveBitmaps(
+      List<T> charts, Function<? super T, String> fileNames, BitmapFormat bitmapFormat) {
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>(charts.size());
+    for (T chart : charts) {
+      futures.add(saveBitmap(chart, fileNames.apply(chart), bitmapFormat));
+    }
+    return allOf(futures);
+  }
+
+  /**
+   * Paint Charts into one image, each chart directly into its cell. Function assumes that all
+   * charts are the same size (width, height).
+   *
+   * @param charts
+   * @param rows number of rows
+   * @param cols number of columns
+   * @return a future of the merged image
+   */
+  public <T extends Chart<?, ?>> CompletableFuture<BufferedImage> getMergedImage(
+      List<T> charts, int rows, int cols) {
+
+    if (charts.isEmpty() || charts.size() > rows * cols) {
+      throw new IllegalArgumentException(
+          "Number of charts must be between 1 and rows multiplied by cols!!!");
+    }
+    int width = charts.get(0).getWidth();
+    int height = charts.get(0).getHeight();
+    BufferedImage mergedImage =
+        new BufferedImage(width * cols, height * rows, BufferedImage.TYPE_INT_ARGB);
+
+    // the cells don't overlap, so the charts can be painted into the image at the same time
+    List<CompletableFuture<Void>> futures = new ArrayList<>(charts.size());
+    for (int i = 0; i < charts.size(); i++) {
+      Chart<?, ?> chart = charts.get(i);
+      int x = (i % cols) * width;
+      int y = (i / cols) * height;
+      futures.add(
+          submit(
+              () -> {
+                Graphics2D graphics2D = mergedImage.createGraphics();
+                try {
+                  graphics2D.clipRect(x, y, width, height);
+                  graphics2D.translate(x, y);
+                  chart.paint(graphics2D, width, height);
+                } finally {
+                  graphics2D.dispose();
+                }
+                return null;
+              }));
+    }
+    return allOf(futures).thenApply(ignored -> mergedImage);
+  }
+
+  /**
+   * Save Charts into one image in a given stream. Does not close the target stream automatically at
+   * the end of the operation. Function assumes that all charts are the same size (width, height).
+   *
+   * @param charts
+   * @param rows number of rows
+   * @param cols number of columns
+   * @param targetStream
+   * @param bitmapFormat
+   * @return a future completed when the image is written
+   */
+  public <T extends Chart<?, ?>> CompletableFuture<Void> saveBitmap(
+      List<T> charts, int rows, int cols, OutputStream targetStream, BitmapFormat bitmapFormat) {
+
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("BitmapBatchEncoder", bitmapFormat.name());
+    return getMergedImage(charts, rows, cols)
+        .thenAccept(
+            mergedImage -> {
+              try {
+                ImageIO.write(mergedImage, bitmapFormat.toString().toLowerCase(), targetStream);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+              JfrEvents.commitChartEncode(event, charts);
+            });
+  }
+
+  /**
+   * Waits for several futures, failing with all their errors
+   *
+   * @param futures
+   * @return a future completed when all futures are completed, with an IOException to which the
+   *     errors of the failed futures are added as suppressed exceptions if any failed
+   */
+  public static CompletableFuture<Void> allOf(List<? extends CompletableFuture<?>> futures) {
+
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .handle(
+            (ignored, throwable) -> {
+              if (throwable == null) {
+                return null;
+              }
+              List<Throwable> errors = new ArrayList<>();
+              for (CompletableFuture<?> future : futures) {
+                try {
+                  future.join();
+                } catch (CompletionException e) {
+                  errors.add(e.getCause() != null ? e.getCause() : e);
+                } catch (CancellationException e) {
+                  errors.add(e);
+                }
+              }
+              IOException exception =
+                  new IOException(
+                      errors.size() + " of " + futures.size() + " chart exports failed!!!");
+              errors.forEach(exception::addSuppressed);
+              throw new CompletionException(exception);
+            });
+  }
+
+  private void encode(Chart<?, ?> chart, OutputStream targetStream, BitmapFormat bitmapFormat)
+      throws IOException {
+
+    BitmapEncoderSession session = sessions.poll();
+    if (session == null) {
+      session = sessionFactory.get();
+    }
+    try {
+      session.saveBitmap(chart, targetStream, bitmapFormat);
+    } finally {
+      sessions.add(session);
+    }
+  }
+
+  private <V> CompletableFuture<V> submit(Callable<V> task) {
+
+    Job<V> job = new Job<>(task);
+    pendingJobs.add(job);
+    startJobs();
+    return job.future;
+  }
+
+  /** Starts pending jobs until the max concurrency is reached */
+  private void startJobs() {
+
+    while (!pendingJobs.isEmpty()) {
+      int running = runningJobs.get();
+      if (running >= maxConcurrency) {
+        return;
+      }
+      if (!runningJobs.compareAndSet(running, running + 1)) {
+        continue;
+      }
+      Job<?> job = pendingJobs.poll();
+      if (job == null) {
+        runningJobs.decrementAndGet();
+        continue;
+      }
+      try {
+        executor.execute(
+            () -> {
+              try {
+                job.run();
+              } finally {
+                runningJobs.decrementAndGet();
+                startJobs();
+              }
+            });
+      } catch (RuntimeException e) {
+        runningJobs.decrementAndGet();
+        job.future.completeExceptionally(e);
+      }
+    }
+  }
+
+  /** Releases the pooled sessions */
+  @Override
+  public void close() {
+
+    BitmapEncoderSession session;
+    while ((session = sessions.poll()) != null) {
+      session.close();
+    }
+  }
+
+  private static final class Job<V> {
+
+    private final Callable<V> task;
+    private final CompletableFuture<V> future = new CompletableFuture<>();
+
+    Job(Callable<V> task) {
+
+      this.task = task;
+    }
+
+    void run() {
+
+      try {
+        future.complete(task.call());
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    }
+  }
+}
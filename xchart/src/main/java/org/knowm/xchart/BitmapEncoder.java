@@ -12,6 +12,7 @@ import java.io.OutputStream;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageTypeSpecifier;
@@ -22,6 +23,9 @@ import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.metadata.IIOMetadataNode;
 import javax.imageio.stream.FileImageOutputStream;
 import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.chartpart.PlotContentTiler;
+import org.knowm.xchart.internal.jfr.ChartEncodeEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
 
 /** A helper class with static methods for saving Charts as bitmaps */
 public final class BitmapEncoder {
@@ -82,8 +86,84 @@ public final class BitmapEncoder {
   public static <T extends Chart<?, ?>> void saveBitmap(
       T chart, OutputStream targetStream, BitmapFormat bitmapFormat) throws IOException {
 
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("BitmapEncoder", bitmapFormat.name());
     BufferedImage bufferedImage = getBufferedImage(chart, bitmapFormat == BitmapFormat.PNG);
     ImageIO.write(bufferedImage, bitmapFormat.toString().toLowerCase(), targetStream);
+    JfrEvents.commitChartEncode(event, chart);
+  }
+
+  /**
+   * Save a Chart as an image file, rasterizing the plot content in tiles in parallel. This pays off
+   * for large images of series with many points.
+   *
+   * @param chart
+   * @param fileName
+   * @param bitmapFormat
+   * @param tileSize the width and height of a tile in pixels
+   * @throws IOException
+   */
+  public static <T extends Chart<?, ?>> void saveBitmap(
+      T chart, String fileName, BitmapFormat bitmapFormat, int tileSize) throws IOException {
+
+    try (OutputStream out = new FileOutputStream(addFileExtension(fileName, bitmapFormat))) {
+      saveBitmap(chart, out, bitmapFormat, tileSize);
+    }
+  }
+
+  /**
+   * Write a Chart into a given stream, rasterizing the plot content in tiles in parallel. Does not
+   * close the target stream automatically at the end of the operation
+   *
+   * @param chart
+   * @param targetStream
+   * @param bitmapFormat
+   * @param tileSize the width and height of a tile in pixels
+   * @throws IOException
+   */
+  public static <T extends Chart<?, ?>> void saveBitmap(
+      T chart, OutputStream targetStream, BitmapFormat bitmapFormat, int tileSize)
+      throws IOException {
+
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("BitmapEncoder", bitmapFormat.name());
+    BufferedImage bufferedImage =
+        getBufferedImage(chart, bitmapFormat == BitmapFormat.PNG, tileSize);
+    ImageIO.write(bufferedImage, bitmapFormat.toString().toLowerCase(), targetStream);
+    JfrEvents.commitChartEncode(event, chart);
+  }
+
+  /**
+   * Save a recorded Chart as an image file
+   *
+   * @param displayList
+   * @param fileName
+   * @param bitmapFormat
+   * @throws IOException
+   */
+  public static void saveBitmap(DisplayList displayList, String fileName, BitmapFormat bitmapFormat)
+      throws IOException {
+
+    try (OutputStream out = new FileOutputStream(addFileExtension(fileName, bitmapFormat))) {
+      saveBitmap(displayList, out, bitmapFormat);
+    }
+  }
+
+  /**
+   * Write a recorded Chart into a given stream. Does not close the target stream automatically at
+   * the end of the operation
+   *
+   * @param displayList
+   * @param targetStream
+   * @param bitmapFormat
+   * @throws IOException
+   */
+  public static void saveBitmap(
+      DisplayList displayList, OutputStream targetStream, BitmapFormat bitmapFormat)
+      throws IOException {
+
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("BitmapEncoder", bitmapFormat.name());
+    BufferedImage bufferedImage = getBufferedImage(displayList, bitmapFormat == BitmapFormat.PNG);
+    ImageIO.write(bufferedImage, bitmapFormat.toString().toLowerCase(), targetStream);
+    JfrEvents.commitChartEncode(event, displayList.getChart());
   }
 
   /**
@@ -130,11 +210,13 @@ public final class BitmapEncoder {
       BitmapEncoder.BitmapFormat bitmapFormat)
       throws IOException {
 
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("BitmapEncoder", bitmapFormat.name());
     List<BufferedImage> chartImages = new LinkedList<>();
     for (T c : charts) chartImages.add(getBufferedImage(c));
 
     BufferedImage bufferedImage = mergeImages(chartImages, rows, cols);
     ImageIO.write(bufferedImage, bitmapFormat.toString().toLowerCase(), targetStream);
+    JfrEvents.commitChartEncode(event, charts);
   }
 
   /**
@@ -149,6 +231,7 @@ public final class BitmapEncoder {
   public static <T extends Chart<?, ?>> void saveBitmapWithDPI(
       T chart, String fileName, BitmapFormat bitmapFormat, int DPI) throws IOException {
 
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("BitmapEncoder", bitmapFormat.name());
     double scaleFactor = DPI / 72.0;
 
     BufferedImage bufferedImage =
@@ -192,6 +275,7 @@ public final class BitmapEncoder {
         writer.dispose();
       }
     }
+    JfrEvents.commitChartEncode(event, chart);
   }
 
   /**
@@ -201,7 +285,7 @@ public final class BitmapEncoder {
    * @param DPI
    * @throws IIOInvalidTreeException
    */
-  private static void setDPI(IIOMetadata metadata, int DPI) throws IIOInvalidTreeException {
+  static void setDPI(IIOMetadata metadata, int DPI) throws IIOInvalidTreeException {
 
     // for PNG, it's dots per millimeter
     double dotsPerMilli = 1.0 * DPI / 10 / 2.54;
@@ -233,6 +317,7 @@ public final class BitmapEncoder {
   public static <T extends Chart<?, ?>> void saveJPGWithQuality(
       T chart, String fileName, float quality) throws IOException {
 
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("BitmapEncoder", BitmapFormat.JPG.name());
     BufferedImage bufferedImage = getBufferedImage(chart);
 
     Iterator<ImageWriter> iter = ImageIO.getImageWritersByFormatName("jpeg");
@@ -249,6 +334,7 @@ public final class BitmapEncoder {
       writer.write(null, image, iwp);
       writer.dispose();
     }
+    JfrEvents.commitChartEncode(event, chart);
   }
 
   /**
@@ -261,6 +347,7 @@ public final class BitmapEncoder {
   public static <T extends Chart<?, ?>> byte[] getBitmapBytes(T chart, BitmapFormat bitmapFormat)
       throws IOException {
 
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("BitmapEncoder", bitmapFormat.name());
     BufferedImage bufferedImage = getBufferedImage(chart);
 
     byte[] imageInBytes;
@@ -270,6 +357,7 @@ public final class BitmapEncoder {
       baos.flush();
       imageInBytes = baos.toByteArray();
     }
+    JfrEvents.commitChartEncode(event, chart);
     return imageInBytes;
   }
 
@@ -290,6 +378,84 @@ public final class BitmapEncoder {
     return bufferedImage;
   }
 
+  /**
+   * Paint a Chart into an image, splitting the plot content into tiles of tileSize x tileSize
+   * pixels which are rasterized in parallel on the common ForkJoinPool. The layout is calculated
+   * once and shared by all tiles.
+   *
+   * @param chart
+   * @param isTranslucent
+   * @param tileSize the width and height of a tile in pixels
+   * @return the image
+   */
+  public static <T extends Chart<?, ?>> BufferedImage getBufferedImage(
+      T chart, boolean isTranslucent, int tileSize) {
+
+    return getBufferedImage(chart, isTranslucent, tileSize, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Paint a Chart into an image, splitting the plot content into tiles of tileSize x tileSize
+   * pixels which are rasterized in parallel on the given pool. The layout is calculated once and
+   * shared by all tiles.
+   *
+   * @param chart
+   * @param isTranslucent
+   * @param tileSize the width and height of a tile in pixels
+   * @param pool
+   * @return the image
+   */
+  public static <T extends Chart<?, ?>> BufferedImage getBufferedImage(
+      T chart, boolean isTranslucent, int tileSize, ForkJoinPool pool) {
+
+    BufferedImage bufferedImage =
+        new BufferedImage(
+            chart.getWidth(),
+            chart.getHeight(),
+            isTranslucent ? BufferedImage.TRANSLUCENT : BufferedImage.TYPE_INT_RGB);
+    PlotContentTiler.paint(chart, bufferedImage, tileSize, pool);
+    return bufferedImage;
+  }
+
+  /**
+   * Paint a recorded Chart into an image at the size it was recorded at
+   *
+   * @param displayList
+   * @param isTranslucent
+   * @return the image
+   */
+  public static BufferedImage getBufferedImage(DisplayList displayList, boolean isTranslucent) {
+
+    return getBufferedImage(displayList, isTranslucent, 1);
+  }
+
+  /**
+   * Paint a recorded Chart into an image, scaled, for example for thumbnails. The layout stays the
+   * one of the recorded size.
+   *
+   * @param displayList
+   * @param isTranslucent
+   * @param scale the factor to scale the recorded size by
+   * @return the image
+   */
+  public static BufferedImage getBufferedImage(
+      DisplayList displayList, boolean isTranslucent, double scale) {
+
+    if (scale <= 0) {
+      throw new IllegalArgumentException("Scale must be greater than zero!!!");
+    }
+    BufferedImage bufferedImage =
+        new BufferedImage(
+            Math.max(1, (int) Math.ceil(displayList.getWidth() * scale)),
+            Math.max(1, (int) Math.ceil(displayList.getHeight() * scale)),
+            isTranslucent ? BufferedImage.TRANSLUCENT : BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics2D = bufferedImage.createGraphics();
+    graphics2D.scale(scale, scale);
+    displayList.replay(graphics2D);
+    graphics2D.dispose();
+    return bufferedImage;
+  }
+
   private static BufferedImage mergeImages(List<BufferedImage> images, Integer rows, Integer cols) {
 
     BufferedImage first = images.get(0);
@@ -0,0 +1,283 @@
+package org.knowm.xchart;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import org.knowm.xchart.BitmapEncoder.BitmapFormat;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.jfr.ChartEncodeEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
+
+/**
+ * Encodes many charts to bitmaps, reusing what {@link BitmapEncoder} allocates for every chart: the
+ * image painted into is pooled per size and cleared before each paint, one ImageWriter per format
+ * is looked up once and reused, and the encoded bytes are written into a buffer kept between
+ * charts. This keeps the garbage produced per chart small when rendering lots of charts.
+ *
+ * <p>A session is not thread safe, use one session per thread. Images and buffers returned by a
+ * session are only valid until the next chart is encoded by it.
+ */
+public final class BitmapEncoderSession implements Closeable {
+
+  // pooled images of different sizes, the least recently used is dropped
+  private static final int MAX_POOLED_IMAGES = 4;
+
+  // most recently used first
+  private final List<BufferedImage> images = new ArrayList<>(MAX_POOLED_IMAGES + 1);
+  private final Map<BitmapFormat, ImageWriter> writers = new EnumMap<>(BitmapFormat.class);
+  private final OutputBuffer buffer = new OutputBuffer();
+
+  private float jpgQuality = -1;
+  private int dpi;
+  private PngEncoder pngEncoder;
+
+  /**
+   * Sets the quality of JPG images
+   *
+   * @param jpgQuality - a float between 0 and 1 (1 = maximum quality)
+   * @return this session
+   */
+  public BitmapEncoderSession setJpgQuality(float jpgQuality) {
+
+    if (jpgQuality < 0 || jpgQuality > 1) {
+      throw new IllegalArgumentException("JPG quality must be between 0 and 1!!!");
+    }
+    this.jpgQuality = jpgQuality;
+    return this;
+  }
+
+  /**
+   * Sets the DPI of the images. Charts are scaled up from the default of 72 DPI, so the images are
+   * larger than the charts.
+   *
+   * @param dpi - the DPI, or 0 to use the size of the charts
+   * @return this session
+   */
+  public BitmapEncoderSession setDPI(int dpi) {
+
+    if (dpi < 0) {
+      throw new IllegalArgumentException("DPI must not be negative!!!");
+    }
+    this.dpi = dpi;
+    return this;
+  }
+
+  /**
+   * Sets the encoder of PNG images, instead of the PNG writer of ImageIO
+   *
+   * @param pngEncoder - the encoder, or null to use ImageIO
+   * @return this session
+   */
+  public BitmapEncoderSession setPngEncoder(PngEncoder pngEncoder) {
+
+    this.pngEncoder = pngEncoder;
+    return this;
+  }
+
+  /**
+   * Paint a Chart into a pooled image
+   *
+   * @param chart
+   * @param isTranslucent
+   * @return the image, painted over by the next chart of the same size
+   */
+  public BufferedImage getBufferedImage(Chart<?, ?> chart, boolean isTranslucent) {
+
+    double scaleFactor = dpi == 0 ? 1 : dpi / 72.0;
+    int width = (int) (chart.getWidth() * scaleFactor);
+    int height = (int) (chart.getHeight() * scaleFactor);
+    BufferedImage image = getPooledImage(width, height, isTranslucent);
+
+    Graphics2D graphics2D = image.createGraphics();
+    try {
+      // clear what the last chart painted
+      graphics2D.setComposite(AlphaComposite.Clear);
+      graphics2D.fillRect(0, 0, width, height);
+      graphics2D.setComposite(AlphaComposite.SrcOver);
+      graphics2D.scale(scaleFactor, scaleFactor);
+      chart.paint(graphics2D, chart.getWidth(), chart.getHeight());
+    } finally {
+      graphics2D.dispose();
+    }
+    return image;
+  }
+
+  /**
+   * Encode a Chart into the buffer of this session
+   *
+   * @param chart
+   * @param bitmapFormat
+   * @return a read only view of the encoded bytes, overwritten by the next chart
+   * @throws IOException
+   */
+  public ByteBuffer encode(Chart<?, ?> chart, BitmapFormat bitmapFormat) throws IOException {
+
+    ChartEncodeEvent event =
+        JfrEvents.beginChartEncode("BitmapEncoderSession", bitmapFormat.name());
+    BufferedImage image = getBufferedImage(chart, bitmapFormat == BitmapFormat.PNG);
+    buffer.reset();
+    if (bitmapFormat == BitmapFormat.PNG && pngEncoder != null) {
+      pngEncoder.encode(image, buffer, dpi, chart.getStyler().getTheme().getClass());
+      JfrEvents.commitChartEncode(event, chart);
+      return buffer.toByteBuffer();
+    }
+
+    ImageWriter writer = getWriter(bitmapFormat);
+    ImageWriteParam writeParam = writer.getDefaultWriteParam();
+    if (bitmapFormat == BitmapFormat.JPG && jpgQuality >= 0) {
+      writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      writeParam.setCompressionQuality(jpgQuality);
+    }
+    IIOMetadata metadata = null;
+    if (dpi != 0) {
+      metadata =
+          writer.getDefaultImageMetadata(
+              ImageTypeSpecifier.createFromRenderedImage(image), writeParam);
+      if (metadata.isReadOnly() || !metadata.isStandardMetadataFormatSupported()) {
+        throw new IllegalArgumentException(
+            "It is not possible to set the DPI on a bitmap with "
+                + bitmapFormat
+                + " format!! Try another format.");
+      }
+      BitmapEncoder.setDPI(metadata, dpi);
+    }
+
+    try (ImageOutputStream output = new MemoryCacheImageOutputStream(buffer)) {
+      writer.setOutput(output);
+      writer.write(null, new IIOImage(image, null, metadata), writeParam);
+    } finally {
+      writer.reset();
+    }
+    JfrEvents.commitChartEncode(event, chart);
+    return buffer.toByteBuffer();
+  }
+
+  /**
+   * Write a Chart into a given stream. Does not close the target stream automatically at the end of
+   * the operation
+   *
+   * @param chart
+   * @param targetStream
+   * @param bitmapFormat
+   * @throws IOException
+   */
+  public void saveBitmap(Chart<?, ?> chart, OutputStream targetStream, BitmapFormat bitmapFormat)
+      throws IOException {
+
+    encode(chart, bitmapFormat);
+    buffer.writeTo(targetStream);
+  }
+
+  /**
+   * Write a Chart into a given channel. Does not close the channel automatically at the end of the
+   * operation
+   *
+   * @param chart
+   * @param channel
+   * @param bitmapFormat
+   * @throws IOException
+   */
+  public void saveBitmap(Chart<?, ?> chart, WritableByteChannel channel, BitmapFormat bitmapFormat)
+      throws IOException {
+
+    ByteBuffer bytes = encode(chart, bitmapFormat);
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+  }
+
+  /**
+   * Generates a byte[] for a given chart
+   *
+   * @param chart
+   * @param bitmapFormat
+   * @return a byte[] for a given chart
+   * @throws IOException
+   */
+  public byte[] getBitmapBytes(Chart<?, ?> chart, BitmapFormat bitmapFormat) throws IOException {
+
+    encode(chart, bitmapFormat);
+    return buffer.toByteArray();
+  }
+
+  private BufferedImage getPooledImage(int width, int height, boolean isTranslucent) {
+
+    int imageType = isTranslucent ? BufferedImage.TRANSLUCENT : BufferedImage.TYPE_INT_RGB;
+    BufferedImage image = null;
+    for (int i = 0; i < images.size(); i++) {
+      BufferedImage pooledImage = images.get(i);
+      if (pooledImage.getWidth() == width
+          && pooledImage.getHeight() == height
+          && pooledImage.getType() == imageType) {
+        image = images.remove(i);
+        break;
+      }
+    }
+    if (image == null) {
+      image = new BufferedImage(width, height, imageType);
+      if (images.size() == MAX_POOLED_IMAGES) {
+        images.remove(MAX_POOLED_IMAGES - 1);
+      }
+    }
+    images.add(0, image);
+    return image;
+  }
+
+  private ImageWriter getWriter(BitmapFormat bitmapFormat) {
+
+    return writers.computeIfAbsent(
+        bitmapFormat,
+        format -> {
+          Iterator<ImageWriter> iterator =
+              ImageIO.getImageWritersByFormatName(format.toString().toLowerCase());
+          if (!iterator.hasNext()) {
+            throw new UnsupportedOperationException("No image writer for " + format + "!!!");
+          }
+          return iterator.next();
+        });
+  }
+
+  /** Releases the pooled images and writers */
+  @Override
+  public void close() {
+
+    for (ImageWriter writer : writers.values()) {
+      writer.dispose();
+    }
+    writers.clear();
+    images.clear();
+  }
+
+  /** A ByteArrayOutputStream whose bytes can be read without copying them */
+  private static final class OutputBuffer extends ByteArrayOutputStream {
+
+    OutputBuffer() {
+
+      super(64 * 1024);
+    }
+
+    ByteBuffer toByteBuffer() {
+
+      return ByteBuffer.wrap(buf, 0, count).asReadOnlyBuffer();
+    }
+  }
+}
@@ -9,6 +9,7 @@ import org.knowm.xchart.internal.chartpart.AxisPair;
 import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.internal.chartpart.Legend_Marker;
 import org.knowm.xchart.internal.chartpart.Plot_Box;
+import org.knowm.xchart.internal.chartpart.RenderContext;
 import org.knowm.xchart.internal.series.Series.DataType;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyle;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyleCycler;
@@ -22,7 +23,12 @@ public class BoxChart extends Chart<BoxStyler, BoxSeries> {
 
   protected BoxChart(int width, int height) {
 
-    super(width, height, new BoxStyler());
+    this(width, height, new BoxStyler());
+  }
+
+  private BoxChart(int width, int height, BoxStyler styler) {
+
+    super(width, height, styler);
     axisPair = new AxisPair<BoxStyler, BoxSeries>(this);
     plot = new Plot_Box<BoxStyler, BoxSeries>(this);
     legend = new Legend_Marker<BoxStyler, BoxSeries>(this);
@@ -145,16 +151,32 @@ public class BoxChart extends Chart<BoxStyler, BoxSeries> {
   }
 
   @Override
-  public void paint(Graphics2D g, int width, int height) {
+  protected void prepareSeries() {
 
-    setWidth(width);
-    setHeight(height);
     setSeriesStyles();
+  }
+
+  @Override
+  protected void doPaint(Graphics2D g) {
+
     paintBackground(g);
 
-    axisPair.paint(g);
-    plot.paint(g);
-    chartTitle.paint(g);
-    annotations.forEach(x -> x.paint(g));
+    getAxisPair().paint(g);
+    getPlot().paint(g);
+    getChartTitle().paint(g);
+    paintAnnotations(g);
+  }
+
+  @Override
+  protected RenderContext<BoxStyler, BoxSeries> createRenderContext() {
+
+    return new RenderContext<>(
+        this, new AxisPair<>(this), new Plot_Box<>(this), new Legend_Marker<>(this));
+  }
+
+  @Override
+  public BoxChart copyWithoutSeries() {
+
+    return copyTitles(new BoxChart(getWidth(), getHeight(), copyStyler()));
   }
 }
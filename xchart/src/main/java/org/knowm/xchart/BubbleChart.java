@@ -8,6 +8,7 @@ import org.knowm.xchart.internal.chartpart.AxisPair;
 import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.internal.chartpart.Legend_Bubble;
 import org.knowm.xchart.internal.chartpart.Plot_Bubble;
+import org.knowm.xchart.internal.chartpart.RenderContext;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyle;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyleCycler;
 import org.knowm.xchart.style.BubbleStyler;
@@ -24,7 +25,12 @@ public class BubbleChart extends Chart<BubbleStyler, BubbleSeries> {
    */
   public BubbleChart(int width, int height) {
 
-    super(width, height, new BubbleStyler());
+    this(width, height, new BubbleStyler());
+  }
+
+  private BubbleChart(int width, int height, BubbleStyler styler) {
+
+    super(width, height, styler);
     axisPair = new AxisPair<BubbleStyler, BubbleSeries>(this);
     plot = new Plot_Bubble<BubbleStyler, BubbleSeries>(this);
     legend = new Legend_Bubble<BubbleStyler, BubbleSeries>(this);
@@ -210,10 +216,7 @@ public class BubbleChart extends Chart<BubbleStyler, BubbleSeries> {
   }
 
   @Override
-  public void paint(Graphics2D g, int width, int height) {
-
-    setWidth(width);
-    setHeight(height);
+  protected void prepareSeries() {
 
     // set the series types if they are not set. Legend and Plot need it.
     for (BubbleSeries bubbleSeries : getSeriesMap().values()) {
@@ -224,14 +227,31 @@ public class BubbleChart extends Chart<BubbleStyler, BubbleSeries> {
       }
     }
     setSeriesStyles();
+  }
+
+  @Override
+  protected void doPaint(Graphics2D g) {
 
     paintBackground(g);
 
-    axisPair.paint(g);
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+    getAxisPair().paint(g);
+    getPlot().paint(g);
+    getChartTitle().paint(g);
+    getLegend().paint(g);
+    paintAnnotations(g);
+  }
+
+  @Override
+  protected RenderContext<BubbleStyler, BubbleSeries> createRenderContext() {
+
+    return new RenderContext<>(
+        this, new AxisPair<>(this), new Plot_Bubble<>(this), new Legend_Bubble<>(this));
+  }
+
+  @Override
+  public BubbleChart copyWithoutSeries() {
+
+    return copyTitles(new BubbleChart(getWidth(), getHeight(), copyStyler()));
   }
 
   /** set the series color based on theme */
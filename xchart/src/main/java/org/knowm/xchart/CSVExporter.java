@@ -1,11 +1,31 @@
 package org.knowm.xchart;
 
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.knowm.xchart.internal.CSVWriter;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.jfr.CSVEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
+import org.knowm.xchart.internal.series.Series;
+import org.knowm.xchart.internal.series.SeriesDataSnapshot;
 
 /**
  * This class is used to export Chart data to a folder containing one or more CSV files. The parent
  * folder's name is the title of the chart. Each series becomes a CSV file in the folder. The
  * series' name becomes the CSV files' name.
+ *
+ * <p>The values of a series are its X and Y values and error bars for XY and category series, X,
+ * open, high, low, close and volume values for OHLC series, or X and Y values for OHLC series drawn
+ * as lines, Y values for box series, and X, Y and heat value of every cell for heat map series. The
+ * files are written through a large buffer, with every double in its shortest representation.
  */
 public class CSVExporter {
 
@@ -30,54 +50,25 @@ public class CSVExporter {
    */
   public static void writeCSVRows(XYSeries series, String path2Dir) {
 
-    File newFile = new File(path2Dir + series.getName() + ".csv");
-    Writer out = null;
     try {
-
-      out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(newFile), "UTF8"));
-      String csv = join(series.getXData(), ",") + System.getProperty("line.separator");
-      out.write(csv);
-      csv = join(series.getYData(), ",") + System.getProperty("line.separator");
-      out.write(csv);
-      if (series.getExtraValues() != null) {
-        csv = join(series.getExtraValues(), ",") + System.getProperty("line.separator");
-        out.write(csv);
-      }
-    } catch (Exception e) {
+      writeCSV(series, path2Dir, true);
+    } catch (IOException e) {
       e.printStackTrace();
-    } finally {
-      if (out != null) {
-        try {
-          out.flush();
-          out.close();
-        } catch (IOException e) {
-          // NOP
-        }
-      }
     }
   }
 
   /**
-   * Joins a series into an entire row of comma separated values.
+   * Export all series of a chart as rows in separate CSV files.
    *
-   * @param seriesData
-   * @param separator
-   * @return
+   * @param chart - a XY, category, OHLC, box or heat map chart
+   * @param path2Dir - ex. "./path/to/directory/" *make sure you have the '/' on the end
+   * @throws IOException
    */
-  private static String join(double[] seriesData, String separator) {
-
-    // two or more elements
-    StringBuilder sb = new StringBuilder(256); // Java default is 16, probably too small
-    sb.append(seriesData[0]);
-    for (int i = 1; i < seriesData.length; i++) {
-
-      if (separator != null) {
-        sb.append(separator);
-      }
+  public static void writeCSVRows(Chart<?, ?> chart, String path2Dir) throws IOException {
 
-      sb.append(seriesData[i]);
+    for (Series series : chart.getSeriesMap().values()) {
+      writeCSV(series, path2Dir, true);
     }
-    return sb.toString();
   }
 
   /**
@@ -101,40 +92,372 @@ public class CSVExporter {
    */
   public static void writeCSVColumns(XYSeries series, String path2Dir) {
 
-    File newFile = new File(path2Dir + series.getName() + ".csv");
-    Writer out = null;
     try {
+      writeCSV(series, path2Dir, false);
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
 
-      out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(newFile), "UTF8"));
-      double[] xData = series.getXData();
-      double[] yData = series.getYData();
-      double[] errorBarData = series.getExtraValues();
-      for (int i = 0; i < xData.length; i++) {
+  /**
+   * Export all series of a chart as columns in separate CSV files.
+   *
+   * @param chart - a XY, category, OHLC, box or heat map chart
+   * @param path2Dir - ex. "./path/to/directory/" *make sure you have the '/' on the end
+   * @throws IOException
+   */
+  public static void writeCSVColumns(Chart<?, ?> chart, String path2Dir) throws IOException {
+
+    for (Series series : chart.getSeriesMap().values()) {
+      writeCSV(series, path2Dir, false);
+    }
+  }
+
+  /**
+   * Export all series of a chart into one CSV file, a column for every value of every series below
+   * a header naming them. The rows of XY and OHLC series are aligned on their X values, merging
+   * them in ascending order, and those of category series on their categories. The rows of box
+   * series are written side by side. A heat map is written as a table of its heat values, the X
+   * values in the header and the Y values in the first column.
+   *
+   * @param chart - a XY, category, OHLC, box or heat map chart
+   * @param path2File
+   * @throws IOException
+   */
+  public static void writeCSVWide(Chart<?, ?> chart, String path2File) throws IOException {
+
+    File newFile = new File(path2File);
+    CSVEvent event = JfrEvents.beginCSV("export", newFile.getPath(), "Wide");
+
+    try (CSVWriter writer = new CSVWriter(newFile.toPath())) {
+      if (chart instanceof HeatMapChart) {
+        writeHeatMap(((HeatMapChart) chart).getHeatMapSeries(), writer);
+      } else {
+        List<List<Column>> seriesColumns = new ArrayList<>();
+        for (Series series : chart.getSeriesMap().values()) {
+          seriesColumns.add(getColumns(series));
+        }
+        if (chart instanceof BoxChart) {
+          writeSideBySide(seriesColumns, writer);
+        } else if (chart instanceof CategoryChart) {
+          writeAlignedOnCategories(seriesColumns, writer);
+        } else {
+          writeAlignedOnX(seriesColumns, writer);
+        }
+      }
+    }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append(xData[i]).append(",");
-        sb.append(yData[i]).append(",");
-        if (errorBarData != null) {
-          sb.append(errorBarData[i]).append(",");
+    JfrEvents.commitCSV(event, chart.getSeriesMap().size(), chart.getDataPointCount());
+  }
+
+  private static void writeCSV(Series series, String path2Dir, boolean isByRow) throws IOException {
+
+    File newFile = new File(path2Dir + series.getName() + ".csv");
+    CSVEvent event = JfrEvents.beginCSV("export", newFile.getPath(), isByRow ? "Rows" : "Columns");
+
+    List<Column> columns = getColumns(series);
+    int rowCount = columns.get(0).size();
+    try (CSVWriter writer = new CSVWriter(newFile.toPath())) {
+      if (isByRow) {
+        for (Column column : columns) {
+          for (int row = 0; row < rowCount; row++) {
+            column.write(writer, row);
+          }
+          writer.endLine();
+        }
+      } else {
+        for (int row = 0; row < rowCount; row++) {
+          for (Column column : columns) {
+            column.write(writer, row);
+          }
+          writer.endLine();
         }
-        sb.setLength(sb.length() - 1);
-        sb.append(System.getProperty("line.separator"));
+      }
+    }
 
-        // String csv = xDataPoint + "," + yDataPoint + errorBarValue == null ? "" : ("," +
-        // errorBarValue) + System.getProperty("line.separator");
-        // String csv = + yDataPoint + System.getProperty("line.separator");
-        out.write(sb.toString());
+    JfrEvents.commitCSV(event, 1, series.getDataPointCount());
+  }
+
+  /**
+   * @param series
+   * @return the columns of a series, the X values first if it has any
+   */
+  private static List<Column> getColumns(Series series) {
+
+    String name = series.getName();
+    List<Column> columns = new ArrayList<>();
+    if (series instanceof XYSeries) {
+      SeriesDataSnapshot data = ((XYSeries) series).getDataSnapshot();
+      columns.add(new Column("X", data.getXData()));
+      columns.add(new Column(name, data.getYData()));
+      if (data.getExtraValues() != null) {
+        columns.add(new Column(name + " Error Bars", data.getExtraValues()));
       }
-    } catch (Exception e) {
-      e.printStackTrace();
-    } finally {
-      if (out != null) {
-        try {
-          out.flush();
-          out.close();
-        } catch (IOException e) {
-          // NOP
+    } else if (series instanceof OHLCSeries) {
+      OHLCSeries ohlcSeries = (OHLCSeries) series;
+      columns.add(new Column("X", ohlcSeries.getXData()));
+      if (ohlcSeries.getYData() != null) {
+        columns.add(new Column(name, ohlcSeries.getYData()));
+      } else {
+        columns.add(new Column(name + " Open", ohlcSeries.getOpenData()));
+        columns.add(new Column(name + " High", ohlcSeries.getHighData()));
+        columns.add(new Column(name + " Low", ohlcSeries.getLowData()));
+        columns.add(new Column(name + " Close", ohlcSeries.getCloseData()));
+        if (ohlcSeries.getVolumeData() != null) {
+          columns.add(new Column(name + " Volume", ohlcSeries.getVolumeData()));
+        }
+      }
+    } else if (series instanceof BoxSeries) {
+      // the X values of a box chart are the names of its series
+      columns.add(new Column(name, ((BoxSeries) series).getYData().toArray()));
+    } else if (series instanceof CategorySeries) {
+      CategorySeries categorySeries = (CategorySeries) series;
+      columns.add(new Column("X", categorySeries.getXData().toArray()));
+      columns.add(new Column(name, categorySeries.getYData().toArray()));
+      Collection<? extends Number> errorBars = categorySeries.getExtraValues();
+      if (errorBars != null) {
+        columns.add(new Column(name + " Error Bars", errorBars.toArray()));
+      }
+    } else if (series instanceof HeatMapSeries) {
+      HeatMapSeries heatMapSeries = (HeatMapSeries) series;
+      List<?> xData = heatMapSeries.getXData();
+      List<?> yData = heatMapSeries.getYData();
+      List<? extends Number[]> heatData = heatMapSeries.getHeatData();
+      Object[] x = new Object[heatData.size()];
+      Object[] y = new Object[heatData.size()];
+      Object[] heat = new Object[heatData.size()];
+      for (int i = 0; i < heat.length; i++) {
+        Number[] cell = heatData.get(i);
+        x[i] = xData.get(cell[0].intValue());
+        y[i] = yData.get(cell[1].intValue());
+        heat[i] = cell[2];
+      }
+      columns.add(new Column("X", x));
+      columns.add(new Column("Y", y));
+      columns.add(new Column(name, heat));
+    } else {
+      throw new IllegalArgumentException(
+          "Series of type " + series.getClass().getSimpleName() + " can't be exported!!!");
+    }
+    return columns;
+  }
+
+  /** Writes the rows of all series merged in the order of their X values */
+  private static void writeAlignedOnX(List<List<Column>> seriesColumns, CSVWriter writer)
+      throws IOException {
+
+    writeHeader(seriesColumns, "X", writer);
+
+    int seriesCount = seriesColumns.size();
+    double[][] xData = new double[seriesCount][];
+    int[][] orders = new int[seriesCount][];
+    for (int s = 0; s < seriesCount; s++) {
+      xData[s] = (double[]) seriesColumns.get(s).get(0).data;
+      orders[s] = getOrder(xData[s]);
+    }
+
+    int[] heads = new int[seriesCount];
+    while (true) {
+      double x = Double.NaN;
+      boolean hasRow = false;
+      for (int s = 0; s < seriesCount; s++) {
+        if (heads[s] < xData[s].length) {
+          double headX = xData[s][getIndex(orders[s], heads[s])];
+          if (!hasRow || Double.compare(headX, x) < 0) {
+            x = headX;
+            hasRow = true;
+          }
+        }
+      }
+      if (!hasRow) {
+        return;
+      }
+      writer.writeDouble(x);
+      for (int s = 0; s < seriesCount; s++) {
+        List<Column> columns = seriesColumns.get(s);
+        int index = heads[s] < xData[s].length ? getIndex(orders[s], heads[s]) : -1;
+        boolean isAtX = index >= 0 && Double.compare(xData[s][index], x) == 0;
+        for (int c = 1; c < columns.size(); c++) {
+          if (isAtX) {
+            columns.get(c).write(writer, index);
+          } else {
+            writer.writeEmpty();
+          }
+        }
+        if (isAtX) {
+          heads[s]++;
+        }
+      }
+      writer.endLine();
+    }
+  }
+
+  /**
+   * @param xData
+   * @return the indices of the X values in ascending order, null if they are in order already
+   */
+  private static int[] getOrder(double[] xData) {
+
+    for (int i = 1; i < xData.length; i++) {
+      if (Double.compare(xData[i - 1], xData[i]) > 0) {
+        Integer[] order = new Integer[xData.length];
+        for (int j = 0; j < order.length; j++) {
+          order[j] = j;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(j -> xData[j]));
+        int[] indices = new int[order.length];
+        for (int j = 0; j < indices.length; j++) {
+          indices[j] = order[j];
         }
+        return indices;
+      }
+    }
+    return null;
+  }
+
+  private static int getIndex(int[] order, int position) {
+
+    return order == null ? position : order[position];
+  }
+
+  /** Writes a row for every category, in the order the categories first appear in */
+  private static void writeAlignedOnCategories(List<List<Column>> seriesColumns, CSVWriter writer)
+      throws IOException {
+
+    writeHeader(seriesColumns, "X", writer);
+
+    Map<Object, Boolean> categories = new LinkedHashMap<>();
+    List<Map<Object, Integer>> indices = new ArrayList<>();
+    for (List<Column> columns : seriesColumns) {
+      Object[] xData = (Object[]) columns.get(0).data;
+      Map<Object, Integer> seriesIndices = new HashMap<>();
+      for (int i = 0; i < xData.length; i++) {
+        categories.put(xData[i], Boolean.TRUE);
+        seriesIndices.putIfAbsent(xData[i], i);
+      }
+      indices.add(seriesIndices);
+    }
+
+    for (Object category : categories.keySet()) {
+      writer.writeValue(category);
+      for (int s = 0; s < seriesColumns.size(); s++) {
+        List<Column> columns = seriesColumns.get(s);
+        Integer index = indices.get(s).get(category);
+        for (int c = 1; c < columns.size(); c++) {
+          if (index != null) {
+            columns.get(c).write(writer, index);
+          } else {
+            writer.writeEmpty();
+          }
+        }
+      }
+      writer.endLine();
+    }
+  }
+
+  /** Writes the values of all series next to each other, row by row */
+  private static void writeSideBySide(List<List<Column>> seriesColumns, CSVWriter writer)
+      throws IOException {
+
+    writeHeader(seriesColumns, null, writer);
+
+    int rowCount = 0;
+    for (List<Column> columns : seriesColumns) {
+      rowCount = Math.max(rowCount, columns.get(0).size());
+    }
+    for (int row = 0; row < rowCount; row++) {
+      for (List<Column> columns : seriesColumns) {
+        for (Column column : columns) {
+          if (row < column.size()) {
+            column.write(writer, row);
+          } else {
+            writer.writeEmpty();
+          }
+        }
+      }
+      writer.endLine();
+    }
+  }
+
+  /**
+   * Writes the names of the columns, leaving out the X columns of the series
+   *
+   * @param seriesColumns
+   * @param xName - the name of the X column written first, null if there is none
+   * @param writer
+   * @throws IOException
+   */
+  private static void writeHeader(List<List<Column>> seriesColumns, String xName, CSVWriter writer)
+      throws IOException {
+
+    if (xName != null) {
+      writer.writeString(xName);
+    }
+    for (List<Column> columns : seriesColumns) {
+      for (int c = xName != null ? 1 : 0; c < columns.size(); c++) {
+        writer.writeString(columns.get(c).name);
+      }
+    }
+    writer.endLine();
+  }
+
+  /** Writes the heat values as a table, a row for every Y and a column for every X value */
+  private static void writeHeatMap(HeatMapSeries series, CSVWriter writer) throws IOException {
+
+    if (series == null) {
+      return;
+    }
+    List<?> xData = series.getXData();
+    List<?> yData = series.getYData();
+    Number[][] heat = new Number[yData.size()][xData.size()];
+    for (Number[] cell : series.getHeatData()) {
+      heat[cell[1].intValue()][cell[0].intValue()] = cell[2];
+    }
+
+    writer.writeString(series.getName());
+    for (Object x : xData) {
+      writer.writeValue(x);
+    }
+    writer.endLine();
+    for (int y = 0; y < heat.length; y++) {
+      writer.writeValue(yData.get(y));
+      for (Number value : heat[y]) {
+        writer.writeValue(value);
+      }
+      writer.endLine();
+    }
+  }
+
+  /** The values of a series in a double[], long[] or Object[] */
+  private static final class Column {
+
+    private final String name;
+    private final Object data;
+
+    Column(String name, Object data) {
+
+      this.name = name;
+      this.data = data;
+    }
+
+    int size() {
+
+      if (data instanceof double[]) {
+        return ((double[]) data).length;
+      } else if (data instanceof long[]) {
+        return ((long[]) data).length;
+      }
+      return ((Object[]) data).length;
+    }
+
+    void write(CSVWriter writer, int index) throws IOException {
+
+      if (data instanceof double[]) {
+        writer.writeDouble(((double[]) data)[index]);
+      } else if (data instanceof long[]) {
+        writer.writeLong(((long[]) data)[index]);
+      } else {
+        writer.writeValue(((Object[]) data)[index]);
       }
     }
   }
@@ -1,11 +1,21 @@
 package org.knowm.xchart;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import org.knowm.xchart.internal.CSVReader;
+import org.knowm.xchart.internal.jfr.CSVEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
 import org.knowm.xchart.style.Styler.ChartTheme;
 
 /**
@@ -30,6 +40,73 @@ public class CSVImporter {
       int height,
       ChartTheme chartTheme) {
 
+    return getChartFromCSVDir(path2Directory, dataOrientation, width, height, chartTheme, null);
+  }
+
+  /**
+   * Reads the files on the common ForkJoinPool, one per processor at once
+   *
+   * @param path2Directory
+   * @param dataOrientation
+   * @param width
+   * @param height
+   * @param chartTheme
+   * @param progressListener - told about every file added to the chart, or null
+   * @return
+   * @throws CancellationException if the progress listener canceled the import
+   */
+  public static XYChart getChartFromCSVDir(
+      String path2Directory,
+      DataOrientation dataOrientation,
+      int width,
+      int height,
+      ChartTheme chartTheme,
+      ProgressListener progressListener) {
+
+    return getChartFromCSVDir(
+        path2Directory,
+        dataOrientation,
+        width,
+        height,
+        chartTheme,
+        progressListener,
+        ForkJoinPool.commonPool(),
+        Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Reads the files of a directory in parallel while adding their series to the chart in the order
+   * of the file names. At most maxConcurrency files are read at once, and a file is only read once
+   * the file 2 * maxConcurrency places before it was added, so the data waiting to be added stays
+   * bounded however slow a single file is.
+   *
+   * @param path2Directory
+   * @param dataOrientation
+   * @param width
+   * @param height
+   * @param chartTheme
+   * @param progressListener - told about every file added to the chart, or null
+   * @param executor - reads the files, it is not shut down
+   * @param maxConcurrency - the most files read at once
+   * @return
+   * @throws CancellationException if the progress listener canceled the import
+   */
+  public static XYChart getChartFromCSVDir(
+      String path2Directory,
+      DataOrientation dataOrientation,
+      int width,
+      int height,
+      ChartTheme chartTheme,
+      ProgressListener progressListener,
+      Executor executor,
+      int maxConcurrency) {
+
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Max concurrency must be greater than zero!!!");
+    }
+
+    CSVEvent event = JfrEvents.beginCSV("import", path2Directory, dataOrientation.name());
+
     // 1. get the directory, name chart the dir name
     XYChart chart;
     if (chartTheme != null) {
@@ -38,52 +115,50 @@ public class CSVImporter {
       chart = new XYChart(width, height);
     }
 
-    // 2. get all the csv files in the dir
+    // 2. get all the csv files in the dir, ordered by name
     File[] csvFiles = getAllFiles(path2Directory, ".*.csv");
 
     // 3. create a series for each file, naming the series the file name
-    for (File csvFile : csvFiles) {
-      String[] xAndYData;
-      if (dataOrientation == DataOrientation.Rows) {
-        xAndYData = getSeriesDataFromCSVRows(csvFile);
-      } else {
-        xAndYData = getSeriesDataFromCSVColumns(csvFile);
-      }
-
-      if (xAndYData[2] == null || xAndYData[2].trim().equalsIgnoreCase("")) {
-        chart.addSeries(
-            csvFile.getName().substring(0, csvFile.getName().indexOf(".csv")),
-            getAxisData(xAndYData[0]),
-            getAxisData(xAndYData[1]));
-      } else {
-        chart.addSeries(
-            csvFile.getName().substring(0, csvFile.getName().indexOf(".csv")),
-            getAxisData(xAndYData[0]),
-            getAxisData(xAndYData[1]),
-            getAxisData(xAndYData[2]));
+    DirectoryReader reader =
+        new DirectoryReader(csvFiles, dataOrientation, executor, maxConcurrency);
+    try {
+      for (int i = 0; i < csvFiles.length; i++) {
+        double[][] data = reader.get(i);
+        String seriesName =
+            csvFiles[i].getName().substring(0, csvFiles[i].getName().indexOf(".csv"));
+        if (data.length == 2) {
+          chart.addSeries(seriesName, data[0], data[1]);
+        } else {
+          chart.addSeries(seriesName, data[0], data[1], data[2]);
+        }
+        if (progressListener != null && !progressListener.onProgress(i + 1, csvFiles.length)) {
+          throw new CancellationException("Import of " + path2Directory + " canceled!!!");
+        }
       }
+    } finally {
+      reader.cancel();
     }
 
+    JfrEvents.commitCSV(event, chart.getSeriesMap().size(), chart.getDataPointCount());
     return chart;
   }
 
   public static SeriesData getSeriesDataFromCSVFile(
       String path2CSVFile, DataOrientation dataOrientation) {
 
+    CSVEvent event = JfrEvents.beginCSV("import", path2CSVFile, dataOrientation.name());
+
     // 1. get csv file in the dir
     File csvFile = new File(path2CSVFile);
 
     // 2. Create Series
-    String[] xAndYData;
-    if (dataOrientation == DataOrientation.Rows) {
-      xAndYData = getSeriesDataFromCSVRows(csvFile);
-    } else {
-      xAndYData = getSeriesDataFromCSVColumns(csvFile);
-    }
-    return new SeriesData(
-        getAxisData(xAndYData[0]),
-        getAxisData(xAndYData[1]),
-        csvFile.getName().substring(0, csvFile.getName().indexOf(".csv")));
+    double[][] data = getSeriesDataFromCSV(csvFile, dataOrientation);
+    SeriesData seriesData =
+        new SeriesData(
+            data[0], data[1], csvFile.getName().substring(0, csvFile.getName().indexOf(".csv")));
+
+    JfrEvents.commitCSV(event, 1, seriesData.getXData().length);
+    return seriesData;
   }
 
   /**
@@ -100,97 +175,39 @@ public class CSVImporter {
   }
 
   /**
-   * Get the series's data from a file
+   * Reads the X and Y data, and the error bars if there are any, of a series from a file
    *
    * @param csvFile
-   * @return
-   */
-  private static String[] getSeriesDataFromCSVRows(File csvFile) {
-
-    String[] xAndYData = new String[3];
-
-    BufferedReader bufferedReader = null;
-    try {
-      int counter = 0;
-      String line;
-      bufferedReader = new BufferedReader(new FileReader(csvFile));
-      while ((line = bufferedReader.readLine()) != null) {
-        xAndYData[counter++] = line;
-      }
-    } catch (Exception e) {
-      System.out.println("Exception while reading csv file: " + e);
-    } finally {
-      if (bufferedReader != null) {
-        try {
-          bufferedReader.close();
-        } catch (IOException e) {
-          e.printStackTrace();
-        }
-      }
-    }
-    return xAndYData;
-  }
-
-  /**
-   * @param csvFile
-   * @return
+   * @param dataOrientation
+   * @return the X, Y and error bar data
+   * @throws IllegalArgumentException if a line is malformed or there are too few or too many rows
+   *     or columns
    */
-  private static String[] getSeriesDataFromCSVColumns(File csvFile) {
-
-    String[] xAndYData = new String[3];
-    xAndYData[0] = "";
-    xAndYData[1] = "";
-    xAndYData[2] = "";
+  private static double[][] getSeriesDataFromCSV(File csvFile, DataOrientation dataOrientation) {
 
-    BufferedReader bufferedReader = null;
+    double[][] data;
     try {
-      String line;
-      bufferedReader = new BufferedReader(new FileReader(csvFile));
-      while ((line = bufferedReader.readLine()) != null) {
-        String[] dataArray = line.split(",");
-        xAndYData[0] += dataArray[0] + ",";
-        xAndYData[1] += dataArray[1] + ",";
-        if (dataArray.length > 2) {
-          xAndYData[2] += dataArray[2] + ",";
-        }
-      }
-    } catch (Exception e) {
-      System.out.println("Exception while reading csv file: " + e);
-    } finally {
-      if (bufferedReader != null) {
-        try {
-          bufferedReader.close();
-        } catch (IOException e) {
-          e.printStackTrace();
-        }
+      if (dataOrientation == DataOrientation.Rows) {
+        data = CSVReader.readRows(csvFile.toPath());
+      } else {
+        data = CSVReader.readColumns(csvFile.toPath());
       }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
-    return xAndYData;
-  }
 
-  /**
-   * @param stringData
-   * @return
-   */
-  private static List<Number> getAxisData(String stringData) {
-
-    List<Number> axisData = new ArrayList<Number>();
-    String[] stringDataArray = stringData.split(",");
-    for (String dataPoint : stringDataArray) {
-      try {
-        Double value = Double.parseDouble(dataPoint);
-        axisData.add(value);
-      } catch (NumberFormatException e) {
-        System.out.println("Error parsing >" + dataPoint + "< !");
-        throw (e);
-      }
+    String unit = dataOrientation == DataOrientation.Rows ? " rows" : " columns";
+    if (data.length < 2 || (data.length > 3 && dataOrientation == DataOrientation.Rows)) {
+      throw new IllegalArgumentException(
+          csvFile.getName() + " has " + data.length + unit + " instead of 2 or 3!!!");
     }
-    return axisData;
+    // further columns are not part of the series
+    return data.length > 3 ? Arrays.copyOf(data, 3) : data;
   }
 
   /**
    * This method returns the files found in the given directory matching the given regular
-   * expression.
+   * expression, ordered by their names.
    *
    * @param dirName - ex. "./path/to/directory/" *make sure you have the '/' on the end
    * @param regex - ex. ".*.csv"
@@ -209,7 +226,9 @@ public class CSVImporter {
       }
     }
 
-    return matchingFiles.toArray(new File[matchingFiles.size()]);
+    File[] files = matchingFiles.toArray(new File[matchingFiles.size()]);
+    Arrays.sort(files, Comparator.comparing(File::getName));
+    return files;
   }
 
   /**
@@ -239,6 +258,79 @@ public class CSVImporter {
     }
   }
 
+  /** Told about the progress of importing a directory */
+  public interface ProgressListener {
+
+    /**
+     * Called on the importing thread after the series of a file was added
+     *
+     * @param importedFileCount
+     * @param fileCount
+     * @return false to cancel the import
+     */
+    boolean onProgress(int importedFileCount, int fileCount);
+  }
+
+  /** Reads the files of a directory ahead of the series added, a bounded number at once */
+  private static final class DirectoryReader {
+
+    private final File[] files;
+    private final DataOrientation dataOrientation;
+    private final Executor executor;
+    private final Semaphore permits;
+    private final int maxReadAhead;
+    private final List<CompletableFuture<double[][]>> futures = new ArrayList<>();
+    private volatile boolean isCanceled;
+
+    DirectoryReader(
+        File[] files, DataOrientation dataOrientation, Executor executor, int maxConcurrency) {
+
+      this.files = files;
+      this.dataOrientation = dataOrientation;
+      this.executor = executor;
+      this.permits = new Semaphore(maxConcurrency);
+      this.maxReadAhead = 2 * maxConcurrency;
+    }
+
+    /**
+     * Waits for the data of a file, starting to read the files following it
+     *
+     * @param index
+     * @return the X, Y and error bar data
+     */
+    double[][] get(int index) {
+
+      while (futures.size() < files.length && futures.size() < index + maxReadAhead) {
+        permits.acquireUninterruptibly();
+        File file = files[futures.size()];
+        futures.add(
+            CompletableFuture.supplyAsync(
+                () -> {
+                  try {
+                    return isCanceled ? null : getSeriesDataFromCSV(file, dataOrientation);
+                  } finally {
+                    permits.release();
+                  }
+                },
+                executor));
+      }
+      try {
+        return futures.set(index, null).join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw e;
+      }
+    }
+
+    /** Skips the files not read yet */
+    void cancel() {
+
+      isCanceled = true;
+    }
+  }
+
   public enum DataOrientation {
     Rows,
     Columns
@@ -246,27 +338,78 @@ public class CSVImporter {
 
   public static class SeriesData {
 
-    private final List<Number> xAxisData;
-    private final List<Number> yAxisData;
+    private final double[] xData;
+    private final double[] yData;
     private final String seriesName;
 
+    // boxed when first asked for, or the lists the data was given as
+    private List<Number> xAxisData;
+    private List<Number> yAxisData;
+
     public SeriesData(List<Number> xAxisData, List<Number> yAxisData, String seriesName) {
 
+      this(toArray(xAxisData), toArray(yAxisData), seriesName);
       this.xAxisData = xAxisData;
       this.yAxisData = yAxisData;
+    }
+
+    public SeriesData(double[] xData, double[] yData, String seriesName) {
+
+      this.xData = xData;
+      this.yData = yData;
       this.seriesName = seriesName;
     }
 
-    public List<Number> getxAxisData() {
+    private static double[] toArray(List<Number> data) {
+
+      double[] values = new double[data.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = data.get(i).doubleValue();
+      }
+      return values;
+    }
+
+    private static List<Number> toList(double[] data) {
 
+      List<Number> values = new ArrayList<Number>(data.length);
+      for (double value : data) {
+        values.add(value);
+      }
+      return values;
+    }
+
+    /**
+     * @return the X data, boxed once, see {@link #getXData()}
+     */
+    public synchronized List<Number> getxAxisData() {
+
+      if (xAxisData == null) {
+        xAxisData = toList(xData);
+      }
       return xAxisData;
     }
 
-    public List<Number> getyAxisData() {
+    /**
+     * @return the Y data, boxed once, see {@link #getYData()}
+     */
+    public synchronized List<Number> getyAxisData() {
 
+      if (yAxisData == null) {
+        yAxisData = toList(yData);
+      }
       return yAxisData;
     }
 
+    public double[] getXData() {
+
+      return xData;
+    }
+
+    public double[] getYData() {
+
+      return yData;
+    }
+
     public String getSeriesName() {
 
       return seriesName;
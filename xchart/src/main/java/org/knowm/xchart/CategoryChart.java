@@ -11,6 +11,7 @@ import org.knowm.xchart.internal.chartpart.AxisPair;
 import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.internal.chartpart.Legend_Marker;
 import org.knowm.xchart.internal.chartpart.Plot_Category;
+import org.knowm.xchart.internal.chartpart.RenderContext;
 import org.knowm.xchart.internal.series.Series.DataType;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyle;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyleCycler;
@@ -28,7 +29,12 @@ public class CategoryChart extends Chart<CategoryStyler, CategorySeries> {
    */
   public CategoryChart(int width, int height) {
 
-    super(width, height, new CategoryStyler());
+    this(width, height, new CategoryStyler());
+  }
+
+  private CategoryChart(int width, int height, CategoryStyler styler) {
+
+    super(width, height, styler);
     axisPair = new AxisPair<CategoryStyler, CategorySeries>(this);
     plot = new Plot_Category<CategoryStyler, CategorySeries>(this);
     legend = new Legend_Marker<CategoryStyler, CategorySeries>(this);
@@ -289,10 +295,7 @@ public class CategoryChart extends Chart<CategoryStyler, CategorySeries> {
   }
 
   @Override
-  public void paint(Graphics2D g, int width, int height) {
-
-    setWidth(width);
-    setHeight(height);
+  protected void prepareSeries() {
 
     // set the series render styles if they are not set. Legend and Plot need it.
     for (CategorySeries seriesCategory : getSeriesMap().values()) {
@@ -303,14 +306,31 @@ public class CategoryChart extends Chart<CategoryStyler, CategorySeries> {
       }
     }
     setSeriesStyles();
+  }
+
+  @Override
+  protected void doPaint(Graphics2D g) {
 
     paintBackground(g);
 
-    axisPair.paint(g);
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+    getAxisPair().paint(g);
+    getPlot().paint(g);
+    getChartTitle().paint(g);
+    getLegend().paint(g);
+    paintAnnotations(g);
+  }
+
+  @Override
+  protected RenderContext<CategoryStyler, CategorySeries> createRenderContext() {
+
+    return new RenderContext<>(
+        this, new AxisPair<>(this), new Plot_Category<>(this), new Legend_Marker<>(this));
+  }
+
+  @Override
+  public CategoryChart copyWithoutSeries() {
+
+    return copyTitles(new CategoryChart(getWidth(), getHeight(), copyStyler()));
   }
 
   /** set the series color, marker and line style based on theme */
@@ -0,0 +1,188 @@
+package org.knowm.xchart;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.chartpart.ChartRenderStats;
+
+/**
+ * An MBean publishing the rendering metrics of a chart on the platform MBean server, so charts
+ * eating paint time can be spotted from JConsole or any other JMX client. Registering a chart
+ * enables its {@link ChartRenderStats}. XChartPanel registers its chart itself if {@link
+ * XChartPanel#setMetricsMBeanEnabled(boolean)} is set, headless charts can be registered with
+ * {@link #register(Chart)}.
+ *
+ * <p>The object name is <code>org.knowm.xchart:type=&lt;chart type&gt;,id=&lt;n&gt;,title="..."
+ * </code>.
+ */
+public class ChartMetrics implements ChartMetricsMBean {
+
+  public static final String DOMAIN = "org.knowm.xchart";
+
+  private static final AtomicLong ID = new AtomicLong();
+
+  private final Chart<?, ?> chart;
+  private final LongSupplier skippedFrames;
+  private final ObjectName objectName;
+  private volatile long skippedFramesAtReset = 0;
+
+  /**
+   * Constructor
+   *
+   * @param chart
+   * @param skippedFrames
+   */
+  private ChartMetrics(Chart<?, ?> chart, LongSupplier skippedFrames) {
+
+    this.chart = chart;
+    this.skippedFrames = skippedFrames;
+    try {
+      this.objectName =
+          new ObjectName(
+              DOMAIN
+                  + ":type="
+                  + chart.getClass().getSimpleName()
+                  + ",id="
+                  + ID.incrementAndGet()
+                  + ",title="
+                  + ObjectName.quote(chart.getTitle()));
+    } catch (MalformedObjectNameException e) {
+      throw new IllegalArgumentException("Invalid MBean name for chart " + chart.getTitle(), e);
+    }
+  }
+
+  /**
+   * Register an MBean for a chart
+   *
+   * @param chart
+   * @return the registered MBean, call {@link #unregister()} once the chart is not used anymore
+   */
+  public static ChartMetrics register(Chart<?, ?> chart) {
+
+    return register(chart, () -> 0);
+  }
+
+  /**
+   * Register an MBean for a chart
+   *
+   * @param chart
+   * @param skippedFrames - the number of repaints which were coalesced into another one
+   * @return the registered MBean
+   */
+  static ChartMetrics register(Chart<?, ?> chart, LongSupplier skippedFrames) {
+
+    chart.setRenderStatsEnabled(true);
+    ChartMetrics chartMetrics = new ChartMetrics(chart, skippedFrames);
+    try {
+      ManagementFactory.getPlatformMBeanServer()
+          .registerMBean(chartMetrics, chartMetrics.objectName);
+    } catch (JMException e) {
+      throw new IllegalStateException("Could not register MBean " + chartMetrics.objectName, e);
+    }
+    return chartMetrics;
+  }
+
+  /** Remove the MBean from the platform MBean server */
+  public void unregister() {
+
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    } catch (InstanceNotFoundException e) {
+      // already unregistered
+    } catch (MBeanRegistrationException e) {
+      throw new IllegalStateException("Could not unregister MBean " + objectName, e);
+    }
+  }
+
+  public ObjectName getObjectName() {
+
+    return objectName;
+  }
+
+  private ChartRenderStats getRenderStats() {
+
+    ChartRenderStats renderStats = chart.getRenderStats();
+    if (renderStats == null) {
+      // disabled on the chart in the meantime
+      chart.setRenderStatsEnabled(true);
+      renderStats = chart.getRenderStats();
+    }
+    return renderStats;
+  }
+
+  @Override
+  public String getChartType() {
+
+    return chart.getClass().getSimpleName();
+  }
+
+  @Override
+  public String getTitle() {
+
+    return chart.getTitle();
+  }
+
+  @Override
+  public long getRepaintCount() {
+
+    return getRenderStats().getPaintCount();
+  }
+
+  @Override
+  public double getMeanPaintTimeMillis() {
+
+    return getRenderStats().getPaintHistogram().getMean() / 1_000_000.0;
+  }
+
+  /** Accurate to a factor of two, see {@link ChartRenderStats.Histogram} */
+  @Override
+  public double getP99PaintTimeMillis() {
+
+    return getRenderStats().getPaintHistogram().getPercentile(99) / 1_000_000.0;
+  }
+
+  @Override
+  public double getLastPaintTimeMillis() {
+
+    return getRenderStats().getLastPaintNanos() / 1_000_000.0;
+  }
+
+  @Override
+  public long getTotalPoints() {
+
+    return chart.getDataPointCount();
+  }
+
+  @Override
+  public int getSeriesCount() {
+
+    return chart.getSeriesMap().size();
+  }
+
+  @Override
+  public double getCacheHitRate() {
+
+    ChartRenderStats renderStats = getRenderStats();
+    long lookups = renderStats.getCacheHitCount() + renderStats.getCacheMissCount();
+    return lookups == 0 ? 0 : (double) renderStats.getCacheHitCount() / lookups;
+  }
+
+  @Override
+  public long getSkippedFrames() {
+
+    return skippedFrames.getAsLong() - skippedFramesAtReset;
+  }
+
+  @Override
+  public void reset() {
+
+    getRenderStats().reset();
+    skippedFramesAtReset = skippedFrames.getAsLong();
+  }
+}
@@ -0,0 +1,27 @@
+package org.knowm.xchart;
+
+/** The rendering metrics of a chart as exposed over JMX, see {@link ChartMetrics} */
+public interface ChartMetricsMBean {
+
+  String getChartType();
+
+  String getTitle();
+
+  long getRepaintCount();
+
+  double getMeanPaintTimeMillis();
+
+  double getP99PaintTimeMillis();
+
+  double getLastPaintTimeMillis();
+
+  long getTotalPoints();
+
+  int getSeriesCount();
+
+  double getCacheHitRate();
+
+  long getSkippedFrames();
+
+  void reset();
+}
@@ -0,0 +1,193 @@
+package org.knowm.xchart;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.knowm.xchart.internal.chartpart.Chart;
+
+/**
+ * Records what a chart shows into an animated GIF, for example a realtime chart updated by another
+ * thread. The chart is sampled at a fixed frame rate: every sample only lays the chart out and
+ * records it as a {@link DisplayList}, which is cheap, and queues it. A background thread
+ * rasterizes the queued frames and adds them to a {@link GifEncoderSession}. When the queue is full
+ * because the encoding falls behind, new frames are dropped instead of blocking, and the frame
+ * before a gap is shown for longer, so the GIF keeps the timing of the recording.
+ *
+ * <pre>
+ * try (GifEncoderSession gif = new GifEncoderSession("session", 0, 100);
+ *     ChartRecorder recorder = new ChartRecorder(chart, gif, 10, 16)) {
+ *   recorder.start();
+ *   ...
+ * }
+ * </pre>
+ *
+ * <p>The GIF session is not closed by the recorder.
+ */
+public final class ChartRecorder implements Closeable {
+
+  private final Chart<?, ?> chart;
+  private final GifEncoderSession gif;
+  private final long framePeriodNanos;
+  private final BlockingQueue<Frame> frames;
+
+  private final AtomicLong recordedFrames = new AtomicLong();
+  private final AtomicLong droppedFrames = new AtomicLong();
+
+  private ScheduledExecutorService sampler;
+  private Thread encoder;
+  private volatile boolean isStopped;
+  private volatile IOException error;
+
+  // the last frame taken from the queue, written once the time of the next frame is known
+  private Frame heldFrame;
+  private long startNanos;
+  private long writtenCentis;
+
+  /**
+   * Constructor
+   *
+   * @param chart
+   * @param gif - the GIF the frames are added to
+   * @param framesPerSecond
+   * @param queueCapacity - the most frames waiting to be encoded, more are dropped
+   */
+  public ChartRecorder(
+      Chart<?, ?> chart, GifEncoderSession gif, int framesPerSecond, int queueCapacity) {
+
+    if (framesPerSecond < 1 || framesPerSecond > 100) {
+      throw new IllegalArgumentException("Frames per second must be between 1 and 100!!!");
+    }
+    this.chart = chart;
+    this.gif = gif;
+    this.framePeriodNanos = TimeUnit.SECONDS.toNanos(1) / framesPerSecond;
+    this.frames = new ArrayBlockingQueue<>(queueCapacity);
+  }
+
+  /**
+   * Starts sampling the chart
+   *
+   * @return this recorder
+   */
+  public synchronized ChartRecorder start() {
+
+    if (sampler != null) {
+      throw new IllegalStateException("The recorder is already started!!!");
+    }
+    startNanos = System.nanoTime();
+    encoder = new Thread(this::encodeFrames, "XChart recorder encoder");
+    encoder.setDaemon(true);
+    encoder.start();
+    sampler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "XChart recorder sampler");
+              thread.setDaemon(true);
+              return thread;
+            });
+    sampler.scheduleAtFixedRate(this::sample, 0, framePeriodNanos, TimeUnit.NANOSECONDS);
+    return this;
+  }
+
+  public long getRecordedFrames() {
+
+    return recordedFrames.get();
+  }
+
+  public long getDroppedFrames() {
+
+    return droppedFrames.get();
+  }
+
+  private void sample() {
+
+    if (isStopped || error != null) {
+      return;
+    }
+    Frame frame;
+    try {
+      frame = new Frame(DisplayList.record(chart), System.nanoTime());
+    } catch (RuntimeException e) {
+      error = new IOException("Recording the chart failed!!!", e);
+      return;
+    }
+    if (frames.offer(frame)) {
+      recordedFrames.incrementAndGet();
+    } else {
+      droppedFrames.incrementAndGet();
+    }
+  }
+
+  private void encodeFrames() {
+
+    try {
+      while (!isStopped || !frames.isEmpty()) {
+        Frame frame = frames.poll(framePeriodNanos, TimeUnit.NANOSECONDS);
+        if (frame != null) {
+          write(frame);
+        }
+      }
+      if (heldFrame != null) {
+        // the last frame is shown for one frame period
+        write(new Frame(null, heldFrame.nanos + framePeriodNanos));
+      }
+    } catch (IOException e) {
+      error = e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void write(Frame frame) throws IOException {
+
+    if (heldFrame != null) {
+      // rounded from the start of the recording, so the rounding doesn't add up
+      long centis = Math.round((frame.nanos - startNanos) / 1e7);
+      gif.setDelay((int) Math.max(1, centis - writtenCentis) * 10);
+      gif.addFrame(heldFrame.displayList);
+      writtenCentis = Math.max(writtenCentis + 1, centis);
+    }
+    heldFrame = frame;
+  }
+
+  /**
+   * Stops sampling and waits for the queued frames to be added to the GIF
+   *
+   * @throws IOException if adding a frame failed
+   */
+  @Override
+  public synchronized void close() throws IOException {
+
+    if (sampler == null || isStopped) {
+      return;
+    }
+    sampler.shutdown();
+    try {
+      sampler.awaitTermination(1, TimeUnit.MINUTES);
+      isStopped = true;
+      encoder.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while finishing the recording!!!", e);
+    }
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  private static final class Frame {
+
+    private final DisplayList displayList;
+    private final long nanos;
+
+    Frame(DisplayList displayList, long nanos) {
+
+      this.displayList = displayList;
+      this.nanos = nanos;
+    }
+  }
+}
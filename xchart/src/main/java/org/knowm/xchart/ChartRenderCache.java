@@ -0,0 +1,518 @@
+package org.knowm.xchart;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.knowm.xchart.BitmapEncoder.BitmapFormat;
+import org.knowm.xchart.VectorGraphicsEncoder.VectorGraphicsFormat;
+import org.knowm.xchart.internal.ChartFingerprint;
+import org.knowm.xchart.internal.chartpart.Chart;
+
+/**
+ * Caches encoded charts by a hash of what they are painted from, so a chart which looks like one
+ * encoded before is returned without painting it again, for example identical requests to a server
+ * rendering charts. The hash covers the size, titles, styler, series and annotations of the chart,
+ * and the format, see {@link ChartFingerprint}.
+ *
+ * <p>The encoded charts are kept in memory up to a number of bytes, the least recently used are
+ * evicted first. With a disk tier, evicted charts are written to files in a directory and read back
+ * through memory mapping, also by caches created later on the same directory. Charts whose hash
+ * depends on the identity of objects, like the lambdas formatting tick labels, are only kept in
+ * memory.
+ *
+ * <pre>
+ * ChartRenderCache cache = new ChartRenderCache(64 * 1024 * 1024);
+ * ...
+ * cache.saveBitmap(chart, response.getOutputStream(), BitmapFormat.PNG);
+ * </pre>
+ *
+ * <p>A cache can be used by several threads at once. Charts requested by several threads at the
+ * same time are encoded once. Files are read and written without blocking the other threads, and a
+ * chart which can't be written or read back is dropped from the disk tier rather than failing the
+ * request.
+ */
+public final class ChartRenderCache {
+
+  private static final String FILE_EXTENSION = ".chart";
+
+  private final long maxBytes;
+
+  // the encoded charts in memory, least recently used first
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long bytes;
+
+  // the encoded charts on disk, least recently used first, by their size
+  private Path directory;
+  private long maxDiskBytes;
+  private final LinkedHashMap<String, Long> diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+  private long diskBytes;
+  // the charts evicted from memory while they are written to disk, outside of the lock
+  private final Map<String, byte[]> diskWrites = new HashMap<>();
+
+  // the charts being encoded, waited for by the threads requesting the same chart
+  private final Map<String, CompletableFuture<byte[]>> pendingEntries = new ConcurrentHashMap<>();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong diskHits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong diskEvictions = new AtomicLong();
+
+  /**
+   * Constructor
+   *
+   * @param maxBytes - the most bytes of encoded charts kept in memory
+   */
+  public ChartRenderCache(long maxBytes) {
+
+    if (maxBytes < 0) {
+      throw new IllegalArgumentException("Max bytes must not be negative!!!");
+    }
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Adds a disk tier keeping the charts evicted from memory in a directory. Charts already cached
+   * in the directory are used, the least recently written are evicted first.
+   *
+   * @param directory - created if it doesn't exist
+   * @param maxDiskBytes - the most bytes of encoded charts kept in the directory
+   * @return this cache
+   * @throws IOException if the directory can't be read
+   */
+  public synchronized ChartRenderCache setDiskTier(Path directory, long maxDiskBytes)
+      throws IOException {
+
+    if (maxDiskBytes < 0) {
+      throw new IllegalArgumentException("Max disk bytes must not be negative!!!");
+    }
+    Files.createDirectories(directory);
+    List<Path> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+      stream.forEach(files::add);
+    }
+    List<Long> lastModified = new ArrayList<>();
+    for (Path file : files) {
+      lastModified.add(Files.getLastModifiedTime(file).toMillis());
+    }
+    List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < files.size(); i++) {
+      order.add(i);
+    }
+    order.sort((a, b) -> Long.compare(lastModified.get(a), lastModified.get(b)));
+
+    this.directory = directory;
+    this.maxDiskBytes = maxDiskBytes;
+    diskEntries.clear();
+    diskBytes = 0;
+    for (int i : order) {
+      String name = files.get(i).getFileName().toString();
+      long size = Files.size(files.get(i));
+      diskEntries.put(name.substring(0, name.length() - FILE_EXTENSION.length()), size);
+      diskBytes += size;
+    }
+    for (Path file : evictFromDisk()) {
+      Files.deleteIfExists(file);
+    }
+    return this;
+  }
+
+  /**
+   * Gets a Chart encoded as an image, encoding it if it isn't cached
+   *
+   * @param chart
+   * @param bitmapFormat
+   * @return a copy of the encoded chart
+   * @throws IOException
+   */
+  public byte[] getBitmap(Chart<?, ?> chart, BitmapFormat bitmapFormat) throws IOException {
+
+    return getCachedBitmap(chart, bitmapFormat).clone();
+  }
+
+  /**
+   * Write a Chart as an image into a given stream, from the cache if it is cached. Does not close
+   * the target stream automatically at the end of the operation
+   *
+   * @param chart
+   * @param targetStream
+   * @param bitmapFormat
+   * @throws IOException
+   */
+  public void saveBitmap(Chart<?, ?> chart, OutputStream targetStream, BitmapFormat bitmapFormat)
+      throws IOException {
+
+    targetStream.write(getCachedBitmap(chart, bitmapFormat));
+  }
+
+  // the cached bytes themselves, only written to streams
+  private byte[] getCachedBitmap(Chart<?, ?> chart, BitmapFormat bitmapFormat) throws IOException {
+
+    return get(
+        ChartFingerprint.of(chart, "bitmap:" + bitmapFormat.name()),
+        out -> BitmapEncoder.saveBitmap(chart, out, bitmapFormat));
+  }
+
+  /**
+   * Gets a Chart encoded as vectors, encoding it if it isn't cached
+   *
+   * @param chart
+   * @param vectorGraphicsFormat
+   * @return a copy of the encoded chart
+   * @throws IOException
+   */
+  public byte[] getVectorGraphic(Chart<?, ?> chart, VectorGraphicsFormat vectorGraphicsFormat)
+      throws IOException {
+
+    return getCachedVectorGraphic(chart, vectorGraphicsFormat).clone();
+  }
+
+  /**
+   * Write a Chart as vectors into a given stream, from the cache if it is cached. Does not close
+   * the target stream automatically at the end of the operation
+   *
+   * @param chart
+   * @param targetStream
+   * @param vectorGraphicsFormat
+   * @throws IOException
+   */
+  public void saveVectorGraphic(
+      Chart<?, ?> chart, OutputStream targetStream, VectorGraphicsFormat vectorGraphicsFormat)
+      throws IOException {
+
+    targetStream.write(getCachedVectorGraphic(chart, vectorGraphicsFormat));
+  }
+
+  // the cached bytes themselves, only written to streams
+  private byte[] getCachedVectorGraphic(
+      Chart<?, ?> chart, VectorGraphicsFormat vectorGraphicsFormat) throws IOException {
+
+    return get(
+        ChartFingerprint.of(chart, "vector:" + vectorGraphicsFormat.name()),
+        out -> VectorGraphicsEncoder.saveVectorGraphic(chart, out, vectorGraphicsFormat));
+  }
+
+  private byte[] get(ChartFingerprint fingerprint, Encoder encoder) throws IOException {
+
+    String key = fingerprint.getHash();
+    byte[] encoded = getCached(key);
+    if (encoded != null) {
+      return encoded;
+    }
+
+    CompletableFuture<byte[]> pending = new CompletableFuture<>();
+    CompletableFuture<byte[]> existing = pendingEntries.putIfAbsent(key, pending);
+    if (existing == null) {
+      // cached by another thread in the meantime
+      encoded = getCached(key);
+      if (encoded != null) {
+        pendingEntries.remove(key);
+        pending.complete(encoded);
+        return encoded;
+      }
+    } else {
+      // encoded by another thread
+      hits.incrementAndGet();
+      try {
+        return existing.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw e;
+      }
+    }
+    misses.incrementAndGet();
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      encoder.encode(out);
+      encoded = out.toByteArray();
+      // completed first, so the threads waiting for it don't wait for evictions written to disk
+      pending.complete(encoded);
+      put(key, encoded, fingerprint.isStable());
+      return encoded;
+    } catch (IOException | RuntimeException e) {
+      pending.completeExceptionally(e);
+      throw e;
+    } finally {
+      pendingEntries.remove(key);
+    }
+  }
+
+  /**
+   * Gets a cached chart from memory, or from disk without holding the lock
+   *
+   * @param key
+   * @return the encoded chart, or null if it isn't cached
+   */
+  private byte[] getCached(String key) {
+
+    Path file;
+    byte[] encoded;
+    synchronized (this) {
+      Entry entry = entries.get(key);
+      if (entry != null) {
+        hits.incrementAndGet();
+        return entry.encoded;
+      }
+      encoded = diskWrites.get(key);
+      file =
+          encoded == null && directory != null && diskEntries.containsKey(key)
+              ? directory.resolve(key + FILE_EXTENSION)
+              : null;
+    }
+    if (file != null) {
+      encoded = read(file);
+      if (encoded == null) {
+        // the disk tier is only a cache, a file which can't be read is dropped
+        synchronized (this) {
+          Long size = diskEntries.remove(key);
+          diskBytes -= size == null ? 0 : size;
+        }
+        deleteQuietly(file);
+      }
+    }
+    if (encoded == null) {
+      return null;
+    }
+    diskHits.incrementAndGet();
+    put(key, encoded, true);
+    return encoded;
+  }
+
+  private void put(String key, byte[] encoded, boolean isStable) {
+
+    Path diskDirectory;
+    Map<String, byte[]> evicted;
+    synchronized (this) {
+      diskDirectory = directory;
+      evicted = putInMemory(key, encoded, isStable);
+    }
+    for (Map.Entry<String, byte[]> entry : evicted.entrySet()) {
+      writeToDisk(diskDirectory, entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Puts a chart in memory, evicting the least recently used charts
+   *
+   * @param key
+   * @param encoded
+   * @param isStable
+   * @return the evicted charts to write to disk, by key
+   */
+  private Map<String, byte[]> putInMemory(String key, byte[] encoded, boolean isStable) {
+
+    Map<String, byte[]> evicted = new LinkedHashMap<>();
+    Entry previous = entries.put(key, new Entry(encoded, isStable));
+    bytes += encoded.length - (previous == null ? 0 : previous.encoded.length);
+    Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+    while (bytes > maxBytes && iterator.hasNext()) {
+      Map.Entry<String, Entry> eldest = iterator.next();
+      iterator.remove();
+      bytes -= eldest.getValue().encoded.length;
+      evictions.incrementAndGet();
+      // charts hashed by identity can't be found by another JVM
+      if (directory != null
+          && eldest.getValue().isStable
+          && eldest.getValue().encoded.length <= maxDiskBytes
+          && !diskEntries.containsKey(eldest.getKey())
+          && !diskWrites.containsKey(eldest.getKey())) {
+        diskWrites.put(eldest.getKey(), eldest.getValue().encoded);
+        evicted.put(eldest.getKey(), eldest.getValue().encoded);
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * Writes an evicted chart to disk without holding the lock. If writing fails the chart is
+   * dropped, the disk tier is only a cache.
+   *
+   * @param diskDirectory
+   * @param key
+   * @param encoded
+   */
+  private void writeToDisk(Path diskDirectory, String key, byte[] encoded) {
+
+    boolean isWritten = false;
+    Path temporary = null;
+    try {
+      // written next to it and moved, so other caches on the directory never read half a file
+      temporary = Files.createTempFile(diskDirectory, key, ".tmp");
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+      Files.move(
+          temporary,
+          diskDirectory.resolve(key + FILE_EXTENSION),
+          StandardCopyOption.REPLACE_EXISTING);
+      isWritten = true;
+    } catch (IOException e) {
+      deleteQuietly(temporary);
+    }
+
+    List<Path> evicted;
+    synchronized (this) {
+      diskWrites.remove(key);
+      if (isWritten && diskDirectory.equals(directory)) {
+        Long previous = diskEntries.put(key, (long) encoded.length);
+        diskBytes += encoded.length - (previous == null ? 0 : previous);
+      }
+      evicted = evictFromDisk();
+    }
+    for (Path file : evicted) {
+      deleteQuietly(file);
+    }
+  }
+
+  /**
+   * Evicts the least recently used charts on disk until they fit
+   *
+   * @return the files of the evicted charts, to delete without holding the lock
+   */
+  private List<Path> evictFromDisk() {
+
+    List<Path> evicted = new ArrayList<>();
+    Iterator<Map.Entry<String, Long>> iterator = diskEntries.entrySet().iterator();
+    while (diskBytes > maxDiskBytes && iterator.hasNext()) {
+      Map.Entry<String, Long> eldest = iterator.next();
+      iterator.remove();
+      diskBytes -= eldest.getValue();
+      diskEvictions.incrementAndGet();
+      evicted.add(directory.resolve(eldest.getKey() + FILE_EXTENSION));
+    }
+    return evicted;
+  }
+
+  /**
+   * Reads a cached file through memory mapping
+   *
+   * @param file
+   * @return the bytes, or null if the file was deleted or can't be read
+   */
+  private static byte[] read(Path file) {
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      byte[] encoded = new byte[mapped.remaining()];
+      mapped.get(encoded);
+      return encoded;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      // left behind, evicted again by the next cache on the directory
+    }
+  }
+
+  /** Removes all charts from memory, the disk tier is kept */
+  public synchronized void clear() {
+
+    entries.clear();
+    bytes = 0;
+  }
+
+  /**
+   * @return the charts found in memory, or being encoded by another thread
+   */
+  public long getHits() {
+
+    return hits.get();
+  }
+
+  /**
+   * @return the charts found on disk
+   */
+  public long getDiskHits() {
+
+    return diskHits.get();
+  }
+
+  /**
+   * @return the charts which were encoded
+   */
+  public long getMisses() {
+
+    return misses.get();
+  }
+
+  /**
+   * @return the charts evicted from memory
+   */
+  public long getEvictions() {
+
+    return evictions.get();
+  }
+
+  /**
+   * @return the charts deleted from disk
+   */
+  public long getDiskEvictions() {
+
+    return diskEvictions.get();
+  }
+
+  /**
+   * @return the bytes of the charts in memory
+   */
+  public synchronized long getBytes() {
+
+    return bytes;
+  }
+
+  /**
+   * @return the bytes of the charts on disk
+   */
+  public synchronized long getDiskBytes() {
+
+    return diskBytes;
+  }
+
+  private static final class Entry {
+
+    private final byte[] encoded;
+    private final boolean isStable;
+
+    Entry(byte[] encoded, boolean isStable) {
+
+      this.encoded = encoded;
+      this.isStable = isStable;
+    }
+  }
+
+  private interface Encoder {
+
+    void encode(OutputStream out) throws IOException;
+  }
+}
@@ -0,0 +1,45 @@
+package org.knowm.xchart;
+
+import org.knowm.xchart.internal.chartpart.Chart;
+
+/**
+ * Creates charts with the same size, styling and titles as a configured chart, for example one
+ * chart per request on a server. Copying the template is much cheaper than building and styling a
+ * new chart, the only work left per chart is adding its series.
+ *
+ * <p>The template keeps a snapshot of the chart it was created from, so changing that chart later
+ * doesn't change the template. Every created chart gets its own copy of the styler and can be
+ * changed freely. {@link #newChart()} can be called from several threads at once.
+ */
+public class ChartTemplate<T extends Chart<?, ?>> {
+
+  // never handed out, so its styler is frozen
+  private final T chart;
+
+  /**
+   * Constructor
+   *
+   * @param chart - the chart to take the styling from, its series and annotations are left out
+   */
+  public ChartTemplate(T chart) {
+
+    this.chart = copy(chart);
+  }
+
+  /**
+   * Creates a new chart without series
+   *
+   * @return the chart
+   */
+  public T newChart() {
+
+    return copy(chart);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Chart<?, ?>> T copy(T chart) {
+
+    // every chart type returns its own type from copyWithoutSeries
+    return (T) chart.copyWithoutSeries();
+  }
+}
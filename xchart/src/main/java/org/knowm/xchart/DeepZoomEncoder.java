@@ -0,0 +1,851 @@
+package org.knowm.xchart;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.imageio.ImageIO;
+import org.knowm.xchart.XYSeries.XYSeriesRenderStyle;
+import org.knowm.xchart.internal.chartpart.AxisTicks;
+import org.knowm.xchart.internal.chartpart.PlotContentTiler;
+import org.knowm.xchart.internal.jfr.ChartEncodeEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
+import org.knowm.xchart.internal.series.Series.DataType;
+import org.knowm.xchart.internal.series.SeriesDataSnapshot;
+import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyleCycler;
+import org.knowm.xchart.style.XYStyler;
+import org.knowm.xchart.style.markers.Marker;
+import org.knowm.xchart.style.markers.None;
+
+/**
+ * Exports an XYChart far larger than an image can hold as a pyramid of PNG tiles, for viewers
+ * zooming into it like OpenSeadragon or Leaflet. Every zoom level is painted as a chart of its own
+ * size from the series decimated to its pixels, so lines stay sharp and text keeps its size, rather
+ * than scaling the pixels of the largest level. Levels too small to lay out a chart are scaled from
+ * the tiles of the level above.
+ *
+ * <p>The tiles of a level are painted in blocks of a column and written in parallel, at most a
+ * given number of blocks at once, so only those are held in memory. Every column of tiles is
+ * painted from the points falling into it, with the axis ranges of the whole chart and the axis
+ * ticks calculated once for the level, so the columns fit together.
+ *
+ * <pre>
+ * new DeepZoomEncoder().save(chart, 1_000_000, 4_000, "./Sample_Chart");
+ * </pre>
+ *
+ * <p>Series are decimated keeping the first, lowest, highest and last point of every pixel column,
+ * which is what the line through all points would cover, and scatter series one point per pixel.
+ * Line series with markers keep one point per pixel as well, so their markers are painted wherever
+ * the markers of all points would be. Series whose x values aren't sorted are painted with all
+ * their points on every tile. Annotations and error bars are left out. The chart must not be
+ * changed while it is exported.
+ */
+public final class DeepZoomEncoder {
+
+  /** The directory layout of the tiles */
+  public enum TileLayout {
+    /** A .dzi file next to a _files directory with a directory per level of col_row.png tiles */
+    DEEP_ZOOM,
+    /** A directory per zoom level of directories per column of row.png tiles, {z}/{x}/{y}.png */
+    XYZ
+  }
+
+  // the smallest width or height of a level painted as a chart, smaller levels are scaled
+  private static final int MIN_CHART_SIZE = 200;
+
+  // the most pixels painted at once for the tiles of a column
+  private static final int MAX_BLOCK_PIXELS = 4 * 1024 * 1024;
+
+  private final Executor executor;
+  private final int maxConcurrency;
+
+  private TileLayout tileLayout = TileLayout.DEEP_ZOOM;
+  private int tileSize = 256;
+  private int overlap;
+  private PngEncoder pngEncoder = new PngEncoder();
+
+  /** Constructor, painting on the common ForkJoinPool with one block per processor at once */
+  public DeepZoomEncoder() {
+
+    this(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor
+   *
+   * @param executor
+   * @param maxConcurrency - the most blocks of tiles painted and written at once
+   */
+  public DeepZoomEncoder(Executor executor, int maxConcurrency) {
+
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Max concurrency must be greater than zero!!!");
+    }
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * Sets the directory layout of the tiles. The default is {@link TileLayout#DEEP_ZOOM}.
+   *
+   * @param tileLayout
+   * @return this encoder
+   */
+  public DeepZoomEncoder setTileLayout(TileLayout tileLayout) {
+
+    this.tileLayout = tileLayout;
+    return this;
+  }
+
+  public TileLayout getTileLayout() {
+
+    return tileLayout;
+  }
+
+  /**
+   * Sets the width and height of the tiles in pixels. The default is 256.
+   *
+   * @param tileSize
+   * @return this encoder
+   */
+  public DeepZoomEncoder setTileSize(int tileSize) {
+
+    if (tileSize < 1) {
+      throw new IllegalArgumentException("Tile size must be greater than zero!!!");
+    }
+    this.tileSize = tileSize;
+    return this;
+  }
+
+  public int getTileSize() {
+
+    return tileSize;
+  }
+
+  /**
+   * Sets the pixels DeepZoom tiles overlap their neighbors by on each side. The default is 0. XYZ
+   * tiles never overlap.
+   *
+   * @param overlap
+   * @return this encoder
+   */
+  public DeepZoomEncoder setOverlap(int overlap) {
+
+    if (overlap < 0) {
+      throw new IllegalArgumentException("Overlap must not be negative!!!");
+    }
+    this.overlap = overlap;
+    return this;
+  }
+
+  public int getOverlap() {
+
+    return overlap;
+  }
+
+  /**
+   * Sets the encoder writing the tiles, for example to write them as indexed PNGs
+   *
+   * @param pngEncoder
+   * @return this encoder
+   */
+  public DeepZoomEncoder setPngEncoder(PngEncoder pngEncoder) {
+
+    this.pngEncoder = pngEncoder;
+    return this;
+  }
+
+  public PngEncoder getPngEncoder() {
+
+    return pngEncoder;
+  }
+
+  /**
+   * Save a Chart as tiles
+   *
+   * @param chart
+   * @param width - the width of the largest level in pixels
+   * @param height - the height of the largest level in pixels
+   * @param path - the .dzi file without extension for DeepZoom, the directory for XYZ
+   * @throws IOException
+   */
+  public void save(XYChart chart, int width, int height, String path) throws IOException {
+
+    if (width < 1 || height < 1) {
+      throw new IllegalArgumentException("Width and height must be greater than zero!!!");
+    }
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("DeepZoomEncoder", "PNG");
+
+    Path directory;
+    int tileOverlap;
+    if (tileLayout == TileLayout.DEEP_ZOOM) {
+      directory = Paths.get(path + "_files");
+      tileOverlap = overlap;
+      writeDescriptor(Paths.get(path + ".dzi"), width, height);
+    } else {
+      directory = Paths.get(path);
+      tileOverlap = 0;
+    }
+    Files.createDirectories(directory);
+
+    Exporter exporter = new Exporter(chart, directory, tileOverlap);
+    List<Level> levels = getLevels(width, height);
+    Level previous = null;
+    for (Level level : levels) {
+      if (previous == null || level.isPainted) {
+        exporter.paintLevel(level);
+      } else {
+        exporter.scaleLevel(level, previous);
+      }
+      previous = level;
+    }
+    JfrEvents.commitChartEncode(event, chart);
+  }
+
+  private void writeDescriptor(Path file, int width, int height) throws IOException {
+
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    String descriptor =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<Image xmlns=\"http://schemas.microsoft.com/deepzoom/2008\" Format=\"png\""
+            + " Overlap=\""
+            + overlap
+            + "\" TileSize=\""
+            + tileSize
+            + "\">\n  <Size Width=\""
+            + width
+            + "\" Height=\""
+            + height
+            + "\"/>\n</Image>\n";
+    Files.write(file, descriptor.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Lists the levels from the largest to the smallest, every one half the size of the previous
+   *
+   * @param width
+   * @param height
+   * @return the levels
+   */
+  private List<Level> getLevels(int width, int height) {
+
+    int size = Math.max(width, height);
+    // DeepZoom goes down to a single pixel, XYZ to a single tile
+    int smallestSize = tileLayout == TileLayout.DEEP_ZOOM ? 1 : tileSize;
+    int maxLevel = 0;
+    while (divideRoundingUp(size, maxLevel) > smallestSize) {
+      maxLevel++;
+    }
+    List<Level> levels = new ArrayList<>();
+    for (int shift = 0; shift <= maxLevel; shift++) {
+      int levelWidth = divideRoundingUp(width, shift);
+      int levelHeight = divideRoundingUp(height, shift);
+      boolean isPainted = levelWidth >= MIN_CHART_SIZE && levelHeight >= MIN_CHART_SIZE;
+      levels.add(new Level(maxLevel - shift, levelWidth, levelHeight, isPainted));
+    }
+    return levels;
+  }
+
+  private static int divideRoundingUp(int size, int shift) {
+
+    return (int) ((size + (1L << shift) - 1) >> shift);
+  }
+
+  private static final class Level {
+
+    private final int index;
+    private final int width;
+    private final int height;
+    private final boolean isPainted;
+
+    Level(int index, int width, int height, boolean isPainted) {
+
+      this.index = index;
+      this.width = width;
+      this.height = height;
+      this.isPainted = isPainted;
+    }
+  }
+
+  /** The export of one chart */
+  private final class Exporter {
+
+    private final XYChart chart;
+    private final Path directory;
+    private final int tileOverlap;
+
+    // the data of the series decimated for the last painted level, by series name
+    private final Map<String, double[][]> levelData = new HashMap<>();
+    private final Map<String, Boolean> isSorted = new HashMap<>();
+    private final Map<String, Boolean> hasMarkers = new HashMap<>();
+
+    private final Semaphore permits = new Semaphore(maxConcurrency);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    Exporter(XYChart chart, Path directory, int tileOverlap) {
+
+      this.chart = chart;
+      this.directory = directory;
+      this.tileOverlap = tileOverlap;
+      // series without a marker get the one of the theme when they are painted
+      XYStyler styler = chart.getStyler();
+      SeriesColorMarkerLineStyleCycler cycler =
+          new SeriesColorMarkerLineStyleCycler(
+              styler.getSeriesColors(), styler.getSeriesMarkers(), styler.getSeriesLines());
+      for (XYSeries series : chart.getSeriesMap().values()) {
+        SeriesDataSnapshot data = series.getDataSnapshot();
+        double[] xData = data.getXData();
+        levelData.put(series.getName(), new double[][] {xData, data.getYData()});
+        isSorted.put(series.getName(), isSorted(xData));
+        Marker marker = cycler.getNextSeriesColorMarkerLineStyle().getMarker();
+        if (series.getMarker() != null) {
+          marker = series.getMarker();
+        }
+        hasMarkers.put(series.getName(), !(marker instanceof None));
+      }
+    }
+
+    void paintLevel(Level level) throws IOException {
+
+      decimate(level);
+      // laid out once with all points, to calculate the axis ticks of the level and find the x
+      // values at the edges of the tile columns
+      XYChart layoutChart = createChart(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+      BufferedImage layoutImage = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D layoutGraphics = layoutImage.createGraphics();
+      layoutChart.paint(layoutGraphics, level.width, level.height);
+      layoutGraphics.dispose();
+      AxisTicks axisTicks = PlotContentTiler.getPaintedAxisTicks(layoutChart);
+
+      // a line or marker can reach into a column from a point a bit outside of it
+      int margin = chart.getStyler().getMarkerSize() + tileOverlap + 2;
+      int columns = getTileCount(level.width);
+      int rows = getTileCount(level.height);
+      int rowsPerBlock = Math.max(1, MAX_BLOCK_PIXELS / tileSize / tileSize);
+      List<XYChart> columnCharts = new ArrayList<>();
+      try {
+        for (int column = 0; column < columns && failure.get() == null; column++) {
+          int left = getTileStart(column);
+          int right = getTileEnd(column, level.width);
+          double fromX = layoutChart.getChartXFromCoordinate(left - margin);
+          double toX = layoutChart.getChartXFromCoordinate(right + margin);
+          XYChart columnChart = createChart(Math.min(fromX, toX), Math.max(fromX, toX));
+          // with only the ticks near the column, so a column doesn't paint the axes of all others
+          PlotContentTiler.setAxisTicks(columnChart, axisTicks, left, right);
+          columnCharts.add(columnChart);
+          // the chart is painted once for several tiles of a column, which share the cost of the
+          // parts painted on all tiles like the axes
+          for (int row = 0; row < rows && failure.get() == null; row += rowsPerBlock) {
+            int tileColumn = column;
+            int firstRow = row;
+            int lastRow = Math.min(rows, row + rowsPerBlock) - 1;
+            submit(
+                () -> {
+                  int top = getTileStart(firstRow);
+                  BufferedImage block =
+                      new BufferedImage(
+                          right - left,
+                          getTileEnd(lastRow, level.height) - top,
+                          BufferedImage.TYPE_INT_ARGB);
+                  Graphics2D g = block.createGraphics();
+                  g.translate(-left, -top);
+                  g.clipRect(left, top, block.getWidth(), block.getHeight());
+                  columnChart.paint(g, level.width, level.height);
+                  g.dispose();
+                  for (int tileRow = firstRow; tileRow <= lastRow; tileRow++) {
+                    BufferedImage tile = createTile(tileColumn, tileRow, level);
+                    Graphics2D tileGraphics = tile.createGraphics();
+                    tileGraphics.drawImage(block, 0, top - getTileStart(tileRow), null);
+                    tileGraphics.dispose();
+                    writeTile(tile, level, tileColumn, tileRow);
+                  }
+                });
+          }
+        }
+      } finally {
+        // the ticks are only dropped once no tile paints with them anymore
+        awaitTiles();
+        for (XYChart columnChart : columnCharts) {
+          PlotContentTiler.clearAxisTicks(columnChart);
+        }
+      }
+      awaitLevel();
+    }
+
+    void scaleLevel(Level level, Level larger) throws IOException {
+
+      int columns = getTileCount(level.width);
+      int rows = getTileCount(level.height);
+      for (int column = 0; column < columns && failure.get() == null; column++) {
+        for (int row = 0; row < rows && failure.get() == null; row++) {
+          int tileColumn = column;
+          int tileRow = row;
+          submit(
+              () -> {
+                int left = getTileStart(tileColumn);
+                int top = getTileStart(tileRow);
+                int right = getTileEnd(tileColumn, level.width);
+                int bottom = getTileEnd(tileRow, level.height);
+                BufferedImage region =
+                    readRegion(
+                        larger,
+                        left * 2,
+                        top * 2,
+                        Math.min(right * 2, larger.width),
+                        Math.min(bottom * 2, larger.height));
+                BufferedImage tile = createTile(tileColumn, tileRow, level);
+                Graphics2D g = tile.createGraphics();
+                g.setRenderingHint(
+                    RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(region, 0, 0, right - left, bottom - top, null);
+                g.dispose();
+                writeTile(tile, level, tileColumn, tileRow);
+              });
+        }
+      }
+      awaitLevel();
+    }
+
+    /** Reads a part of a level written before from its tiles */
+    private BufferedImage readRegion(Level level, int left, int top, int right, int bottom)
+        throws IOException {
+
+      BufferedImage region =
+          new BufferedImage(right - left, bottom - top, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g = region.createGraphics();
+      for (int column = left / tileSize; column <= (right - 1) / tileSize; column++) {
+        for (int row = top / tileSize; row <= (bottom - 1) / tileSize; row++) {
+          BufferedImage tile = ImageIO.read(getTileFile(level, column, row).toFile());
+          if (tile == null) {
+            throw new IOException("Tile " + column + "," + row + " can't be read!!!");
+          }
+          g.drawImage(tile, getTileStart(column) - left, getTileStart(row) - top, null);
+        }
+      }
+      g.dispose();
+      return region;
+    }
+
+    private BufferedImage createTile(int column, int row, Level level) {
+
+      // XYZ tiles always have the full size, transparent beyond the chart
+      int width =
+          tileLayout == TileLayout.XYZ
+              ? tileSize
+              : getTileEnd(column, level.width) - getTileStart(column);
+      int height =
+          tileLayout == TileLayout.XYZ
+              ? tileSize
+              : getTileEnd(row, level.height) - getTileStart(row);
+      return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private void writeTile(BufferedImage tile, Level level, int column, int row)
+        throws IOException {
+
+      Path file = getTileFile(level, column, row);
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+        pngEncoder.encode(tile, out, 0, chart.getStyler().getTheme().getClass());
+      }
+    }
+
+    private Path getTileFile(Level level, int column, int row) throws IOException {
+
+      Path levelDirectory = directory.resolve(Integer.toString(level.index));
+      if (tileLayout == TileLayout.XYZ) {
+        Path columnDirectory = levelDirectory.resolve(Integer.toString(column));
+        Files.createDirectories(columnDirectory);
+        return columnDirectory.resolve(row + ".png");
+      }
+      Files.createDirectories(levelDirectory);
+      return levelDirectory.resolve(column + "_" + row + ".png");
+    }
+
+    private int getTileCount(int size) {
+
+      return (size + tileSize - 1) / tileSize;
+    }
+
+    private int getTileStart(int index) {
+
+      return Math.max(0, index * tileSize - tileOverlap);
+    }
+
+    private int getTileEnd(int index, int size) {
+
+      return Math.min(size, (index + 1) * tileSize + tileOverlap);
+    }
+
+    private void submit(TileTask task) throws IOException {
+
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while exporting tiles!!!");
+      }
+      CompletableFuture.runAsync(
+              () -> {
+                try {
+                  task.run();
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              },
+              executor)
+          .whenComplete(
+              (result, e) -> {
+                if (e != null) {
+                  failure.compareAndSet(null, e.getCause() == null ? e : e.getCause());
+                }
+                permits.release();
+              });
+    }
+
+    /** Waits for the tiles of the level and rethrows the first failure */
+    private void awaitLevel() throws IOException {
+
+      awaitTiles();
+      Throwable e = failure.get();
+      if (e instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e).getCause();
+      } else if (e instanceof IOException) {
+        throw (IOException) e;
+      } else if (e != null) {
+        throw new IOException("Exporting a tile failed!!!", e);
+      }
+    }
+
+    /** Waits for the tiles submitted so far */
+    private void awaitTiles() {
+
+      permits.acquireUninterruptibly(maxConcurrency);
+      permits.release(maxConcurrency);
+    }
+
+    /**
+     * Creates a chart with the axis ranges of the whole chart and the points of the level between
+     * two x values
+     *
+     * @param fromX
+     * @param toX
+     * @return the chart
+     */
+    private XYChart createChart(double fromX, double toX) {
+
+      XYChart copy = chart.copyWithoutSeries();
+      XYStyler styler = copy.getStyler();
+      Map<Integer, double[]> yRanges = new HashMap<>();
+      double xMin = Double.MAX_VALUE;
+      double xMax = -Double.MAX_VALUE;
+      for (XYSeries series : chart.getSeriesMap().values()) {
+        if (!series.isEnabled()) {
+          continue;
+        }
+        xMin = Math.min(xMin, series.getXMin());
+        xMax = Math.max(xMax, series.getXMax());
+        double[] yRange =
+            yRanges.computeIfAbsent(
+                series.getYAxisGroup(),
+                group -> new double[] {Double.MAX_VALUE, -Double.MAX_VALUE});
+        yRange[0] = Math.min(yRange[0], series.getYMin());
+        yRange[1] = Math.max(yRange[1], series.getYMax());
+      }
+      if (styler.getXAxisMin() == null && xMin <= xMax) {
+        styler.setXAxisMin(xMin);
+      }
+      if (styler.getXAxisMax() == null && xMin <= xMax) {
+        styler.setXAxisMax(xMax);
+      }
+      for (Map.Entry<Integer, double[]> entry : yRanges.entrySet()) {
+        Integer group = entry.getKey();
+        if (styler.getYAxisMin() == null && styler.getYAxisMin(group) == null) {
+          styler.setYAxisMin(group, entry.getValue()[0]);
+        }
+        if (styler.getYAxisMax() == null && styler.getYAxisMax(group) == null) {
+          styler.setYAxisMax(group, entry.getValue()[1]);
+        }
+      }
+
+      for (XYSeries series : chart.getSeriesMap().values()) {
+        double[][] data = levelData.get(series.getName());
+        double[] xData = data[0];
+        int from = 0;
+        int to = xData.length;
+        if (isSorted.get(series.getName())) {
+          // with the points just outside, so the lines leave the tile
+          from = Math.max(0, lowerBound(xData, fromX) - 1);
+          to = Math.min(xData.length, lowerBound(xData, Math.nextUp(toX)) + 1);
+        }
+        XYSeries copySeries =
+            copy.addSeries(
+                series.getName(),
+                Arrays.copyOfRange(xData, from, to),
+                Arrays.copyOfRange(data[1], from, to),
+                null,
+                series.getxAxisDataType() == DataType.Date ? DataType.Date : DataType.Number);
+        copyStyle(series, copySeries);
+      }
+
+      return copy;
+    }
+
+    /** Decimates the data of the previous level for a level */
+    private void decimate(Level level) {
+
+      for (XYSeries series : chart.getSeriesMap().values()) {
+        if (!isSorted.get(series.getName())) {
+          continue;
+        }
+        double[][] data = levelData.get(series.getName());
+        XYStyler styler = chart.getStyler();
+        Axis x =
+            new Axis(
+                getOrDefault(styler.getXAxisMin(), series.getXMin()),
+                getOrDefault(styler.getXAxisMax(), series.getXMax()),
+                level.width,
+                styler.isXAxisLogarithmic());
+        Axis y =
+            new Axis(series.getYMin(), series.getYMax(), level.height, styler.isYAxisLogarithmic());
+        int[] kept;
+        if (series.getXYSeriesRenderStyle() == XYSeriesRenderStyle.Scatter) {
+          kept = decimatePoints(data[0], data[1], x, y);
+        } else if (hasMarkers.get(series.getName())) {
+          // the lines alone would leave out the markers of points between the lowest and highest
+          kept = union(decimateLines(data[0], data[1], x), decimatePoints(data[0], data[1], x, y));
+        } else {
+          kept = decimateLines(data[0], data[1], x);
+        }
+        levelData.put(
+            series.getName(), new double[][] {select(data[0], kept), select(data[1], kept)});
+      }
+    }
+  }
+
+  private interface TileTask {
+
+    void run() throws IOException;
+  }
+
+  private static void copyStyle(XYSeries series, XYSeries copy) {
+
+    copy.setXYSeriesRenderStyle(series.getXYSeriesRenderStyle());
+    copy.setSmooth(series.isSmooth());
+    copy.setLabel(series.getLabel());
+    copy.setShowInLegend(series.isShowInLegend());
+    copy.setEnabled(series.isEnabled());
+    copy.setYAxisGroup(series.getYAxisGroup());
+    copy.setYAxisDecimalPattern(series.getYAxisDecimalPattern());
+    copy.setLineWidth(series.getLineWidth());
+    if (series.getLineStyle() != null) {
+      copy.setLineStyle(series.getLineStyle());
+    }
+    copy.setLineColor(series.getLineColor());
+    copy.setFillColor(series.getFillColor());
+    copy.setMarker(series.getMarker());
+    copy.setMarkerColor(series.getMarkerColor());
+  }
+
+  private static double getOrDefault(Double value, double defaultValue) {
+
+    return value == null ? defaultValue : value;
+  }
+
+  /** Maps values to the pixels of an axis */
+  private static final class Axis {
+
+    private final double min;
+    private final double scale;
+    private final int pixels;
+    private final boolean isLogarithmic;
+
+    Axis(double min, double max, int pixels, boolean isLogarithmic) {
+
+      this.isLogarithmic = isLogarithmic;
+      this.min = transform(min);
+      double range = transform(max) - this.min;
+      this.scale = range > 0 ? pixels / range : 0;
+      this.pixels = pixels;
+    }
+
+    private double transform(double value) {
+
+      return isLogarithmic ? Math.log10(value) : value;
+    }
+
+    /** The pixel of a value, with -1 and pixels for values outside of the axis */
+    int getPixel(double value) {
+
+      double pixel = (transform(value) - min) * scale;
+      if (!(pixel >= 0)) {
+        return -1;
+      }
+      return pixel >= pixels ? pixels : (int) pixel;
+    }
+  }
+
+  /**
+   * Keeps the first, lowest, highest and last point of every pixel column. Points with a NaN value
+   * are kept, they break the line.
+   *
+   * @return the indices of the points kept, in their order
+   */
+  private static int[] decimateLines(double[] xData, double[] yData, Axis x) {
+
+    int[] kept = new int[Math.min(xData.length, (x.pixels + 2) * 4)];
+    int count = 0;
+    int first = -1;
+    int lowest = -1;
+    int highest = -1;
+    int last = -1;
+    int pixel = Integer.MIN_VALUE;
+    for (int i = 0; i <= xData.length; i++) {
+      int iPixel = i < xData.length ? x.getPixel(xData[i]) : Integer.MAX_VALUE;
+      boolean isGap = i < xData.length && Double.isNaN(yData[i]);
+      if (iPixel != pixel || isGap || i == xData.length) {
+        if (first >= 0) {
+          int[] corners = {first, lowest, highest, last};
+          Arrays.sort(corners);
+          for (int k = 0; k < corners.length; k++) {
+            if (k == 0 || corners[k] != corners[k - 1]) {
+              if (count == kept.length) {
+                kept = Arrays.copyOf(kept, count * 2);
+              }
+              kept[count++] = corners[k];
+            }
+          }
+        }
+        first = -1;
+        pixel = iPixel;
+      }
+      if (i == xData.length) {
+        break;
+      }
+      if (isGap) {
+        if (count == kept.length) {
+          kept = Arrays.copyOf(kept, count * 2);
+        }
+        kept[count++] = i;
+        pixel = Integer.MIN_VALUE;
+      } else if (first < 0) {
+        first = i;
+        lowest = i;
+        highest = i;
+        last = i;
+      } else {
+        if (yData[i] < yData[lowest]) {
+          lowest = i;
+        }
+        if (yData[i] > yData[highest]) {
+          highest = i;
+        }
+        last = i;
+      }
+    }
+    return Arrays.copyOf(kept, count);
+  }
+
+  /**
+   * Keeps the first point of every pixel
+   *
+   * @return the indices of the points kept, in their order
+   */
+  private static int[] decimatePoints(double[] xData, double[] yData, Axis x, Axis y) {
+
+    // the column a pixel of a row was last used in
+    int[] usedInColumn = new int[y.pixels + 2];
+    Arrays.fill(usedInColumn, Integer.MIN_VALUE);
+    int[] kept = new int[Math.min(xData.length, 1024)];
+    int count = 0;
+    for (int i = 0; i < xData.length; i++) {
+      int column = x.getPixel(xData[i]);
+      int row = y.getPixel(yData[i]) + 1;
+      if (usedInColumn[row] == column && !Double.isNaN(yData[i])) {
+        continue;
+      }
+      usedInColumn[row] = column;
+      if (count == kept.length) {
+        kept = Arrays.copyOf(kept, count * 2);
+      }
+      kept[count++] = i;
+    }
+    return Arrays.copyOf(kept, count);
+  }
+
+  /** Merges two sorted lists of indices */
+  private static int[] union(int[] a, int[] b) {
+
+    int[] merged = new int[a.length + b.length];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while (i < a.length || j < b.length) {
+      int next;
+      if (j == b.length || (i < a.length && a[i] <= b[j])) {
+        next = a[i++];
+      } else {
+        next = b[j++];
+      }
+      if (count == 0 || merged[count - 1] != next) {
+        merged[count++] = next;
+      }
+    }
+    return Arrays.copyOf(merged, count);
+  }
+
+  private static double[] select(double[] values, int[] indices) {
+
+    double[] selected = new double[indices.length];
+    for (int i = 0; i < indices.length; i++) {
+      selected[i] = values[indices[i]];
+    }
+    return selected;
+  }
+
+  private static boolean isSorted(double[] values) {
+
+    for (int i = 1; i < values.length; i++) {
+      if (!(values[i] >= values[i - 1])) {
+        return false;
+      }
+    }
+    return values.length == 0 || !Double.isNaN(values[0]);
+  }
+
+  /** The index of the first value not less than a value */
+  private static int lowerBound(double[] values, double value) {
+
+    int low = 0;
+    int high = values.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (values[middle] < value) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
@@ -4,6 +4,7 @@ import java.awt.Graphics2D;
 import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.internal.chartpart.Legend_Pie;
 import org.knowm.xchart.internal.chartpart.Plot_Dial;
+import org.knowm.xchart.internal.chartpart.RenderContext;
 import org.knowm.xchart.style.DialStyler;
 import org.knowm.xchart.style.Styler.ChartTheme;
 import org.knowm.xchart.style.theme.Theme;
@@ -18,7 +19,12 @@ public class DialChart extends Chart<DialStyler, DialSeries> {
    */
   public DialChart(int width, int height) {
 
-    super(width, height, new DialStyler());
+    this(width, height, new DialStyler());
+  }
+
+  private DialChart(int width, int height, DialStyler styler) {
+
+    super(width, height, styler);
     plot = new Plot_Dial<DialStyler, DialSeries>(this);
     legend = new Legend_Pie<DialStyler, DialSeries>(this);
   }
@@ -106,16 +112,28 @@ public class DialChart extends Chart<DialStyler, DialSeries> {
   }
 
   @Override
-  public void paint(Graphics2D g, int width, int height) {
+  protected void prepareSeries() {}
 
-    setWidth(width);
-    setHeight(height);
+  @Override
+  protected void doPaint(Graphics2D g) {
 
     paintBackground(g);
 
-    plot.paint(g);
-    chartTitle.paint(g);
-    //    legend.paint(g); // no legend for dial charts
-    annotations.forEach(x -> x.paint(g));
+    getPlot().paint(g);
+    getChartTitle().paint(g);
+    //    getLegend().paint(g); // no legend for dial charts
+    paintAnnotations(g);
+  }
+
+  @Override
+  protected RenderContext<DialStyler, DialSeries> createRenderContext() {
+
+    return new RenderContext<>(this, null, new Plot_Dial<>(this), new Legend_Pie<>(this));
+  }
+
+  @Override
+  public DialChart copyWithoutSeries() {
+
+    return copyTitles(new DialChart(getWidth(), getHeight(), copyStyler()));
   }
 }
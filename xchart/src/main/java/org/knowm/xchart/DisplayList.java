@@ -0,0 +1,102 @@
+package org.knowm.xchart;
+
+import java.awt.Graphics2D;
+import org.knowm.xchart.internal.RecordingGraphics2D;
+import org.knowm.xchart.internal.chartpart.Chart;
+
+/**
+ * A chart painted once and recorded, so it can be exported to several formats without laying it out
+ * again for each of them. The axis ticks, text layout and data transform are calculated by the one
+ * paint while recording, every export only replays the shapes, paints and text recorded.
+ *
+ * <pre>
+ * DisplayList displayList = DisplayList.record(chart);
+ * BitmapEncoder.saveBitmap(displayList, "chart", BitmapFormat.PNG);
+ * VectorGraphicsEncoder.saveVectorGraphic(displayList, "chart", VectorGraphicsFormat.SVG);
+ * PdfboxGraphicsEncoder.savePdfboxGraphics(displayList, "chart");
+ * </pre>
+ *
+ * <p>The display list doesn't change when the chart changes after recording. It can be replayed on
+ * several threads at once.
+ */
+public final class DisplayList {
+
+  private final Chart<?, ?> chart;
+  private final int width;
+  private final int height;
+  private final RecordingGraphics2D recording;
+
+  private DisplayList(Chart<?, ?> chart, int width, int height, RecordingGraphics2D recording) {
+
+    this.chart = chart;
+    this.width = width;
+    this.height = height;
+    this.recording = recording;
+  }
+
+  /**
+   * Paint a chart at its size and record it
+   *
+   * @param chart
+   * @return the display list
+   */
+  public static DisplayList record(Chart<?, ?> chart) {
+
+    int width = chart.getWidth();
+    int height = chart.getHeight();
+    RecordingGraphics2D recording = new RecordingGraphics2D();
+    chart.paint(recording, width, height);
+    recording.dispose();
+    return new DisplayList(chart, width, height, recording);
+  }
+
+  /**
+   * Paint the recorded chart into a Graphics2D, on top of its current transform and clip
+   *
+   * @param g
+   */
+  public void replay(Graphics2D g) {
+
+    recording.replay(g);
+  }
+
+  /**
+   * Gets the chart which was recorded, for encoders reporting what they exported
+   *
+   * @return the chart
+   */
+  Chart<?, ?> getChart() {
+
+    return chart;
+  }
+
+  /**
+   * Gets the width the chart was recorded at
+   *
+   * @return the width
+   */
+  public int getWidth() {
+
+    return width;
+  }
+
+  /**
+   * Gets the height the chart was recorded at
+   *
+   * @return the height
+   */
+  public int getHeight() {
+
+    return height;
+  }
+
+  /**
+   * Gets the number of recorded painting commands
+   *
+   * @return the number of commands
+   */
+  public int getCommandCount() {
+
+    return recording.getCommandCount();
+  }
+}
@@ -0,0 +1,103 @@
+package org.knowm.xchart;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.Timer;
+
+/**
+ * Coalesces repaint requests into at most one repaint per frame interval, see {@link
+ * XChartPanel#setTargetFrameRate(int)}. Repaints are requested from any thread, the frame timer
+ * repaints on the event dispatch thread while the limiter is started.
+ */
+final class FrameRateLimiter {
+
+  private final Runnable repaint;
+
+  private volatile int targetFrameRate = 0; // 0 means repaint immediately
+  private Timer frameTimer = null;
+  private boolean isStarted = false;
+  private final AtomicBoolean dirty = new AtomicBoolean();
+  private final AtomicLong droppedFrameCount = new AtomicLong();
+
+  /**
+   * Constructor
+   *
+   * @param repaint - repaints right away
+   */
+  FrameRateLimiter(Runnable repaint) {
+
+    this.repaint = repaint;
+  }
+
+  /**
+   * @param targetFrameRate - frames per second, 0 to repaint immediately on every request
+   */
+  void setTargetFrameRate(int targetFrameRate) {
+
+    if (targetFrameRate < 0) {
+      throw new IllegalArgumentException("Target frame rate cannot be negative!!!");
+    }
+    this.targetFrameRate = targetFrameRate;
+
+    if (frameTimer != null) {
+      frameTimer.stop();
+      frameTimer = null;
+    }
+    if (targetFrameRate > 0) {
+      frameTimer = new Timer(Math.max(1, 1000 / targetFrameRate), e -> repaintIfDirty());
+      frameTimer.setCoalesce(true);
+      if (isStarted) {
+        frameTimer.start();
+      }
+    }
+  }
+
+  int getTargetFrameRate() {
+
+    return targetFrameRate;
+  }
+
+  void requestRepaint() {
+
+    if (targetFrameRate == 0) {
+      repaint.run();
+    } else if (!dirty.compareAndSet(false, true)) {
+      // a frame is already pending, this update will be shown with it
+      droppedFrameCount.incrementAndGet();
+    }
+  }
+
+  private void repaintIfDirty() {
+
+    if (dirty.getAndSet(false)) {
+      repaint.run();
+    }
+  }
+
+  /** Starts the frame timer, while the panel is displayed */
+  void start() {
+
+    isStarted = true;
+    if (frameTimer != null) {
+      frameTimer.start();
+    }
+  }
+
+  void stop() {
+
+    isStarted = false;
+    if (frameTimer != null) {
+      frameTimer.stop();
+    }
+  }
+
+  long getDroppedFrameCount() {
+
+    return droppedFrameCount.get();
+  }
+
+  void resetDroppedFrameCount() {
+
+    droppedFrameCount.set(0);
+  }
+}
@@ -5,7 +5,10 @@ import java.awt.image.BufferedImage;
 import java.util.List;
 import org.knowm.xchart.internal.Utils;
 
-/** A helper class with static methods for saving Charts as a GIF file */
+/**
+ * A helper class with static methods for saving Charts as a GIF file. All frames are kept in memory
+ * until the GIF is written, for long animations use {@link GifEncoderSession}.
+ */
 public class GifEncoder {
 
   private static final String GIF_FILE_EXTENSION = ".gif";
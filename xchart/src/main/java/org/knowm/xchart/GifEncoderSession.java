@@ -0,0 +1,451 @@
+package org.knowm.xchart;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import org.knowm.xchart.internal.Utils;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.jfr.ChartEncodeEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
+
+/**
+ * Writes an animated GIF frame by frame, so long animations don't have to be kept in memory like
+ * with {@link GifEncoder}. Each frame is painted and quantized on the calling thread while the
+ * previous frame is compressed and written on an executor, so at most two frames are held at once.
+ *
+ * <p>The palette of a frame is reused by the next frames as long as they have no other colors,
+ * which is usually the case for charts of the same theme. Frames with the palette of the first
+ * frame are written without their own color table. With a fixed palette, the palette of the first
+ * frame is used for all frames and new colors are mapped to the nearest color of it.
+ *
+ * <pre>
+ * try (GifEncoderSession gif = new GifEncoderSession("replay", 0, 40)) {
+ *   for (...) {
+ *     updateChart(chart);
+ *     gif.addFrame(chart);
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>A session is not thread safe, frames must be added by one thread at a time.
+ */
+public final class GifEncoderSession implements Closeable {
+
+  private static final String GIF_FILE_EXTENSION = ".gif";
+
+  private final OutputStream out;
+  private final boolean isClosingStream;
+  private final int repeat;
+  private final Executor executor;
+
+  private int delay;
+  private boolean isFixedPalette;
+
+  private BufferedImage image;
+  private IndexedPalette palette;
+  private IndexedPalette globalPalette;
+  private CompletableFuture<Void> pendingFrame = CompletableFuture.completedFuture(null);
+  private final LzwEncoder lzwEncoder = new LzwEncoder();
+  private boolean isClosed;
+
+  /**
+   * Constructor, writing to a file
+   *
+   * @param filePath GIF file path
+   * @param repeat repeat times, less than 0 does not repeat,0 countless times
+   * @param delay delay time in milliseconds
+   * @throws IOException
+   */
+  public GifEncoderSession(String filePath, int repeat, int delay) throws IOException {
+
+    this(
+        new BufferedOutputStream(
+            new FileOutputStream(Utils.addFileExtension(filePath, GIF_FILE_EXTENSION))),
+        true,
+        repeat,
+        delay,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructor, writing to a stream which is not closed at the end
+   *
+   * @param targetStream
+   * @param repeat repeat times, less than 0 does not repeat,0 countless times
+   * @param delay delay time in milliseconds
+   * @param executor - compresses and writes the frames
+   */
+  public GifEncoderSession(OutputStream targetStream, int repeat, int delay, Executor executor) {
+
+    this(targetStream, false, repeat, delay, executor);
+  }
+
+  private GifEncoderSession(
+      OutputStream out, boolean isClosingStream, int repeat, int delay, Executor executor) {
+
+    this.out = out;
+    this.isClosingStream = isClosingStream;
+    this.repeat = repeat;
+    this.delay = delay;
+    this.executor = executor;
+  }
+
+  /**
+   * Sets the delay of the next frames
+   *
+   * @param delay delay time in milliseconds
+   * @return this session
+   */
+  public GifEncoderSession setDelay(int delay) {
+
+    this.delay = delay;
+    return this;
+  }
+
+  /**
+   * Sets whether the palette of the first frame is used for all frames. This saves quantizing the
+   * frames and keeps the colors of consecutive frames the same, but colors which are not in the
+   * first frame are replaced by the nearest color of it.
+   *
+   * @param isFixedPalette
+   * @return this session
+   */
+  public GifEncoderSession setFixedPalette(boolean isFixedPalette) {
+
+    this.isFixedPalette = isFixedPalette;
+    return this;
+  }
+
+  /**
+   * Paint a Chart and add it as the next frame. All frames must have the size of the first frame.
+   *
+   * @param chart
+   * @throws IOException if writing a previous frame failed
+   */
+  public void addFrame(Chart<?, ?> chart) throws IOException {
+
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("GifEncoderSession", "GIF");
+    BufferedImage frameImage = getImage(chart.getWidth(), chart.getHeight());
+    Graphics2D graphics2D = frameImage.createGraphics();
+    try {
+      chart.paint(graphics2D, chart.getWidth(), chart.getHeight());
+    } finally {
+      graphics2D.dispose();
+    }
+    addFrame();
+    JfrEvents.commitChartEncode(event, chart);
+  }
+
+  /**
+   * Replay a recorded Chart as the next frame. All frames must have the size of the first frame.
+   *
+   * @param displayList
+   * @throws IOException if writing a previous frame failed
+   */
+  public void addFrame(DisplayList displayList) throws IOException {
+
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("GifEncoderSession", "GIF");
+    BufferedImage frameImage = getImage(displayList.getWidth(), displayList.getHeight());
+    Graphics2D graphics2D = frameImage.createGraphics();
+    try {
+      displayList.replay(graphics2D);
+    } finally {
+      graphics2D.dispose();
+    }
+    addFrame();
+    JfrEvents.commitChartEncode(event, displayList.getChart());
+  }
+
+  /**
+   * Add an image as the next frame. All frames must have the size of the first frame.
+   *
+   * @param frame
+   * @throws IOException if writing a previous frame failed
+   */
+  public void addFrame(BufferedImage frame) throws IOException {
+
+    BufferedImage frameImage = getImage(frame.getWidth(), frame.getHeight());
+    Graphics2D graphics2D = frameImage.createGraphics();
+    try {
+      // translucent frames are drawn on black, like by GifEncoder
+      graphics2D.setComposite(AlphaComposite.Clear);
+      graphics2D.fillRect(0, 0, frame.getWidth(), frame.getHeight());
+      graphics2D.setComposite(AlphaComposite.SrcOver);
+      graphics2D.drawImage(frame, 0, 0, null);
+    } finally {
+      graphics2D.dispose();
+    }
+    addFrame();
+  }
+
+  /** Quantizes the painted image, then writes it once the previous frame is written */
+  private void addFrame() throws IOException {
+
+    int[] rgb = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    if (palette == null || !isFixedPalette) {
+      IndexedPalette.ColorTable histogram = IndexedPalette.countColors(rgb);
+      if (palette == null || !palette.covers(histogram)) {
+        palette = IndexedPalette.of(histogram);
+      }
+    }
+    byte[] indices = new byte[rgb.length];
+    palette.toIndices(rgb, indices);
+
+    awaitPendingFrame();
+    IndexedPalette framePalette = palette;
+    int frameDelay = delay;
+    int width = image.getWidth();
+    int height = image.getHeight();
+    pendingFrame =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                writeFrame(indices, width, height, framePalette, frameDelay);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            },
+            executor);
+  }
+
+  private BufferedImage getImage(int width, int height) {
+
+    if (isClosed) {
+      throw new IllegalStateException("The GIF is already closed!!!");
+    }
+    if (image == null) {
+      image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    } else if (image.getWidth() != width || image.getHeight() != height) {
+      throw new IllegalArgumentException("All frames must have the size of the first frame!!!");
+    }
+    return image;
+  }
+
+  private void awaitPendingFrame() throws IOException {
+
+    try {
+      pendingFrame.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  private void writeFrame(
+      byte[] indices, int width, int height, IndexedPalette framePalette, int frameDelay)
+      throws IOException {
+
+    if (globalPalette == null) {
+      // the header, with the palette of the first frame as global color table
+      globalPalette = framePalette;
+      out.write("GIF89a".getBytes(StandardCharsets.US_ASCII));
+      writeShort(width);
+      writeShort(height);
+      out.write(0xF0 | getColorTableBits(globalPalette));
+      out.write(0); // background color index
+      out.write(0); // square pixels
+      writeColorTable(globalPalette);
+      if (repeat >= 0) {
+        out.write(new byte[] {0x21, (byte) 0xFF, 11});
+        out.write("NETSCAPE2.0".getBytes(StandardCharsets.US_ASCII));
+        out.write(new byte[] {3, 1});
+        writeShort(repeat);
+        out.write(0);
+      }
+    }
+
+    // graphic control extension with the delay
+    out.write(new byte[] {0x21, (byte) 0xF9, 4, 0});
+    writeShort(Math.round(frameDelay / 10f));
+    out.write(new byte[] {0, 0});
+
+    // image descriptor, with a local color table if the palette is not the global one
+    out.write(0x2C);
+    writeShort(0);
+    writeShort(0);
+    writeShort(width);
+    writeShort(height);
+    if (framePalette == globalPalette) {
+      out.write(0);
+    } else {
+      out.write(0x80 | getColorTableBits(framePalette));
+      writeColorTable(framePalette);
+    }
+
+    int minimumCodeSize = Math.max(2, getColorTableBits(framePalette) + 1);
+    out.write(minimumCodeSize);
+    lzwEncoder.encode(indices, minimumCodeSize, out);
+    out.write(0); // block terminator
+  }
+
+  private static int getColorTableBits(IndexedPalette palette) {
+
+    // the table has 2 ^ (bits + 1) colors
+    int bits = 0;
+    while (2 << bits < palette.size()) {
+      bits++;
+    }
+    return bits;
+  }
+
+  private void writeColorTable(IndexedPalette palette) throws IOException {
+
+    byte[] table = Arrays.copyOf(palette.getRGB(), 3 * (2 << getColorTableBits(palette)));
+    out.write(table);
+  }
+
+  private void writeShort(int value) throws IOException {
+
+    out.write(value & 0xFF);
+    out.write((value >> 8) & 0xFF);
+  }
+
+  /**
+   * Waits for the last frame to be written and ends the GIF
+   *
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException {
+
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    try {
+      awaitPendingFrame();
+      out.write(0x3B);
+      out.flush();
+    } finally {
+      if (isClosingStream) {
+        out.close();
+      }
+    }
+  }
+
+  /** The variable code length LZW compression of GIF, written as data sub-blocks */
+  private static final class LzwEncoder {
+
+    private static final int MAX_CODE = 4095;
+    private static final int TABLE_SIZE = 16384;
+
+    // prefix code << 8 | next index, and the code of it
+    private final int[] keys = new int[TABLE_SIZE];
+    private final int[] codes = new int[TABLE_SIZE];
+    private final byte[] block = new byte[256];
+
+    private OutputStream out;
+    private int blockLength;
+    private int bits;
+    private int bitCount;
+
+    void encode(byte[] indices, int minimumCodeSize, OutputStream out) throws IOException {
+
+      this.out = out;
+      blockLength = 0;
+      bits = 0;
+      bitCount = 0;
+
+      int clearCode = 1 << minimumCodeSize;
+      int codeSize = minimumCodeSize + 1;
+      int overflow = clearCode << 1;
+      int lastCode = clearCode + 1;
+      Arrays.fill(keys, -1);
+      writeCode(clearCode, codeSize);
+
+      int code = indices.length == 0 ? -1 : indices[0] & 0xFF;
+      for (int i = 1; i < indices.length; i++) {
+        int index = indices[i] & 0xFF;
+        int key = code << 8 | index;
+        int slot = (key >> 12 ^ key) & (TABLE_SIZE - 1);
+        while (keys[slot] != -1 && keys[slot] != key) {
+          slot = (slot + 1) & (TABLE_SIZE - 1);
+        }
+        if (keys[slot] == key) {
+          code = codes[slot];
+          continue;
+        }
+
+        writeCode(code, codeSize);
+        code = index;
+        lastCode++;
+        if (lastCode == overflow) {
+          codeSize++;
+          overflow <<= 1;
+        }
+        if (lastCode == MAX_CODE) {
+          // the table is full, start over
+          writeCode(clearCode, codeSize);
+          codeSize = minimumCodeSize + 1;
+          overflow = clearCode << 1;
+          lastCode = clearCode + 1;
+          Arrays.fill(keys, -1);
+          continue;
+        }
+        keys[slot] = key;
+        codes[slot] = lastCode;
+      }
+
+      if (code != -1) {
+        writeCode(code, codeSize);
+        lastCode++;
+        if (lastCode == overflow) {
+          codeSize++;
+        }
+        if (lastCode == MAX_CODE) {
+          writeCode(clearCode, codeSize);
+          codeSize = minimumCodeSize + 1;
+        }
+      }
+      writeCode(clearCode + 1, codeSize);
+      if (bitCount > 0) {
+        writeByte(bits);
+      }
+      if (blockLength > 0) {
+        writeBlock();
+      }
+      this.out = null;
+    }
+
+    private void writeCode(int code, int codeSize) throws IOException {
+
+      bits |= code << bitCount;
+      bitCount += codeSize;
+      while (bitCount >= 8) {
+        writeByte(bits);
+        bits >>>= 8;
+        bitCount -= 8;
+      }
+    }
+
+    private void writeByte(int value) throws IOException {
+
+      block[++blockLength] = (byte) value;
+      if (blockLength == 255) {
+        writeBlock();
+      }
+    }
+
+    private void writeBlock() throws IOException {
+
+      block[0] = (byte) blockLength;
+      out.write(block, 0, blockLength + 1);
+      blockLength = 0;
+    }
+  }
+}
@@ -8,6 +8,7 @@ import org.knowm.xchart.internal.chartpart.AxisPair;
 import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.internal.chartpart.Legend_HeatMap;
 import org.knowm.xchart.internal.chartpart.Plot_HeatMap;
+import org.knowm.xchart.internal.chartpart.RenderContext;
 import org.knowm.xchart.style.HeatMapStyler;
 import org.knowm.xchart.style.Styler.ChartTheme;
 import org.knowm.xchart.style.theme.Theme;
@@ -24,8 +25,12 @@ public class HeatMapChart extends Chart<HeatMapStyler, HeatMapSeries> {
    */
   public HeatMapChart(int width, int height) {
 
-    super(width, height, new HeatMapStyler());
+    this(width, height, new HeatMapStyler());
+  }
+
+  private HeatMapChart(int width, int height, HeatMapStyler styler) {
 
+    super(width, height, styler);
     axisPair = new AxisPair<HeatMapStyler, HeatMapSeries>(this);
     plot = new Plot_HeatMap<HeatMapStyler, HeatMapSeries>(this);
     legend = new Legend_HeatMap<HeatMapStyler, HeatMapSeries>(this);
@@ -146,24 +151,40 @@ public class HeatMapChart extends Chart<HeatMapStyler, HeatMapSeries> {
   }
 
   @Override
-  public void paint(Graphics2D g, int width, int height) {
+  protected void prepareSeries() {
 
     if (heatMapSeries == null) {
       return;
     }
-    setWidth(width);
-    setHeight(height);
-
     prepareForPaint();
-    // setSeriesStyles();
+  }
 
+  @Override
+  protected void doPaint(Graphics2D g) {
+
+    if (heatMapSeries == null) {
+      return;
+    }
     paintBackground(g);
 
-    axisPair.paint(g);
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+    getAxisPair().paint(g);
+    getPlot().paint(g);
+    getChartTitle().paint(g);
+    getLegend().paint(g);
+    paintAnnotations(g);
+  }
+
+  @Override
+  protected RenderContext<HeatMapStyler, HeatMapSeries> createRenderContext() {
+
+    return new RenderContext<>(
+        this, new AxisPair<>(this), new Plot_HeatMap<>(this), new Legend_HeatMap<>(this));
+  }
+
+  @Override
+  public HeatMapChart copyWithoutSeries() {
+
+    return copyTitles(new HeatMapChart(getWidth(), getHeight(), copyStyler()));
   }
 
   private List<Integer> arrayToList(int[] data) {
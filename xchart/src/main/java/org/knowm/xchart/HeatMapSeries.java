@@ -118,6 +118,12 @@ public class HeatMapSeries extends AxesChartSeries {
     return axisType;
   }
 
+  @Override
+  public int getDataPointCount() {
+
+    return heatData.size();
+  }
+
   public List<?> getXData() {
 
     return xData;
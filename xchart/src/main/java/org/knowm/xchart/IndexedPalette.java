@@ -0,0 +1,298 @@
+package org.knowm.xchart;
+
+import java.util.Arrays;
+
+/**
+ * The palette of an indexed PNG or a GIF, at most 256 colors. If an image has more colors, the most
+ * used are kept and every other color is mapped to the nearest of them. The index of every color
+ * the palette was built from is looked up in a table, so a palette can be reused for images with
+ * the same colors, like charts with the same theme. A palette is immutable.
+ */
+final class IndexedPalette {
+
+  static final int MAX_COLORS = 256;
+
+  // non-premultiplied ARGB
+  private final int[] colors;
+  private final ColorTable indices;
+
+  private IndexedPalette(int[] colors, ColorTable indices) {
+
+    this.colors = colors;
+    this.indices = indices;
+  }
+
+  /**
+   * Build the palette for the colors of an image
+   *
+   * @param histogram - the number of pixels of every color
+   * @return the palette
+   */
+  static IndexedPalette of(ColorTable histogram) {
+
+    int[] keys = histogram.keys();
+    int[] colors;
+    if (keys.length <= MAX_COLORS) {
+      colors = keys;
+    } else {
+      // keep the most used colors
+      long[] byCount = new long[keys.length];
+      for (int i = 0; i < keys.length; i++) {
+        byCount[i] = (long) histogram.get(keys[i]) << 32 | i;
+      }
+      Arrays.sort(byCount);
+      colors = new int[MAX_COLORS];
+      for (int i = 0; i < MAX_COLORS; i++) {
+        colors[i] = keys[(int) byCount[byCount.length - 1 - i]];
+      }
+    }
+
+    ColorTable indices = new ColorTable(keys.length);
+    for (int i = 0; i < colors.length; i++) {
+      indices.put(colors[i], i + 1);
+    }
+    for (int key : keys) {
+      if (indices.get(key) == 0) {
+        indices.put(key, nearest(colors, key) + 1);
+      }
+    }
+    return new IndexedPalette(colors, indices);
+  }
+
+  /**
+   * Counts the pixels of every color of an opaque image
+   *
+   * @param rgb - the pixels, the alpha is ignored
+   * @return the number of pixels of every color
+   */
+  static ColorTable countColors(int[] rgb) {
+
+    ColorTable histogram = new ColorTable(MAX_COLORS);
+    if (rgb.length == 0) {
+      return histogram;
+    }
+    // charts are mostly runs of one color
+    int color = rgb[0];
+    int count = 0;
+    for (int pixel : rgb) {
+      if (pixel != color) {
+        histogram.add(color | 0xFF000000, count);
+        color = pixel;
+        count = 0;
+      }
+      count++;
+    }
+    histogram.add(color | 0xFF000000, count);
+    return histogram;
+  }
+
+  /**
+   * Maps the pixels of an opaque image to their index
+   *
+   * @param rgb - the pixels, the alpha is ignored
+   * @param indices - the array to write the index of every pixel to
+   */
+  void toIndices(int[] rgb, byte[] indices) {
+
+    if (rgb.length == 0) {
+      return;
+    }
+    int color = rgb[0];
+    int index = indexOf(color | 0xFF000000);
+    for (int i = 0; i < rgb.length; i++) {
+      if (rgb[i] != color) {
+        color = rgb[i];
+        index = indexOf(color | 0xFF000000);
+      }
+      indices[i] = (byte) index;
+    }
+  }
+
+  /**
+   * Checks that all colors of an image were mapped when building this palette
+   *
+   * @param histogram - the colors of the image
+   * @return true if this palette can be used for the image
+   */
+  boolean covers(ColorTable histogram) {
+
+    for (int key : histogram.keys()) {
+      if (indices.get(key) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the index of a color
+   *
+   * @param argb - a non-premultiplied color
+   * @return the index of the color, or of the nearest color if it is not in the palette
+   */
+  int indexOf(int argb) {
+
+    int index = indices.get(argb);
+    return index == 0 ? nearest(colors, argb) : index - 1;
+  }
+
+  int size() {
+
+    return colors.length;
+  }
+
+  /**
+   * Gets the content of the PLTE chunk
+   *
+   * @return red, green and blue of every color
+   */
+  byte[] getRGB() {
+
+    byte[] rgb = new byte[colors.length * 3];
+    for (int i = 0; i < colors.length; i++) {
+      rgb[3 * i] = (byte) (colors[i] >> 16);
+      rgb[3 * i + 1] = (byte) (colors[i] >> 8);
+      rgb[3 * i + 2] = (byte) colors[i];
+    }
+    return rgb;
+  }
+
+  /**
+   * Gets the content of the tRNS chunk
+   *
+   * @return the alpha of the colors up to the last translucent one, or null if all are opaque
+   */
+  byte[] getAlpha() {
+
+    int length = colors.length;
+    while (length > 0 && colors[length - 1] >>> 24 == 0xFF) {
+      length--;
+    }
+    if (length == 0) {
+      return null;
+    }
+    byte[] alpha = new byte[length];
+    for (int i = 0; i < length; i++) {
+      alpha[i] = (byte) (colors[i] >>> 24);
+    }
+    return alpha;
+  }
+
+  private static int nearest(int[] colors, int argb) {
+
+    int nearest = 0;
+    long nearestDistance = Long.MAX_VALUE;
+    for (int i = 0; i < colors.length; i++) {
+      int alpha = (colors[i] >>> 24) - (argb >>> 24);
+      int red = ((colors[i] >> 16) & 0xFF) - ((argb >> 16) & 0xFF);
+      int green = ((colors[i] >> 8) & 0xFF) - ((argb >> 8) & 0xFF);
+      int blue = (colors[i] & 0xFF) - (argb & 0xFF);
+      // weighted by how sensitive the eye is to each channel
+      long distance = 4L * alpha * alpha + 3L * red * red + 4L * green * green + 2L * blue * blue;
+      if (distance < nearestDistance) {
+        nearestDistance = distance;
+        nearest = i;
+      }
+    }
+    return nearest;
+  }
+
+  /** An open addressing map from colors to positive ints, 0 meaning no value */
+  static final class ColorTable {
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    ColorTable(int expectedSize) {
+
+      int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+      keys = new int[capacity];
+      values = new int[capacity];
+    }
+
+    int get(int key) {
+
+      int mask = keys.length - 1;
+      for (int slot = hash(key) & mask; values[slot] != 0; slot = (slot + 1) & mask) {
+        if (keys[slot] == key) {
+          return values[slot];
+        }
+      }
+      return 0;
+    }
+
+    void put(int key, int value) {
+
+      int slot = slot(key);
+      if (values[slot] == 0) {
+        keys[slot] = key;
+        size++;
+      }
+      values[slot] = value;
+      if (size * 2 > keys.length) {
+        grow();
+      }
+    }
+
+    void add(int key, int delta) {
+
+      int slot = slot(key);
+      if (values[slot] == 0) {
+        keys[slot] = key;
+        size++;
+      }
+      values[slot] += delta;
+      if (size * 2 > keys.length) {
+        grow();
+      }
+    }
+
+    int size() {
+
+      return size;
+    }
+
+    int[] keys() {
+
+      int[] result = new int[size];
+      int i = 0;
+      for (int slot = 0; slot < keys.length; slot++) {
+        if (values[slot] != 0) {
+          result[i++] = keys[slot];
+        }
+      }
+      return result;
+    }
+
+    private int slot(int key) {
+
+      int mask = keys.length - 1;
+      int slot = hash(key) & mask;
+      while (values[slot] != 0 && keys[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+      return slot;
+    }
+
+    private void grow() {
+
+      int[] oldKeys = keys;
+      int[] oldValues = values;
+      keys = new int[oldKeys.length * 2];
+      values = new int[oldValues.length * 2];
+      size = 0;
+      for (int slot = 0; slot < oldKeys.length; slot++) {
+        if (oldValues[slot] != 0) {
+          put(oldKeys[slot], oldValues[slot]);
+        }
+      }
+    }
+
+    private static int hash(int key) {
+
+      int hash = key * 0x9E3779B9;
+      return hash ^ (hash >>> 16);
+    }
+  }
+}
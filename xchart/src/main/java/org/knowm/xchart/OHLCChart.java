@@ -13,6 +13,7 @@ import org.knowm.xchart.internal.chartpart.AxisPair;
 import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.internal.chartpart.Legend_OHLC;
 import org.knowm.xchart.internal.chartpart.Plot_OHLC;
+import org.knowm.xchart.internal.chartpart.RenderContext;
 import org.knowm.xchart.internal.series.Series.DataType;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyle;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyleCycler;
@@ -30,8 +31,12 @@ public class OHLCChart extends Chart<OHLCStyler, OHLCSeries> {
    */
   public OHLCChart(int width, int height) {
 
-    super(width, height, new OHLCStyler());
+    this(width, height, new OHLCStyler());
+  }
+
+  private OHLCChart(int width, int height, OHLCStyler styler) {
 
+    super(width, height, styler);
     axisPair = new AxisPair<OHLCStyler, OHLCSeries>(this);
     plot = new Plot_OHLC<OHLCStyler, OHLCSeries>(this);
     legend = new Legend_OHLC<OHLCStyler, OHLCSeries>(this);
@@ -497,7 +502,7 @@ public class OHLCChart extends Chart<OHLCStyler, OHLCSeries> {
         seriesName, xData, openData, highData, lowData, closeData, volumeData, DataType.Number);
   }
 
-  private OHLCSeries addSeries(
+  OHLCSeries addSeries(
       String seriesName,
       double[] xData,
       double[] openData,
@@ -534,8 +539,7 @@ public class OHLCChart extends Chart<OHLCStyler, OHLCSeries> {
     return series;
   }
 
-  private OHLCSeries addSeries(
-      String seriesName, double[] xData, double[] yData, DataType dataType) {
+  OHLCSeries addSeries(String seriesName, double[] xData, double[] yData, DataType dataType) {
 
     if (seriesMap.containsKey(seriesName)) {
       throw new IllegalArgumentException(
@@ -804,10 +808,7 @@ public class OHLCChart extends Chart<OHLCStyler, OHLCSeries> {
   }
 
   @Override
-  public void paint(Graphics2D g, int width, int height) {
-
-    setWidth(width);
-    setHeight(height);
+  protected void prepareSeries() {
 
     // set the series render styles if they are not set. Legend and Plot need it.
     for (OHLCSeries series : getSeriesMap().values()) {
@@ -818,14 +819,31 @@ public class OHLCChart extends Chart<OHLCStyler, OHLCSeries> {
       }
     }
     setSeriesStyles();
+  }
+
+  @Override
+  protected void doPaint(Graphics2D g) {
 
     paintBackground(g);
 
-    axisPair.paint(g);
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+    getAxisPair().paint(g);
+    getPlot().paint(g);
+    getChartTitle().paint(g);
+    getLegend().paint(g);
+    paintAnnotations(g);
+  }
+
+  @Override
+  protected RenderContext<OHLCStyler, OHLCSeries> createRenderContext() {
+
+    return new RenderContext<>(
+        this, new AxisPair<>(this), new Plot_OHLC<>(this), new Legend_OHLC<>(this));
+  }
+
+  @Override
+  public OHLCChart copyWithoutSeries() {
+
+    return copyTitles(new OHLCChart(getWidth(), getHeight(), copyStyler()));
   }
 
   /** set the series color, marker and line style based on theme */
@@ -257,6 +257,12 @@ public class OHLCSeries extends MarkerSeries {
     yMax = yMinMax[1];
   }
 
+  @Override
+  public int getDataPointCount() {
+
+    return xData.length;
+  }
+
   public double[] getXData() {
 
     return xData;
@@ -0,0 +1,358 @@
+package org.knowm.xchart;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import org.knowm.xchart.internal.PdfGraphics2D;
+import org.knowm.xchart.internal.PdfGraphics2D.Page;
+import org.knowm.xchart.internal.Utils;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.jfr.ChartEncodeEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
+
+/**
+ * Writes a PDF with one page per chart, page by page, so long reports don't have to be kept in
+ * memory like with {@link PdfboxGraphicsEncoder}. Every page is written as soon as it and the pages
+ * before it are painted, and only its position is kept until the end of the document. Translucency,
+ * images and gradients are written once and shared by all pages using them, and text is drawn as
+ * outlines like XChart paints it, so pages need no fonts.
+ *
+ * <p>Pages are painted and compressed on an executor, several at once, and written in the order
+ * they were added. Charts are recorded as a {@link DisplayList} when they are added, so they can be
+ * changed for the next page right away.
+ *
+ * <pre>
+ * try (PdfEncoderSession pdf = new PdfEncoderSession("report")) {
+ *   for (...) {
+ *     updateChart(chart);
+ *     pdf.addPage(chart);
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>A session is not thread safe, pages must be added by one thread at a time.
+ */
+public final class PdfEncoderSession implements Closeable {
+
+  private static final String PDF_FILE_EXTENSION = ".pdf";
+
+  // the objects written at the end, referred to by the pages
+  private static final int CATALOG_OBJECT = 1;
+  private static final int PAGES_OBJECT = 2;
+
+  private final OutputStream out;
+  private final boolean isClosingStream;
+  private final Executor executor;
+  private final int maxPagesInFlight;
+
+  private int compressionLevel = 6;
+
+  private final Queue<CompletableFuture<Page>> pendingPages = new ArrayDeque<>();
+  private long offset;
+  private final List<Long> objectOffsets = new ArrayList<>();
+  private final List<Integer> pageObjects = new ArrayList<>();
+  // the shared resources already written, by name
+  private final Map<Integer, Integer> alphaObjects = new HashMap<>();
+  private final Map<String, Integer> imageObjects = new HashMap<>();
+  private final Map<String, Integer> shadingObjects = new HashMap<>();
+  private boolean isClosed;
+
+  /**
+   * Constructor, writing to a file with one page painted per processor at once
+   *
+   * @param filePath PDF file path
+   * @throws IOException
+   */
+  public PdfEncoderSession(String filePath) throws IOException {
+
+    this(
+        new BufferedOutputStream(
+            new FileOutputStream(Utils.addFileExtension(filePath, PDF_FILE_EXTENSION))),
+        true,
+        ForkJoinPool.commonPool(),
+        Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor, writing to a stream which is not closed at the end
+   *
+   * @param targetStream
+   * @param executor - paints and compresses the pages
+   * @param maxPagesInFlight - the most pages painted or waiting to be written at once
+   */
+  public PdfEncoderSession(OutputStream targetStream, Executor executor, int maxPagesInFlight) {
+
+    this(targetStream, false, executor, maxPagesInFlight);
+  }
+
+  private PdfEncoderSession(
+      OutputStream out, boolean isClosingStream, Executor executor, int maxPagesInFlight) {
+
+    if (maxPagesInFlight < 1) {
+      throw new IllegalArgumentException("Max pages in flight must be greater than zero!!!");
+    }
+    this.out = out;
+    this.isClosingStream = isClosingStream;
+    this.executor = executor;
+    this.maxPagesInFlight = maxPagesInFlight;
+  }
+
+  /**
+   * Sets the deflate compression level of the next pages, from 0 (no compression) to 9 (best
+   * compression). The default is 6.
+   *
+   * @param compressionLevel
+   * @return this session
+   */
+  public PdfEncoderSession setCompressionLevel(int compressionLevel) {
+
+    if (compressionLevel < 0 || compressionLevel > 9) {
+      throw new IllegalArgumentException("Compression level must be between 0 and 9!!!");
+    }
+    this.compressionLevel = compressionLevel;
+    return this;
+  }
+
+  /**
+   * Add a Chart as the next page, with the size of the chart
+   *
+   * @param chart
+   * @throws IOException if writing a previous page failed
+   */
+  public void addPage(Chart<?, ?> chart) throws IOException {
+
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("PdfEncoderSession", "PDF");
+    addPage(DisplayList.record(chart));
+    JfrEvents.commitChartEncode(event, chart);
+  }
+
+  /**
+   * Add a recorded Chart as the next page, with the size of the chart
+   *
+   * @param displayList
+   * @throws IOException if writing a previous page failed
+   */
+  public void addPage(DisplayList displayList) throws IOException {
+
+    if (isClosed) {
+      throw new IllegalStateException("The PDF is already closed!!!");
+    }
+    while (pendingPages.size() >= maxPagesInFlight) {
+      writePage(pendingPages.remove());
+    }
+    int level = compressionLevel;
+    pendingPages.add(
+        CompletableFuture.supplyAsync(
+            () -> {
+              PdfGraphics2D graphics =
+                  new PdfGraphics2D(displayList.getWidth(), displayList.getHeight());
+              displayList.replay(graphics);
+              return graphics.finish(level);
+            },
+            executor));
+  }
+
+  private void writePage(CompletableFuture<Page> pendingPage) throws IOException {
+
+    Page page;
+    try {
+      page = pendingPage.join();
+    } catch (CompletionException e) {
+      throw new IOException("Painting a page failed!!!", e.getCause());
+    }
+    writeHeader();
+
+    StringBuilder resources = new StringBuilder("<<");
+    if (!page.getAlphas().isEmpty()) {
+      resources.append(" /ExtGState <<");
+      for (int alpha : page.getAlphas()) {
+        Integer object = alphaObjects.get(alpha);
+        if (object == null) {
+          String value = Double.toString(alpha / 255.0);
+          object = writeObject("<< /Type /ExtGState /CA " + value + " /ca " + value + " >>");
+          alphaObjects.put(alpha, object);
+        }
+        resources.append(" /A").append(alpha).append(' ').append(object).append(" 0 R");
+      }
+      resources.append(" >>");
+    }
+    if (!page.getImages().isEmpty()) {
+      resources.append(" /XObject <<");
+      for (Map.Entry<String, PdfGraphics2D.Image> entry : page.getImages().entrySet()) {
+        Integer object = imageObjects.get(entry.getKey());
+        if (object == null) {
+          object = writeImage(entry.getValue());
+          imageObjects.put(entry.getKey(), object);
+        }
+        resources.append(" /").append(entry.getKey()).append(' ').append(object).append(" 0 R");
+      }
+      resources.append(" >>");
+    }
+    if (!page.getShadings().isEmpty()) {
+      resources.append(" /Shading <<");
+      List<String> shadings = page.getShadings();
+      for (int i = 0; i < shadings.size(); i++) {
+        Integer object = shadingObjects.get(shadings.get(i));
+        if (object == null) {
+          object = writeObject(shadings.get(i));
+          shadingObjects.put(shadings.get(i), object);
+        }
+        resources.append(" /Sh").append(i).append(' ').append(object).append(" 0 R");
+      }
+      resources.append(" >>");
+    }
+    resources.append(" >>");
+
+    int contentObject = writeStream("<< /Filter /FlateDecode", page.getContent());
+    pageObjects.add(
+        writeObject(
+            "<< /Type /Page /Parent "
+                + PAGES_OBJECT
+                + " 0 R /MediaBox [0 0 "
+                + page.getWidth()
+                + " "
+                + page.getHeight()
+                + "] /Resources "
+                + resources
+                + " /Contents "
+                + contentObject
+                + " 0 R >>"));
+  }
+
+  private void writeHeader() throws IOException {
+
+    if (objectOffsets.isEmpty()) {
+      // with binary characters, so the file is taken as binary
+      write("%PDF-1.4\n%\u00e2\u00e3\u00cf\u00d3\n");
+      // the catalog and the page tree, written at the end
+      objectOffsets.add(0L);
+      objectOffsets.add(0L);
+    }
+  }
+
+  private int writeImage(PdfGraphics2D.Image image) throws IOException {
+
+    String size = " /Width " + image.getWidth() + " /Height " + image.getHeight();
+    String softMask = "";
+    if (image.getAlpha() != null) {
+      int maskObject =
+          writeStream(
+              "<< /Type /XObject /Subtype /Image"
+                  + size
+                  + " /ColorSpace /DeviceGray /BitsPerComponent 8 /Filter /FlateDecode",
+              image.getAlpha());
+      softMask = " /SMask " + maskObject + " 0 R";
+    }
+    return writeStream(
+        "<< /Type /XObject /Subtype /Image"
+            + size
+            + " /ColorSpace /DeviceRGB /BitsPerComponent 8 /Filter /FlateDecode"
+            + softMask,
+        image.getRGB());
+  }
+
+  private int writeObject(String dictionary) throws IOException {
+
+    int object = startObject();
+    write(dictionary + "\nendobj\n");
+    return object;
+  }
+
+  /**
+   * Writes a stream object
+   *
+   * @param dictionary - the start of the stream dictionary, without its length and end
+   * @param data
+   * @return the object number
+   */
+  private int writeStream(String dictionary, byte[] data) throws IOException {
+
+    int object = startObject();
+    write(dictionary + " /Length " + data.length + " >>\nstream\n");
+    out.write(data);
+    offset += data.length;
+    write("\nendstream\nendobj\n");
+    return object;
+  }
+
+  private int startObject() throws IOException {
+
+    objectOffsets.add(offset);
+    int object = objectOffsets.size();
+    write(object + " 0 obj\n");
+    return object;
+  }
+
+  private void setObject(int object) throws IOException {
+
+    objectOffsets.set(object - 1, offset);
+    write(object + " 0 obj\n");
+  }
+
+  private void write(String text) throws IOException {
+
+    byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+    out.write(bytes);
+    offset += bytes.length;
+  }
+
+  /**
+   * Writes the remaining pages and ends the PDF
+   *
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException {
+
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    try {
+      while (!pendingPages.isEmpty()) {
+        writePage(pendingPages.remove());
+      }
+      writeHeader();
+
+      // the page tree and the catalog, whose objects were reserved by the header
+      StringBuilder kids = new StringBuilder();
+      for (int pageObject : pageObjects) {
+        kids.append(kids.length() == 0 ? "" : " ").append(pageObject).append(" 0 R");
+      }
+      setObject(PAGES_OBJECT);
+      write("<< /Type /Pages /Kids [" + kids + "] /Count " + pageObjects.size() + " >>\nendobj\n");
+      setObject(CATALOG_OBJECT);
+      write("<< /Type /Catalog /Pages " + PAGES_OBJECT + " 0 R >>\nendobj\n");
+
+      long xrefOffset = offset;
+      StringBuilder xref = new StringBuilder("xref\n0 ").append(objectOffsets.size() + 1);
+      xref.append("\n0000000000 65535 f \n");
+      for (long objectOffset : objectOffsets) {
+        xref.append(String.format("%010d 00000 n \n", objectOffset));
+      }
+      xref.append("trailer\n<< /Size ").append(objectOffsets.size() + 1);
+      xref.append(" /Root ").append(CATALOG_OBJECT).append(" 0 R >>\n");
+      xref.append("startxref\n").append(xrefOffset).append("\n%%EOF\n");
+      write(xref.toString());
+      out.flush();
+    } finally {
+      pendingPages.clear();
+      if (isClosingStream) {
+        out.close();
+      }
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package org.knowm.xchart;
 
 import de.rototor.pdfbox.graphics2d.PdfBoxGraphics2D;
+import java.awt.Graphics2D;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -8,14 +9,20 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.jfr.ChartEncodeEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
 
-/** A helper class with static methods for saving Charts as a PDF file */
+/**
+ * A helper class with static methods for saving Charts as a PDF file. All pages are kept in memory
+ * until the PDF is written, for long reports use {@link PdfEncoderSession}.
+ */
 public class PdfboxGraphicsEncoder {
 
   private static final String PDF_FILE_EXTENSION = ".pdf";
@@ -97,29 +104,69 @@ public class PdfboxGraphicsEncoder {
   public static void savePdfboxGraphics(List<? extends Chart> charts, OutputStream os)
       throws IOException {
 
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("PdfboxGraphicsEncoder", "PDF");
     PDDocument document = new PDDocument();
-    PDRectangle mediaBox = null;
-    PDPage page = null;
-    PDPageContentStream contentStream = null;
-    PdfBoxGraphics2D pdfBoxGraphics2D = null;
-    PDFormXObject xform = null;
     for (Chart chart : charts) {
-      mediaBox = new PDRectangle(chart.getWidth(), chart.getHeight());
-      page = new PDPage(mediaBox);
-      // add page
-      document.addPage(page);
-      pdfBoxGraphics2D = new PdfBoxGraphics2D(document, chart.getWidth(), chart.getHeight());
-      chart.paint(pdfBoxGraphics2D, chart.getWidth(), chart.getHeight());
-      pdfBoxGraphics2D.dispose();
-      xform = pdfBoxGraphics2D.getXFormObject();
-
-      contentStream = new PDPageContentStream(document, page);
-      contentStream.drawForm(xform);
-      contentStream.close();
+      addPage(
+          document,
+          chart.getWidth(),
+          chart.getHeight(),
+          g -> chart.paint(g, chart.getWidth(), chart.getHeight()));
     }
 
     document.save(os);
     document.close();
+    JfrEvents.commitChartEncode(event, charts);
+  }
+
+  /**
+   * Write a recorded chart to a file
+   *
+   * @param displayList DisplayList
+   * @param fileName file name path
+   * @throws IOException
+   */
+  public static void savePdfboxGraphics(DisplayList displayList, String fileName)
+      throws IOException {
+
+    try (OutputStream os =
+        new BufferedOutputStream(new FileOutputStream(addFileExtension(fileName)))) {
+      savePdfboxGraphics(displayList, os);
+    }
+  }
+
+  /**
+   * Write a recorded chart to an OutputStream
+   *
+   * @param displayList DisplayList
+   * @param os OutputStream
+   * @throws IOException
+   */
+  public static void savePdfboxGraphics(DisplayList displayList, OutputStream os)
+      throws IOException {
+
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("PdfboxGraphicsEncoder", "PDF");
+    PDDocument document = new PDDocument();
+    addPage(document, displayList.getWidth(), displayList.getHeight(), displayList::replay);
+    document.save(os);
+    document.close();
+    JfrEvents.commitChartEncode(event, displayList.getChart());
+  }
+
+  private static void addPage(
+      PDDocument document, int width, int height, Consumer<Graphics2D> painter) throws IOException {
+
+    PDPage page = new PDPage(new PDRectangle(width, height));
+    // add page
+    document.addPage(page);
+    PdfBoxGraphics2D pdfBoxGraphics2D = new PdfBoxGraphics2D(document, width, height);
+    painter.accept(pdfBoxGraphics2D);
+    pdfBoxGraphics2D.dispose();
+    PDFormXObject xform = pdfBoxGraphics2D.getXFormObject();
+
+    PDPageContentStream contentStream = new PDPageContentStream(document, page);
+    contentStream.drawForm(xform);
+    contentStream.close();
   }
 
   /**
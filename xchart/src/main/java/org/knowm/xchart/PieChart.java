@@ -11,6 +11,7 @@ import java.util.stream.Collectors;
 import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.internal.chartpart.Legend_Pie;
 import org.knowm.xchart.internal.chartpart.Plot_Pie;
+import org.knowm.xchart.internal.chartpart.RenderContext;
 import org.knowm.xchart.internal.series.Series;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyle;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyleCycler;
@@ -29,7 +30,12 @@ public class PieChart extends Chart<PieStyler, PieSeries> {
    */
   public PieChart(int width, int height) {
 
-    super(width, height, new PieStyler());
+    this(width, height, new PieStyler());
+  }
+
+  private PieChart(int width, int height, PieStyler styler) {
+
+    super(width, height, styler);
     plot = new Plot_Pie<PieStyler, PieSeries>(this);
     legend = new Legend_Pie<PieStyler, PieSeries>(this);
   }
@@ -116,10 +122,7 @@ public class PieChart extends Chart<PieStyler, PieSeries> {
   }
 
   @Override
-  public void paint(Graphics2D g, int width, int height) {
-
-    setWidth(width);
-    setHeight(height);
+  protected void prepareSeries() {
 
     // set the series types if they are not set. Legend and Plot need it.
     for (PieSeries seriesPie : getSeriesMap().values()) {
@@ -130,13 +133,29 @@ public class PieChart extends Chart<PieStyler, PieSeries> {
       }
     }
     setSeriesStyles();
+  }
+
+  @Override
+  protected void doPaint(Graphics2D g) {
 
     paintBackground(g);
 
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+    getPlot().paint(g);
+    getChartTitle().paint(g);
+    getLegend().paint(g);
+    paintAnnotations(g);
+  }
+
+  @Override
+  protected RenderContext<PieStyler, PieSeries> createRenderContext() {
+
+    return new RenderContext<>(this, null, new Plot_Pie<>(this), new Legend_Pie<>(this));
+  }
+
+  @Override
+  public PieChart copyWithoutSeries() {
+
+    return copyTitles(new PieChart(getWidth(), getHeight(), copyStyler()));
   }
 
   /** set the series color based on theme */
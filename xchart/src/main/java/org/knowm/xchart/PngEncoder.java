@@ -0,0 +1,640 @@
+package org.knowm.xchart;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.jfr.ChartEncodeEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
+
+/**
+ * A PNG encoder for charts, faster than the one of ImageIO and with control over the compression.
+ * The pixels are read straight from the int raster of the image, filtered with the chosen filter
+ * and deflated in blocks of rows on a ForkJoinPool. Like pigz, every block is deflated on its own
+ * with the end of the previous block as dictionary and the blocks are joined into one zlib stream,
+ * so any PNG decoder can read the result. Images without transparent pixels are written as RGB.
+ *
+ * <p>Charts use few colors, so they can also be written as indexed images with a palette of up to
+ * 256 colors, a quarter of the data of RGBA to filter and deflate. Images with more colors keep the
+ * most used ones and the others are mapped to the nearest of them. The palette of a chart is kept
+ * and reused for the next charts of the same theme as long as they have no other colors.
+ *
+ * <p>An encoder can be shared by several threads once it is configured.
+ */
+public final class PngEncoder {
+
+  /** The filter applied to every row before deflating it, see the PNG specification */
+  public enum FilterStrategy {
+    NONE,
+    SUB,
+    UP,
+    AVERAGE,
+    PAETH,
+    /** Picks the filter with the smallest sum of absolute differences for every row */
+    ADAPTIVE
+  }
+
+  private static final byte[] SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10, 26, 10};
+
+  // the size of the uncompressed data deflated in one block
+  private static final int BLOCK_SIZE = 128 * 1024;
+  // the deflate window, the most a block can refer back to
+  private static final int DICTIONARY_SIZE = 32 * 1024;
+
+  private int compressionLevel = 6;
+  private FilterStrategy filterStrategy = FilterStrategy.UP;
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+  private boolean isIndexedColor;
+
+  // the last palette used for the charts of a theme
+  private final Map<Object, IndexedPalette> palettes = new ConcurrentHashMap<>();
+
+  /**
+   * Sets the deflate compression level, from 0 (no compression) to 9 (best compression). The
+   * default is 6.
+   *
+   * @param compressionLevel
+   * @return this encoder
+   */
+  public PngEncoder setCompressionLevel(int compressionLevel) {
+
+    if (compressionLevel < 0 || compressionLevel > 9) {
+      throw new IllegalArgumentException("Compression level must be between 0 and 9!!!");
+    }
+    this.compressionLevel = compressionLevel;
+    return this;
+  }
+
+  public int getCompressionLevel() {
+
+    return compressionLevel;
+  }
+
+  /**
+   * Sets the filter applied to the rows. The default is UP, which is fast and suits the flat colors
+   * of charts well.
+   *
+   * @param filterStrategy
+   * @return this encoder
+   */
+  public PngEncoder setFilterStrategy(FilterStrategy filterStrategy) {
+
+    if (filterStrategy == null) {
+      throw new IllegalArgumentException("Filter strategy cannot be null!!!");
+    }
+    this.filterStrategy = filterStrategy;
+    return this;
+  }
+
+  public FilterStrategy getFilterStrategy() {
+
+    return filterStrategy;
+  }
+
+  /**
+   * Sets the pool filtering and deflating the blocks of rows in parallel. The default is the common
+   * ForkJoinPool.
+   *
+   * @param pool - the pool, or null to encode on the calling thread in a single block
+   * @return this encoder
+   */
+  public PngEncoder setPool(ForkJoinPool pool) {
+
+    this.pool = pool;
+    return this;
+  }
+
+  public ForkJoinPool getPool() {
+
+    return pool;
+  }
+
+  /**
+   * Sets whether images are written with a palette of up to 256 colors. This makes charts a lot
+   * smaller, at the price of the colors of images with more than 256 colors. The filter NONE
+   * usually compresses indexed images best. The default is false.
+   *
+   * @param isIndexedColor
+   * @return this encoder
+   */
+  public PngEncoder setIndexedColor(boolean isIndexedColor) {
+
+    this.isIndexedColor = isIndexedColor;
+    return this;
+  }
+
+  public boolean isIndexedColor() {
+
+    return isIndexedColor;
+  }
+
+  /**
+   * Write a Chart as a PNG into a given stream. Does not close the target stream automatically at
+   * the end of the operation
+   *
+   * @param chart
+   * @param targetStream
+   * @throws IOException
+   */
+  public void encode(Chart<?, ?> chart, OutputStream targetStream) throws IOException {
+
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("PngEncoder", "PNG");
+    encode(
+        BitmapEncoder.getBufferedImage(chart, true),
+        targetStream,
+        0,
+        chart.getStyler().getTheme().getClass());
+    JfrEvents.commitChartEncode(event, chart);
+  }
+
+  /**
+   * Write an image as a PNG into a given stream. Does not close the target stream automatically at
+   * the end of the operation
+   *
+   * @param image
+   * @param targetStream
+   * @throws IOException
+   */
+  public void encode(BufferedImage image, OutputStream targetStream) throws IOException {
+
+    encode(image, targetStream, 0, null);
+  }
+
+  /**
+   * Write an image as a PNG into a given stream
+   *
+   * @param image
+   * @param targetStream
+   * @param dpi - written into the pHYs chunk, 0 to leave it out
+   * @param paletteKey - the key of the palette reused for indexed images, or null to not reuse it
+   * @throws IOException
+   */
+  void encode(BufferedImage image, OutputStream targetStream, int dpi, Object paletteKey)
+      throws IOException {
+
+    Pixels pixels = new Pixels(image);
+    IndexedPalette palette = null;
+    if (isIndexedColor) {
+      IndexedPalette.ColorTable histogram = pixels.countColors();
+      palette = paletteKey == null ? null : palettes.get(paletteKey);
+      if (palette == null || !palette.covers(histogram)) {
+        palette = IndexedPalette.of(histogram);
+        if (paletteKey != null) {
+          palettes.put(paletteKey, palette);
+        }
+      }
+      pixels.setPalette(palette);
+    }
+    int width = image.getWidth();
+    int height = image.getHeight();
+    int rowLength = 1 + width * pixels.bytesPerPixel;
+    int rowsPerBlock =
+        pool == null ? height : Math.max(1, Math.min(height, BLOCK_SIZE / rowLength));
+    int blockCount = (height + rowsPerBlock - 1) / rowsPerBlock;
+
+    // filter all blocks, then deflate them with the end of the previous block as dictionary
+    Block[] blocks = new Block[blockCount];
+    for (int i = 0; i < blockCount; i++) {
+      int firstRow = i * rowsPerBlock;
+      blocks[i] = new Block(pixels, firstRow, Math.min(rowsPerBlock, height - firstRow));
+    }
+    run(blocks, Block::filter);
+    for (int i = 1; i < blockCount; i++) {
+      blocks[i].previous = blocks[i - 1];
+    }
+    blocks[blockCount - 1].isLast = true;
+    run(blocks, Block::deflate);
+
+    DataOutputStream out = new DataOutputStream(targetStream);
+    out.write(SIGNATURE);
+
+    ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+    DataOutputStream headerOut = new DataOutputStream(header);
+    headerOut.writeInt(width);
+    headerOut.writeInt(height);
+    headerOut.writeByte(8); // bit depth
+    // color type indexed, RGBA or RGB
+    headerOut.writeByte(palette != null ? 3 : pixels.bytesPerPixel == 4 ? 6 : 2);
+    headerOut.writeByte(0); // deflate
+    headerOut.writeByte(0); // adaptive filtering
+    headerOut.writeByte(0); // not interlaced
+    writeChunk(out, "IHDR", header.toByteArray(), 0, header.size());
+
+    if (dpi > 0) {
+      int pixelsPerMeter = (int) Math.round(dpi / 0.0254);
+      ByteArrayOutputStream physical = new ByteArrayOutputStream(9);
+      DataOutputStream physicalOut = new DataOutputStream(physical);
+      physicalOut.writeInt(pixelsPerMeter);
+      physicalOut.writeInt(pixelsPerMeter);
+      physicalOut.writeByte(1); // meter
+      writeChunk(out, "pHYs", physical.toByteArray(), 0, physical.size());
+    }
+
+    if (palette != null) {
+      byte[] rgb = palette.getRGB();
+      writeChunk(out, "PLTE", rgb, 0, rgb.length);
+      byte[] alpha = palette.getAlpha();
+      if (alpha != null) {
+        writeChunk(out, "tRNS", alpha, 0, alpha.length);
+      }
+    }
+
+    // zlib header, the deflated blocks, then the checksum of all uncompressed data
+    writeChunk(out, "IDAT", zlibHeader(), 0, 2);
+    Adler32 adler32 = new Adler32();
+    for (Block block : blocks) {
+      adler32.update(block.filtered, 0, block.filtered.length);
+      writeChunk(out, "IDAT", block.deflated.getBuffer(), 0, block.deflated.size());
+    }
+    byte[] checksum = new byte[4];
+    int adler = (int) adler32.getValue();
+    for (int i = 0; i < 4; i++) {
+      checksum[i] = (byte) (adler >>> (24 - 8 * i));
+    }
+    writeChunk(out, "IDAT", checksum, 0, 4);
+    writeChunk(out, "IEND", new byte[0], 0, 0);
+    out.flush();
+  }
+
+  private void run(Block[] blocks, Consumer<Block> step) {
+
+    if (pool == null || blocks.length == 1) {
+      for (Block block : blocks) {
+        step.accept(block);
+      }
+      return;
+    }
+    ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[blocks.length];
+    for (int i = 0; i < blocks.length; i++) {
+      Block block = blocks[i];
+      tasks[i] = ForkJoinTask.adapt(() -> step.accept(block));
+    }
+    pool.invoke(
+        new RecursiveAction() {
+
+          @Override
+          protected void compute() {
+
+            invokeAll(tasks);
+          }
+        });
+  }
+
+  private byte[] zlibHeader() {
+
+    int cmf = 0x78; // deflate with a 32K window
+    int flg;
+    if (compressionLevel < 2) {
+      flg = 0;
+    } else if (compressionLevel < 6) {
+      flg = 1 << 6;
+    } else if (compressionLevel == 6) {
+      flg = 2 << 6;
+    } else {
+      flg = 3 << 6;
+    }
+    flg += 31 - ((cmf << 8) + flg) % 31;
+    return new byte[] {(byte) cmf, (byte) flg};
+  }
+
+  private static void writeChunk(
+      DataOutputStream out, String type, byte[] data, int offset, int length) throws IOException {
+
+    byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+    CRC32 crc = new CRC32();
+    crc.update(typeBytes);
+    crc.update(data, offset, length);
+    out.writeInt(length);
+    out.write(typeBytes);
+    out.write(data, offset, length);
+    out.writeInt((int) crc.getValue());
+  }
+
+  /** Reads the pixels of an image row by row, straight from its int raster if it has one */
+  private static final class Pixels {
+
+    private final BufferedImage image;
+    private int bytesPerPixel;
+    private IndexedPalette palette;
+    private final boolean isPremultiplied;
+    private final int[] data;
+    private final int offset;
+    private final int scanlineStride;
+
+    Pixels(BufferedImage image) {
+
+      this.image = image;
+      WritableRaster raster = image.getRaster();
+      int type = image.getType();
+      if ((type == BufferedImage.TYPE_INT_RGB
+              || type == BufferedImage.TYPE_INT_ARGB
+              || type == BufferedImage.TYPE_INT_ARGB_PRE)
+          && raster.getDataBuffer() instanceof DataBufferInt
+          && raster.getSampleModel() instanceof SinglePixelPackedSampleModel
+          && raster.getParent() == null) {
+        this.data = ((DataBufferInt) raster.getDataBuffer()).getData();
+        this.offset = raster.getDataBuffer().getOffset();
+        this.scanlineStride =
+            ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+        this.isPremultiplied = type == BufferedImage.TYPE_INT_ARGB_PRE;
+      } else {
+        this.data = null;
+        this.offset = 0;
+        this.scanlineStride = 0;
+        this.isPremultiplied = false;
+      }
+      this.bytesPerPixel =
+          type == BufferedImage.TYPE_INT_RGB || !image.getColorModel().hasAlpha() || isOpaque()
+              ? 3
+              : 4;
+    }
+
+    void setPalette(IndexedPalette palette) {
+
+      this.palette = palette;
+      this.bytesPerPixel = 1;
+    }
+
+    /**
+     * Counts the pixels of every color
+     *
+     * @return the number of pixels of every non-premultiplied color
+     */
+    IndexedPalette.ColorTable countColors() {
+
+      IndexedPalette.ColorTable histogram =
+          new IndexedPalette.ColorTable(IndexedPalette.MAX_COLORS);
+      int width = image.getWidth();
+      int[] row = new int[width];
+      for (int y = 0; y < image.getHeight(); y++) {
+        int[] pixels = getRow(y, row);
+        int start = pixels == row ? 0 : offset + y * scanlineStride;
+        // charts are mostly runs of one color
+        int color = pixels[start];
+        int count = 0;
+        for (int x = 0; x < width; x++) {
+          if (pixels[start + x] != color) {
+            histogram.add(getARGB(color), count);
+            color = pixels[start + x];
+            count = 0;
+          }
+          count++;
+        }
+        histogram.add(getARGB(color), count);
+      }
+      return histogram;
+    }
+
+    private int getARGB(int pixel) {
+
+      int alpha = pixel >>> 24;
+      if (!isPremultiplied || alpha == 0xFF) {
+        return pixel;
+      }
+      if (alpha == 0) {
+        return 0;
+      }
+      int red = Math.min(0xFF, (((pixel >> 16) & 0xFF) * 0xFF + alpha / 2) / alpha);
+      int green = Math.min(0xFF, (((pixel >> 8) & 0xFF) * 0xFF + alpha / 2) / alpha);
+      int blue = Math.min(0xFF, ((pixel & 0xFF) * 0xFF + alpha / 2) / alpha);
+      return alpha << 24 | red << 16 | green << 8 | blue;
+    }
+
+    private boolean isOpaque() {
+
+      int[] row = new int[image.getWidth()];
+      for (int y = 0; y < image.getHeight(); y++) {
+        int[] pixels = getRow(y, row);
+        int start = pixels == row ? 0 : offset + y * scanlineStride;
+        for (int x = 0; x < image.getWidth(); x++) {
+          if (pixels[start + x] >>> 24 != 0xFF) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Gets the pixels of a row, in the raster if there is one, otherwise copied into the given row
+     *
+     * @param y
+     * @param row - the array to copy the row to
+     * @return the raster or the given row
+     */
+    private int[] getRow(int y, int[] row) {
+
+      if (data != null) {
+        return data;
+      }
+      return image.getRGB(0, y, image.getWidth(), 1, row, 0, image.getWidth());
+    }
+
+    /**
+     * Write the bytes of a row, the palette index or red, green, blue and if needed alpha for every
+     * pixel
+     *
+     * @param y
+     * @param row - a row to copy the pixels to if there is no raster
+     * @param bytes
+     * @param bytesOffset
+     */
+    void writeRow(int y, int[] row, byte[] bytes, int bytesOffset) {
+
+      int[] pixels = getRow(y, row);
+      int start = pixels == row ? 0 : offset + y * scanlineStride;
+      int width = image.getWidth();
+      int b = bytesOffset;
+      if (palette != null) {
+        int color = pixels[start];
+        int index = palette.indexOf(getARGB(color));
+        for (int x = 0; x < width; x++) {
+          if (pixels[start + x] != color) {
+            color = pixels[start + x];
+            index = palette.indexOf(getARGB(color));
+          }
+          bytes[b++] = (byte) index;
+        }
+        return;
+      }
+      for (int x = 0; x < width; x++) {
+        int argb = getARGB(pixels[start + x]);
+        bytes[b++] = (byte) (argb >> 16);
+        bytes[b++] = (byte) (argb >> 8);
+        bytes[b++] = (byte) argb;
+        if (bytesPerPixel == 4) {
+          bytes[b++] = (byte) (argb >>> 24);
+        }
+      }
+    }
+  }
+
+  /** A block of rows filtered and deflated together */
+  private final class Block {
+
+    private final Pixels pixels;
+    private final int firstRow;
+    private final int rowCount;
+
+    private byte[] filtered;
+    private Block previous;
+    private boolean isLast;
+    private DeflatedBytes deflated;
+
+    Block(Pixels pixels, int firstRow, int rowCount) {
+
+      this.pixels = pixels;
+      this.firstRow = firstRow;
+      this.rowCount = rowCount;
+    }
+
+    void filter() {
+
+      int bpp = pixels.bytesPerPixel;
+      int length = pixels.image.getWidth() * bpp;
+      filtered = new byte[rowCount * (length + 1)];
+      int[] row = new int[pixels.image.getWidth()];
+      byte[] prior = new byte[length];
+      byte[] current = new byte[length];
+      if (firstRow > 0) {
+        pixels.writeRow(firstRow - 1, row, prior, 0);
+      }
+      byte[][] candidates = filterStrategy == FilterStrategy.ADAPTIVE ? new byte[5][length] : null;
+      for (int r = 0; r < rowCount; r++) {
+        pixels.writeRow(firstRow + r, row, current, 0);
+        int out = r * (length + 1);
+        if (candidates == null) {
+          int filterType = filterStrategy.ordinal();
+          filtered[out] = (byte) filterType;
+          applyFilter(filterType, current, prior, bpp, filtered, out + 1);
+        } else {
+          int best = 0;
+          long bestSum = Long.MAX_VALUE;
+          for (int filterType = 0; filterType < 5; filterType++) {
+            applyFilter(filterType, current, prior, bpp, candidates[filterType], 0);
+            long sum = 0;
+            for (byte value : candidates[filterType]) {
+              sum += Math.abs(value);
+            }
+            if (sum < bestSum) {
+              bestSum = sum;
+              best = filterType;
+            }
+          }
+          filtered[out] = (byte) best;
+          System.arraycopy(candidates[best], 0, filtered, out + 1, length);
+        }
+        byte[] swap = prior;
+        prior = current;
+        current = swap;
+      }
+    }
+
+    void deflate() {
+
+      Deflater deflater = new Deflater(compressionLevel, true);
+      try {
+        if (previous != null) {
+          int dictionaryLength = Math.min(DICTIONARY_SIZE, previous.filtered.length);
+          deflater.setDictionary(
+              previous.filtered, previous.filtered.length - dictionaryLength, dictionaryLength);
+        }
+        deflater.setInput(filtered);
+        deflated = new DeflatedBytes(filtered.length / 4 + 64);
+        byte[] buffer = new byte[16 * 1024];
+        if (isLast) {
+          deflater.finish();
+          while (!deflater.finished()) {
+            deflated.write(buffer, 0, deflater.deflate(buffer));
+          }
+        } else {
+          // end on a byte boundary, so the next block can be appended
+          int length;
+          do {
+            length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+            deflated.write(buffer, 0, length);
+          } while (length == buffer.length);
+        }
+      } finally {
+        deflater.end();
+      }
+    }
+  }
+
+  private static void applyFilter(
+      int filterType, byte[] current, byte[] prior, int bpp, byte[] out, int outOffset) {
+
+    int length = current.length;
+    switch (filterType) {
+      case 0:
+        System.arraycopy(current, 0, out, outOffset, length);
+        break;
+      case 1:
+        for (int i = 0; i < length; i++) {
+          int left = i < bpp ? 0 : current[i - bpp] & 0xFF;
+          out[outOffset + i] = (byte) ((current[i] & 0xFF) - left);
+        }
+        break;
+      case 2:
+        for (int i = 0; i < length; i++) {
+          out[outOffset + i] = (byte) ((current[i] & 0xFF) - (prior[i] & 0xFF));
+        }
+        break;
+      case 3:
+        for (int i = 0; i < length; i++) {
+          int left = i < bpp ? 0 : current[i - bpp] & 0xFF;
+          out[outOffset + i] = (byte) ((current[i] & 0xFF) - ((left + (prior[i] & 0xFF)) >>> 1));
+        }
+        break;
+      default:
+        for (int i = 0; i < length; i++) {
+          int left = i < bpp ? 0 : current[i - bpp] & 0xFF;
+          int up = prior[i] & 0xFF;
+          int upLeft = i < bpp ? 0 : prior[i - bpp] & 0xFF;
+          out[outOffset + i] = (byte) ((current[i] & 0xFF) - paeth(left, up, upLeft));
+        }
+        break;
+    }
+  }
+
+  private static int paeth(int left, int up, int upLeft) {
+
+    int estimate = left + up - upLeft;
+    int distanceLeft = Math.abs(estimate - left);
+    int distanceUp = Math.abs(estimate - up);
+    int distanceUpLeft = Math.abs(estimate - upLeft);
+    if (distanceLeft <= distanceUp && distanceLeft <= distanceUpLeft) {
+      return left;
+    }
+    return distanceUp <= distanceUpLeft ? up : upLeft;
+  }
+
+  /** A ByteArrayOutputStream whose bytes can be written out without copying them */
+  private static final class DeflatedBytes extends ByteArrayOutputStream {
+
+    DeflatedBytes(int size) {
+
+      super(size);
+    }
+
+    byte[] getBuffer() {
+
+      return buf;
+    }
+  }
+}
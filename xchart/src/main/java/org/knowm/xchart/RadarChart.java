@@ -4,6 +4,7 @@ import java.awt.Graphics2D;
 import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.internal.chartpart.Legend_Marker;
 import org.knowm.xchart.internal.chartpart.Plot_Radar;
+import org.knowm.xchart.internal.chartpart.RenderContext;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyle;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyleCycler;
 import org.knowm.xchart.style.RadarStyler;
@@ -22,7 +23,12 @@ public class RadarChart extends Chart<RadarStyler, RadarSeries> {
    */
   public RadarChart(int width, int height) {
 
-    super(width, height, new RadarStyler());
+    this(width, height, new RadarStyler());
+  }
+
+  private RadarChart(int width, int height, RadarStyler styler) {
+
+    super(width, height, styler);
     plot = new Plot_Radar<>(this);
     legend = new Legend_Marker<RadarStyler, RadarSeries>(this);
   }
@@ -140,19 +146,34 @@ public class RadarChart extends Chart<RadarStyler, RadarSeries> {
   }
 
   @Override
-  public void paint(Graphics2D g, int width, int height) {
-
-    setWidth(width);
-    setHeight(height);
+  protected void prepareSeries() {
 
     setSeriesStyles();
+  }
+
+  @Override
+  protected void doPaint(Graphics2D g) {
 
     paintBackground(g);
 
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+    getPlot().paint(g);
+    getChartTitle().paint(g);
+    getLegend().paint(g);
+    paintAnnotations(g);
+  }
+
+  @Override
+  protected RenderContext<RadarStyler, RadarSeries> createRenderContext() {
+
+    return new RenderContext<>(this, null, new Plot_Radar<>(this), new Legend_Marker<>(this));
+  }
+
+  @Override
+  public RadarChart copyWithoutSeries() {
+
+    RadarChart chart = copyTitles(new RadarChart(getWidth(), getHeight(), copyStyler()));
+    chart.radiiLabels = radiiLabels == null ? null : radiiLabels.clone();
+    return chart;
   }
 
   /** set the series color based on theme */
@@ -39,6 +39,12 @@ public class RadarSeries extends MarkerSeries {
     this.tooltipOverrides = tooltipOverrides;
   }
 
+  @Override
+  public int getDataPointCount() {
+
+    return values.length;
+  }
+
   public double[] getValues() {
 
     return values;
@@ -0,0 +1,583 @@
+package org.knowm.xchart;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.series.AxesChartSeries;
+import org.knowm.xchart.internal.series.Series;
+import org.knowm.xchart.internal.series.Series.DataType;
+import org.knowm.xchart.internal.series.SeriesDataSnapshot;
+
+/**
+ * Saves the data of XY, OHLC and category series into a binary file holding a column per value, and
+ * adds them to a chart again. The columns are written straight from the arrays of the series, and
+ * read from the memory mapped file straight into the arrays handed to the chart, so saving and
+ * reloading take little longer than copying the data, much unlike writing and parsing CSV files.
+ * Only the data is saved, not the style of a series.
+ *
+ * <p>The file is in little-endian byte order, every part starting at a multiple of 8 bytes:
+ *
+ * <pre>
+ * file header:   "XSER", int version, int series count, int reserved
+ * series header: byte series type, byte X data type, byte column count, byte reserved,
+ *                int name length, long point count, name in UTF-8
+ * column header: byte column, byte value type, 6 bytes reserved, long length in bytes
+ * column:        a double or a long per point, or a string per point as int length and UTF-8
+ * </pre>
+ */
+public final class SeriesFile {
+
+  // "XSER" read as a little-endian int
+  private static final int MAGIC = 'X' | 'S' << 8 | 'E' << 16 | 'R' << 24;
+  private static final int VERSION = 1;
+
+  private static final byte XY_SERIES = 0;
+  private static final byte OHLC_SERIES = 1;
+  private static final byte CATEGORY_SERIES = 2;
+
+  // by their code in the file
+  private static final DataType[] DATA_TYPES = {DataType.Number, DataType.Date, DataType.String};
+
+  private static final byte X = 0;
+  private static final byte Y = 1;
+  private static final byte ERROR_BARS = 2;
+  private static final byte OPEN = 3;
+  private static final byte HIGH = 4;
+  private static final byte LOW = 5;
+  private static final byte CLOSE = 6;
+  private static final byte VOLUME = 7;
+
+  private static final byte DOUBLES = 0;
+  private static final byte LONGS = 1;
+  private static final byte STRINGS = 2;
+
+  private static final int BUFFER_SIZE = 1 << 20;
+  // the most values read from one mapping, 1 GB
+  private static final int MAX_MAPPED_VALUES = 1 << 27;
+
+  /** Private Constructor */
+  private SeriesFile() {}
+
+  /**
+   * Saves the data of all series of a chart, replacing the file if it exists
+   *
+   * @param chart - a XY, OHLC or category chart
+   * @param fileName
+   * @throws IOException
+   */
+  public static void save(Chart<?, ?> chart, String fileName) throws IOException {
+
+    List<Series> seriesList = new ArrayList<>(chart.getSeriesMap().values());
+    for (Series series : seriesList) {
+      getSeriesType(series);
+    }
+    try (FileChannel channel =
+        FileChannel.open(
+            Paths.get(fileName),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      Output out = new Output(channel);
+      out.putInt(MAGIC);
+      out.putInt(VERSION);
+      out.putInt(seriesList.size());
+      out.putInt(0);
+      for (Series series : seriesList) {
+        writeSeries(series, out);
+      }
+      out.flush();
+    }
+  }
+
+  /**
+   * Adds the series saved in a file to a chart, all of them or, if one can't be read or added, none
+   *
+   * @param chart - a chart of the type the series were saved from
+   * @param fileName
+   * @throws IOException
+   */
+  public static void load(Chart<?, ?> chart, String fileName) throws IOException {
+
+    List<SavedSeries> savedSeries = new ArrayList<>();
+    try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+      Input in = new Input(channel);
+      ByteBuffer header = in.read(16);
+      if (header.getInt() != MAGIC) {
+        throw new IOException(fileName + " is not a series file!!!");
+      }
+      int version = header.getInt();
+      if (version != VERSION) {
+        throw new IOException("Version " + version + " of " + fileName + " is not supported!!!");
+      }
+      int seriesCount = header.getInt();
+      for (int i = 0; i < seriesCount; i++) {
+        savedSeries.add(readSeries(in));
+      }
+    }
+
+    // added once the whole file is read, and removed again if one can't be added, so a file
+    // failing to load leaves the chart as it was
+    List<String> added = new ArrayList<>();
+    try {
+      for (SavedSeries series : savedSeries) {
+        addSeries(chart, series);
+        added.add(series.name);
+      }
+    } catch (RuntimeException e) {
+      for (String name : added) {
+        chart.removeSeries(name);
+      }
+      throw e;
+    }
+  }
+
+  private static byte getSeriesType(Series series) {
+
+    if (series instanceof XYSeries) {
+      return XY_SERIES;
+    } else if (series instanceof OHLCSeries) {
+      return OHLC_SERIES;
+    } else if (series instanceof CategorySeries) {
+      return CATEGORY_SERIES;
+    }
+    throw new IllegalArgumentException(
+        "Series of type " + series.getClass().getSimpleName() + " can't be saved!!!");
+  }
+
+  private static void writeSeries(Series series, Output out) throws IOException {
+
+    byte seriesType = getSeriesType(series);
+    DataType xDataType = ((AxesChartSeries) series).getxAxisDataType();
+    // the data of every column, by column
+    Object[] columns = new Object[VOLUME + 1];
+    if (series instanceof XYSeries) {
+      SeriesDataSnapshot data = ((XYSeries) series).getDataSnapshot();
+      columns[X] = data.getXDataAll();
+      columns[Y] = data.getYDataAll();
+      columns[ERROR_BARS] = data.getExtraValuesAll();
+    } else if (series instanceof OHLCSeries) {
+      OHLCSeries ohlcSeries = (OHLCSeries) series;
+      columns[X] = ohlcSeries.getXData();
+      columns[Y] = ohlcSeries.getYData();
+      if (ohlcSeries.getYData() == null) {
+        columns[OPEN] = ohlcSeries.getOpenData();
+        columns[HIGH] = ohlcSeries.getHighData();
+        columns[LOW] = ohlcSeries.getLowData();
+        columns[CLOSE] = ohlcSeries.getCloseData();
+        columns[VOLUME] = ohlcSeries.getVolumeData();
+      }
+    } else {
+      CategorySeries categorySeries = (CategorySeries) series;
+      columns[X] = getCategories(categorySeries.getXData(), xDataType);
+      columns[Y] = getDoubles(categorySeries.getYData());
+      columns[ERROR_BARS] = getDoubles(categorySeries.getExtraValues());
+    }
+
+    int columnCount = 0;
+    for (Object column : columns) {
+      columnCount += column != null ? 1 : 0;
+    }
+    byte[] name = series.getName().getBytes(StandardCharsets.UTF_8);
+    out.putByte(seriesType);
+    out.putByte(Arrays.asList(DATA_TYPES).indexOf(xDataType));
+    out.putByte(columnCount);
+    out.putByte(0);
+    out.putInt(name.length);
+    out.putLong(Array.getLength(columns[X]));
+    out.putBytes(name);
+    out.pad();
+
+    for (int column = 0; column < columns.length; column++) {
+      if (columns[column] != null) {
+        out.putColumn(column, columns[column]);
+      }
+    }
+  }
+
+  /**
+   * @param categories
+   * @param dataType
+   * @return the categories as doubles, dates as epoch milliseconds, or strings
+   */
+  private static Object getCategories(Collection<?> categories, DataType dataType) {
+
+    int i = 0;
+    switch (dataType) {
+      case Date:
+        long[] times = new long[categories.size()];
+        for (Object category : categories) {
+          times[i++] = ((Date) category).getTime();
+        }
+        return times;
+      case String:
+        String[] strings = new String[categories.size()];
+        for (Object category : categories) {
+          strings[i++] = String.valueOf(category);
+        }
+        return strings;
+      default:
+        double[] numbers = new double[categories.size()];
+        for (Object category : categories) {
+          numbers[i++] = ((Number) category).doubleValue();
+        }
+        return numbers;
+    }
+  }
+
+  private static double[] getDoubles(Collection<? extends Number> values) {
+
+    if (values == null) {
+      return null;
+    }
+    double[] doubles = new double[values.size()];
+    int i = 0;
+    for (Number value : values) {
+      doubles[i++] = value.doubleValue();
+    }
+    return doubles;
+  }
+
+  private static SavedSeries readSeries(Input in) throws IOException {
+
+    ByteBuffer header = in.read(16);
+    byte seriesType = header.get();
+    int xDataTypeCode = header.get();
+    int columnCount = header.get();
+    header.get();
+    int nameLength = header.getInt();
+    long pointCount = header.getLong();
+    if (nameLength < 0 || nameLength > in.remaining()) {
+      throw new IOException("Series name of length " + nameLength + " is corrupt!!!");
+    }
+    String name = new String(in.read(nameLength).array(), StandardCharsets.UTF_8);
+    in.pad();
+    if (pointCount < 0
+        || pointCount > Integer.MAX_VALUE - 8
+        || xDataTypeCode < 0
+        || xDataTypeCode >= DATA_TYPES.length) {
+      throw new IOException("Series >" + name + "< is corrupt!!!");
+    }
+    DataType xDataType = DATA_TYPES[xDataTypeCode];
+
+    Object[] columns = new Object[VOLUME + 1];
+    for (int i = 0; i < columnCount; i++) {
+      ByteBuffer columnHeader = in.read(16);
+      int column = columnHeader.get();
+      byte valueType = columnHeader.get();
+      long length = columnHeader.getLong(8);
+      // strings are read from a single mapping, which can't be larger than 2 GB
+      if (length < 0 || (valueType == STRINGS && length > Integer.MAX_VALUE)) {
+        throw new IOException("Series >" + name + "< is corrupt!!!");
+      }
+      Object data = in.readColumn(valueType, (int) pointCount, length);
+      // columns added by later versions are skipped
+      if (column >= 0 && column < columns.length) {
+        columns[column] = data;
+      }
+      in.pad();
+    }
+    if (columns[X] == null || (columns[Y] == null && columns[CLOSE] == null)) {
+      throw new IOException("Series >" + name + "< misses columns!!!");
+    }
+    return new SavedSeries(seriesType, name, xDataType, columns);
+  }
+
+  private static void addSeries(Chart<?, ?> chart, SavedSeries series) {
+
+    byte seriesType = series.seriesType;
+    String name = series.name;
+    DataType xDataType = series.xDataType;
+    Object[] columns = series.columns;
+
+    if (seriesType == XY_SERIES && chart instanceof XYChart) {
+      ((XYChart) chart)
+          .addSeries(
+              name,
+              (double[]) columns[X],
+              (double[]) columns[Y],
+              (double[]) columns[ERROR_BARS],
+              xDataType);
+    } else if (seriesType == OHLC_SERIES && chart instanceof OHLCChart) {
+      if (columns[Y] != null) {
+        ((OHLCChart) chart)
+            .addSeries(name, (double[]) columns[X], (double[]) columns[Y], xDataType);
+      } else {
+        ((OHLCChart) chart)
+            .addSeries(
+                name,
+                (double[]) columns[X],
+                (double[]) columns[OPEN],
+                (double[]) columns[HIGH],
+                (double[]) columns[LOW],
+                (double[]) columns[CLOSE],
+                (long[]) columns[VOLUME],
+                xDataType);
+      }
+    } else if (seriesType == CATEGORY_SERIES && chart instanceof CategoryChart) {
+      ((CategoryChart) chart)
+          .addSeries(
+              name,
+              getCategories(columns[X]),
+              toList((double[]) columns[Y]),
+              toList((double[]) columns[ERROR_BARS]));
+    } else {
+      throw new IllegalArgumentException(
+          "Series >" + name + "< can't be added to a " + chart.getClass().getSimpleName() + "!!!");
+    }
+  }
+
+  private static List<?> getCategories(Object column) {
+
+    if (column instanceof long[]) {
+      List<Date> dates = new ArrayList<>();
+      for (long time : (long[]) column) {
+        dates.add(new Date(time));
+      }
+      return dates;
+    } else if (column instanceof String[]) {
+      return Arrays.asList((String[]) column);
+    }
+    return toList((double[]) column);
+  }
+
+  private static List<Double> toList(double[] values) {
+
+    if (values == null) {
+      return null;
+    }
+    List<Double> list = new ArrayList<>(values.length);
+    for (double value : values) {
+      list.add(value);
+    }
+    return list;
+  }
+
+  /** A series read from a file, to be added to a chart */
+  private static final class SavedSeries {
+
+    final byte seriesType;
+    final String name;
+    final DataType xDataType;
+    // the data of every column, by column
+    final Object[] columns;
+
+    SavedSeries(byte seriesType, String name, DataType xDataType, Object[] columns) {
+
+      this.seriesType = seriesType;
+      this.name = name;
+      this.xDataType = xDataType;
+      this.columns = columns;
+    }
+  }
+
+  /** Writes into a channel through a buffer */
+  private static final class Output {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer =
+        ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private long flushedBytes;
+
+    Output(FileChannel channel) {
+
+      this.channel = channel;
+    }
+
+    void putByte(int value) throws IOException {
+
+      ensureRemaining(1);
+      buffer.put((byte) value);
+    }
+
+    void putInt(int value) throws IOException {
+
+      ensureRemaining(4);
+      buffer.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+
+      ensureRemaining(8);
+      buffer.putLong(value);
+    }
+
+    void putBytes(byte[] bytes) throws IOException {
+
+      for (byte b : bytes) {
+        putByte(b);
+      }
+    }
+
+    void putColumn(int column, Object data) throws IOException {
+
+      if (data instanceof String[]) {
+        byte[][] strings = new byte[((String[]) data).length][];
+        long length = 0;
+        for (int i = 0; i < strings.length; i++) {
+          strings[i] = ((String[]) data)[i].getBytes(StandardCharsets.UTF_8);
+          length += 4 + strings[i].length;
+        }
+        putColumnHeader(column, STRINGS, length);
+        for (byte[] string : strings) {
+          putInt(string.length);
+          putBytes(string);
+        }
+      } else if (data instanceof long[]) {
+        long[] values = (long[]) data;
+        putColumnHeader(column, LONGS, 8L * values.length);
+        for (int offset = 0; offset < values.length; ) {
+          ensureRemaining(8);
+          int count = Math.min(buffer.remaining() / 8, values.length - offset);
+          buffer.asLongBuffer().put(values, offset, count);
+          buffer.position(buffer.position() + 8 * count);
+          offset += count;
+        }
+      } else {
+        double[] values = (double[]) data;
+        putColumnHeader(column, DOUBLES, 8L * values.length);
+        for (int offset = 0; offset < values.length; ) {
+          ensureRemaining(8);
+          int count = Math.min(buffer.remaining() / 8, values.length - offset);
+          buffer.asDoubleBuffer().put(values, offset, count);
+          buffer.position(buffer.position() + 8 * count);
+          offset += count;
+        }
+      }
+      pad();
+    }
+
+    private void putColumnHeader(int column, byte valueType, long length) throws IOException {
+
+      putByte(column);
+      putByte(valueType);
+      putBytes(new byte[6]);
+      putLong(length);
+    }
+
+    /** Pads to a multiple of 8 bytes */
+    void pad() throws IOException {
+
+      while ((flushedBytes + buffer.position()) % 8 != 0) {
+        putByte(0);
+      }
+    }
+
+    private void ensureRemaining(int length) throws IOException {
+
+      if (buffer.remaining() < length) {
+        flush();
+      }
+    }
+
+    void flush() throws IOException {
+
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        flushedBytes += channel.write(buffer);
+      }
+      buffer.clear();
+    }
+  }
+
+  /** Reads from a channel, the columns through memory mappings */
+  private static final class Input {
+
+    private final FileChannel channel;
+    private long position;
+
+    Input(FileChannel channel) {
+
+      this.channel = channel;
+    }
+
+    /**
+     * @param length
+     * @return the next bytes, in little-endian order
+     * @throws IOException
+     */
+    ByteBuffer read(int length) throws IOException {
+
+      ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          throw new IOException("Unexpected end of series file!!!");
+        }
+      }
+      position += length;
+      buffer.flip();
+      return buffer;
+    }
+
+    Object readColumn(byte valueType, int pointCount, long length) throws IOException {
+
+      if (position + length > channel.size()) {
+        throw new IOException("Unexpected end of series file!!!");
+      }
+      Object data = null;
+      if (valueType == DOUBLES || valueType == LONGS) {
+        if (length != 8L * pointCount) {
+          throw new IOException("Column of unexpected length in series file!!!");
+        }
+        double[] doubles = valueType == DOUBLES ? new double[pointCount] : null;
+        long[] longs = valueType == LONGS ? new long[pointCount] : null;
+        for (int offset = 0; offset < pointCount; ) {
+          int count = Math.min(pointCount - offset, MAX_MAPPED_VALUES);
+          ByteBuffer mapped =
+              channel
+                  .map(MapMode.READ_ONLY, position + 8L * offset, 8L * count)
+                  .order(ByteOrder.LITTLE_ENDIAN);
+          if (doubles != null) {
+            mapped.asDoubleBuffer().get(doubles, offset, count);
+          } else {
+            mapped.asLongBuffer().get(longs, offset, count);
+          }
+          offset += count;
+        }
+        data = doubles != null ? doubles : longs;
+      } else if (valueType == STRINGS) {
+        ByteBuffer mapped =
+            channel.map(MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN);
+        String[] strings = new String[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+          int stringLength = mapped.remaining() < 4 ? -1 : mapped.getInt();
+          if (stringLength < 0 || stringLength > mapped.remaining()) {
+            throw new IOException("Column of unexpected length in series file!!!");
+          }
+          byte[] bytes = new byte[stringLength];
+          mapped.get(bytes);
+          strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        data = strings;
+      }
+      position += length;
+      return data;
+    }
+
+    /**
+     * @return the number of bytes left to read
+     * @throws IOException
+     */
+    long remaining() throws IOException {
+
+      return channel.size() - position;
+    }
+
+    /** Skips to a multiple of 8 bytes */
+    void pad() {
+
+      position = (position + 7) & ~7L;
+    }
+  }
+}
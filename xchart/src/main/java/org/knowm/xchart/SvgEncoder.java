@@ -0,0 +1,145 @@
+package org.knowm.xchart;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import org.knowm.xchart.VectorGraphicsEncoder.VectorGraphicsFormat;
+import org.knowm.xchart.internal.SvgGraphics2D;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.jfr.ChartEncodeEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
+
+/**
+ * An SVG encoder for charts writing the document while the chart is painted, so nothing but a
+ * buffer is kept in memory however many points the chart has. Lines are written as one path per
+ * series, with coordinates relative to the previous point and rounded to a given number of
+ * decimals, which makes charts with many points a fraction of the size written by {@link
+ * VectorGraphicsEncoder}. Points in the same pixel as the previous point of a line can be left out
+ * too, so the size of a series is bounded by the size of the chart rather than by its data.
+ *
+ * <p>An encoder can be shared by several threads once it is configured.
+ */
+public final class SvgEncoder {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private int precision = 2;
+  private boolean isSimplifyingPaths;
+
+  /**
+   * Sets the number of decimals of coordinates, from 0 to 6. The default is 2, a hundredth of a
+   * pixel.
+   *
+   * @param precision
+   * @return this encoder
+   */
+  public SvgEncoder setPrecision(int precision) {
+
+    if (precision < 0 || precision > 6) {
+      throw new IllegalArgumentException("Precision must be between 0 and 6!!!");
+    }
+    this.precision = precision;
+    return this;
+  }
+
+  public int getPrecision() {
+
+    return precision;
+  }
+
+  /**
+   * Sets whether points of lines in the same pixel as the previous point are left out. The last
+   * point of a line is always kept. The default is false.
+   *
+   * @param isSimplifyingPaths
+   * @return this encoder
+   */
+  public SvgEncoder setSimplifyPaths(boolean isSimplifyingPaths) {
+
+    this.isSimplifyingPaths = isSimplifyingPaths;
+    return this;
+  }
+
+  public boolean isSimplifyingPaths() {
+
+    return isSimplifyingPaths;
+  }
+
+  /**
+   * Save a Chart as an SVG file
+   *
+   * @param chart
+   * @param fileName
+   * @throws IOException
+   */
+  public void save(Chart<?, ?> chart, String fileName) throws IOException {
+
+    String file = VectorGraphicsEncoder.addFileExtension(fileName, VectorGraphicsFormat.SVG);
+    try (OutputStream out = new FileOutputStream(file)) {
+      encode(chart, out);
+    }
+  }
+
+  /**
+   * Write a Chart as SVG into a given stream. Does not close the target stream automatically at the
+   * end of the operation
+   *
+   * @param chart
+   * @param targetStream
+   * @throws IOException
+   */
+  public void encode(Chart<?, ?> chart, OutputStream targetStream) throws IOException {
+
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("SvgEncoder", "SVG");
+    Writer writer = createWriter(targetStream);
+    try {
+      SvgGraphics2D graphics =
+          new SvgGraphics2D(
+              writer, chart.getWidth(), chart.getHeight(), precision, isSimplifyingPaths);
+      chart.paint(graphics, chart.getWidth(), chart.getHeight());
+      graphics.finish();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    JfrEvents.commitChartEncode(event, chart);
+  }
+
+  /**
+   * Write a recorded chart as SVG into a given stream. Does not close the target stream
+   * automatically at the end of the operation
+   *
+   * @param displayList
+   * @param targetStream
+   * @throws IOException
+   */
+  public void encode(DisplayList displayList, OutputStream targetStream) throws IOException {
+
+    ChartEncodeEvent event = JfrEvents.beginChartEncode("SvgEncoder", "SVG");
+    Writer writer = createWriter(targetStream);
+    try {
+      SvgGraphics2D graphics =
+          new SvgGraphics2D(
+              writer,
+              displayList.getWidth(),
+              displayList.getHeight(),
+              precision,
+              isSimplifyingPaths);
+      displayList.replay(graphics);
+      graphics.finish();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    JfrEvents.commitChartEncode(event, displayList.getChart());
+  }
+
+  private static Writer createWriter(OutputStream targetStream) {
+
+    return new BufferedWriter(
+        new OutputStreamWriter(targetStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+  }
+}
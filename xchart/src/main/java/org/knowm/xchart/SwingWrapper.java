@@ -18,6 +18,7 @@ public class SwingWrapper<T extends Chart<?, ?>> {
   private List<T> charts = new ArrayList<T>();
   private int numRows;
   private int numColumns;
+  private int targetFrameRate = 0;
 
   /**
    * Constructor
@@ -73,6 +74,7 @@ public class SwingWrapper<T extends Chart<?, ?>> {
 
               frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
               XChartPanel<T> chartPanel = new XChartPanel<T>(charts.get(0));
+              chartPanel.setTargetFrameRate(targetFrameRate);
               chartPanels.add(chartPanel);
               frame.add(chartPanel);
 
@@ -113,6 +115,7 @@ public class SwingWrapper<T extends Chart<?, ?>> {
             for (T chart : charts) {
               if (chart != null) {
                 XChartPanel<T> chartPanel = new XChartPanel<T>(chart);
+                chartPanel.setTargetFrameRate(targetFrameRate);
                 chartPanels.add(chartPanel);
                 frame.add(chartPanel);
               } else {
@@ -165,14 +168,27 @@ public class SwingWrapper<T extends Chart<?, ?>> {
   }
 
   /**
-   * Repaint the XChartPanel given the provided index.
+   * Repaint the XChartPanel given the provided index. If a target frame rate is set, the repaint is
+   * coalesced with other updates and happens on the next frame tick.
    *
    * @param index
    */
   public void repaintChart(int index) {
 
-    chartPanels.get(index).revalidate();
-    chartPanels.get(index).repaint();
+    chartPanels.get(index).requestRepaint();
+  }
+
+  /**
+   * Set the maximum number of repaints per second for all chart panels. Updates arriving faster are
+   * coalesced, which bounds the CPU spent per chart regardless of the data rate. Must be called
+   * before the chart is displayed.
+   *
+   * @param targetFrameRate - frames per second, 0 (the default) to repaint on every update
+   * @return this SwingWrapper
+   */
+  public SwingWrapper<T> setTargetFrameRate(int targetFrameRate) {
+    this.targetFrameRate = targetFrameRate;
+    return this;
   }
 
   /**
@@ -11,6 +11,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.jfr.ChartEncodeEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
 
 /** A helper class with static methods for saving Charts as vectors */
 public final class VectorGraphicsEncoder {
@@ -33,6 +35,8 @@ public final class VectorGraphicsEncoder {
   /** Write a chart to an OutputStream. */
   public static void saveVectorGraphic(
       Chart chart, OutputStream os, VectorGraphicsFormat vectorGraphicsFormat) throws IOException {
+    ChartEncodeEvent event =
+        JfrEvents.beginChartEncode("VectorGraphicsEncoder", vectorGraphicsFormat.name());
     final Processor p;
 
     switch (vectorGraphicsFormat) {
@@ -64,6 +68,49 @@ public final class VectorGraphicsEncoder {
     } else {
       ((PDFBoxProcessor) p).savePdf(chart, os);
     }
+    JfrEvents.commitChartEncode(event, chart);
+  }
+
+  /** Write a recorded chart to a file. */
+  public static void saveVectorGraphic(
+      DisplayList displayList, String fileName, VectorGraphicsFormat vectorGraphicsFormat)
+      throws IOException {
+
+    try (OutputStream os = new FileOutputStream(addFileExtension(fileName, vectorGraphicsFormat))) {
+      saveVectorGraphic(displayList, os, vectorGraphicsFormat);
+    }
+  }
+
+  /** Write a recorded chart to an OutputStream. */
+  public static void saveVectorGraphic(
+      DisplayList displayList, OutputStream os, VectorGraphicsFormat vectorGraphicsFormat)
+      throws IOException {
+
+    final Processor p;
+    switch (vectorGraphicsFormat) {
+      case EPS:
+        p = new EPSProcessor();
+        break;
+      case PDF:
+        PdfboxGraphicsEncoder.savePdfboxGraphics(displayList, os);
+        return;
+      case SVG:
+        p = new SVGProcessor();
+        break;
+
+      default:
+        throw new UnsupportedOperationException(
+            "Unsupported vector graphics format: " + vectorGraphicsFormat);
+    }
+
+    ChartEncodeEvent event =
+        JfrEvents.beginChartEncode("VectorGraphicsEncoder", vectorGraphicsFormat.name());
+    VectorGraphics2D vg2d = new VectorGraphics2D();
+    displayList.replay(vg2d);
+    PageSize pageSize = new PageSize(0.0, 0.0, displayList.getWidth(), displayList.getHeight());
+    Document doc = p.getDocument(vg2d.getCommands(), pageSize);
+    doc.writeTo(os);
+    JfrEvents.commitChartEncode(event, displayList.getChart());
   }
 
   /**
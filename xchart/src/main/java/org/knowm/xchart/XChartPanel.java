@@ -14,6 +14,7 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.swing.AbstractAction;
 import javax.swing.JFileChooser;
 import javax.swing.JLabel;
@@ -38,6 +39,10 @@ import org.knowm.xchart.style.XYStyler;
  *
  * <p>Right-click + Save As... or ctrl+S pops up a Save As dialog box for saving the chart as PNG,
  * JPEG, etc. file.
+ *
+ * <p>For real-time charts a target frame rate can be set with {@link #setTargetFrameRate(int)}.
+ * Calls to {@link #requestRepaint()} are then coalesced into at most one repaint per frame
+ * interval, no matter how often the data is updated.
  */
 public class XChartPanel<T extends Chart<?, ?>> extends JPanel {
 
@@ -48,6 +53,23 @@ public class XChartPanel<T extends Chart<?, ?>> extends JPanel {
   private String resetString = "Reset Zoom";
   private ToolTips toolTips = null;
 
+  // repaint rate limiting
+  private final FrameRateLimiter frameRateLimiter =
+      new FrameRateLimiter(
+          () -> {
+            revalidate();
+            repaint();
+          });
+
+  // render counters
+  private final AtomicLong renderCount = new AtomicLong();
+  private final AtomicLong totalRenderTimeNanos = new AtomicLong();
+  private volatile long lastRenderTimeNanos = 0;
+
+  // JMX
+  private boolean isMetricsMBeanEnabled = false;
+  private ChartMetrics chartMetrics = null;
+
   /**
    * Constructor
    *
@@ -147,14 +169,148 @@ public class XChartPanel<T extends Chart<?, ?>> extends JPanel {
     this.resetString = resetString;
   }
 
+  /**
+   * Set the maximum number of repaints per second triggered by {@link #requestRepaint()}. Repaint
+   * requests arriving faster than this are coalesced and counted as dropped frames.
+   *
+   * @param targetFrameRate - frames per second, 0 to repaint immediately on every request
+   */
+  public void setTargetFrameRate(int targetFrameRate) {
+
+    frameRateLimiter.setTargetFrameRate(targetFrameRate);
+  }
+
+  public int getTargetFrameRate() {
+
+    return frameRateLimiter.getTargetFrameRate();
+  }
+
+  /**
+   * Request a repaint of the chart, for example after its data was updated. This method can be
+   * called from any thread. Without a target frame rate the panel is repainted right away,
+   * otherwise it is marked dirty and repainted on the next frame tick.
+   */
+  public void requestRepaint() {
+
+    frameRateLimiter.requestRepaint();
+  }
+
+  /**
+   * Register an MBean with the rendering metrics of the chart while the panel is displayed, see
+   * {@link ChartMetrics}. It is unregistered when the panel is removed from its parent.
+   *
+   * @param isMetricsMBeanEnabled
+   */
+  public void setMetricsMBeanEnabled(boolean isMetricsMBeanEnabled) {
+
+    this.isMetricsMBeanEnabled = isMetricsMBeanEnabled;
+    if (isMetricsMBeanEnabled && isDisplayable() && chartMetrics == null) {
+      chartMetrics = ChartMetrics.register(chart, this::getDroppedFrameCount);
+    } else if (!isMetricsMBeanEnabled && chartMetrics != null) {
+      chartMetrics.unregister();
+      chartMetrics = null;
+    }
+  }
+
+  public boolean isMetricsMBeanEnabled() {
+
+    return isMetricsMBeanEnabled;
+  }
+
+  /**
+   * Get the registered MBean of the chart
+   *
+   * @return the MBean, or null if it is not enabled or the panel isn't displayed
+   */
+  public ChartMetrics getChartMetrics() {
+
+    return chartMetrics;
+  }
+
+  @Override
+  public void addNotify() {
+
+    super.addNotify();
+    frameRateLimiter.start();
+    if (isMetricsMBeanEnabled && chartMetrics == null) {
+      chartMetrics = ChartMetrics.register(chart, this::getDroppedFrameCount);
+    }
+  }
+
+  @Override
+  public void removeNotify() {
+
+    frameRateLimiter.stop();
+    if (chartMetrics != null) {
+      chartMetrics.unregister();
+      chartMetrics = null;
+    }
+    super.removeNotify();
+  }
+
   @Override
   protected void paintComponent(Graphics g) {
 
     super.paintComponent(g);
 
+    long start = System.nanoTime();
     Graphics2D g2d = (Graphics2D) g.create();
     chart.paint(g2d, getWidth(), getHeight());
     g2d.dispose();
+    long renderTime = System.nanoTime() - start;
+
+    lastRenderTimeNanos = renderTime;
+    totalRenderTimeNanos.addAndGet(renderTime);
+    renderCount.incrementAndGet();
+  }
+
+  /**
+   * Get the number of times the chart has been painted
+   *
+   * @return the render count
+   */
+  public long getRenderCount() {
+
+    return renderCount.get();
+  }
+
+  /**
+   * Get the number of repaint requests that were coalesced into an already pending frame
+   *
+   * @return the dropped frame count
+   */
+  public long getDroppedFrameCount() {
+
+    return frameRateLimiter.getDroppedFrameCount();
+  }
+
+  /**
+   * Get the time it took to paint the chart the last time
+   *
+   * @return the render time in nanoseconds
+   */
+  public long getLastRenderTimeNanos() {
+
+    return lastRenderTimeNanos;
+  }
+
+  /**
+   * Get the total time spent painting the chart
+   *
+   * @return the render time in nanoseconds
+   */
+  public long getTotalRenderTimeNanos() {
+
+    return totalRenderTimeNanos.get();
+  }
+
+  /** Reset the render and dropped frame counters */
+  public void resetRenderCounters() {
+
+    renderCount.set(0);
+    frameRateLimiter.resetDroppedFrameCount();
+    totalRenderTimeNanos.set(0);
+    lastRenderTimeNanos = 0;
   }
 
   public T getChart() {
@@ -276,8 +432,7 @@ public class XChartPanel<T extends Chart<?, ?>> extends JPanel {
       }
 
       try {
-        CSVExporter.writeCSVColumns(
-            (XYChart) chart, theFileToSave.getCanonicalPath() + File.separatorChar);
+        CSVExporter.writeCSVColumns(chart, theFileToSave.getCanonicalPath() + File.separatorChar);
       } catch (IOException e) {
         e.printStackTrace();
       }
@@ -430,7 +585,11 @@ public class XChartPanel<T extends Chart<?, ?>> extends JPanel {
           });
       add(saveAsMenuItem);
 
-      if (chart instanceof XYChart) {
+      if (chart instanceof XYChart
+          || chart instanceof CategoryChart
+          || chart instanceof OHLCChart
+          || chart instanceof BoxChart
+          || chart instanceof HeatMapChart) {
         exportAsMenuItem = new JMenuItem(exportAsString);
         exportAsMenuItem.addMouseListener(
             new MouseListener() {
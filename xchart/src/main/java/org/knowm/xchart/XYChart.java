@@ -10,6 +10,7 @@ import org.knowm.xchart.internal.chartpart.AxisPair;
 import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.internal.chartpart.Legend_Marker;
 import org.knowm.xchart.internal.chartpart.Plot_XY;
+import org.knowm.xchart.internal.chartpart.RenderContext;
 import org.knowm.xchart.internal.series.Series.DataType;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyle;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyleCycler;
@@ -27,8 +28,12 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
    */
   public XYChart(int width, int height) {
 
-    super(width, height, new XYStyler());
+    this(width, height, new XYStyler());
+  }
+
+  private XYChart(int width, int height, XYStyler styler) {
 
+    super(width, height, styler);
     axisPair = new AxisPair<XYStyler, XYSeries>(this);
     plot = new Plot_XY<XYStyler, XYSeries>(this);
     legend = new Legend_Marker<XYStyler, XYSeries>(this);
@@ -280,7 +285,7 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
    * @param errorBars the error bar data
    * @return A Series object that you can set properties on
    */
-  private XYSeries addSeries(
+  XYSeries addSeries(
       String seriesName, double[] xData, double[] yData, double[] errorBars, DataType dataType) {
 
     // Sanity checks
@@ -343,6 +348,9 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
   /**
    * Update a series by updating the X-Axis, Y-Axis and error bar data
    *
+   * <p>This may be called from any thread while the chart is being painted. The new data is
+   * published atomically, so don't modify the arrays after passing them in.
+   *
    * @param seriesName
    * @param newXData - set null to be automatically generated as a list of increasing Integers
    *     starting from 1 and ending at the size of the new Y-Axis data list.
@@ -396,10 +404,7 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
   }
 
   @Override
-  public void paint(Graphics2D g, int width, int height) {
-
-    setWidth(width);
-    setHeight(height);
+  protected void prepareSeries() {
 
     // set the series render styles if they are not set. Legend and Plot need it.
     for (XYSeries xySeries : getSeriesMap().values()) {
@@ -410,14 +415,31 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
       }
     }
     setSeriesStyles();
+  }
+
+  @Override
+  protected void doPaint(Graphics2D g) {
 
     paintBackground(g);
 
-    axisPair.paint(g);
-    plot.paint(g);
-    chartTitle.paint(g);
-    legend.paint(g);
-    annotations.forEach(x -> x.paint(g));
+    getAxisPair().paint(g);
+    getPlot().paint(g);
+    getChartTitle().paint(g);
+    getLegend().paint(g);
+    paintAnnotations(g);
+  }
+
+  @Override
+  protected RenderContext<XYStyler, XYSeries> createRenderContext() {
+
+    return new RenderContext<>(
+        this, new AxisPair<>(this), new Plot_XY<>(this), new Legend_Marker<>(this));
+  }
+
+  @Override
+  public XYChart copyWithoutSeries() {
+
+    return copyTitles(new XYChart(getWidth(), getHeight(), copyStyler()));
   }
 
   /** set the series color, marker and line style based on theme */
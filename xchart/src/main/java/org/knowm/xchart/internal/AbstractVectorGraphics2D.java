@@ -0,0 +1,686 @@
+package org.knowm.xchart.internal;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+/**
+ * The state of a Graphics2D writing a vector format, with every drawing method turned into a
+ * stroke, fill or image for the format to write. The clip is kept in device space.
+ */
+abstract class AbstractVectorGraphics2D extends Graphics2D {
+
+  // measures text like a raster target would
+  private final Graphics2D measureGraphics;
+
+  // the state of this graphics
+  protected AffineTransform transform;
+  protected Shape deviceClip; // null if not clipped
+  protected Paint paint;
+  protected Color color;
+  protected Color background;
+  protected Stroke stroke;
+  protected Font font;
+  protected Composite composite;
+  protected RenderingHints hints;
+
+  AbstractVectorGraphics2D() {
+
+    this.measureGraphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    this.transform = new AffineTransform();
+    this.paint = measureGraphics.getPaint();
+    this.color = measureGraphics.getColor();
+    this.background = Color.WHITE;
+    this.stroke = measureGraphics.getStroke();
+    this.font = measureGraphics.getFont();
+    this.composite = measureGraphics.getComposite();
+    this.hints = (RenderingHints) measureGraphics.getRenderingHints().clone();
+  }
+
+  AbstractVectorGraphics2D(AbstractVectorGraphics2D graphics) {
+
+    this.measureGraphics = graphics.measureGraphics;
+    this.transform = new AffineTransform(graphics.transform);
+    this.deviceClip = graphics.deviceClip;
+    this.paint = graphics.paint;
+    this.color = graphics.color;
+    this.background = graphics.background;
+    this.stroke = graphics.stroke;
+    this.font = graphics.font;
+    this.composite = graphics.composite;
+    this.hints = (RenderingHints) graphics.hints.clone();
+  }
+
+  /**
+   * Strokes a shape with the current BasicStroke
+   *
+   * @param s - in user space
+   */
+  protected abstract void drawStroke(Shape s);
+
+  /**
+   * Draws an image
+   *
+   * @param image
+   * @param imageTransform - from image space to device space
+   */
+  protected abstract void writeImage(RenderedImage image, AffineTransform imageTransform);
+
+  /** Called after any state changing how shapes are stroked or filled changed */
+  protected void stateChanged() {}
+
+  /** Drawing */
+  @Override
+  public void draw(Shape s) {
+
+    if (stroke instanceof BasicStroke) {
+      drawStroke(s);
+    } else {
+      fill(stroke.createStrokedShape(s));
+    }
+  }
+
+  @Override
+  public void drawString(String str, int x, int y) {
+
+    drawString(str, (float) x, (float) y);
+  }
+
+  @Override
+  public void drawString(String str, float x, float y) {
+
+    fill(font.createGlyphVector(getFontRenderContext(), str).getOutline(x, y));
+  }
+
+  @Override
+  public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+
+    drawString(iterator, (float) x, (float) y);
+  }
+
+  @Override
+  public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+
+    StringBuilder text = new StringBuilder();
+    for (char c = iterator.first(); c != AttributedCharacterIterator.DONE; c = iterator.next()) {
+      text.append(c);
+    }
+    drawString(text.toString(), x, y);
+  }
+
+  @Override
+  public void drawGlyphVector(GlyphVector glyphVector, float x, float y) {
+
+    fill(glyphVector.getOutline(x, y));
+  }
+
+  @Override
+  public void drawLine(int x1, int y1, int x2, int y2) {
+
+    draw(new Line2D.Float(x1, y1, x2, y2));
+  }
+
+  @Override
+  public void fillRect(int x, int y, int width, int height) {
+
+    fill(new Rectangle(x, y, width, height));
+  }
+
+  @Override
+  public void clearRect(int x, int y, int width, int height) {
+
+    Paint currentPaint = paint;
+    Composite currentComposite = composite;
+    setComposite(AlphaComposite.SrcOver);
+    setPaint(background);
+    fillRect(x, y, width, height);
+    setPaint(currentPaint);
+    setComposite(currentComposite);
+  }
+
+  @Override
+  public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+
+    draw(new RoundRectangle2D.Float(x, y, width, height, arcWidth, arcHeight));
+  }
+
+  @Override
+  public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+
+    fill(new RoundRectangle2D.Float(x, y, width, height, arcWidth, arcHeight));
+  }
+
+  @Override
+  public void drawOval(int x, int y, int width, int height) {
+
+    draw(new Ellipse2D.Float(x, y, width, height));
+  }
+
+  @Override
+  public void fillOval(int x, int y, int width, int height) {
+
+    fill(new Ellipse2D.Float(x, y, width, height));
+  }
+
+  @Override
+  public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+
+    draw(new Arc2D.Float(x, y, width, height, startAngle, arcAngle, Arc2D.OPEN));
+  }
+
+  @Override
+  public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+
+    fill(new Arc2D.Float(x, y, width, height, startAngle, arcAngle, Arc2D.PIE));
+  }
+
+  @Override
+  public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+
+    if (nPoints < 1) {
+      return;
+    }
+    Path2D.Float path = new Path2D.Float();
+    path.moveTo(xPoints[0], yPoints[0]);
+    for (int i = 1; i < nPoints; i++) {
+      path.lineTo(xPoints[i], yPoints[i]);
+    }
+    draw(path);
+  }
+
+  @Override
+  public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+
+    draw(new Polygon(xPoints, yPoints, nPoints));
+  }
+
+  @Override
+  public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+
+    fill(new Polygon(xPoints, yPoints, nPoints));
+  }
+
+  @Override
+  public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+
+    // what was painted is not kept
+  }
+
+  /** Images */
+  @Override
+  public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) {
+
+    AffineTransform imageTransform = new AffineTransform(transform);
+    if (xform != null) {
+      imageTransform.concatenate(xform);
+    }
+    writeImage(toRenderedImage(img), imageTransform);
+    return true;
+  }
+
+  @Override
+  public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+
+    BufferedImage image = op == null ? img : op.filter(img, null);
+    drawImage(image, AffineTransform.getTranslateInstance(x, y), null);
+  }
+
+  @Override
+  public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+
+    AffineTransform imageTransform = new AffineTransform(transform);
+    imageTransform.concatenate(xform);
+    writeImage(img, imageTransform);
+  }
+
+  @Override
+  public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+
+    drawRenderedImage(img.createDefaultRendering(), xform);
+  }
+
+  @Override
+  public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+
+    return drawImage(img, AffineTransform.getTranslateInstance(x, y), observer);
+  }
+
+  @Override
+  public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+
+    RenderedImage image = toRenderedImage(img);
+    AffineTransform imageTransform = AffineTransform.getTranslateInstance(x, y);
+    imageTransform.scale((double) width / image.getWidth(), (double) height / image.getHeight());
+    return drawImage(img, imageTransform, observer);
+  }
+
+  @Override
+  public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+
+    RenderedImage image = toRenderedImage(img);
+    return drawImage(img, x, y, image.getWidth(), image.getHeight(), bgcolor, observer);
+  }
+
+  @Override
+  public boolean drawImage(
+      Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+
+    if (bgcolor != null) {
+      Paint currentPaint = paint;
+      setPaint(bgcolor);
+      fillRect(x, y, width, height);
+      setPaint(currentPaint);
+    }
+    return drawImage(img, x, y, width, height, observer);
+  }
+
+  @Override
+  public boolean drawImage(
+      Image img,
+      int dx1,
+      int dy1,
+      int dx2,
+      int dy2,
+      int sx1,
+      int sy1,
+      int sx2,
+      int sy2,
+      ImageObserver observer) {
+
+    return drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null, observer);
+  }
+
+  @Override
+  public boolean drawImage(
+      Image img,
+      int dx1,
+      int dy1,
+      int dx2,
+      int dy2,
+      int sx1,
+      int sy1,
+      int sx2,
+      int sy2,
+      Color bgcolor,
+      ImageObserver observer) {
+
+    RenderedImage image = toRenderedImage(img);
+    BufferedImage source = toBufferedImage(image);
+    int sourceWidth = Math.abs(sx2 - sx1);
+    int sourceHeight = Math.abs(sy2 - sy1);
+    if (sourceWidth == 0 || sourceHeight == 0) {
+      return true;
+    }
+    BufferedImage part =
+        source.getSubimage(Math.min(sx1, sx2), Math.min(sy1, sy2), sourceWidth, sourceHeight);
+    AffineTransform imageTransform = AffineTransform.getTranslateInstance(dx1, dy1);
+    imageTransform.scale((double) (dx2 - dx1) / (sx2 - sx1), (double) (dy2 - dy1) / (sy2 - sy1));
+    imageTransform.translate(sx1 < sx2 ? 0 : -sourceWidth, sy1 < sy2 ? 0 : -sourceHeight);
+    if (bgcolor != null) {
+      Paint currentPaint = paint;
+      setPaint(bgcolor);
+      fillRect(Math.min(dx1, dx2), Math.min(dy1, dy2), Math.abs(dx2 - dx1), Math.abs(dy2 - dy1));
+      setPaint(currentPaint);
+    }
+    return drawImage(part, imageTransform, observer);
+  }
+
+  private static RenderedImage toRenderedImage(Image img) {
+
+    if (img instanceof RenderedImage) {
+      return (RenderedImage) img;
+    }
+    int width = img.getWidth(null);
+    int height = img.getHeight(null);
+    if (width <= 0 || height <= 0) {
+      return null;
+    }
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = image.createGraphics();
+    g.drawImage(img, 0, 0, null);
+    g.dispose();
+    return image;
+  }
+
+  private static BufferedImage toBufferedImage(RenderedImage image) {
+
+    if (image instanceof BufferedImage) {
+      return (BufferedImage) image;
+    }
+    BufferedImage bufferedImage =
+        new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = bufferedImage.createGraphics();
+    g.drawRenderedImage(image, new AffineTransform());
+    g.dispose();
+    return bufferedImage;
+  }
+
+  /** Text measuring */
+  @Override
+  public FontRenderContext getFontRenderContext() {
+
+    return new FontRenderContext(
+        transform,
+        hints.get(RenderingHints.KEY_TEXT_ANTIALIASING),
+        hints.get(RenderingHints.KEY_FRACTIONALMETRICS));
+  }
+
+  @Override
+  public FontMetrics getFontMetrics(Font f) {
+
+    measureGraphics.setRenderingHints(hints);
+    measureGraphics.setTransform(transform);
+    return measureGraphics.getFontMetrics(f);
+  }
+
+  @Override
+  public GraphicsConfiguration getDeviceConfiguration() {
+
+    // not a raster device
+    return null;
+  }
+
+  @Override
+  public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+
+    Shape shape = onStroke ? stroke.createStrokedShape(s) : s;
+    return transform.createTransformedShape(shape).intersects(rect);
+  }
+
+  @Override
+  public void dispose() {}
+
+  @Override
+  public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+
+    hints.put(hintKey, hintValue);
+  }
+
+  @Override
+  public Object getRenderingHint(RenderingHints.Key hintKey) {
+
+    return hints.get(hintKey);
+  }
+
+  @Override
+  public void setRenderingHints(Map<?, ?> hints) {
+
+    this.hints = new RenderingHints(null);
+    this.hints.putAll(hints);
+  }
+
+  @Override
+  public void addRenderingHints(Map<?, ?> hints) {
+
+    this.hints.putAll(hints);
+  }
+
+  @Override
+  public RenderingHints getRenderingHints() {
+
+    return (RenderingHints) hints.clone();
+  }
+
+  @Override
+  public void translate(int x, int y) {
+
+    translate((double) x, (double) y);
+  }
+
+  @Override
+  public void translate(double tx, double ty) {
+
+    transform.translate(tx, ty);
+    stateChanged();
+  }
+
+  @Override
+  public void rotate(double theta) {
+
+    transform.rotate(theta);
+    stateChanged();
+  }
+
+  @Override
+  public void rotate(double theta, double x, double y) {
+
+    transform.rotate(theta, x, y);
+    stateChanged();
+  }
+
+  @Override
+  public void scale(double sx, double sy) {
+
+    transform.scale(sx, sy);
+    stateChanged();
+  }
+
+  @Override
+  public void shear(double shx, double shy) {
+
+    transform.shear(shx, shy);
+    stateChanged();
+  }
+
+  @Override
+  public void transform(AffineTransform tx) {
+
+    transform.concatenate(tx);
+    stateChanged();
+  }
+
+  @Override
+  public void setTransform(AffineTransform tx) {
+
+    transform = new AffineTransform(tx);
+    stateChanged();
+  }
+
+  @Override
+  public AffineTransform getTransform() {
+
+    return new AffineTransform(transform);
+  }
+
+  @Override
+  public Paint getPaint() {
+
+    return paint;
+  }
+
+  @Override
+  public void setPaint(Paint paint) {
+
+    if (paint == null) {
+      return;
+    }
+    this.paint = paint;
+    if (paint instanceof Color) {
+      this.color = (Color) paint;
+    }
+    stateChanged();
+  }
+
+  @Override
+  public Color getColor() {
+
+    return color;
+  }
+
+  @Override
+  public void setColor(Color c) {
+
+    if (c == null) {
+      return;
+    }
+    this.color = c;
+    this.paint = c;
+    stateChanged();
+  }
+
+  @Override
+  public void setBackground(Color color) {
+
+    this.background = color;
+  }
+
+  @Override
+  public Color getBackground() {
+
+    return background;
+  }
+
+  @Override
+  public Composite getComposite() {
+
+    return composite;
+  }
+
+  @Override
+  public void setComposite(Composite comp) {
+
+    this.composite = comp;
+    stateChanged();
+  }
+
+  @Override
+  public void setPaintMode() {
+
+    setComposite(AlphaComposite.SrcOver);
+  }
+
+  @Override
+  public void setXORMode(Color c1) {
+
+    // not supported by SVG, painted normally
+  }
+
+  @Override
+  public Stroke getStroke() {
+
+    return stroke;
+  }
+
+  @Override
+  public void setStroke(Stroke s) {
+
+    this.stroke = s;
+    stateChanged();
+  }
+
+  @Override
+  public Font getFont() {
+
+    return font;
+  }
+
+  @Override
+  public void setFont(Font font) {
+
+    if (font == null) {
+      return;
+    }
+    this.font = font;
+  }
+
+  @Override
+  public Shape getClip() {
+
+    if (deviceClip == null) {
+      return null;
+    }
+    try {
+      return transform.createInverse().createTransformedShape(deviceClip);
+    } catch (NoninvertibleTransformException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public Rectangle getClipBounds() {
+
+    Shape clip = getClip();
+    return clip == null ? null : clip.getBounds();
+  }
+
+  @Override
+  public void setClip(Shape clip) {
+
+    deviceClip = clip == null ? null : toDeviceSpace(clip);
+    stateChanged();
+  }
+
+  @Override
+  public void setClip(int x, int y, int width, int height) {
+
+    setClip(new Rectangle(x, y, width, height));
+  }
+
+  @Override
+  public void clip(Shape s) {
+
+    if (s == null) {
+      setClip(null);
+      return;
+    }
+    Shape shape = toDeviceSpace(s);
+    if (deviceClip == null) {
+      deviceClip = shape;
+    } else if (deviceClip instanceof Rectangle2D && shape instanceof Rectangle2D) {
+      deviceClip = ((Rectangle2D) deviceClip).createIntersection((Rectangle2D) shape);
+    } else {
+      Area area = new Area(deviceClip);
+      area.intersect(new Area(shape));
+      deviceClip = area;
+    }
+    stateChanged();
+  }
+
+  @Override
+  public void clipRect(int x, int y, int width, int height) {
+
+    clip(new Rectangle(x, y, width, height));
+  }
+
+  private Shape toDeviceSpace(Shape shape) {
+
+    int transformType = transform.getType();
+    if (shape instanceof Rectangle2D
+        && (transformType
+                & (AffineTransform.TYPE_GENERAL_ROTATION | AffineTransform.TYPE_GENERAL_TRANSFORM))
+            == 0) {
+      return transform.createTransformedShape(shape).getBounds2D();
+    }
+    return transform.createTransformedShape(shape);
+  }
+}
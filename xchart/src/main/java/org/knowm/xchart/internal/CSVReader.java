@@ -0,0 +1,393 @@
+package org.knowm.xchart.internal;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a file of comma separated numbers into arrays of doubles. The file is streamed through a
+ * channel in large chunks and the numbers are parsed straight from its bytes, so nothing is
+ * allocated per line or per value apart from growing the arrays. Numbers of up to 19 significant
+ * digits are converted with the algorithm of Clinger, or Eisel and Lemire, giving the same double
+ * as {@link Double#parseDouble(String)}; anything else, like NaN or Infinity, is handed to it.
+ *
+ * <p>Every line must hold as many values as the first one. Blank lines and a comma ending a line
+ * are ignored. A malformed line is reported by an {@link IllegalArgumentException} naming the file
+ * and the line number.
+ */
+public final class CSVReader {
+
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  // the powers of ten exactly representable as a double
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private static final int SMALLEST_POWER_OF_TEN = -342;
+  private static final int LARGEST_POWER_OF_TEN = 308;
+
+  // 5^q for q from -342 to 308 as 128 bits with the highest one set, high and low word in a row
+  private static final long[] POWERS_OF_FIVE = getPowersOfFive();
+
+  private final String fileName;
+  private final boolean isByColumn;
+  private final List<DoubleList> lists = new ArrayList<>();
+
+  private byte[] token = new byte[64];
+  private int tokenLength;
+  private int lineNumber = 1;
+  private int valueCount;
+  private int expectedValueCount = -1;
+  private DoubleList row;
+
+  private CSVReader(Path file, boolean isByColumn) {
+
+    this.fileName = String.valueOf(file.getFileName());
+    this.isByColumn = isByColumn;
+  }
+
+  /**
+   * Reads a file line by line
+   *
+   * @param file
+   * @return the values of every line holding any
+   * @throws IOException
+   */
+  public static double[][] readRows(Path file) throws IOException {
+
+    return new CSVReader(file, false).read(file);
+  }
+
+  /**
+   * Reads a file column by column
+   *
+   * @param file
+   * @return the values of every column, each holding one value per line
+   * @throws IOException
+   */
+  public static double[][] readColumns(Path file) throws IOException {
+
+    return new CSVReader(file, true).read(file);
+  }
+
+  private double[][] read(Path file) throws IOException {
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      int bufferSize = (int) Math.max(Math.min(channel.size(), BUFFER_SIZE), 3);
+      ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+      byte[] bytes = buffer.array();
+      boolean isStart = true;
+      int length;
+      while ((length = channel.read(buffer)) != -1) {
+        int i = 0;
+        // a byte order mark is not part of the first value
+        if (isStart
+            && length >= 3
+            && bytes[0] == (byte) 0xEF
+            && bytes[1] == (byte) 0xBB
+            && bytes[2] == (byte) 0xBF) {
+          i = 3;
+        }
+        isStart = false;
+        for (; i < length; i++) {
+          byte b = bytes[i];
+          if (b == ',') {
+            endValue(false);
+          } else if (b == '\n') {
+            endValue(true);
+            endLine();
+          } else if (tokenLength > 0 || !isWhitespace(b)) {
+            if (tokenLength == token.length) {
+              token = Arrays.copyOf(token, token.length * 2);
+            }
+            token[tokenLength++] = b;
+          }
+        }
+        buffer.clear();
+      }
+      endValue(true);
+      endLine();
+    }
+
+    double[][] values = new double[lists.size()][];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = lists.get(i).toArray();
+    }
+    return values;
+  }
+
+  private void endValue(boolean isEndOfLine) {
+
+    while (tokenLength > 0 && isWhitespace(token[tokenLength - 1])) {
+      tokenLength--;
+    }
+    if (tokenLength == 0 && isEndOfLine) {
+      // a blank line or a comma ending the line
+      return;
+    }
+    double value;
+    try {
+      value = parseDouble(token, tokenLength);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          "Line "
+              + lineNumber
+              + " of "
+              + fileName
+              + ": >"
+              + new String(token, 0, tokenLength, StandardCharsets.UTF_8)
+              + "< is not a number!!!");
+    }
+    tokenLength = 0;
+
+    if (isByColumn) {
+      if (expectedValueCount < 0) {
+        lists.add(new DoubleList());
+      }
+      if (valueCount < lists.size()) {
+        lists.get(valueCount).add(value);
+      }
+    } else {
+      if (row == null) {
+        row = new DoubleList();
+      }
+      row.add(value);
+    }
+    valueCount++;
+  }
+
+  private void endLine() {
+
+    if (valueCount > 0) {
+      if (expectedValueCount < 0) {
+        expectedValueCount = valueCount;
+      } else if (valueCount != expectedValueCount) {
+        throw new IllegalArgumentException(
+            "Line "
+                + lineNumber
+                + " of "
+                + fileName
+                + " has "
+                + valueCount
+                + " values instead of "
+                + expectedValueCount
+                + "!!!");
+      }
+      if (!isByColumn) {
+        lists.add(row);
+        row = null;
+      }
+    }
+    valueCount = 0;
+    lineNumber++;
+  }
+
+  private static boolean isWhitespace(byte b) {
+
+    return b == ' ' || b == '\t' || b == '\r';
+  }
+
+  /**
+   * Parses a decimal number without allocating, like 12, -1.5, .25 or 6.02E23
+   *
+   * @param bytes
+   * @param length
+   * @return the closest double
+   * @throws NumberFormatException if the bytes are not a number
+   */
+  static double parseDouble(byte[] bytes, int length) {
+
+    int i = 0;
+    boolean isNegative = false;
+    if (i < length && (bytes[i] == '-' || bytes[i] == '+')) {
+      isNegative = bytes[i++] == '-';
+    }
+
+    // up to 19 significant digits, read as an unsigned long
+    long mantissa = 0;
+    int digitCount = 0;
+    int exponent = 0;
+    boolean hasDigits = false;
+    boolean isTruncated = false;
+    for (; i < length && isDigit(bytes[i]); i++) {
+      hasDigits = true;
+      if (digitCount < 19) {
+        mantissa = mantissa * 10 + (bytes[i] - '0');
+        digitCount += mantissa == 0 ? 0 : 1;
+      } else {
+        exponent++;
+        isTruncated |= bytes[i] != '0';
+      }
+    }
+    if (i < length && bytes[i] == '.') {
+      for (i++; i < length && isDigit(bytes[i]); i++) {
+        hasDigits = true;
+        if (digitCount < 19) {
+          mantissa = mantissa * 10 + (bytes[i] - '0');
+          digitCount += mantissa == 0 ? 0 : 1;
+          exponent--;
+        } else {
+          isTruncated |= bytes[i] != '0';
+        }
+      }
+    }
+    if (hasDigits && i < length && (bytes[i] == 'e' || bytes[i] == 'E')) {
+      i++;
+      boolean isExponentNegative = false;
+      if (i < length && (bytes[i] == '-' || bytes[i] == '+')) {
+        isExponentNegative = bytes[i++] == '-';
+      }
+      int start = i;
+      int explicitExponent = 0;
+      for (; i < length && isDigit(bytes[i]); i++) {
+        // large enough for any double, small enough not to overflow
+        explicitExponent = Math.min(explicitExponent * 10 + (bytes[i] - '0'), 100_000);
+      }
+      hasDigits = i > start;
+      exponent += isExponentNegative ? -explicitExponent : explicitExponent;
+    }
+    if (!hasDigits || i < length || isTruncated) {
+      // NaN, Infinity, hexadecimal, 20 and more digits, or no number at all
+      return Double.parseDouble(new String(bytes, 0, length, StandardCharsets.ISO_8859_1));
+    }
+
+    if (mantissa == 0 || exponent < SMALLEST_POWER_OF_TEN) {
+      return isNegative ? -0.0 : 0.0;
+    }
+    if (exponent > LARGEST_POWER_OF_TEN) {
+      return isNegative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+    }
+    if (digitCount <= 15 && Math.abs(exponent) < POWERS_OF_TEN.length) {
+      // both exact, so one rounding gives the closest double
+      double value = (double) mantissa;
+      value = exponent < 0 ? value / POWERS_OF_TEN[-exponent] : value * POWERS_OF_TEN[exponent];
+      return isNegative ? -value : value;
+    }
+    long bits = toDoubleBits(mantissa, exponent);
+    if (bits < 0) {
+      // subnormal
+      return Double.parseDouble(new String(bytes, 0, length, StandardCharsets.ISO_8859_1));
+    }
+    return Double.longBitsToDouble(isNegative ? bits | Long.MIN_VALUE : bits);
+  }
+
+  private static boolean isDigit(byte b) {
+
+    return b >= '0' && b <= '9';
+  }
+
+  /**
+   * The algorithm of Eisel and Lemire, multiplying the mantissa with a 128 bit approximation of the
+   * power of ten, which is known to be close enough for mantissas of up to 19 digits
+   *
+   * @param mantissa - not zero, unsigned
+   * @param exponent
+   * @return the bits of the closest double, -1 if it is subnormal
+   */
+  private static long toDoubleBits(long mantissa, int exponent) {
+
+    int leadingZeros = Long.numberOfLeadingZeros(mantissa);
+    long w = mantissa << leadingZeros;
+    int index = 2 * (exponent - SMALLEST_POWER_OF_TEN);
+
+    long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+    long low = w * POWERS_OF_FIVE[index];
+    if ((high & 0x1FF) == 0x1FF) {
+      long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+      low += secondHigh;
+      if (Long.compareUnsigned(secondHigh, low) > 0) {
+        high++;
+      }
+    }
+
+    int upperBit = (int) (high >>> 63);
+    int shift = upperBit + 9;
+    long significand = high >>> shift;
+    // floor(log2(10) * exponent) + 63, plus the bias of 1023
+    int binaryExponent = ((217706 * exponent) >> 16) + 63 + upperBit - leadingZeros + 1023;
+    if (binaryExponent <= 0) {
+      return -1;
+    }
+    // exactly halfway between two doubles, round to even
+    if (Long.compareUnsigned(low, 1) <= 0
+        && exponent >= -4
+        && exponent <= 23
+        && (significand & 3) == 1
+        && (significand << shift) == high) {
+      significand &= ~1L;
+    }
+    significand += significand & 1;
+    significand >>>= 1;
+    if (significand >= 1L << 53) {
+      significand = 1L << 52;
+      binaryExponent++;
+    }
+    significand &= ~(1L << 52);
+    if (binaryExponent >= 0x7FF) {
+      return Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+    }
+    return significand | (long) binaryExponent << 52;
+  }
+
+  private static long unsignedMultiplyHigh(long x, long y) {
+
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+  private static long[] getPowersOfFive() {
+
+    long[] powers = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+    for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+      BigInteger power;
+      if (q < 0) {
+        // the reciprocal, rounded up
+        BigInteger powerOfFive = BigInteger.valueOf(5).pow(-q);
+        int z = powerOfFive.bitLength();
+        int b = q >= -27 ? z + 127 : 2 * z + 128;
+        power = BigInteger.ONE.shiftLeft(b).divide(powerOfFive).add(BigInteger.ONE);
+        if (power.bitLength() > 128) {
+          power = power.shiftRight(power.bitLength() - 128);
+        }
+      } else {
+        power = BigInteger.valueOf(5).pow(q);
+        power =
+            power.bitLength() > 128
+                ? power.shiftRight(power.bitLength() - 128)
+                : power.shiftLeft(128 - power.bitLength());
+      }
+      int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+      powers[index] = power.shiftRight(64).longValue();
+      powers[index + 1] = power.longValue();
+    }
+    return powers;
+  }
+
+  /** A growing array of doubles */
+  private static final class DoubleList {
+
+    private double[] values = new double[1024];
+    private int size;
+
+    void add(double value) {
+
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    double[] toArray() {
+
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
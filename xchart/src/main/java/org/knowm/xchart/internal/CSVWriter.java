@@ -0,0 +1,467 @@
+package org.knowm.xchart.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+
+/**
+ * Writes comma separated values into a file through a large buffer. Doubles are written with the
+ * fewest digits reading back as the same double, found with the Schubfach algorithm of Giulietti
+ * without allocating, like 12, 0.25, 1234.5678 or -1.5E-9.
+ */
+public final class CSVWriter implements Closeable {
+
+  private static final int BUFFER_SIZE = 1 << 20;
+  private static final byte[] LINE_SEPARATOR =
+      System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+  private static final long[] POWERS_OF_TEN = {
+    1L,
+    10L,
+    100L,
+    1_000L,
+    10_000L,
+    100_000L,
+    1_000_000L,
+    10_000_000L,
+    100_000_000L,
+    1_000_000_000L,
+    10_000_000_000L,
+    100_000_000_000L,
+    1_000_000_000_000L,
+    10_000_000_000_000L,
+    100_000_000_000_000L,
+    1_000_000_000_000_000L,
+    10_000_000_000_000_000L,
+    100_000_000_000_000_000L,
+    1_000_000_000_000_000_000L
+  };
+
+  // "00", "01" up to "99"
+  private static final byte[] DIGIT_PAIRS = getDigitPairs();
+
+  private static final long MASK_63 = Long.MAX_VALUE;
+  private static final int Q_MIN = -1074;
+  private static final long C_MIN = 1L << 52;
+  private static final int K_MIN = -324;
+  private static final int K_MAX = 292;
+
+  // floor(10^-k 2^-r) + 1 for k from -324 to 292, scaled to 126 bits, the high 63 bits and the low
+  // 63 bits in a row
+  private static final long[] POWERS_OF_TEN_126 = getPowersOfTen();
+
+  private final FileChannel channel;
+  private final byte[] bytes = new byte[BUFFER_SIZE];
+  private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+  private int position;
+  private boolean isLineStart = true;
+
+  /**
+   * Constructor, replacing the file if it exists
+   *
+   * @param file
+   * @throws IOException
+   */
+  public CSVWriter(Path file) throws IOException {
+
+    channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+  }
+
+  /**
+   * Writes a number, a date as its epoch milliseconds, null as an empty value and anything else as
+   * text
+   *
+   * @param value
+   * @throws IOException
+   */
+  public void writeValue(Object value) throws IOException {
+
+    if (value == null) {
+      writeEmpty();
+    } else if (value instanceof Long
+        || value instanceof Integer
+        || value instanceof Short
+        || value instanceof Byte) {
+      writeLong(((Number) value).longValue());
+    } else if (value instanceof Number) {
+      writeDouble(((Number) value).doubleValue());
+    } else if (value instanceof Date) {
+      writeLong(((Date) value).getTime());
+    } else {
+      writeString(value.toString());
+    }
+  }
+
+  /**
+   * @param value
+   * @throws IOException
+   */
+  public void writeDouble(double value) throws IOException {
+
+    startValue();
+    ensureRemaining(32);
+    position = formatDouble(value, bytes, position);
+  }
+
+  /**
+   * @param value
+   * @throws IOException
+   */
+  public void writeLong(long value) throws IOException {
+
+    startValue();
+    ensureRemaining(20);
+    if (value == Long.MIN_VALUE) {
+      putAscii("-9223372036854775808");
+      return;
+    }
+    if (value < 0) {
+      bytes[position++] = '-';
+      value = -value;
+    }
+    int digitCount = getDigitCount(value);
+    writeDigits(value, digitCount, bytes, position + digitCount);
+    position += digitCount;
+  }
+
+  /**
+   * Writes text, quoted if it holds a comma, a quote or a line break
+   *
+   * @param value
+   * @throws IOException
+   */
+  public void writeString(String value) throws IOException {
+
+    startValue();
+    boolean isQuoted = false;
+    for (int i = 0; i < value.length() && !isQuoted; i++) {
+      char c = value.charAt(i);
+      isQuoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (isQuoted) {
+      putByte('"');
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        putByte('"');
+      }
+      if (c < 0x80) {
+        putByte(c);
+      } else {
+        // rare, encoded one character or surrogate pair at a time
+        int end = Character.isHighSurrogate(c) && i + 1 < value.length() ? i + 2 : i + 1;
+        for (byte b : value.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+          putByte(b);
+        }
+        i = end - 1;
+      }
+    }
+    if (isQuoted) {
+      putByte('"');
+    }
+  }
+
+  /**
+   * Writes an empty value
+   *
+   * @throws IOException
+   */
+  public void writeEmpty() throws IOException {
+
+    startValue();
+  }
+
+  /**
+   * Ends the line, the next value starts a new one
+   *
+   * @throws IOException
+   */
+  public void endLine() throws IOException {
+
+    ensureRemaining(LINE_SEPARATOR.length);
+    System.arraycopy(LINE_SEPARATOR, 0, bytes, position, LINE_SEPARATOR.length);
+    position += LINE_SEPARATOR.length;
+    isLineStart = true;
+  }
+
+  @Override
+  public void close() throws IOException {
+
+    try {
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void startValue() throws IOException {
+
+    if (!isLineStart) {
+      putByte(',');
+    }
+    isLineStart = false;
+  }
+
+  private void putByte(int b) throws IOException {
+
+    ensureRemaining(1);
+    bytes[position++] = (byte) b;
+  }
+
+  private void putAscii(String value) {
+
+    for (int i = 0; i < value.length(); i++) {
+      bytes[position++] = (byte) value.charAt(i);
+    }
+  }
+
+  private void ensureRemaining(int length) throws IOException {
+
+    if (bytes.length - position < length) {
+      flush();
+    }
+  }
+
+  private void flush() throws IOException {
+
+    buffer.limit(position).position(0);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+    position = 0;
+  }
+
+  /**
+   * Writes the shortest decimal reading back as a double
+   *
+   * @param value
+   * @param bytes
+   * @param position
+   * @return the position after the last character written, at most 25 characters further
+   */
+  static int formatDouble(double value, byte[] bytes, int position) {
+
+    long bits = Double.doubleToRawLongBits(value);
+    long t = bits & (C_MIN - 1);
+    int bq = (int) (bits >>> 52) & 0x7FF;
+    if (bq == 0x7FF) {
+      String text = t != 0 ? "NaN" : bits > 0 ? "Infinity" : "-Infinity";
+      for (int i = 0; i < text.length(); i++) {
+        bytes[position++] = (byte) text.charAt(i);
+      }
+      return position;
+    }
+    if (bits < 0) {
+      bytes[position++] = '-';
+    }
+    if (bq != 0) {
+      // a normal double c 2^q
+      int q = bq - 1075;
+      long c = C_MIN | t;
+      if (-53 < q && q < 0) {
+        // an integer
+        long f = c >> -q;
+        if (f << -q == c) {
+          return writeDecimal(f, 0, bytes, position);
+        }
+      }
+      return toDecimal(q, c, 0, bytes, position);
+    }
+    if (t != 0) {
+      // subnormal
+      return t < 3
+          ? toDecimal(Q_MIN, 10 * t, -1, bytes, position)
+          : toDecimal(Q_MIN, t, 0, bytes, position);
+    }
+    bytes[position++] = '0';
+    return position;
+  }
+
+  /**
+   * Finds the shortest decimal in the rounding interval of c 2^q, following figure 7 of the paper
+   * "The Schubfach way to render doubles" by Raffaello Giulietti
+   */
+  private static int toDecimal(int q, long c, int dk, byte[] bytes, int position) {
+
+    int out = (int) c & 0x1;
+    long cb = c << 2;
+    long cbr = cb + 2;
+    long cbl;
+    int k;
+    if (c != C_MIN | q == Q_MIN) {
+      // regular spacing
+      cbl = cb - 2;
+      k = (int) (q * 661_971_961_083L >> 41);
+    } else {
+      // irregular spacing
+      cbl = cb - 1;
+      k = (int) (q * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+    int h = q + (int) (-k * 913_124_641_741L >> 38) + 2;
+
+    int index = 2 * (k - K_MIN);
+    long g1 = POWERS_OF_TEN_126[index];
+    long g0 = POWERS_OF_TEN_126[index + 1];
+
+    long vb = roundToOdd(g1, g0, cb << h);
+    long vbl = roundToOdd(g1, g0, cbl << h);
+    long vbr = roundToOdd(g1, g0, cbr << h);
+
+    long s = vb >> 2;
+    if (s >= 100) {
+      // one digit less, s' = floor(s / 10)
+      long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+      long tp10 = sp10 + 10;
+      boolean upin = vbl + out <= sp10 << 2;
+      boolean wpin = (tp10 << 2) + out <= vbr;
+      if (upin != wpin) {
+        return writeDecimal(upin ? sp10 : tp10, k, bytes, position);
+      }
+    }
+    long t = s + 1;
+    boolean uin = vbl + out <= s << 2;
+    boolean win = (t << 2) + out <= vbr;
+    if (uin != win) {
+      return writeDecimal(uin ? s : t, k + dk, bytes, position);
+    }
+    // both in the interval, the closer one
+    long cmp = vb - (s + t << 1);
+    return writeDecimal(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, bytes, position);
+  }
+
+  private static long roundToOdd(long g1, long g0, long cp) {
+
+    long x1 = Math.multiplyHigh(g0, cp);
+    long y0 = g1 * cp;
+    long y1 = Math.multiplyHigh(g1, cp);
+    long z = (y0 >>> 1) + x1;
+    long vbp = y1 + (z >>> 63);
+    return vbp | (z & MASK_63) + MASK_63 >>> 63;
+  }
+
+  /**
+   * Writes f 10^e plainly from 0.001 to 10^16, otherwise like 1.25E-7
+   *
+   * @return the position after the last character written
+   */
+  private static int writeDecimal(long f, int e, byte[] bytes, int position) {
+
+    while (f % 10 == 0) {
+      f /= 10;
+      e++;
+    }
+    int digitCount = getDigitCount(f);
+    // the digits before the decimal point
+    int integerDigitCount = digitCount + e;
+    if (e >= 0 && integerDigitCount <= 16) {
+      writeDigits(f, digitCount, bytes, position + digitCount);
+      position += digitCount;
+      for (int i = 0; i < e; i++) {
+        bytes[position++] = '0';
+      }
+    } else if (e < 0 && integerDigitCount > 0) {
+      int fractionDigitCount = -e;
+      long divisor = POWERS_OF_TEN[fractionDigitCount];
+      writeDigits(f / divisor, integerDigitCount, bytes, position + integerDigitCount);
+      position += integerDigitCount;
+      bytes[position++] = '.';
+      writeDigits(f % divisor, fractionDigitCount, bytes, position + fractionDigitCount);
+      position += fractionDigitCount;
+    } else if (e < 0 && integerDigitCount > -3) {
+      bytes[position++] = '0';
+      bytes[position++] = '.';
+      for (int i = integerDigitCount; i < 0; i++) {
+        bytes[position++] = '0';
+      }
+      writeDigits(f, digitCount, bytes, position + digitCount);
+      position += digitCount;
+    } else {
+      long divisor = POWERS_OF_TEN[digitCount - 1];
+      bytes[position++] = (byte) ('0' + f / divisor);
+      if (digitCount > 1) {
+        bytes[position++] = '.';
+        writeDigits(f % divisor, digitCount - 1, bytes, position + digitCount - 1);
+        position += digitCount - 1;
+      }
+      bytes[position++] = 'E';
+      int exponent = integerDigitCount - 1;
+      if (exponent < 0) {
+        bytes[position++] = '-';
+        exponent = -exponent;
+      }
+      int exponentDigitCount = getDigitCount(exponent);
+      writeDigits(exponent, exponentDigitCount, bytes, position + exponentDigitCount);
+      position += exponentDigitCount;
+    }
+    return position;
+  }
+
+  private static int getDigitCount(long value) {
+
+    int digitCount = 1;
+    while (digitCount < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digitCount]) {
+      digitCount++;
+    }
+    return digitCount;
+  }
+
+  /** Writes the last digitCount digits of a value, ending before a position */
+  private static void writeDigits(long value, int digitCount, byte[] bytes, int end) {
+
+    int start = end - digitCount;
+    int i = end;
+    // two digits per division
+    for (; i - start >= 2; value /= 100) {
+      int pair = (int) (value % 100);
+      bytes[--i] = DIGIT_PAIRS[2 * pair + 1];
+      bytes[--i] = DIGIT_PAIRS[2 * pair];
+    }
+    if (i > start) {
+      bytes[--i] = (byte) ('0' + value % 10);
+    }
+  }
+
+  private static byte[] getDigitPairs() {
+
+    byte[] pairs = new byte[200];
+    for (int i = 0; i < 100; i++) {
+      pairs[2 * i] = (byte) ('0' + i / 10);
+      pairs[2 * i + 1] = (byte) ('0' + i % 10);
+    }
+    return pairs;
+  }
+
+  private static long[] getPowersOfTen() {
+
+    long[] powers = new long[2 * (K_MAX - K_MIN + 1)];
+    for (int k = K_MIN; k <= K_MAX; k++) {
+      // 10^-k scaled to 2^125 <= g < 2^126
+      BigInteger g;
+      if (k <= 0) {
+        BigInteger power = BigInteger.TEN.pow(-k);
+        int r = power.bitLength() - 126;
+        g = (r >= 0 ? power.shiftRight(r) : power.shiftLeft(-r)).add(BigInteger.ONE);
+      } else {
+        BigInteger power = BigInteger.TEN.pow(k);
+        g = BigInteger.ONE.shiftLeft(125 + power.bitLength()).divide(power).add(BigInteger.ONE);
+      }
+      int index = 2 * (k - K_MIN);
+      powers[index] = g.shiftRight(63).longValue();
+      powers[index + 1] = g.longValue() & MASK_63;
+    }
+    return powers;
+  }
+}
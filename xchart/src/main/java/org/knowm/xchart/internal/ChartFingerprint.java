@@ -0,0 +1,400 @@
+package org.knowm.xchart.internal;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.locks.Lock;
+import org.knowm.xchart.internal.chartpart.Annotation;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.chartpart.ChartPart;
+import org.knowm.xchart.internal.chartpart.ChartRenderStats;
+import org.knowm.xchart.internal.chartpart.RenderContext;
+
+/**
+ * A hash of everything a chart is painted from: its size, titles, styler, series and annotations.
+ * Charts with the same fingerprint look the same, so what was painted for one can be reused for the
+ * other. The objects of XChart are hashed field by field, leaving out the chart parts laid out
+ * while painting, and values like colors, fonts, formats and images by what they are.
+ *
+ * <p>Objects which can't be hashed by their content, like the lambdas formatting tick labels, are
+ * hashed by their identity. Such a fingerprint is only valid as long as the objects live, see
+ * {@link #isStable()}.
+ */
+public final class ChartFingerprint {
+
+  private static final String XCHART_PACKAGE = "org.knowm.xchart.";
+
+  // the fields hashed of every class, in a stable order
+  private static final ClassValue<Field[]> FIELDS =
+      new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+
+          return getHashedFields(type);
+        }
+      };
+
+  private final String hash;
+  private final boolean isStable;
+
+  private ChartFingerprint(String hash, boolean isStable) {
+
+    this.hash = hash;
+    this.isStable = isStable;
+  }
+
+  /**
+   * Hashes a chart
+   *
+   * @param chart
+   * @param salt - added to the hash, like the format the chart is encoded in
+   * @return the fingerprint
+   */
+  public static ChartFingerprint of(Chart<?, ?> chart, String salt) {
+
+    Hasher hasher = new Hasher();
+    hasher.putString(salt);
+    hasher.putInt(chart.getWidth());
+    hasher.putInt(chart.getHeight());
+    hasher.put(chart);
+    return new ChartFingerprint(hasher.finish(), hasher.isStable);
+  }
+
+  /**
+   * @return the hash as 64 hexadecimal digits
+   */
+  public String getHash() {
+
+    return hash;
+  }
+
+  /**
+   * @return whether the hash is the same in another JVM, false if it depends on the identity of
+   *     objects
+   */
+  public boolean isStable() {
+
+    return isStable;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+
+    return o instanceof ChartFingerprint && ((ChartFingerprint) o).hash.equals(hash);
+  }
+
+  @Override
+  public int hashCode() {
+
+    return hash.hashCode();
+  }
+
+  @Override
+  public String toString() {
+
+    return hash;
+  }
+
+  private static Field[] getHashedFields(Class<?> type) {
+
+    List<Field> fields = new ArrayList<>();
+    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+      List<Field> declared = new ArrayList<>();
+      for (Field field : c.getDeclaredFields()) {
+        if (isHashed(field)) {
+          declared.add(field);
+        }
+      }
+      declared.sort(Comparator.comparing(Field::getName));
+      fields.addAll(0, declared);
+    }
+    try {
+      for (Field field : fields) {
+        field.setAccessible(true);
+      }
+    } catch (RuntimeException e) {
+      // not open to reflection, hashed by identity
+      return null;
+    }
+    return fields.toArray(new Field[0]);
+  }
+
+  private static boolean isHashed(Field field) {
+
+    int modifiers = field.getModifiers();
+    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+      return false;
+    }
+    Class<?> type = field.getType();
+    // laid out or kept while painting, or a reference back to the chart
+    if (ChartPart.class.isAssignableFrom(type) && !Annotation.class.isAssignableFrom(type)) {
+      return false;
+    }
+    return !(Chart.class.isAssignableFrom(type)
+        || Rectangle2D.class.isAssignableFrom(type)
+        || RenderContext.class.isAssignableFrom(type)
+        || ChartRenderStats.class.isAssignableFrom(type)
+        || Lock.class.isAssignableFrom(type)
+        || ThreadLocal.class.isAssignableFrom(type)
+        || type == Object.class);
+  }
+
+  /** Whether a class or one of its supertypes is a class of XChart */
+  private static boolean isXChartType(Class<?> type) {
+
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      if (c.getName().startsWith(XCHART_PACKAGE) && !c.isSynthetic()) {
+        return true;
+      }
+      for (Class<?> i : c.getInterfaces()) {
+        if (i.getName().startsWith(XCHART_PACKAGE)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /** Feeds values into SHA-256 */
+  private static final class Hasher {
+
+    private final MessageDigest digest;
+    private final ByteBuffer buffer = ByteBuffer.allocate(8192);
+    // the objects hashed so far, referred to by their index when seen again
+    private final Map<Object, Integer> visited = new IdentityHashMap<>();
+    private boolean isStable = true;
+
+    Hasher() {
+
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    void put(Object value) {
+
+      if (value == null) {
+        putByte(0);
+      } else if (value instanceof String) {
+        putByte(1);
+        putString((String) value);
+      } else if (value instanceof Number
+          || value instanceof Boolean
+          || value instanceof Character) {
+        putByte(2);
+        putString(value.getClass().getName());
+        putString(value.toString());
+      } else if (value instanceof Enum) {
+        putByte(3);
+        putString(((Enum<?>) value).getDeclaringClass().getName());
+        putString(((Enum<?>) value).name());
+      } else if (value.getClass().isArray()) {
+        putArray(value);
+      } else if (value instanceof Color) {
+        putByte(4);
+        putInt(((Color) value).getRGB());
+      } else if (value instanceof Font) {
+        Font font = (Font) value;
+        putByte(5);
+        putString(font.getName());
+        putInt(font.getStyle());
+        putLong(Double.doubleToLongBits(font.getSize2D()));
+        put(font.isTransformed() ? font.getTransform().toString() : null);
+      } else if (value instanceof BasicStroke) {
+        BasicStroke stroke = (BasicStroke) value;
+        putByte(6);
+        putLong(Double.doubleToLongBits(stroke.getLineWidth()));
+        putInt(stroke.getEndCap());
+        putInt(stroke.getLineJoin());
+        putLong(Double.doubleToLongBits(stroke.getMiterLimit()));
+        put(stroke.getDashArray());
+        putLong(Double.doubleToLongBits(stroke.getDashPhase()));
+      } else if (value instanceof Locale) {
+        putByte(7);
+        putString(((Locale) value).toLanguageTag());
+      } else if (value instanceof TimeZone) {
+        putByte(8);
+        putString(((TimeZone) value).getID());
+      } else if (value instanceof Date) {
+        putByte(9);
+        putLong(((Date) value).getTime());
+      } else if (value instanceof DecimalFormat) {
+        putByte(10);
+        putString(((DecimalFormat) value).toPattern());
+      } else if (value instanceof SimpleDateFormat) {
+        putByte(11);
+        putString(((SimpleDateFormat) value).toPattern());
+        putString(((SimpleDateFormat) value).getTimeZone().getID());
+      } else if (value instanceof Class) {
+        putByte(12);
+        putString(((Class<?>) value).getName());
+      } else if (isVisited(value)) {
+        return;
+      } else if (value instanceof BufferedImage) {
+        BufferedImage image = (BufferedImage) value;
+        putByte(13);
+        putInt(image.getWidth());
+        putInt(image.getHeight());
+        put(image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth()));
+      } else if (value instanceof Map) {
+        putByte(14);
+        putInt(((Map<?, ?>) value).size());
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+          put(entry.getKey());
+          put(entry.getValue());
+        }
+      } else if (value instanceof Collection) {
+        putByte(15);
+        putInt(((Collection<?>) value).size());
+        for (Object element : (Collection<?>) value) {
+          put(element);
+        }
+      } else {
+        putObject(value);
+      }
+    }
+
+    private boolean isVisited(Object value) {
+
+      Integer index = visited.get(value);
+      if (index != null) {
+        putByte(16);
+        putInt(index);
+        return true;
+      }
+      visited.put(value, visited.size());
+      return false;
+    }
+
+    private void putObject(Object value) {
+
+      Class<?> type = value.getClass();
+      Field[] fields = isXChartType(type) ? FIELDS.get(type) : null;
+      putString(type.getName());
+      if (fields == null) {
+        // like a lambda, only the same object is known to give the same result
+        putByte(17);
+        putInt(System.identityHashCode(value));
+        isStable = false;
+        return;
+      }
+      putByte(18);
+      for (Field field : fields) {
+        try {
+          put(field.get(value));
+        } catch (IllegalAccessException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    }
+
+    private void putArray(Object array) {
+
+      putByte(19);
+      putString(array.getClass().getComponentType().getName());
+      if (array instanceof double[]) {
+        double[] values = (double[]) array;
+        putInt(values.length);
+        for (double value : values) {
+          putLong(Double.doubleToLongBits(value));
+        }
+      } else if (array instanceof long[]) {
+        long[] values = (long[]) array;
+        putInt(values.length);
+        for (long value : values) {
+          putLong(value);
+        }
+      } else if (array instanceof int[]) {
+        int[] values = (int[]) array;
+        putInt(values.length);
+        for (int value : values) {
+          putInt(value);
+        }
+      } else if (array instanceof float[]) {
+        float[] values = (float[]) array;
+        putInt(values.length);
+        for (float value : values) {
+          putInt(Float.floatToIntBits(value));
+        }
+      } else if (array instanceof Object[]) {
+        Object[] values = (Object[]) array;
+        putInt(values.length);
+        for (Object value : values) {
+          put(value);
+        }
+      } else {
+        // the other primitive arrays are rare, hashed by their string
+        putString(array.getClass().getName());
+        putString(Arrays.deepToString(new Object[] {array}));
+      }
+    }
+
+    void putString(String value) {
+
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      putInt(bytes.length);
+      for (byte b : bytes) {
+        putByte(b);
+      }
+    }
+
+    void putInt(int value) {
+
+      ensureRemaining(4);
+      buffer.putInt(value);
+    }
+
+    private void putLong(long value) {
+
+      ensureRemaining(8);
+      buffer.putLong(value);
+    }
+
+    private void putByte(int value) {
+
+      ensureRemaining(1);
+      buffer.put((byte) value);
+    }
+
+    private void ensureRemaining(int bytes) {
+
+      if (buffer.remaining() < bytes) {
+        digest.update(buffer.array(), 0, buffer.position());
+        buffer.clear();
+      }
+    }
+
+    String finish() {
+
+      digest.update(buffer.array(), 0, buffer.position());
+      StringBuilder hex = new StringBuilder(64);
+      for (byte b : digest.digest()) {
+        hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+        hex.append(Character.forDigit(b & 0xF, 16));
+      }
+      return hex.toString();
+    }
+  }
+}
@@ -0,0 +1,759 @@
+package org.knowm.xchart.internal;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.LinearGradientPaint;
+import java.awt.MultipleGradientPaint;
+import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.zip.Deflater;
+
+/**
+ * A Graphics2D writing the content stream of a PDF page. Coordinates are written in device space
+ * with two decimals, and lines drawn one after the other with the same stroke, where each starts at
+ * the end of the previous one like the segments of a series, are written as one path. Text is
+ * filled as outlines, like XChart paints it anyway, so pages need no fonts.
+ *
+ * <p>The resources used by the page are collected in its {@link Page} for the document writer:
+ * translucency as graphics states named by their alpha and images named by a hash of their pixels,
+ * so both can be written once and shared by all pages of a document.
+ */
+public final class PdfGraphics2D extends AbstractVectorGraphics2D {
+
+  private final Page page;
+
+  /**
+   * Constructor
+   *
+   * @param width
+   * @param height
+   */
+  public PdfGraphics2D(int width, int height) {
+
+    this.page = new Page(width, height);
+    // from the PDF space with the origin at the bottom to the device space of Java
+    page.content.append("1 0 0 -1 0 ").append(height).append(" cm\n");
+  }
+
+  private PdfGraphics2D(PdfGraphics2D graphics) {
+
+    super(graphics);
+    this.page = graphics.page;
+  }
+
+  /**
+   * Ends the content and compresses it
+   *
+   * @param compressionLevel - from 0 to 9
+   * @return the page
+   */
+  public Page finish(int compressionLevel) {
+
+    page.endPath();
+    page.setClip(null);
+    page.compressedContent = deflate(page.content.toByteArray(), compressionLevel);
+    page.content = null;
+    return page;
+  }
+
+  /** Drawing */
+  @Override
+  protected void drawStroke(Shape s) {
+
+    if (!isPainted()) {
+      return;
+    }
+    BasicStroke basicStroke = (BasicStroke) stroke;
+    double scale = Math.sqrt(Math.abs(transform.getDeterminant()));
+    PathIterator iterator = s.getPathIterator(transform);
+    if (iterator.isDone()) {
+      return;
+    }
+    double[] coordinates = new double[6];
+    if (iterator.currentSegment(coordinates) != PathIterator.SEG_MOVETO) {
+      return;
+    }
+    int alpha = getAlpha();
+    if (page.canContinuePath(coordinates[0], coordinates[1])
+        && page.isStrokeState(deviceClip, color, alpha, basicStroke, scale)) {
+      iterator.next();
+    } else {
+      page.endPath();
+      page.setClip(deviceClip);
+      page.setStrokeState(color, alpha, basicStroke, scale);
+    }
+    page.writePath(iterator, coordinates);
+    page.isStrokePending = true;
+  }
+
+  @Override
+  public void fill(Shape s) {
+
+    if (!isPainted()) {
+      return;
+    }
+    PathIterator iterator = s.getPathIterator(transform);
+    if (iterator.isDone()) {
+      return;
+    }
+    page.endPath();
+    page.setClip(deviceClip);
+    double[] coordinates = new double[6];
+    if (paint instanceof LinearGradientPaint || paint instanceof GradientPaint) {
+      // clipped to the shape and shaded
+      page.setAlpha(getAlpha());
+      page.content.append("q\n");
+      page.writePath(iterator, coordinates);
+      page.content.append(
+          iterator.getWindingRule() == PathIterator.WIND_EVEN_ODD ? "W* n\n" : "W n\n");
+      page.appendMatrix(transform);
+      page.content.append(" cm /").append(page.addShading(paint)).append(" sh\nQ\n");
+      return;
+    }
+    page.setFillState(color, getAlpha());
+    page.writePath(iterator, coordinates);
+    page.content.append(iterator.getWindingRule() == PathIterator.WIND_EVEN_ODD ? "f*\n" : "f\n");
+  }
+
+  @Override
+  protected void writeImage(RenderedImage image, AffineTransform imageTransform) {
+
+    if (image == null || image.getWidth() == 0 || image.getHeight() == 0) {
+      return;
+    }
+    if (composite instanceof AlphaComposite
+        && ((AlphaComposite) composite).getRule() == AlphaComposite.CLEAR) {
+      return;
+    }
+    page.endPath();
+    page.setClip(deviceClip);
+    page.setAlpha(getCompositeAlpha(255));
+    String name = page.addImage(image);
+    // the image is drawn into the unit square, with its first row at the top
+    AffineTransform unitTransform = new AffineTransform(imageTransform);
+    unitTransform.translate(0, image.getHeight());
+    unitTransform.scale(image.getWidth(), -image.getHeight());
+    page.content.append("q ");
+    page.appendMatrix(unitTransform);
+    page.content.append(" cm /").append(name).append(" Do Q\n");
+  }
+
+  private boolean isPainted() {
+
+    if (composite instanceof AlphaComposite
+        && ((AlphaComposite) composite).getRule() == AlphaComposite.CLEAR) {
+      return false;
+    }
+    return paint != color || color.getAlpha() > 0;
+  }
+
+  private int getAlpha() {
+
+    return getCompositeAlpha(paint == color ? color.getAlpha() : 255);
+  }
+
+  private int getCompositeAlpha(int alpha) {
+
+    if (composite instanceof AlphaComposite) {
+      return Math.round(alpha * ((AlphaComposite) composite).getAlpha());
+    }
+    return alpha;
+  }
+
+  @Override
+  public Graphics create() {
+
+    return new PdfGraphics2D(this);
+  }
+
+  private static byte[] deflate(byte[] data, int compressionLevel) {
+
+    Deflater deflater = new Deflater(compressionLevel);
+    try {
+      deflater.setInput(data);
+      deflater.finish();
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 4 + 64);
+      byte[] buffer = new byte[64 * 1024];
+      while (!deflater.finished()) {
+        compressed.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return compressed.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /** A painted page, with the resources it uses */
+  public static final class Page {
+
+    private final int width;
+    private final int height;
+    private ContentBuilder content = new ContentBuilder();
+    private byte[] compressedContent;
+
+    private final SortedSet<Integer> alphas = new TreeSet<>();
+    private final Map<String, Image> images = new LinkedHashMap<>();
+    private final List<String> shadings = new ArrayList<>();
+
+    // the state written into the content, and the state outside of the current clip
+    private State state = new State();
+    private State unclippedState;
+    private Shape clip;
+
+    // the stroked path which is not ended yet, continued by the next line starting at its end
+    private boolean isStrokePending;
+    private double endX;
+    private double endY;
+
+    Page(int width, int height) {
+
+      this.width = width;
+      this.height = height;
+    }
+
+    public int getWidth() {
+
+      return width;
+    }
+
+    public int getHeight() {
+
+      return height;
+    }
+
+    /**
+     * @return the content stream, deflated
+     */
+    public byte[] getContent() {
+
+      return compressedContent;
+    }
+
+    /**
+     * @return the alphas of the graphics states used, from 0 to 255, named A followed by the alpha
+     */
+    public SortedSet<Integer> getAlphas() {
+
+      return Collections.unmodifiableSortedSet(alphas);
+    }
+
+    /**
+     * @return the images used, by name
+     */
+    public Map<String, Image> getImages() {
+
+      return Collections.unmodifiableMap(images);
+    }
+
+    /**
+     * @return the dictionaries of the shadings used, named Sh followed by their index
+     */
+    public List<String> getShadings() {
+
+      return Collections.unmodifiableList(shadings);
+    }
+
+    private boolean canContinuePath(double x, double y) {
+
+      return isStrokePending && x == endX && y == endY;
+    }
+
+    private void endPath() {
+
+      if (isStrokePending) {
+        content.append("S\n");
+        isStrokePending = false;
+      }
+    }
+
+    private void setClip(Shape newClip) {
+
+      if (newClip == clip) {
+        return;
+      }
+      if (clip != null) {
+        content.append("Q\n");
+        state = unclippedState;
+      }
+      clip = newClip;
+      if (newClip != null) {
+        unclippedState = state.copy();
+        content.append("q\n");
+        PathIterator iterator = newClip.getPathIterator(null);
+        writePath(iterator, new double[6]);
+        content.append(
+            iterator.getWindingRule() == PathIterator.WIND_EVEN_ODD ? "W* n\n" : "W n\n");
+      }
+    }
+
+    private boolean isStrokeState(
+        Shape deviceClip, Color color, int alpha, BasicStroke stroke, double scale) {
+
+      return deviceClip == clip
+          && state.strokeRGB == (color.getRGB() & 0xFFFFFF)
+          && state.alpha == alpha
+          && state.lineWidth == stroke.getLineWidth() * scale
+          && state.cap == stroke.getEndCap()
+          && state.join == stroke.getLineJoin()
+          && state.miterLimit == stroke.getMiterLimit()
+          && !isDashChanged(stroke, scale);
+    }
+
+    private boolean isDashChanged(BasicStroke stroke, double scale) {
+
+      float[] dashes = stroke.getDashArray();
+      return !Arrays.equals(state.dashes, dashes)
+          || dashes != null
+              && (state.dashScale != scale || state.dashPhase != stroke.getDashPhase());
+    }
+
+    private void setStrokeState(Color color, int alpha, BasicStroke stroke, double scale) {
+
+      int rgb = color.getRGB() & 0xFFFFFF;
+      if (state.strokeRGB != rgb) {
+        appendColor(rgb);
+        content.append(" RG\n");
+        state.strokeRGB = rgb;
+      }
+      setAlpha(alpha);
+      double lineWidth = stroke.getLineWidth() * scale;
+      if (state.lineWidth != lineWidth) {
+        content.appendFixed(Math.round(lineWidth * 1000), 3).append(" w\n");
+        state.lineWidth = lineWidth;
+      }
+      // the caps and joins of Java and PDF are numbered the same
+      if (state.cap != stroke.getEndCap()) {
+        content.append(stroke.getEndCap()).append(" J\n");
+        state.cap = stroke.getEndCap();
+      }
+      if (state.join != stroke.getLineJoin()) {
+        content.append(stroke.getLineJoin()).append(" j\n");
+        state.join = stroke.getLineJoin();
+      }
+      if (state.miterLimit != stroke.getMiterLimit()) {
+        content.appendFixed(Math.round(stroke.getMiterLimit() * 1000), 3).append(" M\n");
+        state.miterLimit = stroke.getMiterLimit();
+      }
+      float[] dashes = stroke.getDashArray();
+      if (isDashChanged(stroke, scale)) {
+        content.append('[');
+        if (dashes != null) {
+          for (int i = 0; i < dashes.length; i++) {
+            content.append(i == 0 ? "" : " ").appendFixed(Math.round(dashes[i] * scale * 100), 2);
+          }
+        }
+        content.append("] ").appendFixed(Math.round(stroke.getDashPhase() * scale * 100), 2);
+        content.append(" d\n");
+        state.dashScale = scale;
+        state.dashes = dashes;
+        state.dashPhase = stroke.getDashPhase();
+      }
+    }
+
+    private void setFillState(Color color, int alpha) {
+
+      int rgb = color.getRGB() & 0xFFFFFF;
+      if (state.fillRGB != rgb) {
+        appendColor(rgb);
+        content.append(" rg\n");
+        state.fillRGB = rgb;
+      }
+      setAlpha(alpha);
+    }
+
+    private void setAlpha(int alpha) {
+
+      if (state.alpha != alpha) {
+        alphas.add(alpha);
+        content.append("/A").append(alpha).append(" gs\n");
+        state.alpha = alpha;
+      }
+    }
+
+    private void appendColor(int rgb) {
+
+      content.appendFixed(Math.round(((rgb >> 16) & 0xFF) / 0.255), 3).append(' ');
+      content.appendFixed(Math.round(((rgb >> 8) & 0xFF) / 0.255), 3).append(' ');
+      content.appendFixed(Math.round((rgb & 0xFF) / 0.255), 3);
+    }
+
+    private void appendMatrix(AffineTransform transform) {
+
+      double[] matrix = new double[6];
+      transform.getMatrix(matrix);
+      for (int i = 0; i < 6; i++) {
+        content.append(i == 0 ? "" : " ").appendFixed(Math.round(matrix[i] * 1e6), 6);
+      }
+    }
+
+    /** Writes the segments of a path in device space, from the current segment of the iterator */
+    private void writePath(PathIterator iterator, double[] coordinates) {
+
+      double x = endX;
+      double y = endY;
+      for (; !iterator.isDone(); iterator.next()) {
+        switch (iterator.currentSegment(coordinates)) {
+          case PathIterator.SEG_MOVETO:
+            appendPoint(coordinates[0], coordinates[1]).append(" m\n");
+            x = coordinates[0];
+            y = coordinates[1];
+            break;
+          case PathIterator.SEG_LINETO:
+            appendPoint(coordinates[0], coordinates[1]).append(" l\n");
+            x = coordinates[0];
+            y = coordinates[1];
+            break;
+          case PathIterator.SEG_QUADTO:
+            // as the cubic curve of the same shape
+            appendPoint(x + 2.0 / 3 * (coordinates[0] - x), y + 2.0 / 3 * (coordinates[1] - y))
+                .append(' ');
+            appendPoint(
+                    coordinates[2] + 2.0 / 3 * (coordinates[0] - coordinates[2]),
+                    coordinates[3] + 2.0 / 3 * (coordinates[1] - coordinates[3]))
+                .append(' ');
+            appendPoint(coordinates[2], coordinates[3]).append(" c\n");
+            x = coordinates[2];
+            y = coordinates[3];
+            break;
+          case PathIterator.SEG_CUBICTO:
+            appendPoint(coordinates[0], coordinates[1]).append(' ');
+            appendPoint(coordinates[2], coordinates[3]).append(' ');
+            appendPoint(coordinates[4], coordinates[5]).append(" c\n");
+            x = coordinates[4];
+            y = coordinates[5];
+            break;
+          default:
+            content.append("h\n");
+            break;
+        }
+      }
+      endX = x;
+      endY = y;
+    }
+
+    private ContentBuilder appendPoint(double x, double y) {
+
+      return content
+          .appendFixed(Math.round(x * 100), 2)
+          .append(' ')
+          .appendFixed(Math.round(y * 100), 2);
+    }
+
+    private String addImage(RenderedImage renderedImage) {
+
+      Image image = new Image(toBufferedImage(renderedImage));
+      images.putIfAbsent(image.name, image);
+      return image.name;
+    }
+
+    private String addShading(Paint paint) {
+
+      Point2D start;
+      Point2D end;
+      float[] fractions;
+      Color[] colors;
+      if (paint instanceof GradientPaint) {
+        GradientPaint gradient = (GradientPaint) paint;
+        start = gradient.getPoint1();
+        end = gradient.getPoint2();
+        fractions = new float[] {0, 1};
+        colors = new Color[] {gradient.getColor1(), gradient.getColor2()};
+      } else {
+        MultipleGradientPaint gradient = (MultipleGradientPaint) paint;
+        start = ((LinearGradientPaint) paint).getStartPoint();
+        end = ((LinearGradientPaint) paint).getEndPoint();
+        fractions = gradient.getFractions();
+        colors = gradient.getColors();
+      }
+      // the colors from 0 to 1, one function between each two of them
+      List<Float> positions = new ArrayList<>();
+      List<Color> stops = new ArrayList<>();
+      if (fractions[0] > 0) {
+        positions.add(0f);
+        stops.add(colors[0]);
+      }
+      for (int i = 0; i < fractions.length; i++) {
+        positions.add(fractions[i]);
+        stops.add(colors[i]);
+      }
+      if (fractions[fractions.length - 1] < 1) {
+        positions.add(1f);
+        stops.add(colors[colors.length - 1]);
+      }
+      StringBuilder functions = new StringBuilder();
+      StringBuilder bounds = new StringBuilder();
+      StringBuilder encode = new StringBuilder();
+      for (int i = 0; i < stops.size() - 1; i++) {
+        functions.append("<< /FunctionType 2 /Domain [0 1] /C0 [");
+        functions.append(toComponents(stops.get(i))).append("] /C1 [");
+        functions.append(toComponents(stops.get(i + 1))).append("] /N 1 >> ");
+        if (i > 0) {
+          bounds.append(format(positions.get(i))).append(' ');
+        }
+        encode.append("0 1 ");
+      }
+      String shading =
+          "<< /ShadingType 2 /ColorSpace /DeviceRGB /Coords ["
+              + format(start.getX())
+              + " "
+              + format(start.getY())
+              + " "
+              + format(end.getX())
+              + " "
+              + format(end.getY())
+              + "] /Extend [true true] /Function << /FunctionType 3 /Domain [0 1] /Functions ["
+              + functions
+              + "] /Bounds ["
+              + bounds
+              + "] /Encode ["
+              + encode
+              + "] >> >>";
+      int index = shadings.indexOf(shading);
+      if (index < 0) {
+        shadings.add(shading);
+        index = shadings.size() - 1;
+      }
+      return "Sh" + index;
+    }
+
+    private static String toComponents(Color color) {
+
+      return format(color.getRed() / 255.0)
+          + " "
+          + format(color.getGreen() / 255.0)
+          + " "
+          + format(color.getBlue() / 255.0);
+    }
+
+    /** Formats a number without exponent, as PDF requires */
+    private static String format(double value) {
+
+      return BigDecimal.valueOf(value)
+          .setScale(6, RoundingMode.HALF_UP)
+          .stripTrailingZeros()
+          .toPlainString();
+    }
+
+    private static BufferedImage toBufferedImage(RenderedImage image) {
+
+      if (image instanceof BufferedImage) {
+        return (BufferedImage) image;
+      }
+      BufferedImage bufferedImage =
+          new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g = bufferedImage.createGraphics();
+      g.drawRenderedImage(image, new AffineTransform());
+      g.dispose();
+      return bufferedImage;
+    }
+  }
+
+  /** An image used by a page, as deflated samples */
+  public static final class Image {
+
+    private final String name;
+    private final int width;
+    private final int height;
+    private final byte[] rgb;
+    private final byte[] alpha; // null if opaque
+
+    Image(BufferedImage image) {
+
+      this.width = image.getWidth();
+      this.height = image.getHeight();
+      int[] argb = image.getRGB(0, 0, width, height, null, 0, width);
+      byte[] rgbSamples = new byte[argb.length * 3];
+      byte[] alphaSamples = new byte[argb.length];
+      boolean isOpaque = true;
+      for (int i = 0; i < argb.length; i++) {
+        int pixel = argb[i];
+        rgbSamples[3 * i] = (byte) (pixel >> 16);
+        rgbSamples[3 * i + 1] = (byte) (pixel >> 8);
+        rgbSamples[3 * i + 2] = (byte) pixel;
+        alphaSamples[i] = (byte) (pixel >>> 24);
+        isOpaque &= (pixel >>> 24) == 0xFF;
+      }
+      MessageDigest digest;
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+      digest.update(
+          new byte[] {
+            (byte) (width >> 24),
+            (byte) (width >> 16),
+            (byte) (width >> 8),
+            (byte) width,
+            (byte) (height >> 24),
+            (byte) (height >> 16),
+            (byte) (height >> 8),
+            (byte) height
+          });
+      digest.update(rgbSamples);
+      if (!isOpaque) {
+        digest.update(alphaSamples);
+      }
+      StringBuilder hash = new StringBuilder("Im");
+      byte[] bytes = digest.digest();
+      for (int i = 0; i < 12; i++) {
+        hash.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16));
+        hash.append(Character.forDigit(bytes[i] & 0xF, 16));
+      }
+      this.name = hash.toString();
+      this.rgb = deflate(rgbSamples, Deflater.DEFAULT_COMPRESSION);
+      this.alpha = isOpaque ? null : deflate(alphaSamples, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public int getWidth() {
+
+      return width;
+    }
+
+    public int getHeight() {
+
+      return height;
+    }
+
+    /**
+     * @return the RGB samples, deflated
+     */
+    public byte[] getRGB() {
+
+      return rgb;
+    }
+
+    /**
+     * @return the alpha samples, deflated, or null if the image is opaque
+     */
+    public byte[] getAlpha() {
+
+      return alpha;
+    }
+  }
+
+  /** The graphics state written into the content, initially the one of PDF */
+  private static final class State {
+
+    private int strokeRGB;
+    private int fillRGB;
+    private int alpha = 255;
+    private double lineWidth = 1;
+    private int cap = BasicStroke.CAP_BUTT;
+    private int join = BasicStroke.JOIN_MITER;
+    private float miterLimit = 10;
+    private double dashScale = 1;
+    private float[] dashes;
+    private float dashPhase;
+
+    State copy() {
+
+      State copy = new State();
+      copy.strokeRGB = strokeRGB;
+      copy.fillRGB = fillRGB;
+      copy.alpha = alpha;
+      copy.lineWidth = lineWidth;
+      copy.cap = cap;
+      copy.join = join;
+      copy.miterLimit = miterLimit;
+      copy.dashScale = dashScale;
+      copy.dashes = dashes;
+      copy.dashPhase = dashPhase;
+      return copy;
+    }
+  }
+
+  /** A growable buffer of the ASCII operators of a content stream */
+  private static final class ContentBuilder {
+
+    private byte[] bytes = new byte[64 * 1024];
+    private int length;
+
+    ContentBuilder append(char c) {
+
+      if (length == bytes.length) {
+        bytes = Arrays.copyOf(bytes, bytes.length * 2);
+      }
+      bytes[length++] = (byte) c;
+      return this;
+    }
+
+    ContentBuilder append(String text) {
+
+      for (int i = 0; i < text.length(); i++) {
+        append(text.charAt(i));
+      }
+      return this;
+    }
+
+    ContentBuilder append(long value) {
+
+      return appendFixed(value, 0);
+    }
+
+    /**
+     * Appends a number in fixed point, without exponent as PDF requires
+     *
+     * @param value - the number multiplied by 10 ^ decimals
+     * @param decimals
+     */
+    ContentBuilder appendFixed(long value, int decimals) {
+
+      if (value < 0) {
+        append('-');
+        value = -value;
+      }
+      long scale = 1;
+      for (int i = 0; i < decimals; i++) {
+        scale *= 10;
+      }
+      long integer = value / scale;
+      long fraction = value % scale;
+      if (integer >= 10) {
+        append(Long.toString(integer));
+      } else {
+        append((char) ('0' + integer));
+      }
+      if (fraction != 0) {
+        append('.');
+        while (fraction % 10 == 0) {
+          fraction /= 10;
+          decimals--;
+        }
+        String digits = Long.toString(fraction);
+        for (int i = digits.length(); i < decimals; i++) {
+          append('0');
+        }
+        append(digits);
+      }
+      return this;
+    }
+
+    byte[] toByteArray() {
+
+      return Arrays.copyOf(bytes, length);
+    }
+  }
+}
@@ -0,0 +1,813 @@
+package org.knowm.xchart.internal;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.CubicCurve2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.geom.QuadCurve2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RectangularShape;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A Graphics2D recording everything painted on it into a display list instead of rendering it. The
+ * list can then be replayed into any other Graphics2D, like the one of a BufferedImage, a
+ * VectorGraphics2D or a PdfBoxGraphics2D, as often as needed. Text is measured like on an image.
+ *
+ * <p>Every command shares the state (transform, clip, paint, stroke, font, ...) it is painted with
+ * with the commands before it until the state changes, and a replay only sets what changed. Shapes
+ * and arrays are copied when recorded, images and glyph vectors are kept by reference.
+ */
+public final class RecordingGraphics2D extends Graphics2D {
+
+  private final Recording recording;
+
+  // the state of this graphics
+  private AffineTransform transform;
+  private Shape deviceClip; // null if not clipped
+  private Paint paint;
+  private Color color;
+  private Color background;
+  private Stroke stroke;
+  private Font font;
+  private Composite composite;
+  private Color xorColor; // null in paint mode
+  private RenderingHints hints;
+
+  // the state above as used by the commands, null after it changed
+  private State state;
+
+  /** Constructor */
+  public RecordingGraphics2D() {
+
+    this.recording = new Recording();
+    Graphics2D measureGraphics = recording.measureGraphics;
+    this.transform = new AffineTransform();
+    this.paint = measureGraphics.getPaint();
+    this.color = measureGraphics.getColor();
+    this.background = measureGraphics.getBackground();
+    this.stroke = measureGraphics.getStroke();
+    this.font = measureGraphics.getFont();
+    this.composite = measureGraphics.getComposite();
+    this.hints = (RenderingHints) measureGraphics.getRenderingHints().clone();
+  }
+
+  private RecordingGraphics2D(RecordingGraphics2D graphics) {
+
+    this.recording = graphics.recording;
+    this.transform = new AffineTransform(graphics.transform);
+    this.deviceClip = graphics.deviceClip;
+    this.paint = graphics.paint;
+    this.color = graphics.color;
+    this.background = graphics.background;
+    this.stroke = graphics.stroke;
+    this.font = graphics.font;
+    this.composite = graphics.composite;
+    this.xorColor = graphics.xorColor;
+    this.hints = (RenderingHints) graphics.hints.clone();
+    this.state = graphics.state;
+  }
+
+  /**
+   * Paint everything recorded so far into another Graphics2D, on top of its current transform and
+   * clip. The state of the Graphics2D is restored afterwards.
+   *
+   * @param g
+   */
+  public void replay(Graphics2D g) {
+
+    AffineTransform baseTransform = g.getTransform();
+    Shape baseClip = g.getClip();
+    Paint basePaint = g.getPaint();
+    Color baseBackground = g.getBackground();
+    Stroke baseStroke = g.getStroke();
+    Font baseFont = g.getFont();
+    Composite baseComposite = g.getComposite();
+    RenderingHints baseHints = g.getRenderingHints();
+    try {
+      State previous = null;
+      for (Command command : recording.commands) {
+        command.state.apply(g, previous, baseTransform, baseClip);
+        previous = command.state;
+        command.painter.accept(g);
+      }
+    } finally {
+      g.setRenderingHints(baseHints);
+      g.setComposite(baseComposite);
+      g.setPaint(basePaint);
+      g.setBackground(baseBackground);
+      g.setStroke(baseStroke);
+      g.setFont(baseFont);
+      g.setTransform(baseTransform);
+      g.setClip(baseClip);
+    }
+  }
+
+  /**
+   * Gets the number of recorded painting commands
+   *
+   * @return the number of commands
+   */
+  public int getCommandCount() {
+
+    return recording.commands.size();
+  }
+
+  private void record(Consumer<Graphics2D> painter) {
+
+    if (state == null) {
+      state = new State(this);
+    }
+    recording.commands.add(new Command(state, painter));
+  }
+
+  private static Shape copy(Shape shape) {
+
+    if (shape instanceof RectangularShape) {
+      return (Shape) ((RectangularShape) shape).clone();
+    } else if (shape instanceof Line2D) {
+      return (Shape) ((Line2D) shape).clone();
+    } else if (shape instanceof Path2D) {
+      return (Shape) ((Path2D) shape).clone();
+    } else if (shape instanceof Area) {
+      return (Shape) ((Area) shape).clone();
+    } else if (shape instanceof QuadCurve2D) {
+      return (Shape) ((QuadCurve2D) shape).clone();
+    } else if (shape instanceof CubicCurve2D) {
+      return (Shape) ((CubicCurve2D) shape).clone();
+    } else if (shape instanceof Polygon) {
+      Polygon polygon = (Polygon) shape;
+      return new Polygon(polygon.xpoints, polygon.ypoints, polygon.npoints);
+    }
+    return new Path2D.Double(shape);
+  }
+
+  private Shape toDeviceSpace(Shape shape) {
+
+    int transformType = transform.getType();
+    if (shape instanceof Rectangle2D
+        && (transformType
+                & (AffineTransform.TYPE_GENERAL_ROTATION | AffineTransform.TYPE_GENERAL_TRANSFORM))
+            == 0) {
+      // keep rectangles rectangles, which is much cheaper for the vector formats
+      return transform.createTransformedShape(shape).getBounds2D();
+    }
+    return transform.createTransformedShape(shape);
+  }
+
+  /** Drawing */
+  @Override
+  public void draw(Shape s) {
+
+    Shape shape = copy(s);
+    record(g -> g.draw(shape));
+  }
+
+  @Override
+  public void fill(Shape s) {
+
+    Shape shape = copy(s);
+    record(g -> g.fill(shape));
+  }
+
+  @Override
+  public void drawString(String str, int x, int y) {
+
+    drawString(str, (float) x, (float) y);
+  }
+
+  @Override
+  public void drawString(String str, float x, float y) {
+
+    Objects.requireNonNull(str);
+    record(g -> g.drawString(str, x, y));
+  }
+
+  @Override
+  public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+
+    drawString(iterator, (float) x, (float) y);
+  }
+
+  @Override
+  public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+
+    AttributedString text = new AttributedString(iterator);
+    record(g -> g.drawString(text.getIterator(), x, y));
+  }
+
+  @Override
+  public void drawGlyphVector(GlyphVector glyphVector, float x, float y) {
+
+    record(g -> g.drawGlyphVector(glyphVector, x, y));
+  }
+
+  @Override
+  public void drawLine(int x1, int y1, int x2, int y2) {
+
+    record(g -> g.drawLine(x1, y1, x2, y2));
+  }
+
+  @Override
+  public void fillRect(int x, int y, int width, int height) {
+
+    record(g -> g.fillRect(x, y, width, height));
+  }
+
+  @Override
+  public void clearRect(int x, int y, int width, int height) {
+
+    record(g -> g.clearRect(x, y, width, height));
+  }
+
+  @Override
+  public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+
+    record(g -> g.drawRoundRect(x, y, width, height, arcWidth, arcHeight));
+  }
+
+  @Override
+  public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+
+    record(g -> g.fillRoundRect(x, y, width, height, arcWidth, arcHeight));
+  }
+
+  @Override
+  public void drawOval(int x, int y, int width, int height) {
+
+    record(g -> g.drawOval(x, y, width, height));
+  }
+
+  @Override
+  public void fillOval(int x, int y, int width, int height) {
+
+    record(g -> g.fillOval(x, y, width, height));
+  }
+
+  @Override
+  public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+
+    record(g -> g.drawArc(x, y, width, height, startAngle, arcAngle));
+  }
+
+  @Override
+  public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+
+    record(g -> g.fillArc(x, y, width, height, startAngle, arcAngle));
+  }
+
+  @Override
+  public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+
+    int[] xs = xPoints.clone();
+    int[] ys = yPoints.clone();
+    record(g -> g.drawPolyline(xs, ys, nPoints));
+  }
+
+  @Override
+  public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+
+    int[] xs = xPoints.clone();
+    int[] ys = yPoints.clone();
+    record(g -> g.drawPolygon(xs, ys, nPoints));
+  }
+
+  @Override
+  public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+
+    int[] xs = xPoints.clone();
+    int[] ys = yPoints.clone();
+    record(g -> g.fillPolygon(xs, ys, nPoints));
+  }
+
+  @Override
+  public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+
+    record(g -> g.copyArea(x, y, width, height, dx, dy));
+  }
+
+  /** Images */
+  @Override
+  public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) {
+
+    AffineTransform imageTransform = xform == null ? null : new AffineTransform(xform);
+    record(g -> g.drawImage(img, imageTransform, obs));
+    return true;
+  }
+
+  @Override
+  public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+
+    record(g -> g.drawImage(img, op, x, y));
+  }
+
+  @Override
+  public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+
+    AffineTransform imageTransform = new AffineTransform(xform);
+    record(g -> g.drawRenderedImage(img, imageTransform));
+  }
+
+  @Override
+  public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+
+    AffineTransform imageTransform = new AffineTransform(xform);
+    record(g -> g.drawRenderableImage(img, imageTransform));
+  }
+
+  @Override
+  public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+
+    record(g -> g.drawImage(img, x, y, observer));
+    return true;
+  }
+
+  @Override
+  public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+
+    record(g -> g.drawImage(img, x, y, width, height, observer));
+    return true;
+  }
+
+  @Override
+  public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+
+    record(g -> g.drawImage(img, x, y, bgcolor, observer));
+    return true;
+  }
+
+  @Override
+  public boolean drawImage(
+      Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+
+    record(g -> g.drawImage(img, x, y, width, height, bgcolor, observer));
+    return true;
+  }
+
+  @Override
+  public boolean drawImage(
+      Image img,
+      int dx1,
+      int dy1,
+      int dx2,
+      int dy2,
+      int sx1,
+      int sy1,
+      int sx2,
+      int sy2,
+      ImageObserver observer) {
+
+    record(g -> g.drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, observer));
+    return true;
+  }
+
+  @Override
+  public boolean drawImage(
+      Image img,
+      int dx1,
+      int dy1,
+      int dx2,
+      int dy2,
+      int sx1,
+      int sy1,
+      int sx2,
+      int sy2,
+      Color bgcolor,
+      ImageObserver observer) {
+
+    record(g -> g.drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, bgcolor, observer));
+    return true;
+  }
+
+  /** Text measuring */
+  @Override
+  public FontRenderContext getFontRenderContext() {
+
+    return new FontRenderContext(
+        transform,
+        hints.get(RenderingHints.KEY_TEXT_ANTIALIASING),
+        hints.get(RenderingHints.KEY_FRACTIONALMETRICS));
+  }
+
+  @Override
+  public FontMetrics getFontMetrics(Font f) {
+
+    Graphics2D measureGraphics = recording.measureGraphics;
+    measureGraphics.setRenderingHints(hints);
+    measureGraphics.setTransform(transform);
+    return measureGraphics.getFontMetrics(f);
+  }
+
+  @Override
+  public GraphicsConfiguration getDeviceConfiguration() {
+
+    // not a raster device
+    return null;
+  }
+
+  @Override
+  public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+
+    Shape shape = onStroke ? stroke.createStrokedShape(s) : s;
+    return transform.createTransformedShape(shape).intersects(rect);
+  }
+
+  /** State */
+  @Override
+  public Graphics create() {
+
+    return new RecordingGraphics2D(this);
+  }
+
+  @Override
+  public void dispose() {}
+
+  @Override
+  public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+
+    hints.put(hintKey, hintValue);
+    state = null;
+  }
+
+  @Override
+  public Object getRenderingHint(RenderingHints.Key hintKey) {
+
+    return hints.get(hintKey);
+  }
+
+  @Override
+  public void setRenderingHints(Map<?, ?> hints) {
+
+    this.hints = new RenderingHints(null);
+    this.hints.putAll(hints);
+    state = null;
+  }
+
+  @Override
+  public void addRenderingHints(Map<?, ?> hints) {
+
+    this.hints.putAll(hints);
+    state = null;
+  }
+
+  @Override
+  public RenderingHints getRenderingHints() {
+
+    return (RenderingHints) hints.clone();
+  }
+
+  @Override
+  public void translate(int x, int y) {
+
+    translate((double) x, (double) y);
+  }
+
+  @Override
+  public void translate(double tx, double ty) {
+
+    transform.translate(tx, ty);
+    state = null;
+  }
+
+  @Override
+  public void rotate(double theta) {
+
+    transform.rotate(theta);
+    state = null;
+  }
+
+  @Override
+  public void rotate(double theta, double x, double y) {
+
+    transform.rotate(theta, x, y);
+    state = null;
+  }
+
+  @Override
+  public void scale(double sx, double sy) {
+
+    transform.scale(sx, sy);
+    state = null;
+  }
+
+  @Override
+  public void shear(double shx, double shy) {
+
+    transform.shear(shx, shy);
+    state = null;
+  }
+
+  @Override
+  public void transform(AffineTransform tx) {
+
+    transform.concatenate(tx);
+    state = null;
+  }
+
+  @Override
+  public void setTransform(AffineTransform tx) {
+
+    transform = new AffineTransform(tx);
+    state = null;
+  }
+
+  @Override
+  public AffineTransform getTransform() {
+
+    return new AffineTransform(transform);
+  }
+
+  @Override
+  public Paint getPaint() {
+
+    return paint;
+  }
+
+  @Override
+  public void setPaint(Paint paint) {
+
+    if (paint == null) {
+      return;
+    }
+    this.paint = paint;
+    if (paint instanceof Color) {
+      this.color = (Color) paint;
+    }
+    state = null;
+  }
+
+  @Override
+  public Color getColor() {
+
+    return color;
+  }
+
+  @Override
+  public void setColor(Color c) {
+
+    if (c == null) {
+      return;
+    }
+    this.color = c;
+    this.paint = c;
+    state = null;
+  }
+
+  @Override
+  public void setBackground(Color color) {
+
+    this.background = color;
+    state = null;
+  }
+
+  @Override
+  public Color getBackground() {
+
+    return background;
+  }
+
+  @Override
+  public Composite getComposite() {
+
+    return composite;
+  }
+
+  @Override
+  public void setComposite(Composite comp) {
+
+    this.composite = comp;
+    this.xorColor = null;
+    state = null;
+  }
+
+  @Override
+  public void setPaintMode() {
+
+    setComposite(AlphaComposite.SrcOver);
+  }
+
+  @Override
+  public void setXORMode(Color c1) {
+
+    this.xorColor = c1;
+    state = null;
+  }
+
+  @Override
+  public Stroke getStroke() {
+
+    return stroke;
+  }
+
+  @Override
+  public void setStroke(Stroke s) {
+
+    this.stroke = s;
+    state = null;
+  }
+
+  @Override
+  public Font getFont() {
+
+    return font;
+  }
+
+  @Override
+  public void setFont(Font font) {
+
+    if (font == null) {
+      return;
+    }
+    this.font = font;
+    state = null;
+  }
+
+  @Override
+  public Shape getClip() {
+
+    if (deviceClip == null) {
+      return null;
+    }
+    try {
+      return transform.createInverse().createTransformedShape(deviceClip);
+    } catch (NoninvertibleTransformException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public Rectangle getClipBounds() {
+
+    Shape clip = getClip();
+    return clip == null ? null : clip.getBounds();
+  }
+
+  @Override
+  public void setClip(Shape clip) {
+
+    deviceClip = clip == null ? null : toDeviceSpace(clip);
+    state = null;
+  }
+
+  @Override
+  public void setClip(int x, int y, int width, int height) {
+
+    setClip(new Rectangle(x, y, width, height));
+  }
+
+  @Override
+  public void clip(Shape s) {
+
+    if (s == null) {
+      setClip(null);
+      return;
+    }
+    Shape shape = toDeviceSpace(s);
+    if (deviceClip == null) {
+      deviceClip = shape;
+    } else if (deviceClip instanceof Rectangle2D && shape instanceof Rectangle2D) {
+      deviceClip = ((Rectangle2D) deviceClip).createIntersection((Rectangle2D) shape);
+    } else {
+      Area area = new Area(deviceClip);
+      area.intersect(new Area(shape));
+      deviceClip = area;
+    }
+    state = null;
+  }
+
+  @Override
+  public void clipRect(int x, int y, int width, int height) {
+
+    clip(new Rectangle(x, y, width, height));
+  }
+
+  /** The commands shared by a recording graphics and the graphics created from it */
+  private static final class Recording {
+
+    private final List<Command> commands = new ArrayList<>();
+
+    // measures text like a raster target would
+    private final Graphics2D measureGraphics =
+        new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+  }
+
+  private static final class Command {
+
+    private final State state;
+    private final Consumer<Graphics2D> painter;
+
+    Command(State state, Consumer<Graphics2D> painter) {
+
+      this.state = state;
+      this.painter = painter;
+    }
+  }
+
+  /** An immutable copy of the state of a recording graphics */
+  private static final class State {
+
+    private final AffineTransform transform;
+    private final Shape deviceClip;
+    private final Paint paint;
+    private final Color background;
+    private final Stroke stroke;
+    private final Font font;
+    private final Composite composite;
+    private final Color xorColor;
+    private final RenderingHints hints;
+
+    State(RecordingGraphics2D graphics) {
+
+      this.transform = new AffineTransform(graphics.transform);
+      this.deviceClip = graphics.deviceClip;
+      this.paint = graphics.paint;
+      this.background = graphics.background;
+      this.stroke = graphics.stroke;
+      this.font = graphics.font;
+      this.composite = graphics.composite;
+      this.xorColor = graphics.xorColor;
+      this.hints = (RenderingHints) graphics.hints.clone();
+    }
+
+    /**
+     * Set the state on a graphics, only the parts different from the previous state
+     *
+     * @param g
+     * @param previous - the state set before, null for the first one
+     * @param baseTransform - the transform of the graphics before the replay
+     * @param baseClip - the clip of the graphics before the replay
+     */
+    void apply(Graphics2D g, State previous, AffineTransform baseTransform, Shape baseClip) {
+
+      if (previous == this) {
+        return;
+      }
+      boolean isFirst = previous == null;
+      if (isFirst || !hints.equals(previous.hints)) {
+        g.setRenderingHints(hints);
+      }
+      if (isFirst
+          || !Objects.equals(composite, previous.composite)
+          || !Objects.equals(xorColor, previous.xorColor)) {
+        g.setComposite(composite);
+        if (xorColor != null) {
+          g.setXORMode(xorColor);
+        }
+      }
+      if (isFirst || !paint.equals(previous.paint)) {
+        g.setPaint(paint);
+      }
+      if (isFirst || !Objects.equals(background, previous.background)) {
+        g.setBackground(background);
+      }
+      if (isFirst || !Objects.equals(stroke, previous.stroke)) {
+        g.setStroke(stroke);
+      }
+      if (isFirst || !font.equals(previous.font)) {
+        g.setFont(font);
+      }
+      boolean isClipChanged = isFirst || deviceClip != previous.deviceClip;
+      if (isClipChanged || !transform.equals(previous.transform)) {
+        // the clip is kept in device space, so it's set before the transform
+        g.setTransform(baseTransform);
+        if (isClipChanged) {
+          g.setClip(baseClip);
+          if (deviceClip != null) {
+            g.clip(deviceClip);
+          }
+        }
+        g.transform(transform);
+      }
+    }
+  }
+}
@@ -0,0 +1,748 @@
+package org.knowm.xchart.internal;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.LinearGradientPaint;
+import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.image.RenderedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Base64;
+import java.util.Objects;
+import javax.imageio.ImageIO;
+
+/**
+ * A Graphics2D writing SVG to a Writer while it is painted on, without keeping what was painted.
+ * Coordinates are written in device space, relative to the previous point and with a fixed number
+ * of decimals. Lines drawn one after the other with the same stroke, where each starts at the end
+ * of the previous one like the segments of a series, are written as one path. Optionally, points of
+ * a line in the same device pixel as the previous point are left out. Text is measured like on an
+ * image.
+ *
+ * <p>Errors writing are thrown as UncheckedIOException. {@link #finish()} must be called at the end
+ * to complete the document.
+ */
+public final class SvgGraphics2D extends AbstractVectorGraphics2D {
+
+  private final Output output;
+
+  // the attributes of strokes and fills in the current state, null after it changed
+  private String strokeStyle;
+  private String fillStyle;
+
+  /**
+   * Constructor, writing the start of the document
+   *
+   * @param writer
+   * @param width
+   * @param height
+   * @param precision - the number of decimals of coordinates
+   * @param isSimplifyingPaths - whether points in the same pixel as the previous point are dropped
+   */
+  public SvgGraphics2D(
+      Writer writer, int width, int height, int precision, boolean isSimplifyingPaths) {
+
+    this.output = new Output(writer, precision, isSimplifyingPaths);
+    output.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    output.write(
+        "<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\"");
+    output.write(" width=\"" + width + "\" height=\"" + height + "\"");
+    output.write(" viewBox=\"0 0 " + width + " " + height + "\" xml:space=\"preserve\">\n");
+  }
+
+  private SvgGraphics2D(SvgGraphics2D graphics) {
+
+    super(graphics);
+    this.output = graphics.output;
+    this.strokeStyle = graphics.strokeStyle;
+    this.fillStyle = graphics.fillStyle;
+  }
+
+  /**
+   * Writes the end of the document and flushes the writer, which is not closed
+   *
+   * @throws IOException
+   */
+  public void finish() throws IOException {
+
+    try {
+      output.endPath();
+      output.write("</svg>\n");
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    output.writer.flush();
+  }
+
+  @Override
+  protected void stateChanged() {
+
+    strokeStyle = null;
+    fillStyle = null;
+  }
+
+  /** Drawing */
+  @Override
+  protected void drawStroke(Shape s) {
+
+    if (strokeStyle == null) {
+      strokeStyle = createStrokeStyle();
+    }
+    if (strokeStyle.isEmpty()) {
+      return;
+    }
+    output.writeShape(s.getPathIterator(transform), strokeStyle, true);
+  }
+
+  @Override
+  public void fill(Shape s) {
+
+    if (fillStyle == null) {
+      fillStyle = createFillStyle();
+    }
+    if (fillStyle.isEmpty()) {
+      return;
+    }
+    PathIterator iterator = s.getPathIterator(transform);
+    String style =
+        iterator.getWindingRule() == PathIterator.WIND_EVEN_ODD
+            ? fillStyle + " fill-rule=\"evenodd\""
+            : fillStyle;
+    output.writeShape(iterator, style, false);
+  }
+
+  @Override
+  public void drawString(String str, float x, float y) {
+
+    Objects.requireNonNull(str);
+    if (str.isEmpty()) {
+      return;
+    }
+    if (fillStyle == null) {
+      fillStyle = createFillStyle();
+    }
+    if (fillStyle.isEmpty()) {
+      return;
+    }
+    output.endPath();
+    StringBuilder text = new StringBuilder("<text");
+    if ((transform.getType() & ~AffineTransform.TYPE_TRANSLATION) == 0) {
+      Point2D point = transform.transform(new Point2D.Float(x, y), null);
+      text.append(" x=\"").append(output.format(point.getX()));
+      text.append("\" y=\"").append(output.format(point.getY())).append('"');
+    } else {
+      text.append(" x=\"").append(output.format(x));
+      text.append("\" y=\"").append(output.format(y)).append('"');
+      text.append(" transform=\"").append(output.format(transform)).append('"');
+    }
+    text.append(" font-family=\"").append(escape(getFontFamily(font))).append('"');
+    text.append(" font-size=\"").append(output.format(font.getSize2D())).append('"');
+    if (font.isBold()) {
+      text.append(" font-weight=\"bold\"");
+    }
+    if (font.isItalic()) {
+      text.append(" font-style=\"italic\"");
+    }
+    text.append(fillStyle).append('>').append(escape(str)).append("</text>\n");
+    output.write(text.toString());
+  }
+
+  @Override
+  protected void writeImage(RenderedImage image, AffineTransform imageTransform) {
+
+    if (image == null || image.getWidth() == 0 || image.getHeight() == 0) {
+      return;
+    }
+    ByteArrayOutputStream png = new ByteArrayOutputStream();
+    try {
+      ImageIO.write(image, "png", png);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    output.endPath();
+    output.write(
+        "<image width=\""
+            + image.getWidth()
+            + "\" height=\""
+            + image.getHeight()
+            + "\" transform=\""
+            + output.format(imageTransform)
+            + "\""
+            + getClipAttribute()
+            + getOpacityAttribute("opacity", 1)
+            + " preserveAspectRatio=\"none\" xlink:href=\"data:image/png;base64,");
+    output.write(Base64.getEncoder().encodeToString(png.toByteArray()));
+    output.write("\"/>\n");
+  }
+
+  /** Styles */
+  private String createStrokeStyle() {
+
+    String paintAttribute = getPaintAttribute("stroke");
+    if (paintAttribute == null) {
+      return "";
+    }
+    BasicStroke basicStroke = (BasicStroke) stroke;
+    double scale = Math.sqrt(Math.abs(transform.getDeterminant()));
+    StringBuilder style = new StringBuilder(" fill=\"none\"").append(paintAttribute);
+    style.append(" stroke-width=\"").append(output.format(basicStroke.getLineWidth() * scale));
+    style.append('"');
+    if (basicStroke.getEndCap() == BasicStroke.CAP_ROUND) {
+      style.append(" stroke-linecap=\"round\"");
+    } else if (basicStroke.getEndCap() == BasicStroke.CAP_SQUARE) {
+      style.append(" stroke-linecap=\"square\"");
+    }
+    if (basicStroke.getLineJoin() == BasicStroke.JOIN_ROUND) {
+      style.append(" stroke-linejoin=\"round\"");
+    } else if (basicStroke.getLineJoin() == BasicStroke.JOIN_BEVEL) {
+      style.append(" stroke-linejoin=\"bevel\"");
+    } else if (basicStroke.getMiterLimit() != 4) {
+      style.append(" stroke-miterlimit=\"").append(output.format(basicStroke.getMiterLimit()));
+      style.append('"');
+    }
+    float[] dashes = basicStroke.getDashArray();
+    if (dashes != null && dashes.length > 0) {
+      style.append(" stroke-dasharray=\"");
+      for (int i = 0; i < dashes.length; i++) {
+        style.append(i == 0 ? "" : ",").append(output.format(dashes[i] * scale));
+      }
+      style.append('"');
+      if (basicStroke.getDashPhase() != 0) {
+        style.append(" stroke-dashoffset=\"");
+        style.append(output.format(basicStroke.getDashPhase() * scale)).append('"');
+      }
+    }
+    return style.append(getClipAttribute()).toString();
+  }
+
+  private String createFillStyle() {
+
+    String paintAttribute = getPaintAttribute("fill");
+    if (paintAttribute == null) {
+      return "";
+    }
+    return paintAttribute + getClipAttribute();
+  }
+
+  /**
+   * Gets the attributes of the paint, writing gradients as definitions
+   *
+   * @param name - fill or stroke
+   * @return the attributes, or null if nothing would be visible
+   */
+  private String getPaintAttribute(String name) {
+
+    if (composite instanceof AlphaComposite
+        && ((AlphaComposite) composite).getRule() == AlphaComposite.CLEAR) {
+      return null;
+    }
+    if (paint instanceof LinearGradientPaint || paint instanceof GradientPaint) {
+      String id = output.writeGradient(paint, transform);
+      return " " + name + "=\"url(#" + id + ")\"" + getOpacityAttribute(name + "-opacity", 1);
+    }
+    Color paintColor = paint instanceof Color ? (Color) paint : color;
+    if (paintColor.getAlpha() == 0) {
+      return null;
+    }
+    return " "
+        + name
+        + "=\""
+        + toHex(paintColor)
+        + "\""
+        + getOpacityAttribute(name + "-opacity", paintColor.getAlpha() / 255f);
+  }
+
+  private String getOpacityAttribute(String name, float alpha) {
+
+    if (composite instanceof AlphaComposite) {
+      alpha *= ((AlphaComposite) composite).getAlpha();
+    }
+    return alpha >= 1 ? "" : " " + name + "=\"" + output.format(alpha) + "\"";
+  }
+
+  private String getClipAttribute() {
+
+    if (deviceClip == null) {
+      return "";
+    }
+    return " clip-path=\"url(#" + output.writeClip(deviceClip) + ")\"";
+  }
+
+  private static String toHex(Color color) {
+
+    String hex = Integer.toHexString(color.getRGB() & 0xFFFFFF);
+    return "#000000".substring(0, 7 - hex.length()) + hex;
+  }
+
+  private static String getFontFamily(Font font) {
+
+    String family = font.getFamily();
+    switch (family) {
+      case Font.DIALOG:
+      case Font.SANS_SERIF:
+        return "sans-serif";
+      case Font.SERIF:
+        return "serif";
+      case Font.DIALOG_INPUT:
+      case Font.MONOSPACED:
+        return "monospace";
+      default:
+        return family + ", sans-serif";
+    }
+  }
+
+  private static String escape(String text) {
+
+    StringBuilder escaped = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '<':
+          escaped.append("&lt;");
+          break;
+        case '>':
+          escaped.append("&gt;");
+          break;
+        case '&':
+          escaped.append("&amp;");
+          break;
+        case '"':
+          escaped.append("&quot;");
+          break;
+        default:
+          if (c < 0x20 && c != '\t' && c != '\n' && c != '\r') {
+            break;
+          }
+          escaped.append(c);
+      }
+    }
+    return escaped.toString();
+  }
+
+  /** State */
+  @Override
+  public Graphics create() {
+
+    return new SvgGraphics2D(this);
+  }
+
+  /** The document written by an SVG graphics and the graphics created from it */
+  private static final class Output {
+
+    private final Writer writer;
+    private final int precision;
+    private final long scale;
+    private final boolean isSimplifyingPaths;
+    private final char[] number = new char[32];
+
+    private int nextId;
+    private Shape lastClip;
+    private String lastClipId;
+    private Paint lastGradient;
+    private AffineTransform lastGradientTransform;
+    private String lastGradientId;
+
+    // the path being written, its style is null if there is none
+    private String pathStyle;
+    private boolean isPathContinuable;
+    private boolean isFirstSegment;
+    private long lastX;
+    private long lastY;
+    private long startX;
+    private long startY;
+    // the exact end of the last segment, to continue the path with the next line
+    private double endX;
+    private double endY;
+    // the pixel of the last written point, and the last point left out in it
+    private double pixelX;
+    private double pixelY;
+    private boolean hasSkippedPoint;
+    private long skippedX;
+    private long skippedY;
+
+    Output(Writer writer, int precision, boolean isSimplifyingPaths) {
+
+      this.writer = writer;
+      this.precision = precision;
+      this.scale = (long) Math.pow(10, precision);
+      this.isSimplifyingPaths = isSimplifyingPaths;
+    }
+
+    void write(String text) {
+
+      try {
+        writer.write(text);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void write(char c) {
+
+      try {
+        writer.write(c);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    /**
+     * Writes a shape as a path, or continues the current path if it is a line starting at its end
+     *
+     * @param iterator - the segments in device space
+     * @param style - the attributes of the path
+     * @param isStroke - whether the shape is stroked, only strokes are continued
+     */
+    void writeShape(PathIterator iterator, String style, boolean isStroke) {
+
+      double[] coordinates = new double[6];
+      boolean isFirst = true;
+      for (; !iterator.isDone(); iterator.next()) {
+        int type = iterator.currentSegment(coordinates);
+        if (isFirst) {
+          isFirst = false;
+          if (type != PathIterator.SEG_MOVETO) {
+            return;
+          }
+          if (isStroke
+              && isPathContinuable
+              && coordinates[0] == endX
+              && coordinates[1] == endY
+              && style.equals(pathStyle)) {
+            continue;
+          }
+          startPath(style);
+        }
+        switch (type) {
+          case PathIterator.SEG_MOVETO:
+            moveTo(coordinates[0], coordinates[1]);
+            break;
+          case PathIterator.SEG_LINETO:
+            lineTo(coordinates[0], coordinates[1], isSimplifyingPaths);
+            break;
+          case PathIterator.SEG_QUADTO:
+            curveTo('q', coordinates, 4);
+            break;
+          case PathIterator.SEG_CUBICTO:
+            curveTo('c', coordinates, 6);
+            break;
+          default:
+            closePath();
+            break;
+        }
+      }
+      if (!isFirst && !isStroke) {
+        endPath();
+      }
+    }
+
+    private void startPath(String style) {
+
+      endPath();
+      write("<path d=\"");
+      pathStyle = style;
+      isFirstSegment = true;
+      isPathContinuable = true;
+    }
+
+    void endPath() {
+
+      if (pathStyle == null) {
+        return;
+      }
+      writeSkippedPoint();
+      write('"');
+      write(pathStyle);
+      write("/>\n");
+      pathStyle = null;
+      isPathContinuable = false;
+    }
+
+    private void moveTo(double x, double y) {
+
+      writeSkippedPoint();
+      long fixedX = Math.round(x * scale);
+      long fixedY = Math.round(y * scale);
+      if (isFirstSegment) {
+        write('M');
+        writeNumber(fixedX, true);
+        writeNumber(fixedY, false);
+        isFirstSegment = false;
+      } else {
+        write('m');
+        writeNumber(fixedX - lastX, true);
+        writeNumber(fixedY - lastY, false);
+      }
+      lastX = startX = fixedX;
+      lastY = startY = fixedY;
+      setEnd(x, y);
+      pixelX = x;
+      pixelY = y;
+    }
+
+    private void lineTo(double x, double y, boolean isSimplifying) {
+
+      long fixedX = Math.round(x * scale);
+      long fixedY = Math.round(y * scale);
+      setEnd(x, y);
+      if (isSimplifying
+          && Math.floor(x) == Math.floor(pixelX)
+          && Math.floor(y) == Math.floor(pixelY)) {
+        // in the same pixel as the last written point
+        hasSkippedPoint = true;
+        skippedX = fixedX;
+        skippedY = fixedY;
+        return;
+      }
+      hasSkippedPoint = false;
+      writeLine(fixedX, fixedY);
+      pixelX = x;
+      pixelY = y;
+    }
+
+    private void writeLine(long fixedX, long fixedY) {
+
+      long dx = fixedX - lastX;
+      long dy = fixedY - lastY;
+      if (dy == 0) {
+        write('h');
+        writeNumber(dx, true);
+      } else if (dx == 0) {
+        write('v');
+        writeNumber(dy, true);
+      } else {
+        write('l');
+        writeNumber(dx, true);
+        writeNumber(dy, false);
+      }
+      lastX = fixedX;
+      lastY = fixedY;
+    }
+
+    private void writeSkippedPoint() {
+
+      if (hasSkippedPoint) {
+        hasSkippedPoint = false;
+        writeLine(skippedX, skippedY);
+      }
+    }
+
+    private void curveTo(char command, double[] coordinates, int length) {
+
+      writeSkippedPoint();
+      write(command);
+      for (int i = 0; i < length; i += 2) {
+        writeNumber(Math.round(coordinates[i] * scale) - lastX, i == 0);
+        writeNumber(Math.round(coordinates[i + 1] * scale) - lastY, false);
+      }
+      lastX = Math.round(coordinates[length - 2] * scale);
+      lastY = Math.round(coordinates[length - 1] * scale);
+      setEnd(coordinates[length - 2], coordinates[length - 1]);
+      pixelX = coordinates[length - 2];
+      pixelY = coordinates[length - 1];
+    }
+
+    private void closePath() {
+
+      writeSkippedPoint();
+      write('z');
+      lastX = startX;
+      lastY = startY;
+      isPathContinuable = false;
+    }
+
+    private void setEnd(double x, double y) {
+
+      endX = x;
+      endY = y;
+    }
+
+    /**
+     * Writes a number in fixed point
+     *
+     * @param value - the number multiplied by 10 ^ precision
+     * @param isAfterCommand - whether no separator is needed
+     */
+    private void writeNumber(long value, boolean isAfterCommand) {
+
+      int length = formatFixed(value, number);
+      try {
+        if (!isAfterCommand && number[0] != '-') {
+          writer.write(' ');
+        }
+        writer.write(number, 0, length);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private int formatFixed(long value, char[] chars) {
+
+      int length = 0;
+      if (value < 0) {
+        chars[length++] = '-';
+        value = -value;
+      }
+      long integer = value / scale;
+      long fraction = value % scale;
+      String integerDigits = Long.toString(integer);
+      for (int i = 0; i < integerDigits.length(); i++) {
+        chars[length++] = integerDigits.charAt(i);
+      }
+      if (fraction != 0) {
+        chars[length++] = '.';
+        int digits = precision;
+        while (fraction % 10 == 0) {
+          fraction /= 10;
+          digits--;
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+          chars[length + i] = (char) ('0' + fraction % 10);
+          fraction /= 10;
+        }
+        length += digits;
+      }
+      return length;
+    }
+
+    String format(double value) {
+
+      int length = formatFixed(Math.round(value * scale), number);
+      return new String(number, 0, length);
+    }
+
+    String format(AffineTransform transform) {
+
+      // the translation with the precision of coordinates, the rest with more
+      return "matrix("
+          + transform.getScaleX()
+          + " "
+          + transform.getShearY()
+          + " "
+          + transform.getShearX()
+          + " "
+          + transform.getScaleY()
+          + " "
+          + format(transform.getTranslateX())
+          + " "
+          + format(transform.getTranslateY())
+          + ")";
+    }
+
+    /**
+     * Writes a clip path, unless it is the one written last
+     *
+     * @param clip - in device space
+     * @return the id of the clip path
+     */
+    String writeClip(Shape clip) {
+
+      if (clip == lastClip) {
+        return lastClipId;
+      }
+      endPath();
+      String id = "c" + nextId++;
+      write("<clipPath id=\"" + id + "\"><path d=\"");
+      isFirstSegment = true;
+      double[] coordinates = new double[6];
+      for (PathIterator iterator = clip.getPathIterator(null);
+          !iterator.isDone();
+          iterator.next()) {
+        switch (iterator.currentSegment(coordinates)) {
+          case PathIterator.SEG_MOVETO:
+            moveTo(coordinates[0], coordinates[1]);
+            break;
+          case PathIterator.SEG_LINETO:
+            lineTo(coordinates[0], coordinates[1], false);
+            break;
+          case PathIterator.SEG_QUADTO:
+            curveTo('q', coordinates, 4);
+            break;
+          case PathIterator.SEG_CUBICTO:
+            curveTo('c', coordinates, 6);
+            break;
+          default:
+            closePath();
+            break;
+        }
+      }
+      write("\"/></clipPath>\n");
+      lastClip = clip;
+      lastClipId = id;
+      return id;
+    }
+
+    /**
+     * Writes a linear gradient, unless it is the one written last
+     *
+     * @param paint - a GradientPaint or LinearGradientPaint
+     * @param transform - the transform of the gradient
+     * @return the id of the gradient
+     */
+    String writeGradient(Paint paint, AffineTransform transform) {
+
+      if (paint == lastGradient && transform.equals(lastGradientTransform)) {
+        return lastGradientId;
+      }
+      Point2D start;
+      Point2D end;
+      float[] fractions;
+      Color[] colors;
+      String spread = "pad";
+      if (paint instanceof GradientPaint) {
+        GradientPaint gradient = (GradientPaint) paint;
+        start = gradient.getPoint1();
+        end = gradient.getPoint2();
+        fractions = new float[] {0, 1};
+        colors = new Color[] {gradient.getColor1(), gradient.getColor2()};
+        if (gradient.isCyclic()) {
+          spread = "reflect";
+        }
+      } else {
+        LinearGradientPaint gradient = (LinearGradientPaint) paint;
+        start = gradient.getStartPoint();
+        end = gradient.getEndPoint();
+        fractions = gradient.getFractions();
+        colors = gradient.getColors();
+        if (gradient.getCycleMethod() == LinearGradientPaint.CycleMethod.REFLECT) {
+          spread = "reflect";
+        } else if (gradient.getCycleMethod() == LinearGradientPaint.CycleMethod.REPEAT) {
+          spread = "repeat";
+        }
+      }
+      endPath();
+      String id = "g" + nextId++;
+      StringBuilder definition = new StringBuilder("<linearGradient id=\"").append(id);
+      definition.append("\" gradientUnits=\"userSpaceOnUse\" spreadMethod=\"").append(spread);
+      definition.append("\" x1=\"").append(format(start.getX()));
+      definition.append("\" y1=\"").append(format(start.getY()));
+      definition.append("\" x2=\"").append(format(end.getX()));
+      definition.append("\" y2=\"").append(format(end.getY()));
+      definition.append("\" gradientTransform=\"").append(format(transform)).append("\">");
+      for (int i = 0; i < fractions.length; i++) {
+        definition.append("<stop offset=\"").append(fractions[i]);
+        definition.append("\" stop-color=\"").append(toHex(colors[i])).append('"');
+        if (colors[i].getAlpha() < 255) {
+          definition.append(" stop-opacity=\"").append(format(colors[i].getAlpha() / 255.0));
+          definition.append('"');
+        }
+        definition.append("/>");
+      }
+      write(definition.append("</linearGradient>\n").toString());
+      lastGradient = paint;
+      lastGradientTransform = new AffineTransform(transform);
+      lastGradientId = id;
+      return id;
+    }
+  }
+}
@@ -10,7 +10,8 @@ public abstract class Annotation implements ChartPart {
 
   protected Chart chart;
   protected Styler styler;
-  protected Rectangle2D bounds;
+  // set by every paint, the paints of a chart on several threads share it
+  protected volatile Rectangle2D bounds;
 
   public Annotation(boolean isValueInScreenSpace) {
     this.isValueInScreenSpace = isValueInScreenSpace;
@@ -22,6 +23,11 @@ public abstract class Annotation implements ChartPart {
     this.styler = chart.getStyler();
   }
 
+  /**
+   * Gets the bounds the annotation was painted with last
+   *
+   * @return the bounds, or null if not painted yet
+   */
   @Override
   public Rectangle2D getBounds() {
 
@@ -20,6 +20,8 @@ import org.knowm.xchart.HeatMapChart;
 import org.knowm.xchart.XYChart;
 import org.knowm.xchart.XYSeries;
 import org.knowm.xchart.internal.Utils;
+import org.knowm.xchart.internal.jfr.AxisTickCalculationEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
 import org.knowm.xchart.internal.series.AxesChartSeries;
 import org.knowm.xchart.internal.series.AxesChartSeriesCategory;
 import org.knowm.xchart.internal.series.Series;
@@ -386,11 +388,39 @@ public class Axis<ST extends AxesChartStyler, S extends AxesChartSeries> impleme
   }
 
   private AxisTickCalculator getAxisTickCalculator(double workingSpace) {
-    if (getDirection() == Direction.X) {
-      return getAxisTickCalculatorForX(workingSpace);
-    } else {
-      return getAxisTickCalculatorForY(workingSpace);
+
+    AxisTicks axisTicks = chart.getAxisTicks();
+    if (axisTicks != null) {
+      AxisTickCalculator ticks = axisTicks.get(getDirection(), index, workingSpace);
+      if (ticks != null) {
+        return ticks;
+      }
+    }
+
+    AxisTickCalculationEvent event = JfrEvents.beginAxisTickCalculation();
+    chart.startRenderPhase(ChartRenderStats.Phase.AXIS_TICKS);
+    AxisTickCalculator axisTickCalculator;
+    try {
+      if (getDirection() == Direction.X) {
+        axisTickCalculator = getAxisTickCalculatorForX(workingSpace);
+      } else {
+        axisTickCalculator = getAxisTickCalculatorForY(workingSpace);
+      }
+    } finally {
+      chart.endRenderPhase(ChartRenderStats.Phase.AXIS_TICKS);
+    }
+    if (event != null) {
+      event.end();
+      if (event.shouldCommit()) {
+        event.chartType = chart.getClass().getSimpleName();
+        event.direction = getDirection().name();
+        event.calculator = axisTickCalculator.getClass().getSimpleName();
+        event.workingSpace = (int) workingSpace;
+        event.tickCount = axisTickCalculator.getTickLocations().size();
+        event.commit();
+      }
     }
+    return axisTickCalculator;
   }
 
   private AxisTickCalculator getAxisTickCalculatorForY(double workingSpace) {
@@ -2,6 +2,7 @@ package org.knowm.xchart.internal.chartpart;
 
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
@@ -9,11 +10,14 @@ import java.util.TreeMap;
 import org.knowm.xchart.CategorySeries.CategorySeriesRenderStyle;
 import org.knowm.xchart.internal.series.AxesChartSeries;
 import org.knowm.xchart.internal.series.AxesChartSeriesCategory;
+import org.knowm.xchart.internal.series.AxesChartSeriesNumericalNoErrorBars;
+import org.knowm.xchart.internal.series.SeriesDataSnapshot;
 import org.knowm.xchart.style.AxesChartStyler;
 import org.knowm.xchart.style.BoxStyler;
 import org.knowm.xchart.style.CategoryStyler;
 import org.knowm.xchart.style.Styler.LegendPosition;
 import org.knowm.xchart.style.Styler.YAxisPosition;
+import org.knowm.xchart.style.XYStyler;
 
 public class AxisPair<ST extends AxesChartStyler, S extends AxesChartSeries> implements ChartPart {
 
@@ -48,6 +52,13 @@ public class AxisPair<ST extends AxesChartStyler, S extends AxesChartSeries> imp
   @Override
   public void paint(Graphics2D g) {
 
+    chart.startRenderPhase(ChartRenderStats.Phase.AXES);
+    paintAxes(g);
+    chart.endRenderPhase(ChartRenderStats.Phase.AXES);
+  }
+
+  private void paintAxes(Graphics2D g) {
+
     prepareForPaint();
 
     leftMainYAxis = null;
@@ -299,11 +310,24 @@ public class AxisPair<ST extends AxesChartStyler, S extends AxesChartSeries> imp
           disabledCount++;
           continue;
         }
-        xAxis.addMinMax(series.getXMin(), series.getXMax());
+        double xMin = series.getXMin();
+        double xMax = series.getXMax();
+        double yMin = series.getYMin();
+        double yMax = series.getYMax();
+        if (series instanceof AxesChartSeriesNumericalNoErrorBars) {
+          // read the bounds from one snapshot in case the data is being updated concurrently
+          SeriesDataSnapshot data =
+              ((AxesChartSeriesNumericalNoErrorBars) series).getDataSnapshot();
+          xMin = data.getXMin();
+          xMax = data.getXMax();
+          yMin = data.getYMin();
+          yMax = data.getYMax();
+        }
+        xAxis.addMinMax(xMin, xMax);
 
-        getYAxis(series.getYAxisGroup()).addMinMax(series.getYMin(), series.getYMax());
+        getYAxis(series.getYAxisGroup()).addMinMax(yMin, yMax);
         if (!mainYAxisUsed) {
-          yAxis.addMinMax(series.getYMin(), series.getYMax());
+          yAxis.addMinMax(yMin, yMax);
         }
       }
       if (disabledCount == chart.getSeriesMap().values().size()) {
@@ -370,6 +394,11 @@ public class AxisPair<ST extends AxesChartStyler, S extends AxesChartSeries> imp
     return yAxisMap.get(yIndex);
   }
 
+  Collection<Axis<ST, S>> getYAxes() {
+
+    return yAxisMap.values();
+  }
+
   /** Here we can add special case min max calculations and take care of manual min max settings. */
   private void overrideMinMaxForXAxis() {
 
@@ -384,6 +413,14 @@ public class AxisPair<ST extends AxesChartStyler, S extends AxesChartSeries> imp
 
       overrideXAxisMaxValue = chart.getStyler().getXAxisMax();
     }
+    // strip charts show a window of fixed width ending at the largest X value, on a linear X-Axis
+    if (chart.getStyler() instanceof XYStyler
+        && ((XYStyler) chart.getStyler()).getStripChartWindow() != null
+        && !chart.getStyler().isXAxisLogarithmic()) {
+
+      overrideXAxisMinValue =
+          overrideXAxisMaxValue - ((XYStyler) chart.getStyler()).getStripChartWindow();
+    }
     xAxis.setMin(overrideXAxisMinValue);
     xAxis.setMax(overrideXAxisMaxValue);
   }
@@ -0,0 +1,214 @@
+package org.knowm.xchart.internal.chartpart;
+
+import java.awt.Font;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.text.Format;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.knowm.xchart.internal.chartpart.Axis.Direction;
+import org.knowm.xchart.style.AxesChartStyler;
+
+/**
+ * The ticks the axes of a chart were painted with, to paint charts of the same size and axis ranges
+ * with them instead of calculating ticks from their own data. A large chart painted in parts, each
+ * a chart of its own, gets the same ticks on every part this way, and every part only the x-axis
+ * ticks near it, see {@link PlotContentTiler#setAxisTicks}. Outside of the chart parts the ticks
+ * can only be passed on.
+ */
+public final class AxisTicks {
+
+  private final Ticks xAxisTicks;
+  private final Map<Integer, Ticks> yAxisTicks;
+
+  // the x coordinate the locations of the x-axis ticks start at
+  private final double xOffset;
+
+  // how far a tick label reaches from its tick at most
+  private final double labelReach;
+
+  // the x-axis ticks the layout depends on: the first with the longest label, which the height of
+  // the x-axis is calculated from, and the one with the tallest label, which the labels are
+  // aligned to
+  private final int[] layoutTicks;
+
+  /**
+   * Constructor
+   *
+   * @param xAxis
+   * @param yAxes
+   * @param styler
+   */
+  AxisTicks(Axis<?, ?> xAxis, Collection<? extends Axis<?, ?>> yAxes, AxesChartStyler styler) {
+
+    xAxisTicks = new Ticks(xAxis.getAxisTickCalculator(), xAxis.getBounds().getWidth());
+    yAxisTicks = new HashMap<>();
+    for (Axis<?, ?> yAxis : yAxes) {
+      yAxisTicks.put(
+          yAxis.getYIndex(),
+          new Ticks(yAxis.getAxisTickCalculator(), yAxis.getBounds().getHeight()));
+    }
+    xOffset = xAxis.getBounds().getX();
+
+    Font font = styler.getAxisTickLabelsFont();
+    FontRenderContext frc = new FontRenderContext(null, true, false);
+    AffineTransform rot =
+        AffineTransform.getRotateInstance(-1 * Math.toRadians(styler.getXAxisLabelRotation()));
+    int longest = -1;
+    int tallest = -1;
+    double tallestHeight = 0;
+    double reach = 0;
+    for (int i = 0; i < xAxisTicks.tickLabels.size(); i++) {
+      String tickLabel = xAxisTicks.tickLabels.get(i);
+      if (tickLabel == null || tickLabel.isEmpty()) {
+        continue;
+      }
+      if (longest < 0 || tickLabel.length() > xAxisTicks.tickLabels.get(longest).length()) {
+        longest = i;
+      }
+      Shape shape = new TextLayout(tickLabel, font, frc).getOutline(rot);
+      Rectangle2D tickLabelBounds = shape.getBounds2D();
+      if (tallest < 0 || tickLabelBounds.getHeight() > tallestHeight) {
+        tallest = i;
+        tallestHeight = tickLabelBounds.getHeight();
+      }
+      reach = Math.max(reach, tickLabelBounds.getWidth() + tickLabelBounds.getHeight() + 1);
+    }
+    labelReach = reach;
+    layoutTicks = longest < 0 ? new int[0] : new int[] {longest, tallest};
+  }
+
+  private AxisTicks(
+      Ticks xAxisTicks,
+      Map<Integer, Ticks> yAxisTicks,
+      double xOffset,
+      double labelReach,
+      int[] layoutTicks) {
+
+    this.xAxisTicks = xAxisTicks;
+    this.yAxisTicks = yAxisTicks;
+    this.xOffset = xOffset;
+    this.labelReach = labelReach;
+    this.layoutTicks = layoutTicks;
+  }
+
+  /**
+   * Gets the ticks with only the x-axis ticks painted between two x coordinates, by their tick
+   * mark, grid line or label. The ticks the layout of the axes depends on are kept as well, so the
+   * chart is laid out the same.
+   *
+   * @param fromX
+   * @param toX
+   * @return the ticks
+   */
+  AxisTicks between(double fromX, double toX) {
+
+    // the tick with the longest label goes first, the x-axis height is calculated from it
+    List<Integer> kept = new ArrayList<>();
+    for (int layoutTick : layoutTicks) {
+      if (!kept.contains(layoutTick)) {
+        kept.add(layoutTick);
+      }
+    }
+    for (int i = 0; i < xAxisTicks.tickLocations.size(); i++) {
+      double x = xOffset + xAxisTicks.tickLocations.get(i);
+      if (x >= fromX - labelReach && x <= toX + labelReach && !kept.contains(i)) {
+        kept.add(i);
+      }
+    }
+    List<Double> tickLocations = new ArrayList<>(kept.size());
+    List<String> tickLabels = new ArrayList<>(kept.size());
+    for (int i : kept) {
+      tickLocations.add(xAxisTicks.tickLocations.get(i));
+      tickLabels.add(xAxisTicks.tickLabels.get(i));
+    }
+    int[] keptLayoutTicks = new int[layoutTicks.length];
+    for (int k = 0; k < layoutTicks.length; k++) {
+      keptLayoutTicks[k] = kept.indexOf(layoutTicks[k]);
+    }
+    Ticks ticks =
+        new Ticks(tickLocations, tickLabels, xAxisTicks.axisFormat, xAxisTicks.workingSpace);
+    return new AxisTicks(ticks, yAxisTicks, xOffset, labelReach, keptLayoutTicks);
+  }
+
+  /**
+   * Gets the ticks of an axis
+   *
+   * @param direction
+   * @param yIndex
+   * @param workingSpace - the size of the axis painted, the tick locations are scaled to it
+   * @return the ticks, or null for y-axes without ticks
+   */
+  AxisTickCalculator get(Direction direction, int yIndex, double workingSpace) {
+
+    Ticks ticks = direction == Direction.X ? xAxisTicks : yAxisTicks.get(yIndex);
+    return ticks == null ? null : ticks.forWorkingSpace(workingSpace);
+  }
+
+  /** The ticks of one axis */
+  private static final class Ticks implements AxisTickCalculator {
+
+    private final List<Double> tickLocations;
+    private final List<String> tickLabels;
+    private final Format axisFormat;
+    private final double workingSpace;
+
+    Ticks(AxisTickCalculator axisTickCalculator, double workingSpace) {
+
+      this(
+          new ArrayList<>(axisTickCalculator.getTickLocations()),
+          new ArrayList<>(axisTickCalculator.getTickLabels()),
+          axisTickCalculator.getAxisFormat(),
+          workingSpace);
+    }
+
+    Ticks(
+        List<Double> tickLocations,
+        List<String> tickLabels,
+        Format axisFormat,
+        double workingSpace) {
+
+      this.tickLocations = tickLocations;
+      this.tickLabels = tickLabels;
+      this.axisFormat = axisFormat;
+      this.workingSpace = workingSpace;
+    }
+
+    /** The ticks for an axis of another size, the tick locations grow with the working space */
+    Ticks forWorkingSpace(double workingSpace) {
+
+      if (workingSpace == this.workingSpace || !(this.workingSpace > 0)) {
+        return this;
+      }
+      List<Double> scaledLocations = new ArrayList<>(tickLocations.size());
+      for (double tickLocation : tickLocations) {
+        scaledLocations.add(tickLocation * workingSpace / this.workingSpace);
+      }
+      return new Ticks(scaledLocations, tickLabels, axisFormat, workingSpace);
+    }
+
+    @Override
+    public List<Double> getTickLocations() {
+
+      return tickLocations;
+    }
+
+    @Override
+    public List<String> getTickLabels() {
+
+      return tickLabels;
+    }
+
+    @Override
+    public Format getAxisFormat() {
+
+      return axisFormat;
+    }
+  }
+}
@@ -6,11 +6,16 @@ import java.awt.Shape;
 import java.awt.geom.Rectangle2D;
 import java.text.DecimalFormat;
 import java.text.Format;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
+import org.knowm.xchart.internal.jfr.ChartPaintEvent;
+import org.knowm.xchart.internal.jfr.ChartPaintPhaseEvent;
+import org.knowm.xchart.internal.jfr.JfrEvents;
 import org.knowm.xchart.internal.series.Series;
 import org.knowm.xchart.style.AxesChartStyler;
 import org.knowm.xchart.style.Styler;
@@ -18,10 +23,15 @@ import org.knowm.xchart.style.Styler;
 /** An XChart Chart */
 public abstract class Chart<ST extends Styler, S extends Series> {
 
+  // the render context of the paint running on this thread
+  private static final ThreadLocal<RenderContext<?, ?>> CURRENT_RENDER_CONTEXT =
+      new ThreadLocal<>();
+
   protected final ST styler;
   protected final ChartTitle<ST, S> chartTitle;
   protected final Map<String, S> seriesMap = new LinkedHashMap<>();
-  protected final ArrayList<ChartPart> annotations = new ArrayList<>();
+  // shared by all render contexts, and added to while the chart may be painted
+  protected final List<ChartPart> annotations = new CopyOnWriteArrayList<>();
 
   /** Chart Parts */
   // TODO maybe move this to a secondary abstract class for inheritors with axes. Pie charts don't
@@ -44,6 +54,20 @@ public abstract class Chart<ST extends Styler, S extends Series> {
   // TODO Does this belong here for all chart types?
   private final Map<Integer, String> yAxisGroupTitleMap = new HashMap<>();
 
+  // the ticks of the axes if they are not calculated from the data
+  private AxisTicks axisTicks;
+
+  // null unless enabled, so painting without stats costs nothing
+  private volatile ChartRenderStats renderStats;
+
+  /** Render contexts */
+  // held by the paint using the chart parts above
+  private final ReentrantLock paintLock = new ReentrantLock();
+
+  // held while the series are prepared for painting
+  private final Object seriesLock = new Object();
+  private volatile RenderContext<ST, S> primaryRenderContext;
+
   /**
    * Constructor
    *
@@ -61,7 +85,267 @@ public abstract class Chart<ST extends Styler, S extends Series> {
     this.chartTitle = new ChartTitle<ST, S>(this);
   }
 
-  public abstract void paint(Graphics2D g, int width, int height);
+  /**
+   * Paint the chart. This method can be called from several threads at once: the first paint uses
+   * the chart parts of the chart, any paint starting while it runs lays the chart out again in a
+   * {@link RenderContext} of its own. The series must not be changed while they are painted, except
+   * for the data of XY series, which can be updated at any time.
+   *
+   * @param g
+   * @param width
+   * @param height
+   */
+  public void paint(Graphics2D g, int width, int height) {
+
+    // the series styles are assigned to the series themselves
+    synchronized (seriesLock) {
+      prepareSeries();
+    }
+
+    boolean isPrimary = paintLock.tryLock();
+    RenderContext<ST, S> renderContext = null;
+    if (!isPrimary) {
+      renderContext = createRenderContext();
+      if (renderContext == null) {
+        // this chart type can't be laid out twice, wait for the running paint
+        paintLock.lock();
+        isPrimary = true;
+      }
+    }
+    if (isPrimary) {
+      setWidth(width);
+      setHeight(height);
+      renderContext = getPrimaryRenderContext();
+    }
+    renderContext.width = width;
+    renderContext.height = height;
+
+    RenderContext<?, ?> previousRenderContext = setCurrentRenderContext(renderContext);
+    try {
+      startRender(renderContext);
+      doPaint(g);
+      endRender(renderContext);
+    } finally {
+      setCurrentRenderContext(previousRenderContext);
+      if (isPrimary) {
+        paintLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Prepare the series for painting, for example by assigning the default styles to series which
+   * have none. Only one paint at a time calls this.
+   */
+  protected abstract void prepareSeries();
+
+  /**
+   * Paint the chart parts of the current render context, which are returned by the getters of the
+   * chart parts
+   *
+   * @param g
+   */
+  protected abstract void doPaint(Graphics2D g);
+
+  /**
+   * Create new chart parts, so the chart can be painted while another paint is running. Chart types
+   * returning null are painted one after the other.
+   *
+   * @return a new render context
+   */
+  protected RenderContext<ST, S> createRenderContext() {
+
+    return null;
+  }
+
+  private RenderContext<ST, S> getPrimaryRenderContext() {
+
+    // the chart parts are created by the constructors of the subclasses
+    if (primaryRenderContext == null) {
+      primaryRenderContext = new RenderContext<>(this, chartTitle, axisPair, plot, legend);
+    }
+    return primaryRenderContext;
+  }
+
+  /**
+   * Gets the render context of the paint running on this thread
+   *
+   * @return the render context, the one of the chart's own parts if the chart isn't painted
+   */
+  @SuppressWarnings("unchecked")
+  RenderContext<ST, S> getRenderContext() {
+
+    RenderContext<?, ?> renderContext = CURRENT_RENDER_CONTEXT.get();
+    if (renderContext != null && renderContext.chart == this) {
+      return (RenderContext<ST, S>) renderContext;
+    }
+    return getPrimaryRenderContext();
+  }
+
+  /**
+   * Sets the render context of this thread, used to paint on several threads within one paint
+   *
+   * @param renderContext
+   * @return the previous render context
+   */
+  static RenderContext<?, ?> setCurrentRenderContext(RenderContext<?, ?> renderContext) {
+
+    RenderContext<?, ?> previousRenderContext = CURRENT_RENDER_CONTEXT.get();
+    if (renderContext == null) {
+      CURRENT_RENDER_CONTEXT.remove();
+    } else {
+      CURRENT_RENDER_CONTEXT.set(renderContext);
+    }
+    return previousRenderContext;
+  }
+
+  /**
+   * Enable or disable collecting timings and counters of every paint
+   *
+   * @param renderStatsEnabled
+   */
+  public void setRenderStatsEnabled(boolean renderStatsEnabled) {
+
+    if (renderStatsEnabled && renderStats == null) {
+      renderStats = new ChartRenderStats();
+    } else if (!renderStatsEnabled) {
+      renderStats = null;
+    }
+  }
+
+  /**
+   * Gets the timings and counters of the paints of this chart
+   *
+   * @return the stats, or null if they are not enabled
+   */
+  public ChartRenderStats getRenderStats() {
+
+    return renderStats;
+  }
+
+  /**
+   * Creates a chart of the same type, size and styling without any series or annotations. The
+   * styler is copied, so the new chart can be changed without affecting this one. Use it, or a
+   * {@link org.knowm.xchart.ChartTemplate}, to create many charts with the same styling quickly.
+   *
+   * @return the new chart
+   */
+  public abstract Chart<ST, S> copyWithoutSeries();
+
+  /**
+   * Copies the styler of this chart for {@link #copyWithoutSeries()}
+   *
+   * @return a copy of the styler
+   */
+  @SuppressWarnings("unchecked")
+  protected ST copyStyler() {
+
+    // a styler's copy has the class of the styler
+    return (ST) styler.clone();
+  }
+
+  /**
+   * Copies the titles of this chart to a chart created by {@link #copyWithoutSeries()}
+   *
+   * @param chart
+   * @return the chart
+   */
+  protected <C extends Chart<ST, S>> C copyTitles(C chart) {
+
+    Chart<ST, S> copy = chart;
+    copy.title = title;
+    copy.xAxisTitle = xAxisTitle;
+    copy.yAxisTitle = yAxisTitle;
+    copy.yAxisGroupTitleMap.putAll(yAxisGroupTitleMap);
+    return chart;
+  }
+
+  private void startRender(RenderContext<ST, S> renderContext) {
+
+    renderContext.paintEvent = JfrEvents.beginChartPaint();
+    ChartRenderStats stats = renderStats;
+    renderContext.statsRecorder = stats == null ? null : stats.startPaint();
+  }
+
+  private void endRender(RenderContext<ST, S> renderContext) {
+
+    ChartRenderStats stats = renderStats;
+    if (stats != null && renderContext.statsRecorder != null) {
+      stats.endPaint(renderContext.statsRecorder);
+    }
+    renderContext.statsRecorder = null;
+    ChartPaintEvent paintEvent = renderContext.paintEvent;
+    if (paintEvent != null) {
+      paintEvent.end();
+      if (paintEvent.shouldCommit()) {
+        paintEvent.setChart(this);
+        paintEvent.commit();
+      }
+      renderContext.paintEvent = null;
+    }
+  }
+
+  void startRenderPhase(ChartRenderStats.Phase phase) {
+
+    RenderContext<ST, S> renderContext = getRenderContext();
+    ChartPaintPhaseEvent event = JfrEvents.beginChartPaintPhase();
+    if (event != null) {
+      if (renderContext.paintPhaseEvents == null) {
+        renderContext.paintPhaseEvents =
+            new ChartPaintPhaseEvent[ChartRenderStats.Phase.values().length];
+      }
+      renderContext.paintPhaseEvents[phase.ordinal()] = event;
+    }
+    if (renderContext.statsRecorder != null) {
+      renderContext.statsRecorder.startPhase(phase);
+    }
+  }
+
+  void endRenderPhase(ChartRenderStats.Phase phase) {
+
+    RenderContext<ST, S> renderContext = getRenderContext();
+    if (renderContext.statsRecorder != null) {
+      renderContext.statsRecorder.endPhase(phase);
+    }
+    ChartPaintPhaseEvent event =
+        renderContext.paintPhaseEvents == null
+            ? null
+            : renderContext.paintPhaseEvents[phase.ordinal()];
+    if (event != null) {
+      event.end();
+      if (event.shouldCommit()) {
+        event.chartType = getClass().getSimpleName();
+        event.phase = phase.name();
+        event.commit();
+      }
+      renderContext.paintPhaseEvents[phase.ordinal()] = null;
+    }
+  }
+
+  void addRenderedPoints(long drawn, long culled) {
+
+    ChartRenderStats.Recorder statsRecorder = getRenderContext().statsRecorder;
+    if (statsRecorder != null && PlotContentTiler.isPaintingTile()) {
+      statsRecorder.addTilePoints(drawn, culled);
+    } else if (statsRecorder != null) {
+      statsRecorder.addPoints(drawn, culled);
+    }
+  }
+
+  void addRenderCacheLookup(boolean hit) {
+
+    ChartRenderStats stats = renderStats;
+    if (stats != null) {
+      stats.addCacheLookup(hit);
+    }
+  }
+
+  protected void paintAnnotations(Graphics2D g) {
+
+    startRenderPhase(ChartRenderStats.Phase.ANNOTATIONS);
+    annotations.forEach(x -> x.paint(g));
+    endRenderPhase(ChartRenderStats.Phase.ANNOTATIONS);
+  }
 
   protected void paintBackground(Graphics2D g) {
 
@@ -98,7 +382,8 @@ public abstract class Chart<ST extends Styler, S extends Series> {
   /** Getters and Setters */
   public int getWidth() {
 
-    return width;
+    RenderContext<?, ?> renderContext = CURRENT_RENDER_CONTEXT.get();
+    return renderContext != null && renderContext.chart == this ? renderContext.width : width;
   }
 
   protected void setWidth(int width) {
@@ -108,7 +393,8 @@ public abstract class Chart<ST extends Styler, S extends Series> {
 
   public int getHeight() {
 
-    return height;
+    RenderContext<?, ?> renderContext = CURRENT_RENDER_CONTEXT.get();
+    return renderContext != null && renderContext.chart == this ? renderContext.height : height;
   }
 
   protected void setHeight(int height) {
@@ -163,6 +449,13 @@ public abstract class Chart<ST extends Styler, S extends Series> {
     yAxisGroupTitleMap.put(yAxisGroup, yAxisTitle);
   }
 
+  /**
+   * Adds an annotation. Annotations can be added while the chart is painted, unlike series. They
+   * are not laid out per {@link RenderContext}: when the chart is painted on several threads at
+   * once, every paint paints the same annotations and their bounds are those of the last paint.
+   *
+   * @param annotation
+   */
   public void addAnnotation(Annotation annotation) {
 
     annotations.add(annotation);
@@ -189,48 +482,48 @@ public abstract class Chart<ST extends Styler, S extends Series> {
     axesChartStyler.setyAxisTickLabelsFormattingFunction(customFormattingFunction);
   }
 
-  /** Chart Parts Getters */
-  ChartTitle<ST, S> getChartTitle() {
+  /** Chart Parts Getters, returning the parts of the paint running on this thread */
+  protected ChartTitle<ST, S> getChartTitle() {
 
-    return chartTitle;
+    return getRenderContext().chartTitle;
   }
 
-  Legend_<ST, S> getLegend() {
+  protected Legend_<ST, S> getLegend() {
 
-    return legend;
+    return getRenderContext().legend;
   }
 
-  Plot_<ST, S> getPlot() {
+  protected Plot_<ST, S> getPlot() {
 
-    return plot;
+    return getRenderContext().plot;
   }
 
   Axis getXAxis() {
 
-    return axisPair.getXAxis();
+    return getAxisPair().getXAxis();
   }
 
   Axis getYAxis() {
 
-    return axisPair.getYAxis();
+    return getAxisPair().getYAxis();
   }
 
   Axis getYAxis(int yIndex) {
 
-    return axisPair.getYAxis(yIndex);
+    return getAxisPair().getYAxis(yIndex);
   }
 
-  AxisPair getAxisPair() {
+  protected AxisPair getAxisPair() {
 
-    return axisPair;
+    return getRenderContext().axisPair;
   }
 
   Format getXAxisFormat() {
-    return axisPair.getXAxis().getAxisTickCalculator().getAxisFormat();
+    return getAxisPair().getXAxis().getAxisTickCalculator().getAxisFormat();
   }
 
   Format getYAxisFormat() {
-    return axisPair.getYAxis().getAxisTickCalculator().getAxisFormat();
+    return getAxisPair().getYAxis().getAxisTickCalculator().getAxisFormat();
   }
 
   // TODO investigate this
@@ -239,17 +532,48 @@ public abstract class Chart<ST extends Styler, S extends Series> {
     if (yAxisDecimalPattern != null) {
       format = new DecimalFormat(yAxisDecimalPattern);
     } else {
-      format = axisPair.getYAxis().getAxisTickCalculator().getAxisFormat();
+      format = getAxisPair().getYAxis().getAxisTickCalculator().getAxisFormat();
     }
     return format;
   }
 
+  /**
+   * Gets the ticks the axes were painted with last, see {@link
+   * PlotContentTiler#getPaintedAxisTicks}
+   *
+   * @return the ticks, or null for charts without axes or not painted yet
+   */
+  AxisTicks getPaintedAxisTicks() {
+
+    if (axisPair == null || getAxisPair().getXAxis().getAxisTickCalculator() == null) {
+      return null;
+    }
+    return new AxisTicks(
+        getAxisPair().getXAxis(), getAxisPair().getYAxes(), (AxesChartStyler) styler);
+  }
+
+  /**
+   * Sets the ticks to paint the axes with instead of calculating them from the data, see {@link
+   * PlotContentTiler#setAxisTicks}
+   *
+   * @param axisTicks - the ticks, or null to calculate them
+   */
+  void setAxisTicks(AxisTicks axisTicks) {
+
+    this.axisTicks = axisTicks;
+  }
+
+  AxisTicks getAxisTicks() {
+
+    return axisTicks;
+  }
+
   public double getChartXFromCoordinate(int screenX) {
 
     if (axisPair == null) {
       return Double.NaN;
     }
-    return axisPair.getXAxis().getChartValue(screenX);
+    return getAxisPair().getXAxis().getChartValue(screenX);
   }
 
   public double getChartYFromCoordinate(int screenY) {
@@ -257,7 +581,7 @@ public abstract class Chart<ST extends Styler, S extends Series> {
     if (axisPair == null) {
       return Double.NaN;
     }
-    return axisPair.getYAxis().getChartValue(screenY);
+    return getAxisPair().getYAxis().getChartValue(screenY);
   }
 
   public double getChartYFromCoordinate(int screenY, int yIndex) {
@@ -265,7 +589,7 @@ public abstract class Chart<ST extends Styler, S extends Series> {
     if (axisPair == null) {
       return Double.NaN;
     }
-    return axisPair.getYAxis(yIndex).getChartValue(screenY);
+    return getAxisPair().getYAxis(yIndex).getChartValue(screenY);
   }
 
   public double getScreenXFromChart(double xValue) {
@@ -273,7 +597,7 @@ public abstract class Chart<ST extends Styler, S extends Series> {
     if (axisPair == null) {
       return Double.NaN;
     }
-    return axisPair.getXAxis().getScreenValue(xValue);
+    return getAxisPair().getXAxis().getScreenValue(xValue);
   }
 
   public double getScreenYFromChart(double yValue) {
@@ -281,7 +605,7 @@ public abstract class Chart<ST extends Styler, S extends Series> {
     if (axisPair == null) {
       return Double.NaN;
     }
-    return axisPair.getYAxis().getScreenValue(yValue);
+    return getAxisPair().getYAxis().getScreenValue(yValue);
   }
 
   public double getScreenYFromChart(double yValue, int yIndex) {
@@ -289,7 +613,7 @@ public abstract class Chart<ST extends Styler, S extends Series> {
     if (axisPair == null) {
       return Double.NaN;
     }
-    return axisPair.getYAxis(yIndex).getScreenValue(yValue);
+    return getAxisPair().getYAxis(yIndex).getScreenValue(yValue);
   }
 
   //  ArrayList<ChartPart> getAnnotations() {
@@ -305,6 +629,20 @@ public abstract class Chart<ST extends Styler, S extends Series> {
   }
 
   // TODO remove this?
+  /**
+   * Gets the number of data points of all series
+   *
+   * @return the number of data points
+   */
+  public long getDataPointCount() {
+
+    long dataPointCount = 0;
+    for (S series : seriesMap.values()) {
+      dataPointCount += series.getDataPointCount();
+    }
+    return dataPointCount;
+  }
+
   public Map<String, S> getSeriesMap() {
 
     return seriesMap;
@@ -0,0 +1,375 @@
+package org.knowm.xchart.internal.chartpart;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Timings and counters of the paints of a chart. Enable it with {@link
+ * Chart#setRenderStatsEnabled(boolean)}; after every paint the values of that paint can be read
+ * here, and the durations are collected in histograms over all paints since the last {@link
+ * #reset()}.
+ *
+ * <p>Phases can be nested: the time calculating the axis ticks is part of {@link Phase#AXES} and
+ * the time painting tool tips is part of {@link Phase#PLOT_CONTENT}. Allocated bytes are an
+ * estimate taken from the thread running the paint, so plot content painted on other threads (see
+ * {@link PlotContentTiler}) is not included. They are -1 if the JVM can't measure them.
+ */
+public final class ChartRenderStats {
+
+  /** The parts of a paint which are timed */
+  public enum Phase {
+    AXES,
+    AXIS_TICKS,
+    PLOT_CONTENT,
+    TOOLTIPS,
+    LEGEND,
+    TITLE,
+    ANNOTATIONS
+  }
+
+  private static final Phase[] PHASES = Phase.values();
+
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+  // the last finished paint
+  private long paintCount;
+  private long lastPaintNanos;
+  private long lastAllocatedBytes;
+  private final long[] lastPhaseNanos = new long[PHASES.length];
+  private final long[] lastPhaseBytes = new long[PHASES.length];
+  private long lastPointsDrawn;
+  private long lastPointsCulled;
+
+  // lookups of cached plot content over all paints
+  private final AtomicLong cacheHits = new AtomicLong();
+  private final AtomicLong cacheMisses = new AtomicLong();
+
+  private final Histogram paintHistogram = new Histogram();
+  private final Histogram[] phaseHistograms = new Histogram[PHASES.length];
+
+  /** Constructor */
+  ChartRenderStats() {
+
+    for (int i = 0; i < phaseHistograms.length; i++) {
+      phaseHistograms[i] = new Histogram();
+    }
+  }
+
+  private static com.sun.management.ThreadMXBean getThreadMXBean() {
+
+    try {
+      if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (threadMXBean.isThreadAllocatedMemorySupported()
+            && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+          return threadMXBean;
+        }
+      }
+    } catch (LinkageError | SecurityException e) {
+      // not measurable on this JVM
+    }
+    return null;
+  }
+
+  private static long getAllocatedBytes() {
+
+    return THREAD_MX_BEAN == null ? -1 : THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+  }
+
+  /**
+   * Start recording a paint. Paints running at the same time each record into their own recorder.
+   *
+   * @return the recorder of the paint
+   */
+  Recorder startPaint() {
+
+    return new Recorder();
+  }
+
+  void addCacheLookup(boolean hit) {
+
+    (hit ? cacheHits : cacheMisses).incrementAndGet();
+  }
+
+  synchronized void endPaint(Recorder recorder) {
+
+    lastPaintNanos = System.nanoTime() - recorder.paintStartNanos;
+    lastAllocatedBytes =
+        THREAD_MX_BEAN == null ? -1 : getAllocatedBytes() - recorder.paintStartBytes;
+    for (int i = 0; i < PHASES.length; i++) {
+      lastPhaseNanos[i] = recorder.phaseNanos[i];
+      lastPhaseBytes[i] = THREAD_MX_BEAN == null ? -1 : recorder.phaseBytes[i];
+      phaseHistograms[i].add(recorder.phaseNanos[i]);
+    }
+    lastPointsDrawn = recorder.pointsDrawn.get();
+    lastPointsCulled = recorder.pointsCulled.get();
+    paintHistogram.add(lastPaintNanos);
+    paintCount++;
+  }
+
+  /**
+   * Gets the number of paints since the last reset
+   *
+   * @return the number of paints
+   */
+  public synchronized long getPaintCount() {
+
+    return paintCount;
+  }
+
+  /**
+   * Gets the duration of the last paint
+   *
+   * @return the duration in nanoseconds
+   */
+  public synchronized long getLastPaintNanos() {
+
+    return lastPaintNanos;
+  }
+
+  /**
+   * Gets the time spent in a phase during the last paint
+   *
+   * @param phase
+   * @return the duration in nanoseconds, 0 if the phase didn't run
+   */
+  public synchronized long getLastPhaseNanos(Phase phase) {
+
+    return lastPhaseNanos[phase.ordinal()];
+  }
+
+  /**
+   * Gets the estimated number of bytes allocated by the last paint
+   *
+   * @return the bytes, or -1 if not measurable
+   */
+  public synchronized long getLastAllocatedBytes() {
+
+    return lastAllocatedBytes;
+  }
+
+  /**
+   * Gets the estimated number of bytes allocated in a phase during the last paint
+   *
+   * @param phase
+   * @return the bytes, or -1 if not measurable
+   */
+  public synchronized long getLastPhaseAllocatedBytes(Phase phase) {
+
+    return lastPhaseBytes[phase.ordinal()];
+  }
+
+  /**
+   * Gets the number of data points painted during the last paint. Plot content painted in tiles
+   * counts each point once, like a paint without tiles.
+   *
+   * @return the number of points
+   */
+  public synchronized long getLastPointsDrawn() {
+
+    return lastPointsDrawn;
+  }
+
+  /**
+   * Gets the number of data points skipped during the last paint, because they were outside of the
+   * visible axis range or already painted
+   *
+   * @return the number of points
+   */
+  public synchronized long getLastPointsCulled() {
+
+    return lastPointsCulled;
+  }
+
+  /**
+   * Gets the number of paints since the last reset which could reuse cached plot content, like the
+   * image kept for incremental rendering of XY charts
+   *
+   * @return the number of cache hits
+   */
+  public long getCacheHitCount() {
+
+    return cacheHits.get();
+  }
+
+  /**
+   * Gets the number of paints since the last reset which had to paint cacheable plot content from
+   * scratch
+   *
+   * @return the number of cache misses
+   */
+  public long getCacheMissCount() {
+
+    return cacheMisses.get();
+  }
+
+  /**
+   * Gets the durations of all paints since the last reset
+   *
+   * @return a copy of the histogram
+   */
+  public synchronized Histogram getPaintHistogram() {
+
+    return new Histogram(paintHistogram);
+  }
+
+  /**
+   * Gets the durations of a phase over all paints since the last reset
+   *
+   * @param phase
+   * @return a copy of the histogram
+   */
+  public synchronized Histogram getPhaseHistogram(Phase phase) {
+
+    return new Histogram(phaseHistograms[phase.ordinal()]);
+  }
+
+  /** Clears the values of the last paint and all histograms */
+  public synchronized void reset() {
+
+    paintCount = 0;
+    lastPaintNanos = 0;
+    lastAllocatedBytes = 0;
+    Arrays.fill(lastPhaseNanos, 0);
+    Arrays.fill(lastPhaseBytes, 0);
+    lastPointsDrawn = 0;
+    lastPointsCulled = 0;
+    cacheHits.set(0);
+    cacheMisses.set(0);
+    paintHistogram.clear();
+    for (Histogram histogram : phaseHistograms) {
+      histogram.clear();
+    }
+  }
+
+  /** The values of one paint in progress, only touched by the painting thread */
+  static final class Recorder {
+
+    private final long paintStartNanos;
+    private final long paintStartBytes;
+    private final long[] phaseStartNanos = new long[PHASES.length];
+    private final long[] phaseStartBytes = new long[PHASES.length];
+    private final long[] phaseNanos = new long[PHASES.length];
+    private final long[] phaseBytes = new long[PHASES.length];
+    // plot content may be painted on several threads
+    private final AtomicLong pointsDrawn = new AtomicLong();
+    private final AtomicLong pointsCulled = new AtomicLong();
+    private final AtomicBoolean tilePointsAdded = new AtomicBoolean();
+
+    private Recorder() {
+
+      paintStartBytes = getAllocatedBytes();
+      paintStartNanos = System.nanoTime();
+    }
+
+    void startPhase(Phase phase) {
+
+      phaseStartBytes[phase.ordinal()] = getAllocatedBytes();
+      phaseStartNanos[phase.ordinal()] = System.nanoTime();
+    }
+
+    void endPhase(Phase phase) {
+
+      int i = phase.ordinal();
+      phaseNanos[i] += System.nanoTime() - phaseStartNanos[i];
+      if (THREAD_MX_BEAN != null) {
+        phaseBytes[i] += getAllocatedBytes() - phaseStartBytes[i];
+      }
+    }
+
+    void addPoints(long drawn, long culled) {
+
+      pointsDrawn.addAndGet(drawn);
+      pointsCulled.addAndGet(culled);
+    }
+
+    /**
+     * Adds the points of a tile. Every tile goes through all points of the plot content and counts
+     * the same, so only the points of the first tile are added.
+     */
+    void addTilePoints(long drawn, long culled) {
+
+      if (tilePointsAdded.compareAndSet(false, true)) {
+        addPoints(drawn, culled);
+      }
+    }
+  }
+
+  /**
+   * Durations in nanoseconds counted in power of two buckets, so a percentile is accurate to a
+   * factor of two. Count, mean and max are exact.
+   */
+  public static final class Histogram {
+
+    private final long[] buckets = new long[64];
+    private long count;
+    private long sum;
+    private long max;
+
+    Histogram() {}
+
+    Histogram(Histogram histogram) {
+
+      System.arraycopy(histogram.buckets, 0, buckets, 0, buckets.length);
+      count = histogram.count;
+      sum = histogram.sum;
+      max = histogram.max;
+    }
+
+    void add(long nanos) {
+
+      buckets[64 - Long.numberOfLeadingZeros(Math.max(nanos, 0))]++;
+      count++;
+      sum += nanos;
+      max = Math.max(max, nanos);
+    }
+
+    void clear() {
+
+      Arrays.fill(buckets, 0);
+      count = 0;
+      sum = 0;
+      max = 0;
+    }
+
+    public long getCount() {
+
+      return count;
+    }
+
+    public double getMean() {
+
+      return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public long getMax() {
+
+      return max;
+    }
+
+    /**
+     * Gets the upper bound of the bucket containing the given percentile
+     *
+     * @param percentile between 0 and 100
+     * @return the duration in nanoseconds, never more than the max
+     */
+    public long getPercentile(double percentile) {
+
+      if (percentile < 0 || percentile > 100) {
+        throw new IllegalArgumentException("Percentile must be between 0 and 100!!!");
+      }
+      long rank = (long) Math.ceil(percentile / 100 * count);
+      long seen = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        seen += buckets[i];
+        if (seen >= rank && seen > 0) {
+          return i == 0 ? 0 : Math.min((1L << i) - 1, max);
+        }
+      }
+      return max;
+    }
+  }
+}
@@ -27,6 +27,13 @@ public class ChartTitle<ST extends Styler, S extends Series> implements ChartPar
   @Override
   public void paint(Graphics2D g) {
 
+    chart.startRenderPhase(ChartRenderStats.Phase.TITLE);
+    paintTitle(g);
+    chart.endRenderPhase(ChartRenderStats.Phase.TITLE);
+  }
+
+  private void paintTitle(Graphics2D g) {
+
     g.setFont(chart.getStyler().getChartTitleFont());
 
     if (!chart.getStyler().isChartTitleVisible() || chart.getTitle().length() == 0) {
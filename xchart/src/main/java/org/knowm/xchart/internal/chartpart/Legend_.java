@@ -39,6 +39,13 @@ public abstract class Legend_<ST extends Styler, S extends Series> implements Ch
   @Override
   public void paint(Graphics2D g) {
 
+    chart.startRenderPhase(ChartRenderStats.Phase.LEGEND);
+    paintLegend(g);
+    chart.endRenderPhase(ChartRenderStats.Phase.LEGEND);
+  }
+
+  void paintLegend(Graphics2D g) {
+
     if (!chart.getStyler().isLegendVisible()) {
       return;
     }
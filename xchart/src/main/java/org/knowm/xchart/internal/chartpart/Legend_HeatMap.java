@@ -33,7 +33,7 @@ public class Legend_HeatMap<ST extends HeatMapStyler, S extends HeatMapSeries>
   }
 
   @Override
-  public void paint(Graphics2D g) {
+  void paintLegend(Graphics2D g) {
 
     if (!chart.getStyler().isLegendVisible()) {
       return;
@@ -0,0 +1,205 @@
+package org.knowm.xchart.internal.chartpart;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Paints a chart into a BufferedImage, rasterizing the plot content in square tiles in parallel.
+ * The layout (axes, ticks, legend) is calculated once by the regular paint on the calling thread.
+ * When the plot is reached, the plot content is painted into each tile of the plot area on a
+ * ForkJoinPool, each tile with its own Graphics2D clipped to it. Since tiles don't overlap they can
+ * write to the same image. Everything painted after the plot content, like the legend and
+ * annotations, is then painted on top as usual.
+ */
+public final class PlotContentTiler {
+
+  private static final ThreadLocal<PlotContentTiler> CURRENT = new ThreadLocal<>();
+  // set on the threads of the pool while they paint a tile
+  private static final ThreadLocal<Boolean> IS_PAINTING_TILE = new ThreadLocal<>();
+
+  private final BufferedImage image;
+  private final int tileSize;
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructor
+   *
+   * @param image
+   * @param tileSize
+   * @param pool
+   */
+  private PlotContentTiler(BufferedImage image, int tileSize, ForkJoinPool pool) {
+
+    this.image = image;
+    this.tileSize = tileSize;
+    this.pool = pool;
+  }
+
+  /**
+   * Paint a chart into an image with the plot content rendered in tiles
+   *
+   * @param chart
+   * @param image - the image to paint into, at least the size of the chart
+   * @param tileSize - the width and height of a tile in pixels
+   * @param pool - the pool to render the tiles on
+   */
+  public static void paint(
+      Chart<?, ?> chart, BufferedImage image, int tileSize, ForkJoinPool pool) {
+
+    if (tileSize < 1) {
+      throw new IllegalArgumentException("Tile size must be greater than zero!!!");
+    }
+
+    Graphics2D g = image.createGraphics();
+    CURRENT.set(new PlotContentTiler(image, tileSize, pool));
+    try {
+      chart.paint(g, chart.getWidth(), chart.getHeight());
+    } finally {
+      CURRENT.remove();
+      g.dispose();
+    }
+  }
+
+  /**
+   * Gets the ticks the axes of a chart were painted with last, to paint the parts of the chart as
+   * charts of their own with them
+   *
+   * @param chart
+   * @return the ticks, or null for charts without axes or not painted yet
+   */
+  public static AxisTicks getPaintedAxisTicks(Chart<?, ?> chart) {
+
+    return chart.getPaintedAxisTicks();
+  }
+
+  /**
+   * Paints the axes of a chart painting a part of a larger chart with the ticks of the larger one
+   * instead of calculating them from its data. The chart must have the size and axis ranges of the
+   * larger chart, and gets only the x-axis ticks painted near its part.
+   *
+   * @param chart
+   * @param axisTicks - the ticks of the larger chart
+   * @param fromX - the left edge of the part
+   * @param toX - the right edge of the part
+   */
+  public static void setAxisTicks(
+      Chart<?, ?> chart, AxisTicks axisTicks, double fromX, double toX) {
+
+    chart.setAxisTicks(axisTicks.between(fromX, toX));
+  }
+
+  /**
+   * Calculates the ticks of a chart from its data again
+   *
+   * @param chart
+   */
+  public static void clearAxisTicks(Chart<?, ?> chart) {
+
+    chart.setAxisTicks(null);
+  }
+
+  /**
+   * Gets the tiler of the paint running on this thread
+   *
+   * @return the tiler, or null if the chart is painted normally
+   */
+  static PlotContentTiler getCurrent() {
+
+    return CURRENT.get();
+  }
+
+  /**
+   * @return if the plot content of a tile is painted on this thread
+   */
+  static boolean isPaintingTile() {
+
+    return IS_PAINTING_TILE.get() != null;
+  }
+
+  /**
+   * Paint the plot content into all tiles touching the plot area
+   *
+   * @param plotContent
+   * @param g - the Graphics2D of the regular paint, its transform and hints are used for the tiles
+   */
+  void paint(PlotContent_<?, ?> plotContent, Graphics2D g) {
+
+    AffineTransform transform = g.getTransform();
+    RenderingHints renderingHints = g.getRenderingHints();
+    // the tiles paint with the chart parts of this paint
+    RenderContext<?, ?> renderContext = plotContent.chart.getRenderContext();
+    Rectangle plotArea =
+        transform
+            .createTransformedShape(plotContent.getBounds())
+            .getBounds()
+            .intersection(new Rectangle(0, 0, image.getWidth(), image.getHeight()));
+
+    List<ForkJoinTask<?>> tiles = new ArrayList<>();
+    for (int y = plotArea.y; y < plotArea.y + plotArea.height; y += tileSize) {
+      for (int x = plotArea.x; x < plotArea.x + plotArea.width; x += tileSize) {
+        Rectangle tile = new Rectangle(x, y, tileSize, tileSize).intersection(plotArea);
+        tiles.add(new TileAction(plotContent, renderContext, tile, transform, renderingHints));
+      }
+    }
+
+    pool.invoke(
+        new RecursiveAction() {
+
+          @Override
+          protected void compute() {
+
+            invokeAll(tiles);
+          }
+        });
+  }
+
+  private class TileAction extends RecursiveAction {
+
+    private final PlotContent_<?, ?> plotContent;
+    private final RenderContext<?, ?> renderContext;
+    private final Rectangle tile;
+    private final AffineTransform transform;
+    private final RenderingHints renderingHints;
+
+    TileAction(
+        PlotContent_<?, ?> plotContent,
+        RenderContext<?, ?> renderContext,
+        Rectangle tile,
+        AffineTransform transform,
+        RenderingHints renderingHints) {
+
+      this.plotContent = plotContent;
+      this.renderContext = renderContext;
+      this.tile = tile;
+      this.transform = transform;
+      this.renderingHints = renderingHints;
+    }
+
+    @Override
+    protected void compute() {
+
+      Graphics2D tileGraphics = image.createGraphics();
+      RenderContext<?, ?> previousRenderContext = Chart.setCurrentRenderContext(renderContext);
+      IS_PAINTING_TILE.set(Boolean.TRUE);
+      try {
+        tileGraphics.setRenderingHints(renderingHints);
+        // clip in device space, then switch to the transform of the chart
+        tileGraphics.setClip(tile);
+        tileGraphics.setTransform(transform);
+        plotContent.paintTile(tileGraphics);
+      } finally {
+        IS_PAINTING_TILE.remove();
+        Chart.setCurrentRenderContext(previousRenderContext);
+        tileGraphics.dispose();
+      }
+    }
+  }
+}
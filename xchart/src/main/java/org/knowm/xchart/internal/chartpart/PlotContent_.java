@@ -54,25 +54,61 @@ public abstract class PlotContent_<ST extends Styler, S extends Series> implemen
       g.setClip(bounds);
     }
 
-    if (chart.getStyler().isToolTipsEnabled() && toolTips != null) {
+    if (isToolTipsEnabled()) {
       toolTips.clearData();
     }
 
     doPaint(g);
 
     // after painting the plot content, paint the tooltip(s) if necessary
-    if (chart.getStyler().isToolTipsEnabled() && toolTips != null) {
+    if (isToolTipsEnabled()) {
+      chart.startRenderPhase(ChartRenderStats.Phase.TOOLTIPS);
       toolTips.paint(g);
+      chart.endRenderPhase(ChartRenderStats.Phase.TOOLTIPS);
     }
 
     // TODO put this in PlotContent_XY.
-    if (chart instanceof XYChart && ((XYStyler) chart.getStyler()).isZoomEnabled()) {
+    if (chartZoom != null
+        && chart instanceof XYChart
+        && ((XYStyler) chart.getStyler()).isZoomEnabled()) {
       chartZoom.paint(g);
     }
 
     g.setClip(saveClip);
   }
 
+  /**
+   * Paint one tile of the plot content. Tiles are painted in parallel, each with a Graphics2D
+   * clipped to its tile. Tool tips and zoom are left out as they only apply to charts on screen.
+   *
+   * @param g
+   */
+  void paintTile(Graphics2D g) {
+
+    Rectangle2D bounds = getBounds();
+
+    // if the area to draw a chart on is so small, don't even bother
+    if (bounds.getWidth() < 30) {
+      return;
+    }
+
+    g.clip(bounds);
+    doPaintTile(g);
+  }
+
+  /**
+   * Paint the content clipped to a tile. Plot contents keeping state while painting can't do that
+   * concurrently, so by default the tiles are painted one after the other.
+   *
+   * @param g
+   */
+  protected void doPaintTile(Graphics2D g) {
+
+    synchronized (this) {
+      doPaint(g);
+    }
+  }
+
   @Override
   public Rectangle2D getBounds() {
 
@@ -91,6 +127,17 @@ public abstract class PlotContent_<ST extends Styler, S extends Series> implemen
     }
   }
 
+  /**
+   * Are tool tips collected by this paint. Only the plot content of the chart's own parts has the
+   * tool tips of a panel, plot content created for a concurrent paint has none.
+   *
+   * @return true if the styler enables tool tips and there are tool tips to add data to
+   */
+  boolean isToolTipsEnabled() {
+
+    return toolTips != null && chart.getStyler().isToolTipsEnabled();
+  }
+
   public void setToolTips(ToolTips toolTips) {
     this.toolTips = toolTips;
   }
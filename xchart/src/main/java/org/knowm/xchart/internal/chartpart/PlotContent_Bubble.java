@@ -5,6 +5,7 @@ import java.awt.geom.Ellipse2D;
 import java.util.Map;
 import org.knowm.xchart.BubbleSeries;
 import org.knowm.xchart.internal.Utils;
+import org.knowm.xchart.internal.series.SeriesDataSnapshot;
 import org.knowm.xchart.style.BubbleStyler;
 
 public class PlotContent_Bubble<ST extends BubbleStyler, S extends BubbleSeries>
@@ -57,25 +58,29 @@ public class PlotContent_Bubble<ST extends BubbleStyler, S extends BubbleSeries>
         yMax = Math.log10(yMax);
       }
 
-      // data points
+      // data points, read once so a concurrent update can't mix old and new data
+      SeriesDataSnapshot data = series.getDataSnapshot();
+      double[] xData = data.getXData();
+      double[] yData = data.getYData();
+      double[] bubbleSizes = data.getExtraValues();
 
-      for (int i = 0; i < series.getXData().length; i++) {
+      for (int i = 0; i < xData.length; i++) {
 
-        double x = series.getXData()[i];
+        double x = xData[i];
         // System.out.println(x);
         if (stylerBubble.isXAxisLogarithmic()) {
           x = Math.log10(x);
         }
         // System.out.println(x);
 
-        if (Double.isNaN(series.getYData()[i])) {
+        if (Double.isNaN(yData[i])) {
 
           // previousX = -Double.MAX_VALUE;
           // previousY = -Double.MAX_VALUE;
           continue;
         }
 
-        double yOrig = series.getYData()[i];
+        double yOrig = yData[i];
 
         double y;
 
@@ -113,9 +118,9 @@ public class PlotContent_Bubble<ST extends BubbleStyler, S extends BubbleSeries>
         // previousY = yOffset;
 
         // paint bubbles
-        if (series.getExtraValues() != null) {
+        if (bubbleSizes != null) {
 
-          double bubbleSize = series.getExtraValues()[i];
+          double bubbleSize = bubbleSizes[i];
 
           // Draw it
           Shape bubble =
@@ -131,7 +136,7 @@ public class PlotContent_Bubble<ST extends BubbleStyler, S extends BubbleSeries>
           g.draw(bubble);
 
           // add tooltips
-          if (chart.getStyler().isToolTipsEnabled()) {
+          if (isToolTipsEnabled()) {
             toolTips.addData(
                 bubble,
                 xOffset,
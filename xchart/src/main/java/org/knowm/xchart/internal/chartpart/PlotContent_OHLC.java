@@ -139,7 +139,7 @@ public class PlotContent_OHLC<ST extends AxesChartStyler, S extends OHLCSeries>
           }
 
           // add tooltips
-          if (chart.getStyler().isToolTipsEnabled()) {
+          if (isToolTipsEnabled()) {
             toolTips.addData(
                 xOffset,
                 yOffset,
@@ -250,7 +250,7 @@ public class PlotContent_OHLC<ST extends AxesChartStyler, S extends OHLCSeries>
               g.draw(line);
               final double xStart = xOffset - candleHalfWidth;
               final double xEnd = xOffset + candleHalfWidth;
-              if (chart.getStyler().isToolTipsEnabled()) {
+              if (isToolTipsEnabled()) {
                 rect.setRect(
                     xOffset - lineWidth / 2, highOffset, lineWidth, lowOffset - highOffset);
                 toolTipArea = new Area(rect);
@@ -269,7 +269,7 @@ public class PlotContent_OHLC<ST extends AxesChartStyler, S extends OHLCSeries>
                     Math.abs(closeOffset - openOffset));
                 g.fill(rect);
                 // add data labels
-                if (chart.getStyler().isToolTipsEnabled()) {
+                if (isToolTipsEnabled()) {
                   toolTipArea.add(new Area(rect));
                 }
 
@@ -279,7 +279,7 @@ public class PlotContent_OHLC<ST extends AxesChartStyler, S extends OHLCSeries>
                 g.draw(line);
                 line.setLine(xOffset, closeOffset, xEnd, closeOffset);
                 g.draw(line);
-                if (chart.getStyler().isToolTipsEnabled()) {
+                if (isToolTipsEnabled()) {
                   rect.setRect(xStart, openOffset - lineWidth / 2, xOffset - xStart, lineWidth);
                   toolTipArea.add(new Area(rect));
                   rect.setRect(xOffset, closeOffset - lineWidth / 2, xEnd - xOffset, lineWidth);
@@ -290,7 +290,7 @@ public class PlotContent_OHLC<ST extends AxesChartStyler, S extends OHLCSeries>
           }
 
           // add tooltips
-          if (chart.getStyler().isToolTipsEnabled()) {
+          if (isToolTipsEnabled()) {
 
             StringBuilder sb = new StringBuilder();
             if (series.getVolumeData() != null) {
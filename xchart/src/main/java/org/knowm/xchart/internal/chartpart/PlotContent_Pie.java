@@ -199,7 +199,7 @@ public class PlotContent_Pie<ST extends PieStyler, S extends PieSeries>
       // TOOLTIPS ////////////////////////////////////////////////////
       // TOOLTIPS ////////////////////////////////////////////////////
 
-      if (pieStyler.isToolTipsEnabled()) {
+      if (isToolTipsEnabled()) {
         // add data labels
         // maybe another option to construct this label
         // TODO use tool tip label type enum and customize this label
@@ -429,7 +429,9 @@ public class PlotContent_Pie<ST extends PieStyler, S extends PieSeries>
 
             Rectangle2D iconBounds =
                 new Rectangle(iconX, iconY, icon.getIconWidth(), icon.getIconHeight());
-            cursor.setIconBounds(iconBounds);
+            if (cursor != null) {
+              cursor.setIconBounds(iconBounds);
+            }
           }
         }
       }
@@ -20,7 +20,8 @@ public class PlotContent_Radar<ST extends RadarStyler, S extends RadarSeries>
     extends PlotContent_<ST, S> {
 
   private final RadarStyler styler;
-  private static final NumberFormat df = DecimalFormat.getPercentInstance();
+  // formats aren't thread safe, every plot content has its own
+  private final NumberFormat df = DecimalFormat.getPercentInstance();
 
   /**
    * Constructor
@@ -233,7 +234,7 @@ public class PlotContent_Radar<ST extends RadarStyler, S extends RadarSeries>
         }
 
         // add data labels
-        if (chart.getStyler().isToolTipsEnabled()) {
+        if (isToolTipsEnabled()) {
           String label = null;
           if (tooltipOverrides != null) {
             label = tooltipOverrides[i];
@@ -1,13 +1,24 @@
 package org.knowm.xchart.internal.chartpart;
 
+import java.awt.AlphaComposite;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.text.Format;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.knowm.xchart.XYSeries;
 import org.knowm.xchart.XYSeries.XYSeriesRenderStyle;
 import org.knowm.xchart.internal.Utils;
+import org.knowm.xchart.internal.series.SeriesDataSnapshot;
 import org.knowm.xchart.style.XYStyler;
 import org.knowm.xchart.style.lines.SeriesLines;
 
@@ -17,6 +28,12 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
 
   Cursor cursor;
 
+  // incremental rendering
+  private BufferedImage contentImage;
+  private List<Object> contentRenderKey;
+  private double contentXMin; // the X value the content image is anchored at
+  private Map<S, SeriesDataSnapshot> renderedSnapshots;
+
   /**
    * Constructor
    *
@@ -31,6 +48,62 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
   @Override
   public void doPaint(Graphics2D g) {
 
+    if (cursor != null) {
+      cursor.clearDataPoints();
+    }
+
+    // data points, read once so a concurrent update can't mix old and new data
+    Map<S, SeriesDataSnapshot> snapshots = new HashMap<>();
+    for (S series : chart.getSeriesMap().values()) {
+      snapshots.put(series, series.getDataSnapshot());
+    }
+
+    boolean isIncremental =
+        xyStyler.isIncrementalRenderingEnabled() || xyStyler.getStripChartWindow() != null;
+    if (isIncremental && isIncrementalRenderingPossible(g)) {
+      paintIncrementally(g, snapshots);
+    } else {
+      contentImage = null;
+      paintSeries(g, snapshots, null, chart.getXAxis().getMin(), chart.getXAxis().getMax());
+    }
+
+    if (cursor != null && chart.getStyler().isCursorEnabled()) {
+      cursor.paint(g);
+    }
+  }
+
+  @Override
+  protected void doPaintTile(Graphics2D g) {
+
+    if (xyStyler.isToolTipsEnabled() || xyStyler.isCursorEnabled()) {
+      // collecting tool tip and cursor data isn't thread safe
+      super.doPaintTile(g);
+      return;
+    }
+
+    Map<S, SeriesDataSnapshot> snapshots = new HashMap<>();
+    for (S series : chart.getSeriesMap().values()) {
+      snapshots.put(series, series.getDataSnapshot());
+    }
+    paintSeries(g, snapshots, null, chart.getXAxis().getMin(), chart.getXAxis().getMax());
+  }
+
+  /**
+   * Paint the series
+   *
+   * @param g
+   * @param snapshots - the data to paint for each series
+   * @param startIndices - the index of the first point to paint for each series, null to paint all
+   * @param xMin - the X value at the start of the X-Axis
+   * @param xMax - the X value at the end of the X-Axis
+   */
+  private void paintSeries(
+      Graphics2D g,
+      Map<S, SeriesDataSnapshot> snapshots,
+      Map<S, Integer> startIndices,
+      double xMin,
+      double xMax) {
+
     // X-Axis
     double xTickSpace = xyStyler.getPlotContentSize() * getBounds().getWidth();
     double xLeftMargin = Utils.getTickStartOffset((int) getBounds().getWidth(), xTickSpace);
@@ -39,9 +112,6 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
     double yTickSpace = xyStyler.getPlotContentSize() * getBounds().getHeight();
     double yTopMargin = Utils.getTickStartOffset((int) getBounds().getHeight(), yTickSpace);
 
-    double xMin = chart.getXAxis().getMin();
-    double xMax = chart.getXAxis().getMax();
-
     Line2D.Double line = new Line2D.Double();
 
     // logarithmic
@@ -50,12 +120,11 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
       xMax = Math.log10(xMax);
     }
 
-    if (cursor != null) {
-      cursor.clearDataPoints();
-    }
-
     Map<String, S> map = chart.getSeriesMap();
 
+    long pointsDrawn = 0;
+    long pointsCulled = 0;
+
     for (S series : map.values()) {
 
       if (!series.isEnabled()) {
@@ -69,9 +138,11 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
         yMax = Math.log10(yMax);
       }
 
-      // data points
-      double[] xData = series.getXData();
-      double[] yData = series.getYData();
+      SeriesDataSnapshot data = snapshots.get(series);
+      double[] xData = data.getXData();
+      double[] yData = data.getYData();
+      int startIndex = startIndices == null ? 0 : startIndices.getOrDefault(series, 0);
+      pointsCulled += startIndex;
 
       double previousX = -Double.MAX_VALUE;
       double previousY = -Double.MAX_VALUE;
@@ -80,7 +151,7 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
       double polygonStartX = -Double.MAX_VALUE;
       double polygonStartY = -Double.MAX_VALUE;
 
-      double[] errorBars = series.getExtraValues();
+      double[] errorBars = data.getExtraValues();
       Path2D.Double path = null;
       // smooth curve
       Path2D.Double smoothPath = null;
@@ -90,7 +161,7 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
           getBounds().getHeight() - (yTopMargin + (0 - yMin) / (yMax - yMin) * yTickSpace);
       double yZeroOffset = yZeroTransform + getBounds().getY();
 
-      for (int i = 0; i < xData.length; i++) {
+      for (int i = Math.max(0, startIndex - 1); i < xData.length; i++) {
 
         double x = xData[i];
         // System.out.println(x);
@@ -153,6 +224,20 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
         // System.out.println(yOffset);
         // System.out.println("---");
 
+        if (i < startIndex) {
+          // already painted, only needed as the start of the next line segment
+          previousX = xOffset;
+          previousY = yOffset;
+          continue;
+        }
+
+        // still painted, as lines leading out of the plot are visible
+        if (x < xMin || x > xMax) {
+          pointsCulled++;
+        } else {
+          pointsDrawn++;
+        }
+
         // paint line
 
         boolean isSeriesLineOrArea =
@@ -304,7 +389,7 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
         }
 
         // add tooltips
-        if (chart.getStyler().isToolTipsEnabled()) {
+        if (isToolTipsEnabled()) {
           toolTips.addData(
               xOffset,
               yOffset,
@@ -312,7 +397,7 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
               chart.getYAxisFormat(series.getYAxisDecimalPattern()).format(yOrig));
         }
 
-        if (xyStyler.isCursorEnabled()) {
+        if (cursor != null && xyStyler.isCursorEnabled()) {
           Format xFormat;
           Format yFormat;
           if (xyStyler.getCustomCursorXDataFormattingFunction() == null) {
@@ -339,9 +424,291 @@ public class PlotContent_XY<ST extends XYStyler, S extends XYSeries> extends Plo
       g.setColor(series.getFillColor());
       closePathXY(g, path, previousX, yZeroOffset, polygonStartX, polygonStartY);
     }
-    if (chart.getStyler().isCursorEnabled()) {
-      cursor.paint(g);
+
+    chart.addRenderedPoints(pointsDrawn, pointsCulled);
+  }
+
+  /**
+   * Incremental rendering keeps the plot content in an image which is only painted onto when series
+   * grew at their tail. Painting all series from scratch into the image would be slower than
+   * painting directly, so this is only done when the render key changed. In strip chart mode the
+   * image is scrolled left as the X-Axis window slides and only the exposed band is painted.
+   *
+   * @param g
+   * @param snapshots
+   */
+  private void paintIncrementally(Graphics2D g, Map<S, SeriesDataSnapshot> snapshots) {
+
+    Rectangle2D bounds = getBounds();
+    int imageX = (int) Math.floor(bounds.getX());
+    int imageY = (int) Math.floor(bounds.getY());
+    int imageWidth = (int) Math.ceil(bounds.getMaxX()) - imageX;
+    int imageHeight = (int) Math.ceil(bounds.getMaxY()) - imageY;
+
+    double xMin = chart.getXAxis().getMin();
+    double xMax = chart.getXAxis().getMax();
+    boolean isStripChart = xyStyler.getStripChartWindow() != null && !xyStyler.isXAxisLogarithmic();
+
+    List<Object> renderKey = getRenderKey(g, bounds, isStripChart);
+    Map<S, Integer> startIndices = null;
+    if (contentImage != null && renderKey.equals(contentRenderKey)) {
+      if (isStripChart) {
+        startIndices = scrollContentImage(snapshots, xMin, xMax);
+      } else {
+        startIndices = getAppendedStartIndices(snapshots);
+      }
+    }
+    chart.addRenderCacheLookup(startIndices != null);
+
+    if (startIndices == null) {
+      if (contentImage == null
+          || contentImage.getWidth() != imageWidth
+          || contentImage.getHeight() != imageHeight) {
+        contentImage = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
+      } else {
+        Graphics2D clearGraphics = contentImage.createGraphics();
+        clearGraphics.setComposite(AlphaComposite.Clear);
+        clearGraphics.fillRect(0, 0, imageWidth, imageHeight);
+        clearGraphics.dispose();
+      }
+      contentXMin = xMin;
+    }
+
+    Graphics2D contentGraphics = contentImage.createGraphics();
+    contentGraphics.setRenderingHints(g.getRenderingHints());
+    contentGraphics.translate(-imageX, -imageY);
+    paintSeries(contentGraphics, snapshots, startIndices, contentXMin, contentXMin + xMax - xMin);
+    contentGraphics.dispose();
+
+    contentRenderKey = renderKey;
+    renderedSnapshots = snapshots;
+
+    g.drawImage(contentImage, imageX, imageY, null);
+  }
+
+  /**
+   * Scrolls the content image left by the number of whole pixels the X-Axis window moved since the
+   * last paint and clears the exposed band on the right. The image stays anchored at whole pixels,
+   * so the content may be off by less than half a pixel compared to the axis.
+   *
+   * @param snapshots
+   * @param xMin
+   * @param xMax
+   * @return the index of the first not yet rendered point of each series, or null if the image
+   *     can't be scrolled
+   */
+  private Map<S, Integer> scrollContentImage(
+      Map<S, SeriesDataSnapshot> snapshots, double xMin, double xMax) {
+
+    double xTickSpace = xyStyler.getPlotContentSize() * getBounds().getWidth();
+    double pixelsPerUnit = xTickSpace / (xMax - xMin);
+    long shift = Math.round((xMin - contentXMin) * pixelsPerUnit);
+    int imageWidth = contentImage.getWidth();
+    int imageHeight = contentImage.getHeight();
+    if (shift < 0 || shift >= imageWidth) {
+      return null;
+    }
+
+    Map<S, Integer> startIndices = getScrolledStartIndices(snapshots);
+    if (startIndices == null) {
+      return null;
+    }
+
+    if (shift > 0) {
+      int dx = (int) shift;
+      Graphics2D scrollGraphics = contentImage.createGraphics();
+      // replace the pixels, blending translucent pixels over the old ones would leave a trail
+      scrollGraphics.setComposite(AlphaComposite.Src);
+      scrollGraphics.copyArea(dx, 0, imageWidth - dx, imageHeight, -dx, 0);
+      scrollGraphics.setComposite(AlphaComposite.Clear);
+      scrollGraphics.fillRect(imageWidth - dx, 0, dx, imageHeight);
+      scrollGraphics.dispose();
+      contentXMin += dx / pixelsPerUnit;
+    }
+    return startIndices;
+  }
+
+  /**
+   * Finds the last rendered point of each series in the current data of a strip chart. Points
+   * dropped at the head of the data have scrolled out of view already.
+   *
+   * @param snapshots
+   * @return the index after the last rendered point of each series, or null if it's gone
+   */
+  private Map<S, Integer> getScrolledStartIndices(Map<S, SeriesDataSnapshot> snapshots) {
+
+    if (renderedSnapshots == null || !renderedSnapshots.keySet().equals(snapshots.keySet())) {
+      return null;
+    }
+
+    Map<S, Integer> startIndices = new HashMap<>();
+    for (Map.Entry<S, SeriesDataSnapshot> entry : snapshots.entrySet()) {
+      SeriesDataSnapshot rendered = renderedSnapshots.get(entry.getKey());
+      SeriesDataSnapshot current = entry.getValue();
+      int renderedLength = rendered.getXData().length;
+      if (rendered == current) {
+        startIndices.put(entry.getKey(), renderedLength);
+        continue;
+      }
+      if (renderedLength == 0) {
+        return null;
+      }
+      // strip chart X data is ascending
+      int last = Arrays.binarySearch(current.getXData(), rendered.getXData()[renderedLength - 1]);
+      // the rendered points still in the current data, which must not have changed
+      int dropped = renderedLength - 1 - last;
+      if (last < 0 || dropped < 0 || !isSameData(rendered, dropped, current, 0, last + 1)) {
+        return null;
+      }
+      startIndices.put(entry.getKey(), last + 1);
+    }
+    return startIndices;
+  }
+
+  /**
+   * Gets the index of the first not yet rendered point of each series
+   *
+   * @param snapshots
+   * @return the start indices, or null if any series changed other than by appending points
+   */
+  private Map<S, Integer> getAppendedStartIndices(Map<S, SeriesDataSnapshot> snapshots) {
+
+    if (renderedSnapshots == null || !renderedSnapshots.keySet().equals(snapshots.keySet())) {
+      return null;
+    }
+
+    Map<S, Integer> startIndices = new HashMap<>();
+    for (Map.Entry<S, SeriesDataSnapshot> entry : snapshots.entrySet()) {
+      SeriesDataSnapshot rendered = renderedSnapshots.get(entry.getKey());
+      SeriesDataSnapshot current = entry.getValue();
+      if (!isAppendedTo(rendered, current)) {
+        return null;
+      }
+      startIndices.put(entry.getKey(), rendered.getXData().length);
+    }
+    return startIndices;
+  }
+
+  /**
+   * Checks if the current data only has points appended to the rendered data. All rendered points
+   * are compared, as the data may have been replaced by an update changing any of them.
+   *
+   * @param rendered
+   * @param current
+   * @return
+   */
+  private static boolean isAppendedTo(SeriesDataSnapshot rendered, SeriesDataSnapshot current) {
+
+    if (rendered == current) {
+      return true;
+    }
+    int renderedLength = rendered.getXData().length;
+    if (renderedLength == 0 || current.getXData().length < renderedLength) {
+      return false;
+    }
+    return isSameData(rendered, 0, current, 0, renderedLength);
+  }
+
+  private static boolean isSameData(
+      SeriesDataSnapshot a, int aFrom, SeriesDataSnapshot b, int bFrom, int length) {
+
+    // the error bars are painted from the extra values, the ones of all data unless some is
+    // filtered out for zooming
+    double[] aExtraValues = a.getExtraValues();
+    double[] bExtraValues = b.getExtraValues();
+    if (aExtraValues == null || bExtraValues == null) {
+      if (aExtraValues != bExtraValues) {
+        return false;
+      }
+    } else if (!Arrays.equals(
+        aExtraValues, aFrom, aFrom + length, bExtraValues, bFrom, bFrom + length)) {
+      return false;
+    }
+    // compared like Double.compare, so NaN equals NaN
+    return Arrays.equals(a.getXData(), aFrom, aFrom + length, b.getXData(), bFrom, bFrom + length)
+        && Arrays.equals(a.getYData(), aFrom, aFrom + length, b.getYData(), bFrom, bFrom + length);
+  }
+
+  /**
+   * Gets everything that, when changed, requires the plot content to be redrawn from scratch: plot
+   * bounds, axis ranges, rendering hints and the styles of the series. For strip charts only the
+   * width of the X-Axis range counts, as the image is scrolled when the window slides.
+   *
+   * @param g
+   * @param bounds
+   * @param isStripChart
+   * @return
+   */
+  private List<Object> getRenderKey(Graphics2D g, Rectangle2D bounds, boolean isStripChart) {
+
+    List<Object> renderKey = new ArrayList<>();
+    renderKey.add(bounds);
+    renderKey.add(g.getRenderingHints());
+    if (isStripChart) {
+      renderKey.add(chart.getXAxis().getMax() - chart.getXAxis().getMin());
+    } else {
+      renderKey.add(chart.getXAxis().getMin());
+      renderKey.add(chart.getXAxis().getMax());
+    }
+    renderKey.add(xyStyler.isXAxisLogarithmic());
+    renderKey.add(xyStyler.isYAxisLogarithmic());
+    renderKey.add(xyStyler.getPlotContentSize());
+    renderKey.add(xyStyler.getMarkerSize());
+    renderKey.add(xyStyler.isErrorBarsColorSeriesColor());
+    renderKey.add(xyStyler.getErrorBarsColor());
+    for (S series : chart.getSeriesMap().values()) {
+      Axis yAxis = chart.getYAxis(series.getYAxisGroup());
+      renderKey.add(series.getName());
+      renderKey.add(series.isEnabled());
+      renderKey.add(yAxis.getMin());
+      renderKey.add(yAxis.getMax());
+      renderKey.add(series.getXYSeriesRenderStyle());
+      renderKey.add(series.isSmooth());
+      renderKey.add(series.getFillColor());
+      renderKey.add(series.getLineStyle());
+      renderKey.add(series.getLineColor());
+      renderKey.add(series.getMarker());
+      renderKey.add(series.getMarkerColor());
+    }
+    return renderKey;
+  }
+
+  /**
+   * Incremental rendering only works for series where a new point doesn't change what was painted
+   * for previous points, and only for raster targets painted on without scaling. The image is kept
+   * in user space pixels, so scaled up for a HiDPI screen or a higher DPI it would be blurry.
+   *
+   * @param g
+   * @return
+   */
+  private boolean isIncrementalRenderingPossible(Graphics2D g) {
+
+    if (xyStyler.isToolTipsEnabled() || xyStyler.isCursorEnabled()) {
+      return false;
+    }
+    GraphicsConfiguration graphicsConfiguration = g.getDeviceConfiguration();
+    if (graphicsConfiguration == null) {
+      return false;
+    }
+    int deviceType = graphicsConfiguration.getDevice().getType();
+    if (deviceType != GraphicsDevice.TYPE_RASTER_SCREEN
+        && deviceType != GraphicsDevice.TYPE_IMAGE_BUFFER) {
+      return false;
+    }
+    if ((g.getTransform().getType() & ~AffineTransform.TYPE_TRANSLATION) != 0) {
+      return false;
+    }
+    for (S series : chart.getSeriesMap().values()) {
+      XYSeriesRenderStyle renderStyle = series.getXYSeriesRenderStyle();
+      boolean isAppendable =
+          XYSeriesRenderStyle.Line == renderStyle
+              || XYSeriesRenderStyle.Step == renderStyle
+              || XYSeriesRenderStyle.Scatter == renderStyle;
+      if (!isAppendable || series.isSmooth()) {
+        return false;
+      }
     }
+    return true;
   }
 
   void closePathXY(
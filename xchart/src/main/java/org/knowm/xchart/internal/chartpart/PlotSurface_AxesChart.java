@@ -53,8 +53,8 @@ public class PlotSurface_AxesChart<ST extends AxesChartStyler, S extends Series>
               stylerAxesChart
                   .getPlotGridLinesStroke()
                   .createStrokedShape(
-                      new Line2D.Double(
-                          bounds.getX(), yOffset, bounds.getX() + bounds.getWidth(), yOffset));
+                      createGridLine(
+                          g, bounds.getX(), bounds.getX() + bounds.getWidth(), yOffset, true));
           // g.setStroke(axesChartStyler.getPlotGridLinesStroke());
           // Shape line = new Line2D.Double(bounds.getX(), yOffset, bounds.getX() +
           // bounds.getWidth(), yOffset);
@@ -135,8 +135,8 @@ public class PlotSurface_AxesChart<ST extends AxesChartStyler, S extends Series>
                 stylerAxesChart
                     .getPlotGridLinesStroke()
                     .createStrokedShape(
-                        new Line2D.Double(
-                            xOffset, bounds.getY(), xOffset, bounds.getY() + bounds.getHeight()));
+                        createGridLine(
+                            g, bounds.getY(), bounds.getY() + bounds.getHeight(), xOffset, false));
             // Shape line = new Line2D.Double(xOffset, bounds.getY(), xOffset, bounds.getY() +
             // bounds.getHeight());
             g.fill(line);
@@ -173,4 +173,42 @@ public class PlotSurface_AxesChart<ST extends AxesChartStyler, S extends Series>
       g.draw(rect);
     }
   }
+
+  /**
+   * Creates a grid line, left out where it can't reach into the clip of the graphics, like the
+   * tiles of a very large chart. The line starts a whole number of dash periods later, so the
+   * dashes stay where they are on the full line.
+   *
+   * @param g
+   * @param start
+   * @param end
+   * @param position - the y of a horizontal line, the x of a vertical line
+   * @param isHorizontal
+   * @return the line
+   */
+  private Line2D createGridLine(
+      Graphics2D g, double start, double end, double position, boolean isHorizontal) {
+
+    Rectangle clip = g.getClipBounds();
+    if (clip != null) {
+      BasicStroke stroke = stylerAxesChart.getPlotGridLinesStroke();
+      double margin = stroke.getLineWidth() + 1;
+      double clipStart = (isHorizontal ? clip.getMinX() : clip.getMinY()) - margin;
+      double clipEnd = (isHorizontal ? clip.getMaxX() : clip.getMaxY()) + margin;
+      double period = 0;
+      if (stroke.getDashArray() != null) {
+        for (float dash : stroke.getDashArray()) {
+          period += dash;
+        }
+      }
+      if (clipStart > start) {
+        double skipped = clipStart - start;
+        start += period > 0 ? Math.floor(skipped / period) * period : skipped;
+      }
+      end = Math.max(start, Math.min(end, clipEnd));
+    }
+    return isHorizontal
+        ? new Line2D.Double(start, position, end, position)
+        : new Line2D.Double(position, start, position, end);
+  }
 }
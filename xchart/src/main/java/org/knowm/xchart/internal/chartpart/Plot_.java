@@ -34,7 +34,14 @@ public class Plot_<ST extends Styler, S extends Series> implements ChartPart {
     if (chart.getSeriesMap().isEmpty()) {
       return;
     }
-    plotContent.paint(g);
+    chart.startRenderPhase(ChartRenderStats.Phase.PLOT_CONTENT);
+    PlotContentTiler plotContentTiler = PlotContentTiler.getCurrent();
+    if (plotContentTiler != null) {
+      plotContentTiler.paint(plotContent, g);
+    } else {
+      plotContent.paint(g);
+    }
+    chart.endRenderPhase(ChartRenderStats.Phase.PLOT_CONTENT);
   }
 
   @Override
@@ -0,0 +1,67 @@
+package org.knowm.xchart.internal.chartpart;
+
+import org.knowm.xchart.internal.jfr.ChartPaintEvent;
+import org.knowm.xchart.internal.jfr.ChartPaintPhaseEvent;
+import org.knowm.xchart.internal.series.Series;
+import org.knowm.xchart.style.Styler;
+
+/**
+ * The state of one paint of a chart: the chart parts holding the layout, the size painted at and
+ * the stats and JFR events being recorded. A chart paints with its own chart parts, and when it is
+ * painted on several threads at once every other paint gets a render context with new chart parts,
+ * so the paints don't see each other's layout. The data, styler and annotations of the chart are
+ * shared.
+ */
+public final class RenderContext<ST extends Styler, S extends Series> {
+
+  final Chart<ST, S> chart;
+  final ChartTitle<ST, S> chartTitle;
+  final AxisPair axisPair;
+  final Plot_<ST, S> plot;
+  final Legend_<ST, S> legend;
+
+  int width;
+  int height;
+
+  // the paint in progress
+  ChartRenderStats.Recorder statsRecorder;
+  ChartPaintEvent paintEvent;
+  ChartPaintPhaseEvent[] paintPhaseEvents;
+
+  /**
+   * Constructor
+   *
+   * @param chart
+   * @param chartTitle
+   * @param axisPair - null for charts without axes
+   * @param plot
+   * @param legend
+   */
+  RenderContext(
+      Chart<ST, S> chart,
+      ChartTitle<ST, S> chartTitle,
+      AxisPair axisPair,
+      Plot_<ST, S> plot,
+      Legend_<ST, S> legend) {
+
+    this.chart = chart;
+    this.chartTitle = chartTitle;
+    this.axisPair = axisPair;
+    this.plot = plot;
+    this.legend = legend;
+  }
+
+  /**
+   * Constructor for a render context with new chart parts
+   *
+   * @param chart
+   * @param axisPair - null for charts without axes
+   * @param plot
+   * @param legend
+   */
+  public RenderContext(
+      Chart<ST, S> chart, AxisPair axisPair, Plot_<ST, S> plot, Legend_<ST, S> legend) {
+
+    this(chart, new ChartTitle<>(chart), axisPair, plot, legend);
+  }
+}
@@ -0,0 +1,31 @@
+package org.knowm.xchart.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event spanning the construction of the tick calculator of an axis */
+@Name("org.knowm.xchart.AxisTickCalculation")
+@Label("Axis Tick Calculation")
+@Category({"XChart", "Paint"})
+@Description("Calculating the ticks and tick labels of an axis")
+@StackTrace(false)
+public class AxisTickCalculationEvent extends jdk.jfr.Event {
+
+  @Label("Chart Type")
+  public String chartType;
+
+  @Label("Direction")
+  public String direction;
+
+  @Label("Calculator")
+  public String calculator;
+
+  @Label("Working Space")
+  public int workingSpace;
+
+  @Label("Tick Count")
+  public int tickCount;
+}
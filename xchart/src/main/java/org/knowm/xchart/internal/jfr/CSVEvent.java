@@ -0,0 +1,43 @@
+package org.knowm.xchart.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR event spanning reading or writing chart data as CSV files */
+@Name("org.knowm.xchart.CSV")
+@Label("CSV")
+@Category({"XChart", "CSV"})
+@Description("Importing or exporting series data as CSV")
+public class CSVEvent extends jdk.jfr.Event {
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Path")
+  public String path;
+
+  @Label("Data Orientation")
+  public String dataOrientation;
+
+  @Label("Series Count")
+  public int seriesCount;
+
+  @Label("Point Count")
+  public long pointCount;
+
+  /**
+   * Constructor
+   *
+   * @param operation
+   * @param path
+   * @param dataOrientation
+   */
+  public CSVEvent(String operation, String path, String dataOrientation) {
+
+    this.operation = operation;
+    this.path = path;
+    this.dataOrientation = dataOrientation;
+  }
+}
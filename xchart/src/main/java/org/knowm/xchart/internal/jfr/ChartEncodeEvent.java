@@ -0,0 +1,98 @@
+package org.knowm.xchart.internal.jfr;
+
+import java.util.List;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.knowm.xchart.internal.chartpart.Chart;
+
+/** JFR event spanning the encoding of one or more charts into an image or document */
+@Name("org.knowm.xchart.ChartEncode")
+@Label("Chart Encode")
+@Category({"XChart", "Encode"})
+@Description("Painting charts and encoding them into a bitmap, vector graphic or PDF")
+public class ChartEncodeEvent extends jdk.jfr.Event {
+
+  @Label("Encoder")
+  public String encoder;
+
+  @Label("Format")
+  public String format;
+
+  @Label("Chart Type")
+  public String chartType;
+
+  @Label("Chart Count")
+  public int chartCount;
+
+  @Label("Series Count")
+  public int seriesCount;
+
+  @Label("Point Count")
+  public long pointCount;
+
+  @Label("Width")
+  public int width;
+
+  @Label("Height")
+  public int height;
+
+  /**
+   * Constructor
+   *
+   * @param encoder
+   * @param format
+   */
+  public ChartEncodeEvent(String encoder, String format) {
+
+    this.encoder = encoder;
+    this.format = format;
+  }
+
+  /**
+   * Add a chart to the encoded charts. The width and height are the ones of the largest chart.
+   *
+   * @param chart
+   */
+  public void addChart(Chart<?, ?> chart) {
+
+    String type = chart.getClass().getSimpleName();
+    chartType = chartType == null || chartType.equals(type) ? type : "Mixed";
+    chartCount++;
+    seriesCount += chart.getSeriesMap().size();
+    pointCount += chart.getDataPointCount();
+    width = Math.max(width, chart.getWidth());
+    height = Math.max(height, chart.getHeight());
+  }
+
+  /**
+   * End the event and commit it with the fields of the chart, if it is recorded
+   *
+   * @param chart
+   */
+  public void commitChart(Chart<?, ?> chart) {
+
+    end();
+    if (shouldCommit()) {
+      addChart(chart);
+      commit();
+    }
+  }
+
+  /**
+   * End the event and commit it with the fields of the charts, if it is recorded
+   *
+   * @param charts
+   */
+  public void commitCharts(List<? extends Chart> charts) {
+
+    end();
+    if (shouldCommit()) {
+      for (Chart chart : charts) {
+        addChart(chart);
+      }
+      commit();
+    }
+  }
+}
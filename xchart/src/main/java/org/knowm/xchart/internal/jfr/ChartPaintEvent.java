@@ -0,0 +1,46 @@
+package org.knowm.xchart.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.knowm.xchart.internal.chartpart.Chart;
+
+/** JFR event spanning one paint of a chart */
+@Name("org.knowm.xchart.ChartPaint")
+@Label("Chart Paint")
+@Category({"XChart", "Paint"})
+@Description("Painting a chart into a Graphics2D")
+@StackTrace(false)
+public class ChartPaintEvent extends jdk.jfr.Event {
+
+  @Label("Chart Type")
+  public String chartType;
+
+  @Label("Series Count")
+  public int seriesCount;
+
+  @Label("Point Count")
+  public long pointCount;
+
+  @Label("Width")
+  public int width;
+
+  @Label("Height")
+  public int height;
+
+  /**
+   * Fill in the fields describing the chart
+   *
+   * @param chart
+   */
+  public void setChart(Chart<?, ?> chart) {
+
+    chartType = chart.getClass().getSimpleName();
+    seriesCount = chart.getSeriesMap().size();
+    pointCount = chart.getDataPointCount();
+    width = chart.getWidth();
+    height = chart.getHeight();
+  }
+}
@@ -0,0 +1,22 @@
+package org.knowm.xchart.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event spanning one phase of a chart paint, like the axes or the legend */
+@Name("org.knowm.xchart.ChartPaintPhase")
+@Label("Chart Paint Phase")
+@Category({"XChart", "Paint"})
+@Description("Painting one part of a chart")
+@StackTrace(false)
+public class ChartPaintPhaseEvent extends jdk.jfr.Event {
+
+  @Label("Chart Type")
+  public String chartType;
+
+  @Label("Phase")
+  public String phase;
+}
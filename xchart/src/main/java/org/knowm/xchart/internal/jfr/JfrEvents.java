@@ -0,0 +1,159 @@
+package org.knowm.xchart.internal.jfr;
+
+import java.util.List;
+import jdk.jfr.EventType;
+import org.knowm.xchart.internal.chartpart.Chart;
+
+/**
+ * Creates the JFR events of XChart. The events extend jdk.jfr.Event, which is missing on runtimes
+ * linked without the jdk.jfr module, so they are only created through here: without JFR every
+ * method returns null or does nothing, and no event class is loaded.
+ */
+public final class JfrEvents {
+
+  private static final boolean IS_JFR_PRESENT = isJfrPresent();
+
+  private JfrEvents() {}
+
+  private static boolean isJfrPresent() {
+
+    try {
+      Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  /**
+   * Begins an event for encoding charts
+   *
+   * @param encoder
+   * @param format
+   * @return the event, or null without JFR
+   */
+  public static ChartEncodeEvent beginChartEncode(String encoder, String format) {
+
+    if (!IS_JFR_PRESENT) {
+      return null;
+    }
+    ChartEncodeEvent event = new ChartEncodeEvent(encoder, format);
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends an event for encoding a chart and commits it, if it is recorded
+   *
+   * @param event - null without JFR
+   * @param chart
+   */
+  public static void commitChartEncode(ChartEncodeEvent event, Chart<?, ?> chart) {
+
+    if (event != null) {
+      event.commitChart(chart);
+    }
+  }
+
+  /**
+   * Ends an event for encoding charts and commits it, if it is recorded
+   *
+   * @param event - null without JFR
+   * @param charts
+   */
+  public static void commitChartEncode(ChartEncodeEvent event, List<? extends Chart> charts) {
+
+    if (event != null) {
+      event.commitCharts(charts);
+    }
+  }
+
+  /**
+   * Begins an event for importing or exporting CSV
+   *
+   * @param operation
+   * @param path
+   * @param dataOrientation
+   * @return the event, or null without JFR
+   */
+  public static CSVEvent beginCSV(String operation, String path, String dataOrientation) {
+
+    if (!IS_JFR_PRESENT) {
+      return null;
+    }
+    CSVEvent event = new CSVEvent(operation, path, dataOrientation);
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends an event for importing or exporting CSV and commits it, if it is recorded
+   *
+   * @param event - null without JFR
+   * @param seriesCount
+   * @param pointCount
+   */
+  public static void commitCSV(CSVEvent event, int seriesCount, long pointCount) {
+
+    if (event != null) {
+      event.end();
+      if (event.shouldCommit()) {
+        event.seriesCount = seriesCount;
+        event.pointCount = pointCount;
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * Begins an event for calculating the ticks of an axis
+   *
+   * @return the event, or null without JFR
+   */
+  public static AxisTickCalculationEvent beginAxisTickCalculation() {
+
+    if (!IS_JFR_PRESENT) {
+      return null;
+    }
+    AxisTickCalculationEvent event = new AxisTickCalculationEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Begins an event for painting a chart
+   *
+   * @return the event, or null without JFR or if the event is not recorded
+   */
+  public static ChartPaintEvent beginChartPaint() {
+
+    if (!IS_JFR_PRESENT || !PaintEventTypes.PAINT.isEnabled()) {
+      return null;
+    }
+    ChartPaintEvent event = new ChartPaintEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Begins an event for a phase of painting a chart
+   *
+   * @return the event, or null without JFR or if the event is not recorded
+   */
+  public static ChartPaintPhaseEvent beginChartPaintPhase() {
+
+    if (!IS_JFR_PRESENT || !PaintEventTypes.PAINT_PHASE.isEnabled()) {
+      return null;
+    }
+    ChartPaintPhaseEvent event = new ChartPaintPhaseEvent();
+    event.begin();
+    return event;
+  }
+
+  /** The event types of painting, checked before creating an event on every paint */
+  private static final class PaintEventTypes {
+
+    static final EventType PAINT = EventType.getEventType(ChartPaintEvent.class);
+    static final EventType PAINT_PHASE = EventType.getEventType(ChartPaintPhaseEvent.class);
+  }
+}
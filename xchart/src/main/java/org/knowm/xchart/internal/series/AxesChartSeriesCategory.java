@@ -165,6 +165,12 @@ public abstract class AxesChartSeriesCategory extends MarkerSeries {
     return new double[] {min, max};
   }
 
+  @Override
+  public int getDataPointCount() {
+
+    return yData.size();
+  }
+
   public Collection<?> getXData() {
 
     return xData;
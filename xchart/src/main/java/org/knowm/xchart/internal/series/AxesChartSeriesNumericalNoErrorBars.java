@@ -5,19 +5,16 @@ import java.util.Arrays;
 /**
  * A Series containing X and Y data to be plotted on a Chart with X and Y Axes. xData can be Number
  * or Date(epochtime), hence a double[]
+ *
+ * <p>The data is held in an immutable {@link SeriesDataSnapshot} which is swapped atomically when
+ * the data is replaced or filtered. Data can therefore be updated from a producer thread while the
+ * chart is painted on the EDT, as long as the arrays handed to the series are not modified
+ * afterwards. Writers are serialized among themselves, readers never block.
  */
 // TODO weird name of class since it does contain extravalues for error bars!
 public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
 
-  // permanent data
-  double[] xDataAll;
-  double[] yDataAll;
-  double[] extraValuesAll;
-
-  // temporary data different from permanent data if some is filter out for zooming
-  double[] xData; // can be Number or Date(epochtime)
-  double[] yData;
-  double[] extraValues;
+  private volatile SeriesDataSnapshot data;
 
   /**
    * Constructor
@@ -32,15 +29,7 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
 
     super(name, xAxisDataType);
 
-    this.xDataAll = xData;
-    this.yDataAll = yData;
-    this.extraValuesAll = extraValues;
-
-    this.xData = xData;
-    this.yData = yData;
-    this.extraValues = extraValues;
-
-    calculateMinMax();
+    publish(xData, yData, extraValues, xData, yData, extraValues);
   }
 
   /**
@@ -51,7 +40,8 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
    * @param newYData
    * @param newExtraValues
    */
-  public void replaceData(double[] newXData, double[] newYData, double[] newExtraValues) {
+  public synchronized void replaceData(
+      double[] newXData, double[] newYData, double[] newExtraValues) {
 
     // Sanity check
     if (newExtraValues != null && newExtraValues.length != newYData.length) {
@@ -61,32 +51,39 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
       throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
     }
 
-    this.xDataAll = newXData;
-    this.yDataAll = newYData;
-    this.extraValuesAll = newExtraValues;
-
-    xData = newXData;
-    yData = newYData;
-    extraValues = newExtraValues;
-
-    calculateMinMax();
+    publish(newXData, newYData, newExtraValues, newXData, newYData, newExtraValues);
   }
 
-  public void filterXByIndex(int startIndex, int endIndex) {
+  public synchronized void filterXByIndex(int startIndex, int endIndex) {
+
+    SeriesDataSnapshot current = data;
+    double[] xDataAll = current.getXDataAll();
+    double[] yDataAll = current.getYDataAll();
+    double[] extraValuesAll = current.getExtraValuesAll();
 
     startIndex = Math.max(0, startIndex);
     endIndex = Math.min(yDataAll.length, endIndex);
 
-    xData = Arrays.copyOfRange(xDataAll, startIndex, endIndex);
-    yData = Arrays.copyOfRange(yDataAll, startIndex, endIndex);
+    double[] extraValues = null;
     if (extraValuesAll != null) {
       extraValues = Arrays.copyOfRange(extraValuesAll, startIndex, endIndex);
     }
 
-    calculateMinMax();
+    publish(
+        xDataAll,
+        yDataAll,
+        extraValuesAll,
+        Arrays.copyOfRange(xDataAll, startIndex, endIndex),
+        Arrays.copyOfRange(yDataAll, startIndex, endIndex),
+        extraValues);
   }
 
-  public boolean filterXByValue(double minValue, double maxValue) {
+  public synchronized boolean filterXByValue(double minValue, double maxValue) {
+
+    SeriesDataSnapshot current = data;
+    double[] xDataAll = current.getXDataAll();
+    double[] yDataAll = current.getYDataAll();
+    double[] extraValuesAll = current.getExtraValuesAll();
 
     int length = xDataAll.length;
     boolean[] filterResult = new boolean[length];
@@ -106,8 +103,9 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
       return false;
     }
 
-    xData = new double[remainingDataCount];
-    yData = new double[remainingDataCount];
+    double[] xData = new double[remainingDataCount];
+    double[] yData = new double[remainingDataCount];
+    double[] extraValues = null;
     boolean extra = extraValuesAll != null;
 
     if (extra) {
@@ -127,16 +125,41 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
       ind++;
     }
 
-    calculateMinMax();
+    publish(xDataAll, yDataAll, extraValuesAll, xData, yData, extraValues);
     return true;
   }
 
-  public void resetFilter() {
+  public synchronized void resetFilter() {
+
+    SeriesDataSnapshot current = data;
+    publish(
+        current.getXDataAll(),
+        current.getYDataAll(),
+        current.getExtraValuesAll(),
+        current.getXDataAll(),
+        current.getYDataAll(),
+        current.getExtraValuesAll());
+  }
 
-    xData = xDataAll;
-    yData = yDataAll;
-    extraValues = extraValuesAll;
-    calculateMinMax();
+  /** Calculates the min and max of the visible data and publishes them in a new snapshot */
+  private void publish(
+      double[] xDataAll,
+      double[] yDataAll,
+      double[] extraValuesAll,
+      double[] xData,
+      double[] yData,
+      double[] extraValues) {
+
+    data =
+        new SeriesDataSnapshot(
+            xDataAll,
+            yDataAll,
+            extraValuesAll,
+            xData,
+            yData,
+            extraValues,
+            findMinMax(xData),
+            findYMinMax(yData, extraValues));
   }
 
   /**
@@ -167,27 +190,33 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
     return new double[] {min, max};
   }
 
-  @Override
-  protected void calculateMinMax() {
-
-    // xData
-    double[] xMinMax = findMinMax(xData);
-    xMin = xMinMax[0];
-    xMax = xMinMax[1];
-    // System.out.println(xMin);
-    // System.out.println(xMax);
+  /**
+   * Finds the min and max of the Y data, accounting for error bars if there are any
+   *
+   * @param yData
+   * @param extraValues
+   * @return
+   */
+  double[] findYMinMax(double[] yData, double[] extraValues) {
 
-    // yData
-    double[] yMinMax;
     if (extraValues == null) {
-      yMinMax = findMinMax(yData);
+      return findMinMax(yData);
     } else {
-      yMinMax = findMinMaxWithErrorBars(yData, extraValues);
+      return findMinMaxWithErrorBars(yData, extraValues);
     }
-    yMin = yMinMax[0];
-    yMax = yMinMax[1];
-    // System.out.println(yMin);
-    // System.out.println(yMax);
+  }
+
+  @Override
+  protected synchronized void calculateMinMax() {
+
+    SeriesDataSnapshot current = data;
+    publish(
+        current.getXDataAll(),
+        current.getYDataAll(),
+        current.getExtraValuesAll(),
+        current.getXData(),
+        current.getYData(),
+        current.getExtraValues());
   }
 
   /**
@@ -216,6 +245,17 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
     return new double[] {min, max};
   }
 
+  /**
+   * Gets the current data of this series. Painting code should read the snapshot once and use it
+   * throughout, so X, Y and extra values always belong together.
+   *
+   * @return the current data snapshot
+   */
+  public SeriesDataSnapshot getDataSnapshot() {
+
+    return data;
+  }
+
   /**
    * Is xData.length equal to xDataAll.length
    *
@@ -223,21 +263,51 @@ public abstract class AxesChartSeriesNumericalNoErrorBars extends MarkerSeries {
    */
   public boolean isAllXData() {
 
-    return xData.length == xDataAll.length;
+    return data.isAllXData();
+  }
+
+  @Override
+  public int getDataPointCount() {
+
+    return data.getXData().length;
   }
 
   public double[] getXData() {
 
-    return xData;
+    return data.getXData();
   }
 
   public double[] getYData() {
 
-    return yData;
+    return data.getYData();
   }
 
   public double[] getExtraValues() {
 
-    return extraValues;
+    return data.getExtraValues();
+  }
+
+  @Override
+  public double getXMin() {
+
+    return data.getXMin();
+  }
+
+  @Override
+  public double getXMax() {
+
+    return data.getXMax();
+  }
+
+  @Override
+  public double getYMin() {
+
+    return data.getYMin();
+  }
+
+  @Override
+  public double getYMax() {
+
+    return data.getYMax();
   }
 }
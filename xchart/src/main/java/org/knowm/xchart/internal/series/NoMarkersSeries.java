@@ -19,27 +19,12 @@ public abstract class NoMarkersSeries extends AxesChartSeriesNumericalNoErrorBar
       String name, double[] xData, double[] yData, double[] extraValues, Series.DataType axisType) {
 
     super(name, xData, yData, extraValues, axisType);
-
-    // TODO why do we need this here?
-    this.extraValues = extraValues;
-    calculateMinMax();
   }
 
   @Override
-  protected void calculateMinMax() {
-
-    // xData
-    double[] xMinMax = findMinMax(xData);
-    xMin = xMinMax[0];
-    xMax = xMinMax[1];
-    // System.out.println(xMin);
-    // System.out.println(xMax);
+  double[] findYMinMax(double[] yData, double[] extraValues) {
 
-    // yData
-    double[] yMinMax = findMinMax(yData);
-    yMin = yMinMax[0];
-    yMax = yMinMax[1];
-    // System.out.println(yMin);
-    // System.out.println(yMax);
+    // the extra values are not error bars, so they don't widen the Y range
+    return findMinMax(yData);
   }
 }
@@ -36,6 +36,16 @@ public abstract class Series {
 
   public abstract LegendRenderType getLegendRenderType();
 
+  /**
+   * Gets the number of data points of this series
+   *
+   * @return the number of data points
+   */
+  public int getDataPointCount() {
+
+    return 1;
+  }
+
   public Color getFillColor() {
 
     return fillColor;
@@ -0,0 +1,128 @@
+package org.knowm.xchart.internal.series;
+
+/**
+ * An immutable view of the data of an {@link AxesChartSeriesNumericalNoErrorBars}. The series
+ * publishes a new instance every time its data is replaced or filtered, so a paint running on
+ * another thread always sees X, Y and extra values of matching length together with the min and max
+ * calculated from them. The arrays are never modified after they have been handed to the series.
+ */
+public final class SeriesDataSnapshot {
+
+  // permanent data
+  private final double[] xDataAll;
+  private final double[] yDataAll;
+  private final double[] extraValuesAll;
+
+  // data different from permanent data if some is filtered out for zooming
+  private final double[] xData; // can be Number or Date(epochtime)
+  private final double[] yData;
+  private final double[] extraValues;
+
+  private final double xMin;
+  private final double xMax;
+  private final double yMin;
+  private final double yMax;
+
+  /**
+   * Constructor
+   *
+   * @param xDataAll
+   * @param yDataAll
+   * @param extraValuesAll
+   * @param xData
+   * @param yData
+   * @param extraValues
+   * @param xMinMax
+   * @param yMinMax
+   */
+  SeriesDataSnapshot(
+      double[] xDataAll,
+      double[] yDataAll,
+      double[] extraValuesAll,
+      double[] xData,
+      double[] yData,
+      double[] extraValues,
+      double[] xMinMax,
+      double[] yMinMax) {
+
+    this.xDataAll = xDataAll;
+    this.yDataAll = yDataAll;
+    this.extraValuesAll = extraValuesAll;
+    this.xData = xData;
+    this.yData = yData;
+    this.extraValues = extraValues;
+    this.xMin = xMinMax[0];
+    this.xMax = xMinMax[1];
+    this.yMin = yMinMax[0];
+    this.yMax = yMinMax[1];
+  }
+
+  /**
+   * @return all X data, including the data filtered out for zooming
+   */
+  public double[] getXDataAll() {
+
+    return xDataAll;
+  }
+
+  /**
+   * @return all Y data, including the data filtered out for zooming
+   */
+  public double[] getYDataAll() {
+
+    return yDataAll;
+  }
+
+  /**
+   * @return all extra values, including those filtered out for zooming
+   */
+  public double[] getExtraValuesAll() {
+
+    return extraValuesAll;
+  }
+
+  public double[] getXData() {
+
+    return xData;
+  }
+
+  public double[] getYData() {
+
+    return yData;
+  }
+
+  public double[] getExtraValues() {
+
+    return extraValues;
+  }
+
+  public double getXMin() {
+
+    return xMin;
+  }
+
+  public double getXMax() {
+
+    return xMax;
+  }
+
+  public double getYMin() {
+
+    return yMin;
+  }
+
+  public double getYMax() {
+
+    return yMax;
+  }
+
+  /**
+   * Is xData.length equal to xDataAll.length
+   *
+   * @return true: equal; false: not equal
+   */
+  public boolean isAllXData() {
+
+    return xData.length == xDataAll.length;
+  }
+}
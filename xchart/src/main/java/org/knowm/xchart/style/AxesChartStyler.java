@@ -33,8 +33,8 @@ public abstract class AxesChartStyler extends Styler {
   private boolean isYAxisLogarithmic;
   private Double xAxisMin;
   private Double xAxisMax;
-  private final HashMap<Integer, Double> yAxisMinMap = new HashMap<>();
-  private final HashMap<Integer, Double> yAxisMaxMap = new HashMap<>();
+  private HashMap<Integer, Double> yAxisMinMap = new HashMap<>();
+  private HashMap<Integer, Double> yAxisMaxMap = new HashMap<>();
 
   // By default, all available labels are displayed
   // TODO what's this for anyway??
@@ -69,8 +69,8 @@ public abstract class AxesChartStyler extends Styler {
   private Color xAxisTickMarksColor;
   private Color yAxisTickMarksColor;
   // TODO where's the axis title color map?? Add it here!
-  private final Map<Integer, Color> yAxisGroupTickLabelsColorMap = new HashMap<>();
-  private final Map<Integer, Color> yAxisGroupTickMarksColorMap = new HashMap<>();
+  private Map<Integer, Color> yAxisGroupTickLabelsColorMap = new HashMap<>();
+  private Map<Integer, Color> yAxisGroupTickMarksColorMap = new HashMap<>();
   private TextAlignment xAxisLabelAlignment = TextAlignment.Centre;
   private TextAlignment xAxisLabelAlignmentVertical = TextAlignment.Centre;
   private TextAlignment yAxisLabelAlignment = TextAlignment.Left;
@@ -950,4 +950,17 @@ public abstract class AxesChartStyler extends Styler {
     this.xAxisLabelRotation = xAxisLabelRotation;
     return this;
   }
+
+  @Override
+  public AxesChartStyler clone() {
+
+    AxesChartStyler styler = (AxesChartStyler) super.clone();
+    styler.yAxisMinMap = new HashMap<>(yAxisMinMap);
+    styler.yAxisMaxMap = new HashMap<>(yAxisMaxMap);
+    styler.yAxisGroupDecimalPatternMap =
+        yAxisGroupDecimalPatternMap == null ? null : new HashMap<>(yAxisGroupDecimalPatternMap);
+    styler.yAxisGroupTickLabelsColorMap = new HashMap<>(yAxisGroupTickLabelsColorMap);
+    styler.yAxisGroupTickMarksColorMap = new HashMap<>(yAxisGroupTickMarksColorMap);
+    return styler;
+  }
 }
@@ -406,4 +406,13 @@ public class DialStyler extends Styler {
     this.labelsFont = labelsFont;
     return this;
   }
+
+  @Override
+  public DialStyler clone() {
+
+    DialStyler styler = (DialStyler) super.clone();
+    styler.axisTickValues = axisTickValues == null ? null : axisTickValues.clone();
+    styler.axisTickLabels = axisTickLabels == null ? null : axisTickLabels.clone();
+    return styler;
+  }
 }
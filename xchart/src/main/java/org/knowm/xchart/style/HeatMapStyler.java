@@ -251,4 +251,12 @@ public class HeatMapStyler extends AxesChartStyler {
     isPiecewiseRanged = piecewiseRanged;
     return this;
   }
+
+  @Override
+  public HeatMapStyler clone() {
+
+    HeatMapStyler styler = (HeatMapStyler) super.clone();
+    styler.rangeColors = rangeColors == null ? null : rangeColors.clone();
+    return styler;
+  }
 }
@@ -15,7 +15,7 @@ import org.knowm.xchart.style.theme.XChartTheme;
 /**
  * The styler is used to manage all things related to styling of the vast number of Chart components
  */
-public abstract class Styler {
+public abstract class Styler implements Cloneable {
 
   /** the default Theme */
   Theme theme = new XChartTheme();
@@ -88,7 +88,7 @@ public abstract class Styler {
   private boolean antiAlias = true;
   private String decimalPattern;
   // TODO I don't think this should be in styler directly?
-  private final HashMap<Integer, YAxisPosition> yAxisAlignmentMap = new HashMap<>();
+  private HashMap<Integer, YAxisPosition> yAxisAlignmentMap = new HashMap<>();
   private int yAxisLeftWidthHint;
 
   // TODO move this to boxplot styler
@@ -98,7 +98,7 @@ public abstract class Styler {
   // Axis Title Font Color
   private Color xAxisTitleColor;
   private Color yAxisTitleColor;
-  private final Map<Integer, Color> yAxisGroupTitleColorMap = new HashMap<>();
+  private Map<Integer, Color> yAxisGroupTitleColorMap = new HashMap<>();
 
   // Line, Scatter, Area , Radar Charts///////////////////////////////
   // TODO Move these to the respective stylers where it is needed
@@ -996,4 +996,28 @@ public abstract class Styler {
 
     return theme;
   }
+
+  /**
+   * Creates a copy of this styler, much cheaper than creating a new styler and setting it up again.
+   * Changing one of the two stylers afterwards doesn't change the other one. The theme, fonts,
+   * strokes and formatting functions are shared as they are not modified by the styler.
+   *
+   * @return the copy, of the same class as this styler
+   */
+  @Override
+  public Styler clone() {
+
+    Styler styler;
+    try {
+      styler = (Styler) super.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException(e); // can't happen, Styler is Cloneable
+    }
+    styler.seriesColors = seriesColors == null ? null : seriesColors.clone();
+    styler.seriesLines = seriesLines == null ? null : seriesLines.clone();
+    styler.seriesMarkers = seriesMarkers == null ? null : seriesMarkers.clone();
+    styler.yAxisAlignmentMap = new HashMap<>(yAxisAlignmentMap);
+    styler.yAxisGroupTitleColorMap = new HashMap<>(yAxisGroupTitleColorMap);
+    return styler;
+  }
 }
@@ -31,6 +31,11 @@ public class XYStyler extends AxesChartStyler {
   private Comparator<String> cursorOrder;
   private String cursorZeroString;
 
+  // Real-time ////////////////////////////
+
+  private boolean isIncrementalRenderingEnabled;
+  private Double stripChartWindow;
+
   /** Constructor */
   public XYStyler() {
 
@@ -57,6 +62,10 @@ public class XYStyler extends AxesChartStyler {
     this.cursorFont = theme.getCursorFont();
     this.cursorFontColor = theme.getCursorFontColor();
     this.cursorBackgroundColor = theme.getCursorBackgroundColor();
+
+    // Real-time ////////////////////////////
+    isIncrementalRenderingEnabled = false;
+    stripChartWindow = null;
   }
 
   /**
@@ -245,4 +254,47 @@ public class XYStyler extends AxesChartStyler {
   public String getCursorZeroString() {
     return cursorZeroString;
   }
+
+  // Real-time ///////////////////////////////
+
+  public boolean isIncrementalRenderingEnabled() {
+
+    return isIncrementalRenderingEnabled;
+  }
+
+  /**
+   * Keep the rendered plot content in an image and, when series only grew at their tail, draw just
+   * the new points on top of it. A full redraw happens whenever the axis ranges, the plot size or
+   * the series styles change. Works for Line, Step and Scatter series with tool tips and cursor
+   * disabled; otherwise the plot content is always painted from scratch. Meant for real-time charts
+   * with a fixed axis range; not used when painting to vector graphics.
+   *
+   * @param isIncrementalRenderingEnabled
+   */
+  public XYStyler setIncrementalRenderingEnabled(boolean isIncrementalRenderingEnabled) {
+
+    this.isIncrementalRenderingEnabled = isIncrementalRenderingEnabled;
+    return this;
+  }
+
+  public Double getStripChartWindow() {
+
+    return stripChartWindow;
+  }
+
+  /**
+   * Turns the chart into a strip chart showing a sliding window of the given width, ending at the
+   * largest X value (or the X-Axis max if set). The X-Axis min set on the styler is ignored. The
+   * rendered plot content is kept in an image which is scrolled left as the window slides, so only
+   * the newly exposed band is painted. This needs ascending X data and a fixed Y-Axis range, the
+   * other restrictions of {@link #setIncrementalRenderingEnabled(boolean)} apply too. A logarithmic
+   * X-Axis shows all data, the window is ignored.
+   *
+   * @param stripChartWindow - the width of the window in X-Axis units, null to turn it off
+   */
+  public XYStyler setStripChartWindow(Double stripChartWindow) {
+
+    this.stripChartWindow = stripChartWindow;
+    return this;
+  }
 }
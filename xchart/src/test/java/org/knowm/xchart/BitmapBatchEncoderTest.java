@@ -0,0 +1,114 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.BitmapEncoder.BitmapFormat;
+
+public class BitmapBatchEncoderTest {
+
+  @Test
+  public void exportsChartsInParallelLikeBitmapEncoder() throws Exception {
+
+    // given charts and an encoder counting the sessions it uses
+    List<XYChart> charts = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      XYChart chart = new XYChartBuilder().width(200).height(150).title("chart " + i).build();
+      chart.addSeries("a", new double[] {0, 1, 2}, new double[] {i, 2, 1});
+      charts.add(chart);
+    }
+    AtomicInteger sessions = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(6);
+    try (BitmapBatchEncoder encoder =
+        new BitmapBatchEncoder(
+            pool,
+            2,
+            () -> {
+              sessions.incrementAndGet();
+              return new BitmapEncoderSession();
+            })) {
+
+      // when
+      List<ByteArrayOutputStream> streams = new ArrayList<>();
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (XYChart chart : charts) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        streams.add(stream);
+        futures.add(encoder.saveBitmap(chart, stream, BitmapFormat.PNG));
+      }
+      BitmapBatchEncoder.allOf(futures).join();
+      ByteArrayOutputStream merged = new ByteArrayOutputStream();
+      encoder.saveBitmap(charts, 3, 4, merged, BitmapFormat.PNG).join();
+
+      // then
+      // at most two charts were encoded at once
+      assertTrue(sessions.get() <= 2, sessions.get() + " sessions");
+      for (int i = 0; i < charts.size(); i++) {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        BitmapEncoder.saveBitmap(charts.get(i), expected, BitmapFormat.PNG);
+        assertArrayEquals(expected.toByteArray(), streams.get(i).toByteArray());
+      }
+      ByteArrayOutputStream expected = new ByteArrayOutputStream();
+      BitmapEncoder.saveBitmap(charts, 3, 4, expected, BitmapFormat.PNG);
+      assertArrayEquals(pixels(expected.toByteArray()), pixels(merged.toByteArray()));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void failedExportsAreAggregated() {
+
+    // given streams of which every third fails
+    XYChart chart = new XYChartBuilder().width(100).height(80).build();
+    chart.addSeries("a", new double[] {0, 1}, new double[] {1, 0});
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    try (BitmapBatchEncoder encoder = new BitmapBatchEncoder()) {
+      for (int i = 0; i < 9; i++) {
+        OutputStream stream =
+            i % 3 == 0
+                ? new OutputStream() {
+
+                  @Override
+                  public void write(int b) throws IOException {
+
+                    throw new IOException("disk full");
+                  }
+                }
+                : new ByteArrayOutputStream();
+        futures.add(encoder.saveBitmap(chart, stream, BitmapFormat.PNG));
+      }
+
+      // when
+      CompletionException exception =
+          assertThrows(CompletionException.class, () -> BitmapBatchEncoder.allOf(futures).join());
+
+      // then
+      assertTrue(exception.getCause() instanceof IOException);
+      assertEquals("3 of 9 chart exports failed!!!", exception.getCause().getMessage());
+      assertEquals(3, exception.getCause().getSuppressed().length);
+    }
+  }
+
+  private static int[] pixels(byte[] png) throws IOException {
+
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+}
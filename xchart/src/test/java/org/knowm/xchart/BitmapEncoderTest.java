@@ -1,8 +1,18 @@
 package org.knowm.xchart;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import javax.imageio.ImageIO;
 import org.junit.jupiter.api.Test;
 
 public class BitmapEncoderTest {
@@ -22,4 +32,142 @@ public class BitmapEncoderTest {
     assertEquals(".bmp", BitmapEncoder.addFileExtension(".bmp", BitmapEncoder.BitmapFormat.BMP));
     assertEquals(".bmp", BitmapEncoder.addFileExtension(".BmP", BitmapEncoder.BitmapFormat.BMP));
   }
+
+  @Test
+  public void tiledImageMatchesImage() {
+
+    XYChart chart = new XYChartBuilder().width(600).height(400).build();
+    double[] xData = new double[1000];
+    double[] yData = new double[1000];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = Math.sin(i / 20.0);
+    }
+    chart.addSeries("sine", xData, yData);
+    chart.addSeries("cosine", xData, Arrays.stream(xData).map(x -> Math.cos(x / 20.0)).toArray());
+
+    BufferedImage expected = BitmapEncoder.getBufferedImage(chart, false);
+    BufferedImage tiled = BitmapEncoder.getBufferedImage(chart, false, 64);
+
+    assertArrayEquals(
+        expected.getRGB(0, 0, 600, 400, null, 0, 600), tiled.getRGB(0, 0, 600, 400, null, 0, 600));
+  }
+
+  @Test
+  public void sessionEncodesLikeBitmapEncoder() throws Exception {
+
+    XYChart first = new XYChartBuilder().width(300).height(200).title("first").build();
+    first.addSeries("a", new double[] {0, 1, 2}, new double[] {2, 0, 1});
+    XYChart second = new XYChartBuilder().width(300).height(200).title("second").build();
+    second.addSeries("b", new double[] {0, 1, 2}, new double[] {0, 2, 2});
+
+    try (BitmapEncoderSession session = new BitmapEncoderSession()) {
+      // the pooled image is cleared between charts of the same size
+      BufferedImage image = session.getBufferedImage(first, true);
+      assertSame(image, session.getBufferedImage(second, true));
+      assertArrayEquals(pixels(BitmapEncoder.getBufferedImage(second, true)), pixels(image));
+
+      for (XYChart chart : new XYChart[] {first, second, first}) {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        BitmapEncoder.saveBitmap(chart, expected, BitmapEncoder.BitmapFormat.PNG);
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(written);
+        session.saveBitmap(chart, channel, BitmapEncoder.BitmapFormat.PNG);
+
+        assertArrayEquals(expected.toByteArray(), written.toByteArray());
+        assertArrayEquals(
+            expected.toByteArray(), session.getBitmapBytes(chart, BitmapEncoder.BitmapFormat.PNG));
+      }
+    }
+  }
+
+  @Test
+  public void pngEncoderWritesThePixelsOfTheImage() throws Exception {
+
+    // given a chart and a translucent image with transparent pixels
+    XYChart chart = new XYChartBuilder().width(400).height(300).title("png").build();
+    chart.addSeries("a", new double[] {0, 1, 2, 3}, new double[] {2, 0, 3, 1});
+    BufferedImage opaque = BitmapEncoder.getBufferedImage(chart, true);
+    BufferedImage translucent = new BufferedImage(40, 30, BufferedImage.TYPE_INT_ARGB);
+    for (int y = 0; y < 30; y++) {
+      for (int x = 0; x < 40; x++) {
+        translucent.setRGB(x, y, (x * 6) << 24 | (y * 8) << 16 | x << 8 | 0x80);
+      }
+    }
+
+    for (PngEncoder.FilterStrategy filterStrategy : PngEncoder.FilterStrategy.values()) {
+      for (ForkJoinPool pool : new ForkJoinPool[] {null, ForkJoinPool.commonPool()}) {
+        PngEncoder encoder =
+            new PngEncoder().setFilterStrategy(filterStrategy).setCompressionLevel(1).setPool(pool);
+        for (BufferedImage image : new BufferedImage[] {opaque, translucent}) {
+          // when
+          ByteArrayOutputStream written = new ByteArrayOutputStream();
+          encoder.encode(image, written);
+
+          // then ImageIO decodes the same pixels
+          BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(written.toByteArray()));
+          assertArrayEquals(pixels(image), pixels(decoded), filterStrategy + " " + pool);
+        }
+      }
+    }
+
+    // a session using the encoder writes the same pixels as the ImageIO writer
+    try (BitmapEncoderSession session = new BitmapEncoderSession()) {
+      byte[] imageIO = session.getBitmapBytes(chart, BitmapEncoder.BitmapFormat.PNG);
+      session.setPngEncoder(new PngEncoder());
+      byte[] encoded = session.getBitmapBytes(chart, BitmapEncoder.BitmapFormat.PNG);
+      assertArrayEquals(
+          pixels(ImageIO.read(new ByteArrayInputStream(imageIO))),
+          pixels(ImageIO.read(new ByteArrayInputStream(encoded))));
+    }
+  }
+
+  @Test
+  public void indexedPngEncoderWritesThePaletteColors() throws Exception {
+
+    // given an image with 200 colors, some of them translucent
+    BufferedImage image = new BufferedImage(100, 80, BufferedImage.TYPE_INT_ARGB);
+    for (int y = 0; y < 80; y++) {
+      for (int x = 0; x < 100; x++) {
+        int color = (x / 10) * 20 + y / 4;
+        image.setRGB(x, y, (color < 50 ? color : 0xFF) << 24 | color << 16 | (255 - color));
+      }
+    }
+    PngEncoder encoder = new PngEncoder().setIndexedColor(true);
+
+    // when
+    ByteArrayOutputStream written = new ByteArrayOutputStream();
+    encoder.encode(image, written);
+
+    // then the colors are exact
+    BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(written.toByteArray()));
+    assertEquals(BufferedImage.TYPE_BYTE_INDEXED, decoded.getType());
+    assertArrayEquals(pixels(image), pixels(decoded));
+
+    // and a chart with more colors is smaller and close to the original
+    XYChart chart = new XYChartBuilder().width(600).height(400).title("indexed").build();
+    chart.addSeries("a", new double[] {0, 1, 2, 3}, new double[] {2, 0, 3, 1});
+    chart.addSeries("b", new double[] {0, 1, 2, 3}, new double[] {1, 3, 0, 2});
+    ByteArrayOutputStream rgb = new ByteArrayOutputStream();
+    new PngEncoder().encode(chart, rgb);
+    ByteArrayOutputStream indexed = new ByteArrayOutputStream();
+    encoder.encode(chart, indexed);
+    assertTrue(indexed.size() < rgb.size(), indexed.size() + " >= " + rgb.size());
+
+    int[] expected = pixels(ImageIO.read(new ByteArrayInputStream(rgb.toByteArray())));
+    int[] actual = pixels(ImageIO.read(new ByteArrayInputStream(indexed.toByteArray())));
+    int exact = 0;
+    for (int i = 0; i < expected.length; i++) {
+      if (expected[i] == actual[i]) {
+        exact++;
+      }
+    }
+    assertTrue(exact > expected.length * 0.99, exact + " of " + expected.length);
+  }
+
+  private static int[] pixels(BufferedImage image) {
+
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
 }
@@ -0,0 +1,132 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knowm.xchart.CSVImporter.DataOrientation;
+
+public class CSVExporterTest {
+
+  private static final String NEW_LINE = System.lineSeparator();
+
+  @TempDir Path directory;
+
+  @Test
+  public void exportedSeriesAreImportedUnchanged() throws Exception {
+
+    // given
+    Path rows = Files.createDirectory(directory.resolve("rows"));
+    Path columns = Files.createDirectory(directory.resolve("columns"));
+    Random random = new Random(11);
+    double[] x = new double[5_000];
+    double[] y = new double[x.length];
+    double[] errorBars = new double[x.length];
+    for (int i = 0; i < x.length; i++) {
+      x[i] = i * 0.1;
+      y[i] = random.nextGaussian() * Math.pow(10, random.nextInt(40) - 20);
+      errorBars[i] = random.nextInt(100) / 8.0;
+    }
+    XYChart chart = new XYChartBuilder().build();
+    chart.addSeries("random", x, y, errorBars);
+
+    // when
+    CSVExporter.writeCSVRows(chart, rows.toString() + "/");
+    CSVExporter.writeCSVColumns(chart, columns.toString() + "/");
+
+    // then
+    XYChart fromRows =
+        CSVImporter.getChartFromCSVDir(rows.toString(), DataOrientation.Rows, 600, 400);
+    XYChart fromColumns =
+        CSVImporter.getChartFromCSVDir(columns.toString(), DataOrientation.Columns, 600, 400);
+    for (XYChart imported : Arrays.asList(fromRows, fromColumns)) {
+      XYSeries series = imported.getSeriesMap().get("random");
+      assertArrayEquals(x, series.getXData());
+      assertArrayEquals(y, series.getYData());
+      assertArrayEquals(errorBars, series.getExtraValues());
+    }
+  }
+
+  @Test
+  public void seriesOfEveryChartTypeAreExported() throws Exception {
+
+    // given
+    CategoryChart categoryChart = new CategoryChartBuilder().build();
+    categoryChart.addSeries("category", Arrays.asList("a", "b,c"), Arrays.asList(1, 2.5));
+    OHLCChart ohlcChart = new OHLCChartBuilder().build();
+    ohlcChart.addSeries(
+        "ohlc",
+        Arrays.asList(1.0, 2.0),
+        Arrays.asList(10.0, 11.0),
+        Arrays.asList(12.0, 13.5),
+        Arrays.asList(9.0, 10.0),
+        Arrays.asList(11.0, 12.0));
+    BoxChart boxChart = new BoxChartBuilder().build();
+    boxChart.addSeries("box", new double[] {3, 1.5, 4});
+    HeatMapChart heatMapChart = new HeatMapChartBuilder().build();
+    List<Number[]> heatData =
+        Arrays.asList(new Number[] {0, 0, 5}, new Number[] {1, 0, 7}, new Number[] {1, 1, 0.5});
+    heatMapChart.addSeries("heat", Arrays.asList("x1", "x2"), Arrays.asList(10, 20), heatData);
+
+    // when
+    CSVExporter.writeCSVColumns(categoryChart, directory.toString() + "/");
+    CSVExporter.writeCSVColumns(ohlcChart, directory.toString() + "/");
+    CSVExporter.writeCSVRows(boxChart, directory.toString() + "/");
+    CSVExporter.writeCSVColumns(heatMapChart, directory.toString() + "/");
+    CSVExporter.writeCSVWide(heatMapChart, directory.resolve("heatTable.csv").toString());
+
+    // then
+    assertEquals("a,1" + NEW_LINE + "\"b,c\",2.5" + NEW_LINE, read(directory, "category.csv"));
+    assertEquals(
+        "1,10,12,9,11" + NEW_LINE + "2,11,13.5,10,12" + NEW_LINE, read(directory, "ohlc.csv"));
+    assertEquals("3,1.5,4" + NEW_LINE, read(directory, "box.csv"));
+    assertEquals(
+        "x1,10,5" + NEW_LINE + "x2,10,7" + NEW_LINE + "x2,20,0.5" + NEW_LINE,
+        read(directory, "heat.csv"));
+    assertEquals(
+        "heat,x1,x2" + NEW_LINE + "10,5,7" + NEW_LINE + "20,,0.5" + NEW_LINE,
+        read(directory, "heatTable.csv"));
+  }
+
+  @Test
+  public void wideFileIsAlignedOnX() throws Exception {
+
+    // given
+    Path file = directory.resolve("wide.csv");
+    XYChart chart = new XYChartBuilder().build();
+    chart.addSeries("even", new double[] {0, 2, 4}, new double[] {10, 12, 14});
+    chart.addSeries(
+        "odd", new double[] {3, 1, 4}, new double[] {-3, -1, -4}, new double[] {1, 1, 1});
+
+    // when
+    CSVExporter.writeCSVWide(chart, file.toString());
+
+    // then
+    assertEquals(
+        "X,even,odd,odd Error Bars"
+            + NEW_LINE
+            + "0,10,,"
+            + NEW_LINE
+            + "1,,-1,1"
+            + NEW_LINE
+            + "2,12,,"
+            + NEW_LINE
+            + "3,,-3,1"
+            + NEW_LINE
+            + "4,14,-4,1"
+            + NEW_LINE,
+        new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+  }
+
+  private static String read(Path directory, String fileName) throws Exception {
+
+    return new String(Files.readAllBytes(directory.resolve(fileName)), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,195 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knowm.xchart.CSVImporter.DataOrientation;
+import org.knowm.xchart.CSVImporter.SeriesData;
+
+public class CSVImporterTest {
+
+  @TempDir Path directory;
+
+  @Test
+  public void valuesAreParsedLikeParseDouble() throws Exception {
+
+    // given columns of every kind of double
+    Random random = new Random(7);
+    double[] x = new double[10_000];
+    double[] y = new double[x.length];
+    StringBuilder csv = new StringBuilder("\uFEFF");
+    for (int i = 0; i < x.length; i++) {
+      x[i] = i;
+      y[i] = i % 2 == 0 ? Double.longBitsToDouble(random.nextLong()) : random.nextGaussian();
+      csv.append(i).append(", ").append(y[i]).append(i % 3 == 0 ? "\r\n" : "\n");
+    }
+    csv.append('\n');
+    Files.write(directory.resolve("values.csv"), csv.toString().getBytes(StandardCharsets.UTF_8));
+
+    // when
+    XYChart chart =
+        CSVImporter.getChartFromCSVDir(directory.toString(), DataOrientation.Columns, 600, 400);
+
+    // then
+    XYSeries series = chart.getSeriesMap().get("values");
+    assertArrayEquals(x, series.getXData());
+    assertArrayEquals(y, series.getYData());
+  }
+
+  @Test
+  public void rowsAndColumnsGiveTheSameSeries() throws Exception {
+
+    // given
+    Path rows = directory.resolve("rows.csv");
+    Path columns = directory.resolve("columns.csv");
+    Files.write(rows, "1,2,3,\n12,34.5,-5.6E-3,\n1.4,1.12,1.21\n".getBytes(StandardCharsets.UTF_8));
+    Files.write(columns, "1,12,1.4\n2,34.5,1.12\n3,-5.6E-3,1.21".getBytes(StandardCharsets.UTF_8));
+
+    // when
+    SeriesData fromRows =
+        CSVImporter.getSeriesDataFromCSVFile(rows.toString(), DataOrientation.Rows);
+    SeriesData fromColumns =
+        CSVImporter.getSeriesDataFromCSVFile(columns.toString(), DataOrientation.Columns);
+
+    // then
+    assertArrayEquals(new double[] {1, 2, 3}, fromRows.getXData());
+    assertArrayEquals(new double[] {12, 34.5, -5.6E-3}, fromRows.getYData());
+    assertArrayEquals(fromRows.getXData(), fromColumns.getXData());
+    assertArrayEquals(fromRows.getYData(), fromColumns.getYData());
+    assertEquals(34.5, fromColumns.getyAxisData().get(1));
+    assertTrue(fromColumns.getyAxisData() == fromColumns.getyAxisData());
+
+    // and the third column holds the error bars
+    XYChart chart =
+        CSVImporter.getChartFromCSVDir(directory.toString(), DataOrientation.Columns, 600, 400);
+    assertArrayEquals(
+        new double[] {1.4, 1.12, 1.21}, chart.getSeriesMap().get("columns").getExtraValues());
+  }
+
+  @Test
+  public void filesAreReadInParallelAndAddedInOrder() throws Exception {
+
+    // given
+    for (int i = 0; i < 40; i++) {
+      String csv = "1," + i + "\n2," + (i * 2) + "\n";
+      Files.write(directory.resolve(String.format("sensor%02d.csv", i)), csv.getBytes());
+    }
+    // the reads wait until the files submitted while they are blocked are counted
+    AtomicInteger submittedTasks = new AtomicInteger();
+    CountDownLatch gate = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    Executor executor =
+        task -> {
+          submittedTasks.incrementAndGet();
+          pool.execute(
+              () -> {
+                try {
+                  gate.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                task.run();
+              });
+        };
+    List<Integer> progress = new ArrayList<>();
+
+    // when
+    FutureTask<XYChart> importedChart =
+        new FutureTask<>(
+            () ->
+                CSVImporter.getChartFromCSVDir(
+                    directory.toString(),
+                    DataOrientation.Columns,
+                    600,
+                    400,
+                    null,
+                    (importedFileCount, fileCount) -> progress.add(importedFileCount),
+                    executor,
+                    2));
+    Thread importer = new Thread(importedChart);
+    importer.start();
+    // the import blocks once it has submitted as many reads as it may
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while ((submittedTasks.get() < 2 || importer.getState() != Thread.State.WAITING)
+        && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    int submittedWhileBlocked = submittedTasks.get();
+    gate.countDown();
+    XYChart chart = importedChart.get(10, TimeUnit.SECONDS);
+    pool.shutdown();
+
+    // then
+    assertEquals(2, submittedWhileBlocked);
+    List<String> seriesNames = new ArrayList<>(chart.getSeriesMap().keySet());
+    assertEquals(40, seriesNames.size());
+    for (int i = 0; i < 40; i++) {
+      assertEquals(String.format("sensor%02d", i), seriesNames.get(i));
+      assertEquals(i * 2, chart.getSeriesMap().get(seriesNames.get(i)).getYData()[1], 0);
+      assertEquals(i + 1, progress.get(i).intValue());
+    }
+
+    // and the import stops when canceled
+    List<Integer> canceledProgress = new ArrayList<>();
+    assertThrows(
+        CancellationException.class,
+        () ->
+            CSVImporter.getChartFromCSVDir(
+                directory.toString(),
+                DataOrientation.Columns,
+                600,
+                400,
+                null,
+                (importedFileCount, fileCount) -> {
+                  canceledProgress.add(importedFileCount);
+                  return importedFileCount < 10;
+                }));
+    assertEquals(10, canceledProgress.size());
+  }
+
+  @Test
+  public void malformedLinesAreReportedWithTheirNumber() throws Exception {
+
+    // given
+    Path notANumber = directory.resolve("notANumber.csv");
+    Path missingValue = directory.resolve("missingValue.csv");
+    Files.write(notANumber, "1,2\n\n3,x4\n".getBytes(StandardCharsets.UTF_8));
+    Files.write(missingValue, "1,2\n3,4\n5\n".getBytes(StandardCharsets.UTF_8));
+
+    // when
+    IllegalArgumentException notANumberException =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                CSVImporter.getSeriesDataFromCSVFile(
+                    notANumber.toString(), DataOrientation.Columns));
+    IllegalArgumentException missingValueException =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                CSVImporter.getSeriesDataFromCSVFile(
+                    missingValue.toString(), DataOrientation.Columns));
+
+    // then
+    assertTrue(notANumberException.getMessage().startsWith("Line 3 of notANumber.csv: >x4<"));
+    assertTrue(missingValueException.getMessage().startsWith("Line 3 of missingValue.csv has 1"));
+  }
+}
@@ -0,0 +1,40 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import org.junit.jupiter.api.Test;
+
+public class ChartMetricsTest {
+
+  @Test
+  public void headlessChartIsPublished() throws Exception {
+
+    XYChart chart = new XYChartBuilder().width(400).height(300).title("metrics").build();
+    chart.addSeries("a", new double[] {0, 1, 2}, new double[] {2, 1, 0});
+    chart.addSeries("b", new double[] {0, 1}, new double[] {1, 1});
+
+    ChartMetrics chartMetrics = ChartMetrics.register(chart);
+    MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    try {
+      BitmapEncoder.getBufferedImage(chart);
+      BitmapEncoder.getBufferedImage(chart);
+
+      assertTrue(mBeanServer.isRegistered(chartMetrics.getObjectName()));
+      assertEquals("XYChart", mBeanServer.getAttribute(chartMetrics.getObjectName(), "ChartType"));
+      assertEquals(2L, mBeanServer.getAttribute(chartMetrics.getObjectName(), "RepaintCount"));
+      assertEquals(5L, mBeanServer.getAttribute(chartMetrics.getObjectName(), "TotalPoints"));
+      assertEquals(2, mBeanServer.getAttribute(chartMetrics.getObjectName(), "SeriesCount"));
+      assertTrue(chartMetrics.getLastPaintTimeMillis() > 0);
+
+      mBeanServer.invoke(chartMetrics.getObjectName(), "reset", null, null);
+      assertEquals(0L, chartMetrics.getRepaintCount());
+    } finally {
+      chartMetrics.unregister();
+    }
+    assertFalse(mBeanServer.isRegistered(chartMetrics.getObjectName()));
+  }
+}
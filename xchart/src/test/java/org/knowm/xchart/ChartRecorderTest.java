@@ -0,0 +1,91 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.junit.jupiter.api.Test;
+
+public class ChartRecorderTest {
+
+  @Test
+  public void recordsUpdatesOfARealtimeChart() throws Exception {
+
+    // given
+    XYChart chart = new XYChartBuilder().width(200).height(150).title("realtime").build();
+    chart.addSeries("a", new double[] {0, 1}, new double[] {0, 0});
+    ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+    // when the chart is updated while it is recorded
+    ChartRecorder recorder;
+    try (GifEncoderSession gif =
+        new GifEncoderSession(written, 0, 100, ForkJoinPool.commonPool())) {
+      recorder = new ChartRecorder(chart, gif, 20, 8).start();
+      for (int i = 0; i < 20; i++) {
+        chart.updateXYSeries("a", new double[] {0, 1}, new double[] {0, i}, null);
+        Thread.sleep(15);
+      }
+      recorder.close();
+    }
+
+    // then every recorded frame is in the GIF
+    assertTrue(recorder.getRecordedFrames() > 1, recorder.getRecordedFrames() + " frames");
+    assertEquals(recorder.getRecordedFrames(), countFrames(written.toByteArray()));
+  }
+
+  @Test
+  public void framesAreDroppedWhenTheEncoderFallsBehind() throws Exception {
+
+    // given a GIF whose frames are not written until released
+    XYChart chart = new XYChartBuilder().width(100).height(80).build();
+    chart.addSeries("a", new double[] {0, 1}, new double[] {0, 1});
+    CountDownLatch release = new CountDownLatch(1);
+    Executor blockedExecutor =
+        task ->
+            ForkJoinPool.commonPool()
+                .execute(
+                    () -> {
+                      try {
+                        release.await();
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                      }
+                      task.run();
+                    });
+    ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+    // when
+    ChartRecorder recorder;
+    try (GifEncoderSession gif = new GifEncoderSession(written, 0, 100, blockedExecutor)) {
+      recorder = new ChartRecorder(chart, gif, 100, 2).start();
+      long start = System.nanoTime();
+      while (recorder.getDroppedFrames() == 0 && System.nanoTime() - start < 5e9) {
+        Thread.sleep(10);
+      }
+      release.countDown();
+      recorder.close();
+    }
+
+    // then the sampling went on and the queued frames were written
+    assertTrue(recorder.getDroppedFrames() > 0);
+    assertEquals(recorder.getRecordedFrames(), countFrames(written.toByteArray()));
+  }
+
+  private static int countFrames(byte[] gif) throws Exception {
+
+    ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+    try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(gif))) {
+      reader.setInput(input);
+      return reader.getNumImages(true);
+    } finally {
+      reader.dispose();
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knowm.xchart.BitmapEncoder.BitmapFormat;
+import org.knowm.xchart.internal.ChartFingerprint;
+
+public class ChartRenderCacheTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void identicalChartsAreEncodedOnce() throws Exception {
+
+    // given
+    ChartRenderCache cache = new ChartRenderCache(10_000_000);
+
+    // when the same chart is built for every request
+    byte[] first = cache.getBitmap(createChart(1), BitmapFormat.PNG);
+    byte[] second = cache.getBitmap(createChart(1), BitmapFormat.PNG);
+    byte[] other = cache.getBitmap(createChart(2), BitmapFormat.PNG);
+
+    // then
+    assertArrayEquals(first, second);
+    assertEquals(1, cache.getHits());
+    assertEquals(2, cache.getMisses());
+    ChartFingerprint fingerprint = ChartFingerprint.of(createChart(1), "");
+    assertFalse(fingerprint.equals(ChartFingerprint.of(createChart(2), "")));
+    assertEquals(first.length + other.length, cache.getBytes());
+  }
+
+  @Test
+  public void returnedBytesDontChangeTheCache() throws Exception {
+
+    // given
+    ChartRenderCache cache = new ChartRenderCache(10_000_000);
+    byte[] first = cache.getBitmap(createChart(1), BitmapFormat.PNG);
+    byte[] expected = first.clone();
+
+    // when
+    Arrays.fill(first, (byte) 0);
+    byte[] second = cache.getBitmap(createChart(1), BitmapFormat.PNG);
+
+    // then
+    assertArrayEquals(expected, second);
+    assertEquals(1, cache.getHits());
+  }
+
+  @Test
+  public void evictedChartsAreReadFromDisk() throws Exception {
+
+    // given room for one chart in memory
+    byte[] encoded = BitmapEncoder.getBitmapBytes(createChart(1), BitmapFormat.PNG);
+    ChartRenderCache cache =
+        new ChartRenderCache(encoded.length * 3 / 2).setDiskTier(tempDir, 10_000_000);
+
+    // when
+    byte[] first = cache.getBitmap(createChart(1), BitmapFormat.PNG);
+    cache.getBitmap(createChart(2), BitmapFormat.PNG);
+    byte[] again = cache.getBitmap(createChart(1), BitmapFormat.PNG);
+
+    // then the first chart was evicted to disk and read back without painting it
+    assertArrayEquals(first, again);
+    assertEquals(2, cache.getMisses());
+    assertEquals(1, cache.getDiskHits());
+    assertEquals(2, cache.getEvictions());
+
+    // and a new cache on the directory finds it
+    ChartRenderCache restarted = new ChartRenderCache(0).setDiskTier(tempDir, 10_000_000);
+    restarted.getBitmap(createChart(1), BitmapFormat.PNG);
+    assertEquals(1, restarted.getDiskHits());
+    assertEquals(0, restarted.getMisses());
+  }
+
+  @Test
+  public void diskErrorsDropTheChartInsteadOfFailing() throws Exception {
+
+    // given room for one chart in memory, and a disk tier whose files go missing
+    Path directory = Files.createDirectory(tempDir.resolve("cache"));
+    byte[] encoded = BitmapEncoder.getBitmapBytes(createChart(1), BitmapFormat.PNG);
+    ChartRenderCache cache =
+        new ChartRenderCache(encoded.length * 3 / 2).setDiskTier(directory, 10_000_000);
+    byte[] first = cache.getBitmap(createChart(1), BitmapFormat.PNG);
+    cache.getBitmap(createChart(2), BitmapFormat.PNG);
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+
+    // when the chart on disk is requested, and another one is evicted
+    byte[] again = cache.getBitmap(createChart(1), BitmapFormat.PNG);
+
+    // then it is encoded again, and nothing is left on disk
+    assertArrayEquals(first, again);
+    assertEquals(3, cache.getMisses());
+    assertEquals(0, cache.getDiskHits());
+    assertEquals(0, cache.getDiskBytes());
+  }
+
+  private static XYChart createChart(double factor) {
+
+    XYChart chart = new XYChartBuilder().width(300).height(200).title("Cache").build();
+    double[] x = new double[100];
+    double[] y = new double[100];
+    for (int i = 0; i < x.length; i++) {
+      x[i] = i * i;
+      y[i] = Math.sin(i / 10.0) * factor;
+    }
+    chart.addSeries("sin", x, y);
+    return chart;
+  }
+}
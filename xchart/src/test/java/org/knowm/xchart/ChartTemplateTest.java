@@ -0,0 +1,79 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.style.Styler.ChartTheme;
+import org.knowm.xchart.style.Styler.LegendPosition;
+
+public class ChartTemplateTest {
+
+  @Test
+  public void newChartPaintsLikeConfiguredChart() {
+
+    // given a styled chart and a template made from it
+    XYChart chart =
+        new XYChartBuilder()
+            .width(500)
+            .height(300)
+            .theme(ChartTheme.GGPlot2)
+            .title("template")
+            .xAxisTitle("x")
+            .yAxisTitle("y")
+            .build();
+    chart.getStyler().setYAxisMax(0, 10.0).setLegendPosition(LegendPosition.InsideNE);
+    chart.getStyler().setSeriesColors(new Color[] {Color.RED, Color.BLUE});
+    ChartTemplate<XYChart> template = new ChartTemplate<>(chart);
+
+    // when the same series are added to the chart and to a new chart
+    XYChart newChart = template.newChart();
+    for (XYChart xyChart : new XYChart[] {chart, newChart}) {
+      xyChart.addSeries("a", new double[] {0, 1, 2}, new double[] {3, 1, 2});
+      xyChart.addSeries("b", new double[] {0, 1, 2}, new double[] {1, 2, 8});
+    }
+
+    // then both look the same
+    assertEquals("template", newChart.getTitle());
+    assertEquals("y", newChart.getYAxisTitle());
+    assertEquals(500, newChart.getWidth());
+    assertNotSame(chart.getStyler(), newChart.getStyler());
+    assertArrayEquals(pixels(chart), pixels(newChart));
+  }
+
+  @Test
+  public void newChartsAreIndependent() {
+
+    // given a template
+    XYChart chart = new XYChartBuilder().width(400).height(300).title("template").build();
+    chart.getStyler().setSeriesColors(new Color[] {Color.RED, Color.BLUE});
+    ChartTemplate<XYChart> template = new ChartTemplate<>(chart);
+
+    // when the original chart and a new chart are changed
+    chart.setTitle("changed");
+    chart.getStyler().setPlotBackgroundColor(Color.BLACK);
+    XYChart first = template.newChart();
+    first.getStyler().getSeriesColors()[0] = Color.GREEN;
+    first.getStyler().setYAxisMax(0, 5.0);
+    first.addSeries("a", new double[] {0, 1}, new double[] {0, 1});
+
+    // then later charts still get the styling of the snapshot
+    XYChart second = template.newChart();
+    assertEquals("template", second.getTitle());
+    assertEquals(0, second.getSeriesMap().size());
+    assertEquals(Color.RED, second.getStyler().getSeriesColors()[0]);
+    assertNull(second.getStyler().getYAxisMax(0));
+    assertFalse(Color.BLACK.equals(second.getStyler().getPlotBackgroundColor()));
+  }
+
+  private static int[] pixels(XYChart chart) {
+
+    BufferedImage image = BitmapEncoder.getBufferedImage(chart);
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+}
@@ -0,0 +1,139 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knowm.xchart.DeepZoomEncoder.TileLayout;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+
+public class DeepZoomEncoderTest {
+
+  @TempDir Path directory;
+
+  @Test
+  public void tilesMatchTheChartPaintedAtOnce() throws Exception {
+
+    // given
+    XYChart chart = createChart(200_000);
+
+    // when
+    new DeepZoomEncoder().save(chart, 2000, 600, directory.resolve("chart").toString());
+
+    // then there are levels down to a single pixel
+    assertTrue(Files.exists(directory.resolve("chart.dzi")));
+    Path files = directory.resolve("chart_files");
+    assertEquals(1, read(files.resolve("0/0_0.png")).getWidth());
+    BufferedImage edgeTile = read(files.resolve("11/7_2.png"));
+    assertEquals(2000 - 7 * 256, edgeTile.getWidth());
+    assertEquals(600 - 2 * 256, edgeTile.getHeight());
+
+    // and the tiles of the largest level look like the whole chart painted at that size, apart
+    // from the antialiasing of fewer lines
+    BufferedImage expected = BitmapEncoder.getBufferedImage(copy(chart, 200_000, 2000, 600));
+    int differentPixels = countDifferentPixels(files.resolve("11"), expected);
+    assertTrue(differentPixels < 2000 * 600 / 100, differentPixels + " pixels differ");
+  }
+
+  @Test
+  public void markersOfLinesAreKept() throws Exception {
+
+    // given a line climbing through ten values within a pixel every 20 pixels, with a marker on
+    // every point
+    XYChart chart = new XYChartBuilder().width(2000).height(600).build();
+    double[] x = new double[1000];
+    double[] y = new double[x.length];
+    for (int i = 0; i < x.length; i++) {
+      x[i] = i / 10 * 20 + (i % 10) * 0.01;
+      y[i] = i % 10;
+    }
+    chart.addSeries("steps", x, y).setMarker(SeriesMarkers.CIRCLE);
+
+    // when
+    new DeepZoomEncoder().save(chart, 2000, 600, directory.resolve("chart").toString());
+
+    // then the markers between the lowest and highest point of a pixel are painted as well
+    BufferedImage expected = BitmapEncoder.getBufferedImage(chart);
+    int differentPixels = countDifferentPixels(directory.resolve("chart_files/11"), expected);
+    assertTrue(differentPixels < 2000 * 600 / 100, differentPixels + " pixels differ");
+  }
+
+  private static int countDifferentPixels(Path level, BufferedImage expected) throws Exception {
+
+    int differentPixels = 0;
+    for (int column = 0; column * 256 < expected.getWidth(); column++) {
+      for (int row = 0; row * 256 < expected.getHeight(); row++) {
+        BufferedImage tile = read(level.resolve(column + "_" + row + ".png"));
+        for (int x = 0; x < tile.getWidth(); x++) {
+          for (int y = 0; y < tile.getHeight(); y++) {
+            int expectedRGB = expected.getRGB(column * 256 + x, row * 256 + y);
+            if (getDifference(tile.getRGB(x, y), expectedRGB) > 128) {
+              differentPixels++;
+            }
+          }
+        }
+      }
+    }
+    return differentPixels;
+  }
+
+  @Test
+  public void xyzTilesAllHaveTheTileSize() throws Exception {
+
+    // given
+
+    // when
+    new DeepZoomEncoder()
+        .setTileLayout(TileLayout.XYZ)
+        .save(createChart(10_000), 1000, 500, directory.toString());
+
+    // then zoom 0 is one tile and zoom 2 holds the largest level
+    assertEquals(256, read(directory.resolve("0/0/0.png")).getWidth());
+    assertTrue(Files.exists(directory.resolve("2/3/1.png")));
+    assertEquals(256, read(directory.resolve("2/3/1.png")).getHeight());
+    assertFalse(Files.exists(directory.resolve("3")));
+  }
+
+  private static int getDifference(int rgb, int otherRGB) {
+
+    int difference = 0;
+    for (int shift = 0; shift < 24; shift += 8) {
+      int channel = (rgb >> shift) & 0xFF;
+      int otherChannel = (otherRGB >> shift) & 0xFF;
+      difference = Math.max(difference, Math.abs(channel - otherChannel));
+    }
+    return difference;
+  }
+
+  private static BufferedImage read(Path file) throws Exception {
+
+    BufferedImage image = ImageIO.read(new File(file.toString()));
+    assertTrue(image != null, file.toString());
+    return image;
+  }
+
+  private static XYChart createChart(int points) {
+
+    return copy(new XYChartBuilder().title("Deep zoom").build(), points, 600, 400);
+  }
+
+  private static XYChart copy(XYChart chart, int points, int width, int height) {
+
+    XYChart copy = new XYChartBuilder().width(width).height(height).title(chart.getTitle()).build();
+    double[] x = new double[points];
+    double[] y = new double[points];
+    for (int i = 0; i < points; i++) {
+      x[i] = i + (i % 7) * 0.1;
+      y[i] = Math.sin(i / 5_000.0) + Math.sin(i / 37.0) * 0.2;
+    }
+    copy.addSeries("waves", x, y).setMarker(SeriesMarkers.NONE);
+    return copy;
+  }
+}
@@ -0,0 +1,69 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.image.BufferedImage;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.internal.chartpart.Chart;
+
+public class DisplayListTest {
+
+  @Test
+  public void replayedXYChartMatchesPaintedChart() {
+
+    XYChart chart = new XYChartBuilder().width(500).height(300).title("display list").build();
+    chart.addSeries("line", new double[] {0, 1, 2, 3}, new double[] {3, 1, 2, 5});
+    chart
+        .addSeries("area", new double[] {0, 1, 2, 3}, new double[] {1, 2, 1, 0})
+        .setXYSeriesRenderStyle(XYSeries.XYSeriesRenderStyle.Area);
+    chart.addAnnotation(new AnnotationLine(2, true, false));
+    chart.addAnnotation(new AnnotationText("note", 1, 4, false));
+
+    assertReplayMatchesPaint(chart);
+  }
+
+  @Test
+  public void replayedPieAndCategoryChartsMatchPaintedCharts() {
+
+    PieChart pieChart = new PieChartBuilder().width(400).height(300).title("pie").build();
+    pieChart.addSeries("a", 3);
+    pieChart.addSeries("b", 5);
+    assertReplayMatchesPaint(pieChart);
+
+    CategoryChart categoryChart =
+        new CategoryChartBuilder().width(400).height(300).title("bars").build();
+    categoryChart.addSeries("a", new double[] {1, 2, 3}, new double[] {4, 1, 2});
+    assertReplayMatchesPaint(categoryChart);
+  }
+
+  @Test
+  public void scaledReplayHasScaledSize() {
+
+    XYChart chart = new XYChartBuilder().width(400).height(300).build();
+    chart.addSeries("a", new double[] {0, 1, 2}, new double[] {2, 0, 1});
+
+    BufferedImage thumbnail =
+        BitmapEncoder.getBufferedImage(DisplayList.record(chart), false, 0.25);
+
+    assertEquals(100, thumbnail.getWidth());
+    assertEquals(75, thumbnail.getHeight());
+  }
+
+  private static void assertReplayMatchesPaint(Chart<?, ?> chart) {
+
+    BufferedImage painted = BitmapEncoder.getBufferedImage(chart);
+    DisplayList displayList = DisplayList.record(chart);
+    BufferedImage replayed = BitmapEncoder.getBufferedImage(displayList, false);
+
+    assertEquals(chart.getWidth(), displayList.getWidth());
+    assertArrayEquals(pixels(painted), pixels(replayed));
+    // a display list can be replayed more than once
+    assertArrayEquals(pixels(replayed), pixels(BitmapEncoder.getBufferedImage(displayList, false)));
+  }
+
+  private static int[] pixels(BufferedImage image) {
+
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+}
@@ -0,0 +1,63 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+
+public class FrameRateLimiterTest {
+
+  @Test
+  public void requestsWithoutFrameRateRepaintImmediately() {
+
+    // given
+    AtomicInteger repaintCount = new AtomicInteger();
+    FrameRateLimiter frameRateLimiter = new FrameRateLimiter(repaintCount::incrementAndGet);
+    frameRateLimiter.setTargetFrameRate(0);
+
+    // when
+    frameRateLimiter.requestRepaint();
+    frameRateLimiter.requestRepaint();
+    frameRateLimiter.requestRepaint();
+
+    // then
+    assertEquals(3, repaintCount.get());
+    assertEquals(0, frameRateLimiter.getDroppedFrameCount());
+  }
+
+  @Test
+  public void requestsWithinAFrameIntervalRepaintOnce() throws Exception {
+
+    // given
+    AtomicInteger repaintCount = new AtomicInteger();
+    CountDownLatch repainted = new CountDownLatch(1);
+    FrameRateLimiter frameRateLimiter =
+        new FrameRateLimiter(
+            () -> {
+              repaintCount.incrementAndGet();
+              repainted.countDown();
+            });
+
+    // when
+    SwingUtilities.invokeAndWait(
+        () -> {
+          frameRateLimiter.setTargetFrameRate(5);
+          frameRateLimiter.start();
+          // the frame timer ticks on the event dispatch thread too, so not in between
+          for (int i = 0; i < 5; i++) {
+            frameRateLimiter.requestRepaint();
+          }
+        });
+    boolean isRepainted = repainted.await(10, TimeUnit.SECONDS);
+    SwingUtilities.invokeAndWait(frameRateLimiter::stop);
+
+    // then
+    assertTrue(isRepainted);
+    assertEquals(1, repaintCount.get());
+    assertEquals(4, frameRateLimiter.getDroppedFrameCount());
+  }
+}
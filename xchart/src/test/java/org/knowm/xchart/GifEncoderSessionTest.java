@@ -0,0 +1,117 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.junit.jupiter.api.Test;
+
+public class GifEncoderSessionTest {
+
+  @Test
+  public void framesAreWrittenWithTheirColors() throws Exception {
+
+    // given frames of noise with 200 colors, filling the LZW table several times
+    Random random = new Random(42);
+    int[] colors = new int[200];
+    for (int i = 0; i < colors.length; i++) {
+      colors[i] = 0xFF000000 | random.nextInt(0xFFFFFF);
+    }
+    List<BufferedImage> frames = new ArrayList<>();
+    for (int f = 0; f < 3; f++) {
+      BufferedImage frame = new BufferedImage(120, 90, BufferedImage.TYPE_INT_ARGB);
+      for (int y = 0; y < 90; y++) {
+        for (int x = 0; x < 120; x++) {
+          frame.setRGB(x, y, colors[random.nextInt(f == 1 ? 3 : colors.length)]);
+        }
+      }
+      frames.add(frame);
+    }
+
+    // when
+    ByteArrayOutputStream written = new ByteArrayOutputStream();
+    try (GifEncoderSession gif =
+        new GifEncoderSession(written, 0, 100, ForkJoinPool.commonPool())) {
+      for (BufferedImage frame : frames) {
+        gif.addFrame(frame);
+      }
+    }
+
+    // then
+    List<BufferedImage> decoded = read(written.toByteArray());
+    assertEquals(frames.size(), decoded.size());
+    for (int i = 0; i < frames.size(); i++) {
+      assertArrayEquals(pixels(frames.get(i)), pixels(decoded.get(i)), "frame " + i);
+    }
+  }
+
+  @Test
+  public void chartFramesAreCloseToTheCharts() throws Exception {
+
+    // given
+    XYChart chart = new XYChartBuilder().width(300).height(200).title("gif").build();
+    chart.addSeries("a", new double[] {0, 1, 2}, new double[] {0, 1, 0});
+
+    for (boolean isFixedPalette : new boolean[] {false, true}) {
+      // when
+      ByteArrayOutputStream written = new ByteArrayOutputStream();
+      List<int[]> expected = new ArrayList<>();
+      try (GifEncoderSession gif =
+          new GifEncoderSession(written, 0, 100, ForkJoinPool.commonPool())) {
+        gif.setFixedPalette(isFixedPalette);
+        for (int i = 0; i < 4; i++) {
+          chart.updateXYSeries("a", new double[] {0, 1, 2}, new double[] {0, i, 0}, null);
+          gif.addFrame(chart);
+          expected.add(pixels(BitmapEncoder.getBufferedImage(chart)));
+        }
+      }
+
+      // then
+      List<BufferedImage> decoded = read(written.toByteArray());
+      assertEquals(4, decoded.size());
+      for (int i = 0; i < 4; i++) {
+        int[] actual = pixels(decoded.get(i));
+        int exact = 0;
+        for (int p = 0; p < actual.length; p++) {
+          if (actual[p] == expected.get(i)[p]) {
+            exact++;
+          }
+        }
+        // with a fixed palette, antialiased colors not in the first frame are replaced
+        double minExact = isFixedPalette ? 0.97 : 0.99;
+        assertTrue(exact > actual.length * minExact, exact + " of " + actual.length);
+      }
+    }
+  }
+
+  private static List<BufferedImage> read(byte[] gif) throws IOException {
+
+    ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+    try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(gif))) {
+      reader.setInput(input);
+      List<BufferedImage> frames = new ArrayList<>();
+      for (int i = 0; i < reader.getNumImages(true); i++) {
+        frames.add(reader.read(i));
+      }
+      return frames;
+    } finally {
+      reader.dispose();
+    }
+  }
+
+  private static int[] pixels(BufferedImage image) {
+
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+}
@@ -0,0 +1,98 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+public class PdfEncoderSessionTest {
+
+  @Test
+  public void pagesShareTheirResources() throws Exception {
+
+    // given charts with translucent series and the same image
+    BufferedImage logo = new BufferedImage(20, 10, BufferedImage.TYPE_INT_ARGB);
+    for (int x = 0; x < 20; x++) {
+      logo.setRGB(x, x / 2, Color.RED.getRGB());
+    }
+    XYChart chart = new XYChartBuilder().width(400).height(300).title("pdf").build();
+    chart.addSeries("a", new double[] {0, 1, 2}, new double[] {0, 1, 0});
+    chart.addAnnotation(new AnnotationImage(logo, 50, 50, true));
+
+    // when
+    ByteArrayOutputStream written = new ByteArrayOutputStream();
+    try (PdfEncoderSession pdf = new PdfEncoderSession(written, ForkJoinPool.commonPool(), 3)) {
+      for (int i = 0; i < 10; i++) {
+        chart.updateXYSeries("a", new double[] {0, 1, 2}, new double[] {0, i, 0}, null);
+        pdf.addPage(chart);
+      }
+    }
+
+    // then the pages are written with the resources once
+    String pdf = new String(written.toByteArray(), StandardCharsets.ISO_8859_1);
+    assertTrue(pdf.startsWith("%PDF-1.4"));
+    assertTrue(pdf.contains("/Type /Pages /Kids ["));
+    assertTrue(pdf.contains("/Count 10 >>"));
+    assertEquals(10, count(pdf, "/Type /Page "));
+    assertEquals(2, count(pdf, "/Subtype /Image"));
+    int graphicsStates = count(pdf, "/Type /ExtGState");
+    assertTrue(graphicsStates > 0 && graphicsStates < 10, "" + graphicsStates);
+
+    // and the cross-reference table points to the objects
+    Matcher xref = Pattern.compile("xref\n0 (\\d+)\n").matcher(pdf);
+    assertTrue(xref.find());
+    int objects = Integer.parseInt(xref.group(1));
+    int start = xref.end() + 20;
+    for (int object = 1; object < objects; object++) {
+      int offset = Integer.parseInt(pdf.substring(start, start + 10));
+      assertTrue(pdf.startsWith(object + " 0 obj\n", offset), "object " + object);
+      start += 20;
+    }
+    int startXref = Integer.parseInt(pdf.replaceAll("(?s).*startxref\n(\\d+)\n%%EOF\n$", "$1"));
+    assertTrue(pdf.startsWith("xref", startXref));
+  }
+
+  @Test
+  public void pagesShareTheirGradients() throws Exception {
+
+    // given a heat map, whose legend is painted with gradients
+    HeatMapChart chart = new HeatMapChartBuilder().width(400).height(300).build();
+    chart.addSeries("heat", new int[] {1, 2}, new int[] {1, 2}, new int[][] {{1, 1, 1}, {2, 2, 4}});
+
+    // when it is written on one page and on several pages
+    ByteArrayOutputStream onePage = new ByteArrayOutputStream();
+    try (PdfEncoderSession pdf = new PdfEncoderSession(onePage, ForkJoinPool.commonPool(), 3)) {
+      pdf.addPage(chart);
+    }
+    ByteArrayOutputStream fivePages = new ByteArrayOutputStream();
+    try (PdfEncoderSession pdf = new PdfEncoderSession(fivePages, ForkJoinPool.commonPool(), 3)) {
+      for (int i = 0; i < 5; i++) {
+        pdf.addPage(chart);
+      }
+    }
+
+    // then the gradients are written once
+    int gradients =
+        count(new String(onePage.toByteArray(), StandardCharsets.ISO_8859_1), "/ShadingType 2");
+    assertTrue(gradients > 0);
+    assertEquals(
+        gradients,
+        count(new String(fivePages.toByteArray(), StandardCharsets.ISO_8859_1), "/ShadingType 2"));
+  }
+
+  private static int count(String text, String part) {
+
+    int count = 0;
+    for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+      count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,176 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knowm.xchart.internal.series.Series.DataType;
+
+public class SeriesFileTest {
+
+  @TempDir Path directory;
+
+  @Test
+  public void savedSeriesAreLoadedUnchanged() throws Exception {
+
+    // given
+    Random random = new Random(5);
+    double[] x = new double[100_000];
+    double[] y = new double[x.length];
+    double[] errorBars = new double[x.length];
+    double[] open = new double[x.length];
+    long[] volume = new long[x.length];
+    for (int i = 0; i < x.length; i++) {
+      x[i] = 1_600_000_000_000d + i * 60_000d;
+      y[i] = random.nextGaussian();
+      errorBars[i] = random.nextDouble();
+      open[i] = random.nextDouble() * 100;
+      volume[i] = random.nextLong();
+    }
+    List<Date> dates = new ArrayList<>();
+    for (int i = 0; i < x.length; i++) {
+      dates.add(new Date((long) x[i]));
+    }
+    XYChart xyChart = new XYChartBuilder().build();
+    xyChart.addSeries("dates", dates, toList(y), toList(errorBars));
+    xyChart.addSeries("numbers \u00fc", y, x);
+    OHLCChart ohlcChart = new OHLCChartBuilder().build();
+    ohlcChart.addSeries("ohlc", x, open, y, errorBars, x, volume);
+    ohlcChart.addSeries("line", x, y);
+    CategoryChart categoryChart = new CategoryChartBuilder().build();
+    categoryChart.addSeries(
+        "category", Arrays.asList("a", "bc", "d\u00e9f"), Arrays.asList(1, 2.5, -3), null);
+
+    // when
+    XYChart xyReloaded = new XYChartBuilder().build();
+    OHLCChart ohlcReloaded = new OHLCChartBuilder().build();
+    CategoryChart categoryReloaded = new CategoryChartBuilder().build();
+    SeriesFile.save(xyChart, directory.resolve("xy").toString());
+    SeriesFile.save(ohlcChart, directory.resolve("ohlc").toString());
+    SeriesFile.save(categoryChart, directory.resolve("category").toString());
+    SeriesFile.load(xyReloaded, directory.resolve("xy").toString());
+    SeriesFile.load(ohlcReloaded, directory.resolve("ohlc").toString());
+    SeriesFile.load(categoryReloaded, directory.resolve("category").toString());
+
+    // then
+    XYSeries datesSeries = xyReloaded.getSeriesMap().get("dates");
+    assertEquals(DataType.Date, datesSeries.getxAxisDataType());
+    assertArrayEquals(x, datesSeries.getXData());
+    assertArrayEquals(y, datesSeries.getYData());
+    assertArrayEquals(errorBars, datesSeries.getExtraValues());
+    XYSeries numbersSeries = xyReloaded.getSeriesMap().get("numbers \u00fc");
+    assertEquals(DataType.Number, numbersSeries.getxAxisDataType());
+    assertArrayEquals(y, numbersSeries.getXData());
+    assertArrayEquals(x, numbersSeries.getYData());
+    assertEquals(null, numbersSeries.getExtraValues());
+
+    OHLCSeries ohlcSeries = ohlcReloaded.getSeriesMap().get("ohlc");
+    assertArrayEquals(x, ohlcSeries.getXData());
+    assertArrayEquals(open, ohlcSeries.getOpenData());
+    assertArrayEquals(y, ohlcSeries.getHighData());
+    assertArrayEquals(errorBars, ohlcSeries.getLowData());
+    assertArrayEquals(x, ohlcSeries.getCloseData());
+    assertArrayEquals(volume, ohlcSeries.getVolumeData());
+    OHLCSeries lineSeries = ohlcReloaded.getSeriesMap().get("line");
+    assertArrayEquals(x, lineSeries.getXData());
+    assertArrayEquals(y, lineSeries.getYData());
+
+    CategorySeries categorySeries = categoryReloaded.getSeriesMap().get("category");
+    assertEquals(DataType.String, categorySeries.getxAxisDataType());
+    assertEquals(Arrays.asList("a", "bc", "d\u00e9f"), new ArrayList<>(categorySeries.getXData()));
+    assertEquals(Arrays.asList(1.0, 2.5, -3.0), new ArrayList<>(categorySeries.getYData()));
+  }
+
+  @Test
+  public void otherFilesAreRejected() throws Exception {
+
+    // given
+    Path file = directory.resolve("series.csv");
+    Files.write(file, "1,2,3\n4,5,6\n".getBytes(StandardCharsets.UTF_8));
+    XYChart xyChart = new XYChartBuilder().build();
+    xyChart.addSeries("xy", new double[] {1, 2}, new double[] {3, 4});
+    Path saved = directory.resolve("series");
+    SeriesFile.save(xyChart, saved.toString());
+
+    // when / then
+    assertThrows(IOException.class, () -> SeriesFile.load(xyChart, file.toString()));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SeriesFile.load(new CategoryChartBuilder().build(), saved.toString()));
+  }
+
+  @Test
+  public void corruptSeriesAreRejectedWithoutChangingTheChart() throws Exception {
+
+    // given a file with the series "a" and "b", the header of "b" starting at byte 104
+    XYChart xyChart = new XYChartBuilder().build();
+    xyChart.addSeries("a", new double[] {1, 2}, new double[] {3, 4});
+    xyChart.addSeries("b", new double[] {1, 2}, new double[] {3, 4});
+    Path saved = directory.resolve("series");
+    SeriesFile.save(xyChart, saved.toString());
+    byte[] bytes = Files.readAllBytes(saved);
+    Path negativeNameLength = corrupt(bytes, 108, -1, 4);
+    Path negativePointCount = corrupt(bytes, 112, -1, 8);
+    Path unknownDataType = corrupt(bytes, 105, 0x80, 1);
+
+    // when / then
+    for (Path file : Arrays.asList(negativeNameLength, negativePointCount, unknownDataType)) {
+      XYChart reloaded = new XYChartBuilder().build();
+      IOException e =
+          assertThrows(IOException.class, () -> SeriesFile.load(reloaded, file.toString()));
+      assertTrue(e.getMessage().endsWith("is corrupt!!!"), e.getMessage());
+      assertEquals(0, reloaded.getSeriesMap().size());
+    }
+  }
+
+  @Test
+  public void seriesAreRemovedAgainIfOneCantBeAdded() throws Exception {
+
+    // given
+    XYChart xyChart = new XYChartBuilder().build();
+    xyChart.addSeries("a", new double[] {1, 2}, new double[] {3, 4});
+    xyChart.addSeries("b", new double[] {1, 2}, new double[] {3, 4});
+    Path saved = directory.resolve("series");
+    SeriesFile.save(xyChart, saved.toString());
+    XYChart reloaded = new XYChartBuilder().build();
+    reloaded.addSeries("b", new double[] {5, 6}, new double[] {7, 8});
+
+    // when / then
+    assertThrows(IllegalArgumentException.class, () -> SeriesFile.load(reloaded, saved.toString()));
+    assertEquals(Arrays.asList("b"), new ArrayList<>(reloaded.getSeriesMap().keySet()));
+    assertArrayEquals(new double[] {5, 6}, reloaded.getSeriesMap().get("b").getXData());
+  }
+
+  /** Writes a copy of a file with a little-endian value of some bytes replaced */
+  private Path corrupt(byte[] bytes, int offset, long value, int length) throws IOException {
+
+    byte[] corrupted = bytes.clone();
+    for (int i = 0; i < length; i++) {
+      corrupted[offset + i] = (byte) (value >> 8 * i);
+    }
+    Path file = Files.createTempFile(directory, "corrupt", "");
+    Files.write(file, corrupted);
+    return file;
+  }
+
+  private static List<Double> toList(double[] values) {
+
+    List<Double> list = new ArrayList<>();
+    for (double value : values) {
+      list.add(value);
+    }
+    return list;
+  }
+}
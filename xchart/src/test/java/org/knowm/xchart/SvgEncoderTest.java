@@ -0,0 +1,78 @@
+package org.knowm.xchart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+public class SvgEncoderTest {
+
+  @Test
+  public void seriesIsWrittenAsOnePath() throws Exception {
+
+    // given
+    XYChart chart = createChart(5_000);
+
+    // when
+    ByteArrayOutputStream written = new ByteArrayOutputStream();
+    new SvgEncoder().encode(chart, written);
+
+    // then the document is valid and the series is one path through all points
+    Document document = parse(written.toByteArray());
+    assertEquals("svg", document.getDocumentElement().getTagName());
+    NodeList paths = document.getElementsByTagName("path");
+    int seriesPaths = 0;
+    for (int i = 0; i < paths.getLength(); i++) {
+      String d = ((Element) paths.item(i)).getAttribute("d");
+      if (d.length() > 5_000) {
+        seriesPaths++;
+        assertTrue(d.startsWith("M"));
+      }
+    }
+    assertEquals(1, seriesPaths);
+  }
+
+  @Test
+  public void simplifyingAndPrecisionMakeTheDocumentSmaller() throws Exception {
+
+    // given more points than pixels
+    XYChart chart = createChart(50_000);
+
+    // when
+    ByteArrayOutputStream precise = new ByteArrayOutputStream();
+    new SvgEncoder().setPrecision(4).encode(chart, precise);
+    ByteArrayOutputStream compact = new ByteArrayOutputStream();
+    new SvgEncoder().setPrecision(1).setSimplifyPaths(true).encode(chart, compact);
+
+    // then
+    parse(compact.toByteArray());
+    assertTrue(compact.size() * 2 < precise.size(), compact.size() + " " + precise.size());
+  }
+
+  private static XYChart createChart(int points) {
+
+    double[] xData = new double[points];
+    double[] yData = new double[points];
+    for (int i = 0; i < points; i++) {
+      xData[i] = i;
+      yData[i] = Math.sin(i / 100.0) + Math.sin(i / 7.0) / 10;
+    }
+    XYChart chart = new XYChartBuilder().width(600).height(400).title("svg").build();
+    chart.addSeries("sine", xData, yData).setMarker(SeriesMarkers.NONE);
+    return chart;
+  }
+
+  private static Document parse(byte[] svg) throws Exception {
+
+    return DocumentBuilderFactory.newInstance()
+        .newDocumentBuilder()
+        .parse(new ByteArrayInputStream(svg));
+  }
+}
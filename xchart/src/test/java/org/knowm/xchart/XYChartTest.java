@@ -1,9 +1,25 @@
 package org.knowm.xchart;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.security.DigestOutputStream;
 import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.internal.chartpart.ChartRenderStats;
+import org.knowm.xchart.internal.series.SeriesDataSnapshot;
 
 public class XYChartTest {
   private static final String digestType = "md5";
@@ -26,4 +42,162 @@ public class XYChartTest {
     // test
     // finishes
   }
+
+  @Test
+  public void updateXYSeriesPublishesNewSnapshot() {
+    // given
+    XYChart chart = new XYChart(400, 300);
+    XYSeries series = chart.addSeries("s", new double[] {1, 2, 3}, new double[] {4, 5, 6});
+    SeriesDataSnapshot before = series.getDataSnapshot();
+
+    // when
+    chart.updateXYSeries("s", new double[] {1, 2}, new double[] {-1, 7}, null);
+
+    // then
+    SeriesDataSnapshot after = series.getDataSnapshot();
+    assertArrayEquals(new double[] {4, 5, 6}, before.getYData());
+    assertEquals(6.0, before.getYMax());
+    assertArrayEquals(new double[] {-1, 7}, after.getYData());
+    assertEquals(-1.0, after.getYMin());
+    assertEquals(7.0, after.getYMax());
+    assertEquals(2.0, series.getXMax());
+  }
+
+  @Test
+  public void paintWhileUpdatingFromAnotherThread() throws Exception {
+    // given
+    XYChart chart = new XYChart(400, 300);
+    chart.addSeries("s", new double[] {1, 2, 3}, new double[] {4, 5, 6});
+    BufferedImage image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    // when
+    Thread producer =
+        new Thread(
+            () -> {
+              try {
+                for (int i = 1; i < 2000; i++) {
+                  int length = 1 + i % 97;
+                  double[] yData = new double[length];
+                  for (int j = 0; j < length; j++) {
+                    yData[j] = Math.sin(i + j);
+                  }
+                  chart.updateXYSeries("s", null, yData, null);
+                }
+              } catch (Throwable t) {
+                failure.set(t);
+              }
+            });
+    producer.start();
+    while (producer.isAlive()) {
+      Graphics2D g = image.createGraphics();
+      chart.paint(g, 400, 300);
+      g.dispose();
+    }
+    producer.join();
+
+    // then
+    assertNull(failure.get());
+  }
+
+  @Test
+  public void renderStatsAreCollected() {
+
+    // given a chart with a zoomed in x axis
+    XYChart chart = new XYChartBuilder().width(400).height(300).title("stats").build();
+    chart.addSeries("a", new double[] {0, 1, 2, 3, 4}, new double[] {4, 3, 2, 1, 0});
+    chart.getStyler().setXAxisMin(1.0).setXAxisMax(3.0);
+    assertNull(chart.getRenderStats());
+
+    // when it is painted twice with stats enabled
+    chart.setRenderStatsEnabled(true);
+    BitmapEncoder.getBufferedImage(chart);
+    BitmapEncoder.getBufferedImage(chart);
+
+    // then the last paint and the histograms are available
+    ChartRenderStats stats = chart.getRenderStats();
+    assertEquals(2, stats.getPaintCount());
+    assertEquals(3, stats.getLastPointsDrawn());
+    assertEquals(2, stats.getLastPointsCulled());
+    assertTrue(stats.getLastPaintNanos() > 0);
+    for (ChartRenderStats.Phase phase :
+        new ChartRenderStats.Phase[] {
+          ChartRenderStats.Phase.AXES,
+          ChartRenderStats.Phase.AXIS_TICKS,
+          ChartRenderStats.Phase.PLOT_CONTENT,
+          ChartRenderStats.Phase.LEGEND,
+          ChartRenderStats.Phase.TITLE
+        }) {
+      assertTrue(stats.getLastPhaseNanos(phase) > 0, phase.toString());
+      assertTrue(stats.getLastPhaseNanos(phase) <= stats.getLastPaintNanos(), phase.toString());
+    }
+    assertEquals(2, stats.getPaintHistogram().getCount());
+    assertTrue(stats.getPaintHistogram().getPercentile(99) <= stats.getPaintHistogram().getMax());
+
+    stats.reset();
+    assertEquals(0, stats.getPaintHistogram().getCount());
+  }
+
+  @Test
+  public void renderStatsCountTiledPointsOnce() {
+
+    // given a chart with a zoomed in x axis
+    XYChart chart = new XYChartBuilder().width(400).height(300).title("tiled stats").build();
+    chart.addSeries("a", new double[] {0, 1, 2, 3, 4}, new double[] {4, 3, 2, 1, 0});
+    chart.getStyler().setXAxisMin(1.0).setXAxisMax(3.0);
+    chart.setRenderStatsEnabled(true);
+
+    // when its plot content is painted in many tiles
+    BitmapEncoder.getBufferedImage(chart, false, 32);
+
+    // then the points are counted as if it was painted at once
+    ChartRenderStats stats = chart.getRenderStats();
+    assertEquals(3, stats.getLastPointsDrawn());
+    assertEquals(2, stats.getLastPointsCulled());
+  }
+
+  @Test
+  public void concurrentPaintsMatchSerialPaints() throws Exception {
+
+    // given a chart and its images painted one after the other at different sizes
+    XYChart chart = new XYChartBuilder().width(400).height(300).title("concurrent").build();
+    for (int i = 0; i < 5; i++) {
+      double[] yData = new double[200];
+      for (int j = 0; j < yData.length; j++) {
+        yData[j] = Math.sin(i + j / 10.0) * (i + 1);
+      }
+      chart.addSeries("series " + i, yData);
+    }
+    int[][] sizes = {{300, 200}, {400, 300}, {640, 480}, {800, 240}};
+    List<int[]> expected = new ArrayList<>();
+    for (int[] size : sizes) {
+      expected.add(paint(chart, size[0], size[1]));
+    }
+
+    // when they are painted on several threads at once
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<int[]>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < 64; i++) {
+        int[] size = sizes[i % sizes.length];
+        futures.add(executor.submit(() -> paint(chart, size[0], size[1])));
+      }
+
+      // then every paint is laid out for its own size
+      for (int i = 0; i < futures.size(); i++) {
+        assertArrayEquals(expected.get(i % sizes.length), futures.get(i).get(), "paint " + i);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static int[] paint(XYChart chart, int width, int height) {
+
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    chart.paint(g, width, height);
+    g.dispose();
+    return image.getRGB(0, 0, width, height, null, 0, width);
+  }
 }
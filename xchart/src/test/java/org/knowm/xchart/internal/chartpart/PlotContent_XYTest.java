@@ -0,0 +1,214 @@
+package org.knowm.xchart.internal.chartpart;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.BitmapEncoder;
+import org.knowm.xchart.XYChart;
+
+public class PlotContent_XYTest {
+
+  @Test
+  public void incrementalRenderingMatchesFullRendering() {
+
+    double[] xData = new double[200];
+    double[] yData = new double[200];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = Math.sin(i / 10.0);
+    }
+
+    // given a chart painted once with the first half of the data
+    XYChart incremental = getChart();
+    incremental.addSeries("sine", Arrays.copyOf(xData, 100), Arrays.copyOf(yData, 100));
+    BitmapEncoder.getBufferedImage(incremental);
+
+    // when the second half is appended
+    incremental.updateXYSeries("sine", xData, yData, null);
+    BufferedImage appended = BitmapEncoder.getBufferedImage(incremental);
+
+    // then only the appended points were painted, and it looks the same as a chart painted with all
+    // data at once
+    assertEquals(1, incremental.getRenderStats().getCacheHitCount());
+    XYChart full = getChart();
+    full.addSeries("sine", xData, yData);
+    BufferedImage expected = BitmapEncoder.getBufferedImage(full);
+
+    assertArrayEquals(getPixels(expected), getPixels(appended));
+  }
+
+  @Test
+  public void editedDataIsRenderedFromScratch() {
+
+    double[] xData = new double[200];
+    double[] yData = new double[200];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = Math.sin(i / 10.0);
+    }
+
+    // given a chart painted once with the first half of the data
+    XYChart incremental = getChart();
+    incremental.addSeries("sine", Arrays.copyOf(xData, 100), Arrays.copyOf(yData, 100));
+    BitmapEncoder.getBufferedImage(incremental);
+
+    // when the second half is appended and a point in between is changed
+    yData[50] = -1;
+    incremental.updateXYSeries("sine", xData, yData, null);
+    BufferedImage edited = BitmapEncoder.getBufferedImage(incremental);
+
+    // then the series is painted from scratch
+    assertEquals(0, incremental.getRenderStats().getCacheHitCount());
+    XYChart full = getChart();
+    full.addSeries("sine", xData, yData);
+    assertArrayEquals(getPixels(BitmapEncoder.getBufferedImage(full)), getPixels(edited));
+  }
+
+  @Test
+  public void changedErrorBarsAreRenderedFromScratch() {
+
+    double[] xData = {0, 50, 100, 150, 200};
+    double[] yData = {0, 0.5, 0, -0.5, 0};
+    double[] errorBars = {0.1, 0.1, 0.1, 0.1, 0.1};
+
+    // given a chart with error bars painted once
+    XYChart incremental = getChart();
+    incremental.addSeries("errors", xData, yData, errorBars);
+    BitmapEncoder.getBufferedImage(incremental);
+
+    // when only the error bars change
+    double[] changedErrorBars = {0.5, 0.5, 0.5, 0.5, 0.5};
+    incremental.updateXYSeries("errors", xData, yData, changedErrorBars);
+    BufferedImage changed = BitmapEncoder.getBufferedImage(incremental);
+
+    // then the series is painted from scratch
+    assertEquals(0, incremental.getRenderStats().getCacheHitCount());
+    XYChart full = getChart();
+    full.addSeries("errors", xData, yData, changedErrorBars);
+    assertArrayEquals(getPixels(BitmapEncoder.getBufferedImage(full)), getPixels(changed));
+  }
+
+  @Test
+  public void changedStylesAndScaledTargetsAreRenderedFromScratch() {
+
+    // given a chart painted once
+    XYChart chart = getChart();
+    chart.addSeries("line", new double[] {0, 100, 200}, new double[] {-1, 1, -1});
+    BitmapEncoder.getBufferedImage(chart);
+
+    // when the fill color changes, or the chart is painted scaled up
+    chart.getSeriesMap().get("line").setFillColor(Color.RED);
+    BitmapEncoder.getBufferedImage(chart);
+    BufferedImage scaled = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = scaled.createGraphics();
+    g.scale(2, 2);
+    chart.paint(g, 600, 400);
+    g.dispose();
+
+    // then nothing is reused, and the scaled chart isn't even cached
+    assertEquals(0, chart.getRenderStats().getCacheHitCount());
+    assertEquals(2, chart.getRenderStats().getCacheMissCount());
+  }
+
+  @Test
+  public void scrolledStripChartMatchesFullRendering() {
+
+    // given a strip chart painted while its window slides along the data
+    XYChart scrolled = getStripChart();
+    double[][] data = getWindow(200);
+    scrolled.addSeries("sine", data[0], data[1]);
+    BufferedImage actual = BitmapEncoder.getBufferedImage(scrolled);
+    for (int end = 201; end <= 260; end++) {
+      data = getWindow(end);
+      scrolled.updateXYSeries("sine", data[0], data[1], null);
+      actual = BitmapEncoder.getBufferedImage(scrolled);
+    }
+    assertEquals(60, scrolled.getRenderStats().getCacheHitCount());
+
+    // then it looks like a chart painted with the last window at once, apart from sub-pixel offsets
+    XYChart full = getStripChart();
+    full.addSeries("sine", data[0], data[1]);
+    BufferedImage expected = BitmapEncoder.getBufferedImage(full);
+
+    int[] expectedPixels = getPixels(expected);
+    int[] actualPixels = getPixels(actual);
+    int differentPixels = 0;
+    for (int i = 0; i < expectedPixels.length; i++) {
+      if (getMaxChannelDifference(expectedPixels[i], actualPixels[i]) > 128) {
+        differentPixels++;
+      }
+    }
+    assertTrue(differentPixels < expectedPixels.length / 200, differentPixels + " pixels differ");
+  }
+
+  @Test
+  public void stripChartWindowIsIgnoredOnALogarithmicXAxis() {
+
+    // given a strip chart with a logarithmic X-Axis and a window wider than the data
+    XYChart chart = getStripChart();
+    chart.getStyler().setStripChartWindow(5000.0).setXAxisLogarithmic(true);
+    double[] xData = new double[1000];
+    double[] yData = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i + 1;
+      yData[i] = Math.sin(i / 7.0);
+    }
+    chart.addSeries("sine", xData, yData);
+
+    // when
+    BitmapEncoder.getBufferedImage(chart);
+
+    // then all data is shown, instead of a window reaching below zero
+    Axis<?, ?> xAxis = ((Chart<?, ?>) chart).getXAxis();
+    assertEquals(1.0, xAxis.getMin(), 0.0);
+    assertEquals(1000.0, xAxis.getMax(), 0.0);
+  }
+
+  private static XYChart getStripChart() {
+
+    XYChart chart = new XYChart(600, 400);
+    chart.getStyler().setStripChartWindow(100.0).setYAxisMin(-1.5).setYAxisMax(1.5);
+    chart.setRenderStatsEnabled(true);
+    return chart;
+  }
+
+  private static double[][] getWindow(int end) {
+
+    double[] xData = new double[150];
+    double[] yData = new double[150];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = end - xData.length + 1 + i;
+      yData[i] = Math.sin(xData[i] / 7.0);
+    }
+    return new double[][] {xData, yData};
+  }
+
+  private static int getMaxChannelDifference(int rgb1, int rgb2) {
+
+    int max = 0;
+    for (int shift = 0; shift < 24; shift += 8) {
+      max = Math.max(max, Math.abs(((rgb1 >> shift) & 0xFF) - ((rgb2 >> shift) & 0xFF)));
+    }
+    return max;
+  }
+
+  private static XYChart getChart() {
+
+    XYChart chart = new XYChart(600, 400);
+    chart.getStyler().setIncrementalRenderingEnabled(true);
+    chart.getStyler().setXAxisMin(0.0).setXAxisMax(200.0).setYAxisMin(-1.5).setYAxisMax(1.5);
+    chart.setRenderStatsEnabled(true);
+    return chart;
+  }
+
+  private static int[] getPixels(BufferedImage image) {
+
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+}
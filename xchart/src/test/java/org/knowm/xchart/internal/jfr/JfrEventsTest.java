@@ -0,0 +1,67 @@
+package org.knowm.xchart.internal.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.Callable;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchart.BitmapEncoder;
+import org.knowm.xchart.BitmapEncoder.BitmapFormat;
+import org.knowm.xchart.XYChart;
+import org.knowm.xchart.XYChartBuilder;
+
+public class JfrEventsTest {
+
+  @Test
+  public void chartsArePaintedAndEncodedWithoutJfr() throws Exception {
+
+    // given
+    URL[] urls = {
+      XYChart.class.getProtectionDomain().getCodeSource().getLocation(),
+      JfrEventsTest.class.getProtectionDomain().getCodeSource().getLocation()
+    };
+    ClassLoader withoutJfr =
+        new ClassLoader(ClassLoader.getPlatformClassLoader()) {
+
+          @Override
+          protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+
+            if (name.startsWith("jdk.jfr.")) {
+              throw new ClassNotFoundException(name);
+            }
+            return super.loadClass(name, resolve);
+          }
+        };
+
+    try (URLClassLoader classLoader = new URLClassLoader(urls, withoutJfr)) {
+      assertThrows(
+          ClassNotFoundException.class, () -> Class.forName("jdk.jfr.Event", false, classLoader));
+      Callable<?> paintAndEncode =
+          (Callable<?>)
+              classLoader
+                  .loadClass(PaintAndEncode.class.getName())
+                  .getDeclaredConstructor()
+                  .newInstance();
+
+      // when
+      byte[] png = (byte[]) paintAndEncode.call();
+
+      // then
+      assertTrue(png.length > 0);
+    }
+  }
+
+  /** Paints and encodes a chart, loaded by a class loader without JFR */
+  public static final class PaintAndEncode implements Callable<byte[]> {
+
+    @Override
+    public byte[] call() throws Exception {
+
+      XYChart chart = new XYChartBuilder().width(300).height(200).title("without JFR").build();
+      chart.addSeries("a", new double[] {0, 1, 2}, new double[] {2, 0, 1});
+      return BitmapEncoder.getBitmapBytes(chart, BitmapFormat.PNG);
+    }
+  }
+}